@@ -0,0 +1,139 @@
+package benchmark;
+
+import javafx.application.Platform;
+import javafx.css.PseudoClass;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.layout.FlowPane;
+import ui.Theme;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Times JavaFX CSS passes on a screen of several hundred buttons, styled the old
+ * way (inline style strings rebuilt with {@code String.format} on every hover)
+ * and the current way ({@code theme.css} style classes with {@code :hover} rules).
+ *
+ * <p>For each style it reports the first full CSS pass and the mean CSS pass after
+ * one button is hovered and un-hovered, which is what moving the mouse across a
+ * screen costs. Needs a JavaFX runtime and a display; see
+ * {@code bench/run-css-benchmark.sh}.</p>
+ *
+ * <p>Usage: {@code java benchmark.ThemeCssBenchmark [buttons] [hovers]}.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class ThemeCssBenchmark {
+
+    private static final PseudoClass HOVER = PseudoClass.getPseudoClass("hover");
+
+    private static final String INLINE_STYLE =
+            "-fx-background-color: %s; -fx-text-fill: white; "
+            + "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; "
+            + "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 10 20; "
+            + "-fx-background-radius: 8; -fx-cursor: hand; "
+            + "-fx-border-color: %s; -fx-border-width: 2; -fx-border-radius: 8; "
+            + "-fx-effect: dropshadow(gaussian, %s, 6, 0.5, 0, 0);";
+
+    private static final String INLINE_HOVER_STYLE =
+            "-fx-background-color: derive(%s, 20%%); -fx-text-fill: white; "
+            + "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; "
+            + "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 10 20; "
+            + "-fx-background-radius: 8; -fx-cursor: hand; "
+            + "-fx-border-color: #FF5F9E; -fx-border-width: 2; -fx-border-radius: 8; "
+            + "-fx-effect: dropshadow(gaussian, #FF5F9E, 12, 0.8, 0, 0);";
+
+    public static void main(String[] args) throws InterruptedException {
+        int buttons = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int hovers = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            try {
+                // Twice, so the second round runs with warmed-up code
+                for (int round = 1; round <= 2; round++) {
+                    System.out.println("Round " + round + " (" + buttons + " buttons, " + hovers + " hovers)");
+                    measureInline(buttons, hovers);
+                    measureStylesheet(buttons, hovers);
+                }
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    /**
+     * The pre-stylesheet approach: each hover replaces the button's inline style.
+     */
+    private static void measureInline(int count, int hovers) {
+        FlowPane root = new FlowPane();
+        List<Button> buttons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Button button = new Button("Button " + i);
+            String color = i % 2 == 0 ? "#B3005E" : "#060047";
+            button.setStyle(String.format(INLINE_STYLE, color, "#E90064", "#E90064"));
+            button.setOnMouseEntered(e -> button.setStyle(String.format(INLINE_HOVER_STYLE, color)));
+            button.setOnMouseExited(e -> button.setStyle(String.format(INLINE_STYLE, color, "#E90064", "#E90064")));
+            buttons.add(button);
+        }
+        root.getChildren().addAll(buttons);
+        new Scene(root, 1280, 800);
+
+        long firstPass = time(root::applyCss);
+        long hoverTotal = 0;
+        for (int i = 0; i < hovers; i++) {
+            Button button = buttons.get(i % count);
+            String color = i % count % 2 == 0 ? "#B3005E" : "#060047";
+            long start = System.nanoTime();
+            button.setStyle(String.format(INLINE_HOVER_STYLE, color));
+            root.applyCss();
+            button.setStyle(String.format(INLINE_STYLE, color, "#E90064", "#E90064"));
+            root.applyCss();
+            hoverTotal += System.nanoTime() - start;
+        }
+        report("inline styles", firstPass, hoverTotal, hovers);
+    }
+
+    /**
+     * The current approach: style classes from theme.css, hover via the pseudo-class.
+     */
+    private static void measureStylesheet(int count, int hovers) {
+        FlowPane root = new FlowPane();
+        List<Button> buttons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            buttons.add(Theme.retroButton("Button " + i, i % 2 == 0 ? "magenta" : "navy"));
+        }
+        root.getChildren().addAll(buttons);
+        Theme.apply(new Scene(root, 1280, 800));
+
+        long firstPass = time(root::applyCss);
+        long hoverTotal = 0;
+        for (int i = 0; i < hovers; i++) {
+            Button button = buttons.get(i % count);
+            long start = System.nanoTime();
+            button.pseudoClassStateChanged(HOVER, true);
+            root.applyCss();
+            button.pseudoClassStateChanged(HOVER, false);
+            root.applyCss();
+            hoverTotal += System.nanoTime() - start;
+        }
+        report("stylesheet", firstPass, hoverTotal, hovers);
+    }
+
+    private static long time(Runnable pass) {
+        long start = System.nanoTime();
+        pass.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String style, long firstPassNanos, long hoverNanos, int hovers) {
+        System.out.printf("  %-14s first CSS pass %8.2f ms, hover in+out %8.1f us%n",
+                style, firstPassNanos / 1e6, hoverNanos / 1e3 / hovers);
+    }
+}
@@ -0,0 +1,46 @@
+#!/bin/sh
+# Builds and runs the JMH benchmark suite.
+#
+# Requires JMH_LIB to point at a directory containing jmh-core,
+# jmh-generator-annprocess, jopt-simple and commons-math3 jars.
+#
+# Usage:
+#   bench/run-benchmarks.sh                      quick run (1k employees, 10 pay periods)
+#   bench/run-benchmarks.sh -p employees=1000000 -p payPeriods=50 ReportBenchmark
+#
+# Any arguments replace the quick-run defaults and are passed straight to JMH.
+# Results are written to bench/results/bench-<timestamp>.csv; compare two runs with
+#   java -cp bench/build/classes benchmark.CompareResults old.csv new.csv
+set -e
+
+BENCH_DIR=$(cd "$(dirname "$0")" && pwd)
+PROJECT_DIR=$(dirname "$BENCH_DIR")
+BUILD_DIR="$BENCH_DIR/build"
+RESULTS_DIR="$BENCH_DIR/results"
+
+if [ -z "$JMH_LIB" ] || [ ! -d "$JMH_LIB" ]; then
+    echo "Set JMH_LIB to a directory containing the JMH jars" >&2
+    exit 1
+fi
+
+JMH_CP=$(find "$JMH_LIB" -name '*.jar' | tr '\n' ':')
+
+rm -rf "$BUILD_DIR"
+mkdir -p "$BUILD_DIR/classes" "$BUILD_DIR/work" "$RESULTS_DIR"
+
+# Only the model and service layers are benchmarked, so JavaFX is not needed.
+find "$PROJECT_DIR/src/model" "$PROJECT_DIR/src/service" "$BENCH_DIR/src" -name '*.java' > "$BUILD_DIR/sources.txt"
+javac -encoding UTF-8 -d "$BUILD_DIR/classes" -cp "$JMH_CP" \
+    -processor org.openjdk.jmh.generators.BenchmarkProcessor @"$BUILD_DIR/sources.txt"
+
+if [ $# -eq 0 ]; then
+    set -- -p employees=1000 -p payPeriods=10
+fi
+
+# DataManager reads and writes ./data, so run from a scratch directory.
+RESULT_FILE="$RESULTS_DIR/bench-$(date +%Y%m%d-%H%M%S).csv"
+cd "$BUILD_DIR/work"
+java -cp "$BUILD_DIR/classes:$JMH_CP" org.openjdk.jmh.Main \
+    -prof gc -rf csv -rff "$RESULT_FILE" "$@"
+
+echo "Results written to $RESULT_FILE"
@@ -0,0 +1,29 @@
+#!/bin/sh
+# Builds the application and times JavaFX CSS passes with inline hover styles
+# against the shared theme.css stylesheet (benchmark.ThemeCssBenchmark).
+#
+# Requires JAVAFX_LIB to point at the lib directory of a JavaFX SDK, and a display.
+#
+# Usage:
+#   bench/run-css-benchmark.sh [buttons] [hovers]     defaults: 500 buttons, 2000 hovers
+set -e
+
+BENCH_DIR=$(cd "$(dirname "$0")" && pwd)
+PROJECT_DIR=$(dirname "$BENCH_DIR")
+BUILD_DIR="$BENCH_DIR/build-fx"
+
+if [ -z "$JAVAFX_LIB" ] || [ ! -d "$JAVAFX_LIB" ]; then
+    echo "Set JAVAFX_LIB to the lib directory of a JavaFX SDK" >&2
+    exit 1
+fi
+
+rm -rf "$BUILD_DIR"
+mkdir -p "$BUILD_DIR/classes/ui"
+
+find "$PROJECT_DIR/src" "$BENCH_DIR/fx" -name '*.java' > "$BUILD_DIR/sources.txt"
+javac -encoding UTF-8 -d "$BUILD_DIR/classes" --module-path "$JAVAFX_LIB" \
+    --add-modules javafx.controls @"$BUILD_DIR/sources.txt"
+cp "$PROJECT_DIR/src/ui/theme.css" "$BUILD_DIR/classes/ui/"
+
+java --module-path "$JAVAFX_LIB" --add-modules javafx.controls \
+    -cp "$BUILD_DIR/classes" benchmark.ThemeCssBenchmark "$@"
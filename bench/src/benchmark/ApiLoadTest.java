@@ -0,0 +1,105 @@
+package benchmark;
+
+import service.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test for {@code api.ApiServer}: a fixed number of client threads
+ * each send requests back to back over keep-alive connections for a set time, then
+ * the throughput and latency percentiles are printed.
+ *
+ * <p>Usage: {@code java benchmark.ApiLoadTest http://localhost:8080/api/employees/EMP0000001 [clients] [seconds]}.
+ * Several URLs can be given separated by commas; each client cycles through them.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class ApiLoadTest {
+
+    private static final int WARMUP_SECONDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: ApiLoadTest <url[,url...]> [clients] [seconds]");
+            System.exit(2);
+        }
+        String[] urls = args[0].split(",");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        System.err.println("Warming up for " + WARMUP_SECONDS + " s");
+        run(urls, clients, WARMUP_SECONDS, new LatencyHistogram("warmup"), new LongAdder());
+
+        LatencyHistogram latency = new LatencyHistogram("request");
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        run(urls, clients, seconds, latency, errors);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        LatencyHistogram.Snapshot result = latency.snapshot();
+        System.out.printf("clients=%d duration=%.1fs requests=%d errors=%d%n",
+                clients, elapsed, result.getCount(), errors.sum());
+        System.out.printf("throughput: %.0f req/s%n", result.getCount() / elapsed);
+        System.out.printf("latency (ms): mean=%.3f p50=%.3f p99=%.3f p99.9=%.3f max=%.3f%n",
+                result.getMeanNanos() / 1e6,
+                result.getValueAtPercentile(50) / 1e6,
+                result.getValueAtPercentile(99) / 1e6,
+                result.getValueAtPercentile(99.9) / 1e6,
+                result.getMaxNanos() / 1e6);
+    }
+
+    private static void run(String[] urls, int clients, int seconds, LatencyHistogram latency, LongAdder errors)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int first = c;
+            Thread thread = new Thread(() -> {
+                byte[] buffer = new byte[16 * 1024];
+                for (int i = first; System.nanoTime() < deadline; i++) {
+                    long requestStart = System.nanoTime();
+                    if (request(urls[i % urls.length], buffer)) {
+                        latency.recordSince(requestStart);
+                    } else {
+                        errors.increment();
+                    }
+                }
+            }, "load-client-" + c);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Sends one GET and reads the whole body, so the connection goes back to the keep-alive cache.
+     */
+    private static boolean request(String url, byte[] buffer) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+            int status = connection.getResponseCode();
+            InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (in != null) {
+                try (InputStream body = in) {
+                    while (body.read(buffer) != -1) {
+                        // Drain
+                    }
+                }
+            }
+            return status < 400;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH CSV result files (written with {@code -rf csv}) and prints the
+ * change of every benchmark score, so runs before and after a change can be diffed.
+ *
+ * <p>Usage: {@code java benchmark.CompareResults baseline.csv candidate.csv}</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class CompareResults {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.csv> <candidate.csv>");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(Paths.get(args[0]));
+        Map<String, Result> candidate = read(Paths.get(args[1]));
+
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, Result> entry : candidate.entrySet()) {
+            Result after = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", after.score, "new", after.unit);
+                continue;
+            }
+            double change = before.score == 0 ? 0 : (after.score - before.score) / before.score * 100;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%n",
+                    entry.getKey(), before.score, after.score, change, after.unit);
+        }
+        for (String key : baseline.keySet()) {
+            if (!candidate.containsKey(key)) {
+                System.out.printf("%-90s %14.3f %14s %9s%n", key, baseline.get(key).score, "-", "removed");
+            }
+        }
+    }
+
+    /**
+     * Reads a JMH CSV file into results keyed by benchmark, mode and parameters.
+     */
+    private static Map<String, Result> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Map<String, Result> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+        List<String> header = parseLine(lines.get(0));
+        int benchmarkCol = header.indexOf("Benchmark");
+        int modeCol = header.indexOf("Mode");
+        int scoreCol = header.indexOf("Score");
+        int unitCol = header.indexOf("Unit");
+
+        for (int i = 1; i < lines.size(); i++) {
+            List<String> row = parseLine(lines.get(i));
+            if (row.size() != header.size()) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(row.get(benchmarkCol)).append(" [").append(row.get(modeCol)).append(']');
+            for (int col = unitCol + 1; col < header.size(); col++) {
+                if (!row.get(col).isEmpty()) {
+                    key.append(' ').append(header.get(col)).append('=').append(row.get(col));
+                }
+            }
+            try {
+                results.put(key.toString(), new Result(Double.parseDouble(row.get(scoreCol)), row.get(unitCol)));
+            } catch (NumberFormatException e) {
+                System.err.println("Skipping unreadable score in " + file + ": " + lines.get(i));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields.
+     */
+    private static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class Result {
+        private final double score;
+        private final String unit;
+
+        Result(double score, String unit) {
+            this.score = score;
+            this.unit = unit;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package benchmark;
+
+import model.Payroll;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.DataGenerator;
+import service.DataManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks DataManager persistence and lookups.
+ * Must run from a scratch working directory because DataManager writes to ./data.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class DataManagerBenchmark {
+    private static final long SEED = 2130L;
+
+    @Param({"1000", "100000", "1000000"})
+    public int employees;
+
+    @Param({"1", "10", "50"})
+    public int payPeriods;
+
+    private DataManager dataManager;
+    private String[] employeeIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DataGenerator generator = new DataGenerator(SEED);
+        generator.setEmployeeCount(employees);
+        generator.setPayPeriods(payPeriods);
+        DataGenerator.GeneratedData data = generator.generate();
+        dataManager = DataManager.getInstance();
+        dataManager.replaceAllData(data.departments, data.employees, data.payrolls);
+
+        employeeIds = new String[data.employees.size()];
+        for (int i = 0; i < employeeIds.length; i++) {
+            employeeIds[i] = data.employees.get(i).getEmployeeId();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public void saveAllData() {
+        dataManager.saveAllData();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public void loadAllData() {
+        dataManager.loadAllData();
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public List<Payroll> getPayrollsByEmployee() {
+        next = next + 1 == employeeIds.length ? 0 : next + 1;
+        return dataManager.getPayrollsByEmployee(employeeIds[next]);
+    }
+}
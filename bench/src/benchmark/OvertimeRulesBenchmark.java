@@ -0,0 +1,104 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.OvertimeRules;
+
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks overtime evaluation over many employees' two-week periods, against
+ * the hardcoded 40-hour weekly split it replaced.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OvertimeRulesBenchmark {
+
+    private static final int PERIODS = 10_000;
+    private static final int DAYS = 14;
+
+    private long[][] periods;
+    private OvertimeRules.Policy weekly;
+    private OvertimeRules.Policy dailyAndWeekly;
+    private OvertimeRules.Hours hours;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        periods = new long[PERIODS][DAYS];
+        for (long[] days : periods) {
+            for (int day = 0; day < DAYS; day++) {
+                days[day] = day % 7 >= 5 ? 0 : (6 + random.nextInt(7)) * 3600L + random.nextInt(3600);
+            }
+        }
+        weekly = new OvertimeRules(new Properties()).getPolicy(null);
+
+        Properties settings = new Properties();
+        settings.setProperty("default.dailyOvertimeHours", "8");
+        settings.setProperty("default.dailyDoubleTimeHours", "12");
+        settings.setProperty("default.weeklyDoubleTimeHours", "60");
+        dailyAndWeekly = new OvertimeRules(settings).getPolicy(null);
+        hours = new OvertimeRules.Hours();
+    }
+
+    /**
+     * The split as it was hardcoded: regular up to 40 hours a week, the rest overtime.
+     */
+    @Benchmark
+    public double hardcodedWeekly() {
+        long standard = 40 * 3600L;
+        long total = 0;
+        for (long[] days : periods) {
+            long regular = 0;
+            long overtime = 0;
+            for (int weekStart = 0; weekStart < days.length; weekStart += 7) {
+                long week = 0;
+                for (int day = weekStart; day < Math.min(weekStart + 7, days.length); day++) {
+                    week += days[day];
+                }
+                regular += Math.min(week, standard);
+                overtime += Math.max(0, week - standard);
+            }
+            total += regular + 2 * overtime;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double compiledWeekly() {
+        double total = 0;
+        for (long[] days : periods) {
+            weekly.evaluate(days, hours);
+            total += hours.getRegularHours() + 2 * hours.getOvertimeHours();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double compiledDailyAndWeekly() {
+        double total = 0;
+        for (long[] days : periods) {
+            dailyAndWeekly.evaluate(days, hours);
+            total += hours.getRegularHours() + 2 * hours.getOvertimeHours() + 3 * hours.getDoubleTimeHours();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import model.Employee;
+import model.Payroll;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.PayrollCalculator;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks single payroll calculations.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollCalculatorBenchmark {
+
+    private Employee hourly;
+    private Employee salaried;
+    private LocalDate start;
+    private LocalDate end;
+    private PayrollCalculator.PayrollPreview preview;
+    private double hours;
+
+    @Setup
+    public void setUp() {
+        hourly = new Employee("EMP0000001", "Hourly", "Worker", "hourly@example.com");
+        hourly.setEmploymentType(Employee.EmploymentType.PART_TIME);
+        hourly.setHourlyRate(27.50);
+
+        salaried = new Employee("EMP0000002", "Salaried", "Worker", "salaried@example.com");
+        salaried.setEmploymentType(Employee.EmploymentType.FULL_TIME);
+        salaried.setAnnualSalary(78_000);
+
+        end = LocalDate.of(2025, 11, 14);
+        start = end.minusDays(13);
+        preview = new PayrollCalculator.PayrollPreview();
+    }
+
+    @Benchmark
+    public Payroll calculateHourlyPayroll() {
+        return PayrollCalculator.calculateHourlyPayroll(hourly, 80, 6.5, 100, start, end);
+    }
+
+    @Benchmark
+    public Payroll calculateSalariedPayroll() {
+        return PayrollCalculator.calculateSalariedPayroll(salaried, 250, start, end);
+    }
+
+    /**
+     * Preview with changing inputs, so every call recalculates (no memoization hit).
+     */
+    @Benchmark
+    public double calculatePreview() {
+        hours = hours >= 80 ? 0 : hours + 0.25;
+        PayrollCalculator.calculatePreview(hourly, false, hours, 2, 0, preview);
+        return preview.getNetPay();
+    }
+}
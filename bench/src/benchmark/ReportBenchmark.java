@@ -0,0 +1,71 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import service.DataGenerator;
+import service.PayrollAggregator;
+import service.ReportGenerator;
+import service.ReportType;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks report generation and payroll aggregation.
+ * Generators are built without data versions, so nothing is served from the report cache.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class ReportBenchmark {
+    private static final long SEED = 2130L;
+
+    @Param({"1000", "100000", "1000000"})
+    public int employees;
+
+    @Param({"1", "10", "50"})
+    public int payPeriods;
+
+    @Param({"ALL_EMPLOYEES", "ALL_PAYROLLS", "PAYROLL_SUMMARY", "YEAR_TO_DATE", "PAYROLL_BY_DEPARTMENT"})
+    public String reportType;
+
+    private DataGenerator.GeneratedData data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DataGenerator generator = new DataGenerator(SEED);
+        generator.setEmployeeCount(employees);
+        generator.setPayPeriods(payPeriods);
+        data = generator.generate();
+    }
+
+    @Benchmark
+    public void generateReport(Blackhole blackhole) {
+        new ReportGenerator(data.employees, data.payrolls)
+                .generate(ReportType.valueOf(reportType), blackhole::consume);
+    }
+
+    @Benchmark
+    public Map<String, PayrollAggregator.GroupTotals> aggregateByDepartment() {
+        return new PayrollAggregator(data.employees)
+                .aggregate(data.payrolls, PayrollAggregator.GroupBy.DEPARTMENT, null);
+    }
+}
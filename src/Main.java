@@ -1,15 +1,30 @@
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import service.DataManager;
+import service.Metrics;
+import service.PayCalendar;
+import service.PayrollScheduler;
+import ui.DiagnosticsView;
 import ui.EmployeeManagementView;
 import ui.EmployeeDialog;
+import ui.FxStallWatchdog;
 import ui.PayrollProcessingView;
 import ui.ReportView;
+import ui.Theme;
+import ui.ViewRegistry;
 
 /**
  * Main application class for HR Management and Payroll System
@@ -17,43 +32,76 @@ import ui.ReportView;
  */
 public class Main extends Application {
 
+    // View registry keys
+    private static final String EMPLOYEE_VIEW = "employees";
+    private static final String PAYROLL_VIEW = "payroll";
+    private static final String REPORT_VIEW = "reports";
+    private static final String DIAGNOSTICS_VIEW = "diagnostics";
+
+    private static final Path METRICS_FILE = Paths.get("data", "metrics.txt");
+
     private BorderPane mainLayout;
     private DataManager dataManager;
+    private ViewRegistry views;
+    private VBox welcomeScreen;
+    private PayrollScheduler payrollScheduler;
 
     @Override
     public void start(Stage primaryStage) {
         // Initialize data manager and load existing data
         dataManager = DataManager.getInstance();
         dataManager.loadAllData();
+        // Write changes from a background thread so edits never wait on the disk
+        dataManager.setBackgroundSaves(true);
 
         // Set up main layout
         mainLayout = new BorderPane();
 
-        // Set default font to avoid italics - use Arial which is guaranteed non-italic
-        mainLayout.setStyle("-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal;");
-
         // Create top menu bar
         MenuBar menuBar = createMenuBar(primaryStage);
         mainLayout.setTop(menuBar);
 
+        // Register screens; each one is built once and reused on later navigation
+        views = new ViewRegistry();
+        views.register(EMPLOYEE_VIEW, () -> new EmployeeManagementView(this::showWelcomeScreenMethod));
+        views.register(PAYROLL_VIEW, () -> new PayrollProcessingView(this::showWelcomeScreenMethod));
+        views.register(REPORT_VIEW, () -> new ReportView(this::showWelcomeScreenMethod));
+        views.register(DIAGNOSTICS_VIEW, () -> new DiagnosticsView(this::showWelcomeScreenMethod));
+
         // Create welcome screen
-        VBox welcomeScreen = createWelcomeScreen();
+        welcomeScreen = createWelcomeScreen();
         mainLayout.setCenter(welcomeScreen);
 
         // Create scene
         Scene scene = new Scene(mainLayout, 1200, 700);
 
-        // Apply global font styling to remove italics everywhere
-        scene.getRoot().setStyle("-fx-font-family: 'Arial', 'Segoe UI', 'Helvetica', sans-serif; " +
-                "-fx-font-style: normal;");
+        // Apply the shared stylesheet (global non-italic font, colours and hover effects)
+        Theme.apply(scene);
 
         // Set up stage
         primaryStage.setTitle("HR Management & Payroll System");
         primaryStage.setScene(scene);
         primaryStage.setOnCloseRequest(e -> {
+            if (payrollScheduler != null) {
+                payrollScheduler.stop();
+            }
             dataManager.saveAllData();
+            dumpMetrics();
         });
         primaryStage.show();
+
+        // Log and total any stalls of the FX thread
+        FxStallWatchdog.getInstance().start(scene);
+
+        // Pay ended pay periods automatically when started with -Dpayroll.scheduler=true
+        if (Boolean.getBoolean("payroll.scheduler")) {
+            payrollScheduler = new PayrollScheduler(dataManager, PayCalendar.getInstance());
+            payrollScheduler.setSaveExecutor(Platform::runLater);
+            payrollScheduler.start(60);
+        }
+
+        // Build the screens users usually open next while the app sits on the welcome screen
+        views.prewarm(EMPLOYEE_VIEW, PAYROLL_VIEW, REPORT_VIEW);
     }
 
     /**
@@ -67,9 +115,17 @@ public class Main extends Application {
         MenuItem exitItem = new MenuItem("Exit");
         exitItem.setOnAction(e -> {
             dataManager.saveAllData();
+            dumpMetrics();
             stage.close();
         });
-        fileMenu.getItems().add(exitItem);
+        MenuItem saveMetricsItem = new MenuItem("Save Metrics");
+        saveMetricsItem.setOnAction(e -> {
+            if (dumpMetrics()) {
+                showSuccessAlert("Metrics Saved",
+                        "Operation metrics and UI stalls written to " + METRICS_FILE.toAbsolutePath());
+            }
+        });
+        fileMenu.getItems().addAll(saveMetricsItem, new SeparatorMenuItem(), exitItem);
 
         // Employee menu
         Menu employeeMenu = new Menu("Employees");
@@ -103,7 +159,14 @@ public class Main extends Application {
         payrollReport.setOnAction(e -> showPayrollReport());
         reportsMenu.getItems().addAll(employeeReport, payrollReport);
 
-        menuBar.getMenus().addAll(fileMenu, employeeMenu, departmentMenu, payrollMenu, reportsMenu);
+        // Diagnostics menu
+        Menu diagnosticsMenu = new Menu("Diagnostics");
+        MenuItem performanceDashboard = new MenuItem("Performance Dashboard");
+        performanceDashboard.setOnAction(e -> showDiagnostics());
+        diagnosticsMenu.getItems().add(performanceDashboard);
+
+        menuBar.getMenus().addAll(fileMenu, employeeMenu, departmentMenu, payrollMenu, reportsMenu,
+                diagnosticsMenu);
         return menuBar;
     }
 
@@ -114,25 +177,22 @@ public class Main extends Application {
         VBox welcomeBox = new VBox(30);
         welcomeBox.setAlignment(Pos.CENTER);
         welcomeBox.setPadding(new Insets(50));
-        welcomeBox.setStyle("-fx-background-color: linear-gradient(to bottom, #1a0a2e, #060047);");
+        welcomeBox.getStyleClass().add("welcome-screen");
 
         Label titleLabel = new Label("HR Management & Payroll System");
-        titleLabel.setStyle("-fx-font-family: 'Arial', 'Segoe UI', sans-serif; " +
-                "-fx-font-size: 36px; -fx-font-weight: bold; -fx-font-style: normal; " +
-                "-fx-text-fill: #FF5F9E; -fx-effect: dropshadow(gaussian, #E90064, 10, 0.5, 0, 0);");
+        titleLabel.getStyleClass().add("welcome-title");
 
         Label subtitleLabel = new Label("Welcome! Select an option to get started.");
-        subtitleLabel.setStyle("-fx-font-family: 'Arial', 'Segoe UI', sans-serif; " +
-                "-fx-font-size: 16px; -fx-text-fill: #FF5F9E; -fx-font-style: normal;");
+        subtitleLabel.getStyleClass().add("welcome-subtitle");
 
         // Quick action buttons with retro neon styling
-        Button manageEmployeesBtn = createRetroButton("Manage Employees", "#B3005E", "#E90064");
+        Button manageEmployeesBtn = createRetroButton("Manage Employees", "magenta");
         manageEmployeesBtn.setOnAction(e -> showEmployeeManagement());
 
-        Button processPayrollBtn = createRetroButton("Process Payroll", "#E90064", "#FF5F9E");
+        Button processPayrollBtn = createRetroButton("Process Payroll", "pink");
         processPayrollBtn.setOnAction(e -> showPayrollProcessing());
 
-        Button viewReportsBtn = createRetroButton("View Reports", "#B3005E", "#E90064");
+        Button viewReportsBtn = createRetroButton("View Reports", "magenta");
         viewReportsBtn.setOnAction(e -> showEmployeeReport());
 
         welcomeBox.getChildren().addAll(titleLabel, subtitleLabel,
@@ -142,36 +202,12 @@ public class Main extends Application {
     }
 
     /**
-     * Create a retro-styled button with neon colors
+     * Create a retro-styled button with neon colors.
+     * Hover glow and scaling come from the theme stylesheet.
      */
-    private Button createRetroButton(String text, String bgColor, String hoverColor) {
-        Button button = new Button(text);
+    private Button createRetroButton(String text, String variant) {
+        Button button = Theme.retroButton(text, variant, "large", "accent-hover");
         button.setPrefWidth(250);
-        button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 16px; -fx-font-weight: bold; -fx-padding: 15 30; " +
-                "-fx-background-radius: 8; -fx-border-color: %s; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-effect: dropshadow(gaussian, %s, 8, 0.6, 0, 0);",
-                bgColor, hoverColor, hoverColor));
-
-        button.setOnMouseEntered(e -> button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 16px; -fx-font-weight: bold; -fx-padding: 15 30; " +
-                "-fx-background-radius: 8; -fx-border-color: #FF5F9E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-effect: dropshadow(gaussian, #FF5F9E, 15, 0.8, 0, 0); " +
-                "-fx-scale-x: 1.05; -fx-scale-y: 1.05;",
-                hoverColor)));
-
-        button.setOnMouseExited(e -> button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 16px; -fx-font-weight: bold; -fx-padding: 15 30; " +
-                "-fx-background-radius: 8; -fx-border-color: %s; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-effect: dropshadow(gaussian, %s, 8, 0.6, 0, 0);",
-                bgColor, hoverColor, hoverColor)));
-
         return button;
     }
 
@@ -180,8 +216,7 @@ public class Main extends Application {
      */
     private void showEmployeeManagement() {
         try {
-            EmployeeManagementView employeeView = new EmployeeManagementView(this::showWelcomeScreenMethod);
-            mainLayout.setCenter(employeeView);
+            mainLayout.setCenter(views.get(EMPLOYEE_VIEW));
         } catch (Exception e) {
             showErrorAlert("Error Loading Employee Management",
                     "Failed to load employee management view.",
@@ -212,7 +247,7 @@ public class Main extends Application {
      */
     private void showDepartmentManagement() {
         Label label = new Label("Department Management Screen - Implementation in progress");
-        label.setStyle("-fx-font-size: 20px;");
+        label.getStyleClass().add("placeholder-label");
         VBox box = new VBox(label);
         box.setAlignment(Pos.CENTER);
         mainLayout.setCenter(box);
@@ -234,8 +269,7 @@ public class Main extends Application {
      */
     private void showPayrollProcessing() {
         try {
-            PayrollProcessingView payrollView = new PayrollProcessingView(this::showWelcomeScreenMethod);
-            mainLayout.setCenter(payrollView);
+            mainLayout.setCenter(views.get(PAYROLL_VIEW));
         } catch (Exception e) {
             showErrorAlert("Error Loading Payroll Processing",
                     "Failed to load payroll processing view.",
@@ -248,7 +282,7 @@ public class Main extends Application {
      */
     private void showPayrollRecords() {
         Label label = new Label("Payroll Records Screen - Implementation in progress");
-        label.setStyle("-fx-font-size: 20px;");
+        label.getStyleClass().add("placeholder-label");
         VBox box = new VBox(label);
         box.setAlignment(Pos.CENTER);
         mainLayout.setCenter(box);
@@ -259,8 +293,7 @@ public class Main extends Application {
      */
     private void showEmployeeReport() {
         try {
-            ReportView reportView = new ReportView(this::showWelcomeScreenMethod);
-            mainLayout.setCenter(reportView);
+            mainLayout.setCenter(views.get(REPORT_VIEW));
         } catch (Exception e) {
             showErrorAlert("Error Loading Reports",
                     "Failed to load report view.",
@@ -268,11 +301,23 @@ public class Main extends Application {
         }
     }
 
+    /**
+     * Show the diagnostics dashboard with live performance figures
+     */
+    private void showDiagnostics() {
+        try {
+            mainLayout.setCenter(views.get(DIAGNOSTICS_VIEW));
+        } catch (Exception e) {
+            showErrorAlert("Error Loading Diagnostics",
+                    "Failed to load diagnostics view.",
+                    e.getMessage());
+        }
+    }
+
     /**
      * Show the welcome screen (used by back buttons)
      */
     private void showWelcomeScreenMethod() {
-        VBox welcomeScreen = createWelcomeScreen();
         mainLayout.setCenter(welcomeScreen);
     }
 
@@ -283,6 +328,23 @@ public class Main extends Application {
         showEmployeeReport();
     }
 
+    /**
+     * Write the current operation metrics and FX thread stalls to the metrics file
+     *
+     * @return true if the file was written
+     */
+    private boolean dumpMetrics() {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(METRICS_FILE, StandardCharsets.UTF_8))) {
+            Metrics.getInstance().dump(out);
+            out.println();
+            FxStallWatchdog.getInstance().dump(out);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving metrics: " + e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Shows an error alert dialog with exception details
      */
@@ -0,0 +1,682 @@
+package api;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.Department;
+import model.Employee;
+import model.Payroll;
+import service.DataManager;
+import service.LatencyHistogram;
+import service.Metrics;
+import service.ReportType;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Local read-only HTTP/JSON API over the payroll data, for internal tools that
+ * need to query it without opening the desktop application.
+ *
+ * <p>Built on the JDK's {@code HttpServer}. Each request runs on its own virtual
+ * thread. Requests are served from a {@link DataSnapshot} shared by all
+ * threads; the data files are checked for changes at most once a second (e.g.
+ * after {@code cli.PayrollCli payroll} saves a run) and reloaded when they change.</p>
+ *
+ * <p>Every data response carries an ETag derived from the data version, and a
+ * matching {@code If-None-Match} gets 304 Not Modified. Lists are paged with
+ * {@code offset} and {@code limit}; list and report bodies are streamed with
+ * chunked encoding as they are written.</p>
+ *
+ * <pre>
+ * GET /api/health
+ * GET /api/employees?offset=0&amp;limit=100&amp;status=ACTIVE&amp;departmentId=DEPT001
+ * GET /api/employees/{id}
+ * GET /api/employees/{id}/payrolls?year=2025&amp;offset=0&amp;limit=100
+ * GET /api/employees/{id}/ytd?year=2025
+ * GET /api/departments
+ * GET /api/departments/{id}
+ * GET /api/payrolls?from=2025-01-01&amp;to=2025-12-31&amp;offset=0&amp;limit=100
+ * GET /api/reports
+ * GET /api/reports/{TYPE}        (text report)
+ * GET /api/reports/{TYPE}.csv    (CSV export)
+ * </pre>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class ApiServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final long RELOAD_CHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int RESPONSE_BUFFER_SIZE = 16 * 1024;
+
+    private static final Metrics.Counter NOT_MODIFIED = Metrics.getInstance().counter("api.notModified");
+    private static final Metrics.Counter CLIENT_ERRORS = Metrics.getInstance().counter("api.clientErrors");
+    private static final Metrics.Counter SERVER_ERRORS = Metrics.getInstance().counter("api.serverErrors");
+    private static final LatencyHistogram SNAPSHOT_TIME = Metrics.getInstance().histogram("api.snapshot");
+
+    private final DataManager dataManager;
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final boolean reloadFromDisk;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile DataSnapshot snapshot;
+    private volatile long lastCheckNanos;
+    private long dataFilesStamp;
+
+    /**
+     * Creates a server over the shared DataManager.
+     *
+     * @param reloadFromDisk Whether to reload the data files when another process changes them.
+     *                       Only safe when nothing else in this JVM changes the DataManager.
+     */
+    public ApiServer(boolean reloadFromDisk) {
+        this.dataManager = DataManager.getInstance();
+        this.reloadFromDisk = reloadFromDisk;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        if (args.length > 0) {
+            try {
+                port = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                System.err.println("Usage: java api.ApiServer [port]");
+                System.exit(2);
+            }
+        }
+        ApiServer apiServer = new ApiServer(true);
+        apiServer.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(apiServer::stop, "api-shutdown"));
+    }
+
+    /**
+     * Loads the data (if reloading from disk) and starts listening on the loopback interface.
+     *
+     * @param port TCP port, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        snapshot();
+        System.err.printf("Loaded %d employees and %d payroll records in %d ms%n",
+                snapshot.getEmployees().size(), snapshot.getPayrolls().size(),
+                (System.nanoTime() - startTime) / 1_000_000);
+
+        // Small responses are written as separate header and body packets; without
+        // TCP_NODELAY each one waits out the client's delayed ACK (~40 ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        server.start();
+        System.err.println("Payroll API listening on http://localhost:" + getPort() + "/api/");
+    }
+
+    /**
+     * Stops accepting requests, waiting up to a second for requests in progress.
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(1);
+        executor.shutdown();
+        server = null;
+        executor = null;
+    }
+
+    public synchronized int getPort() {
+        return server == null ? -1 : server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the current snapshot, first reloading changed data files and rebuilding
+     * the snapshot if the data version moved. Checks at most once a second.
+     */
+    private DataSnapshot snapshot() {
+        DataSnapshot current = snapshot;
+        if (current != null && System.nanoTime() - lastCheckNanos < RELOAD_CHECK_NANOS) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot != null && System.nanoTime() - lastCheckNanos < RELOAD_CHECK_NANOS) {
+                return snapshot;
+            }
+            if (reloadFromDisk) {
+                long stamp = dataFilesStamp();
+                if (snapshot == null || stamp != dataFilesStamp) {
+                    dataFilesStamp = stamp;
+                    dataManager.loadAllData();
+                }
+            }
+            if (snapshot == null || snapshot.getVersion() != dataManager.getDataVersion()) {
+                long start = Metrics.startTimer();
+                snapshot = new DataSnapshot(dataManager, bootId);
+                SNAPSHOT_TIME.recordSince(start);
+            }
+            lastCheckNanos = System.nanoTime();
+            return snapshot;
+        }
+    }
+
+    private static long dataFilesStamp() {
+        long stamp = 0;
+        for (File file : DataManager.getDataFiles()) {
+            stamp = stamp * 31 + file.lastModified();
+            stamp = stamp * 31 + file.length();
+        }
+        return stamp;
+    }
+
+    // Request Handling
+
+    private void handle(HttpExchange exchange) {
+        long start = Metrics.startTimer();
+        String route = "unknown";
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                throw new ApiException(405, "Only GET is supported");
+            }
+            String[] path = splitPath(exchange.getRequestURI().getPath());
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            route = path.length > 1 ? path[1] : "root";
+            DataSnapshot data = snapshot();
+
+            if (route.equals("health")) {
+                writeHealth(exchange, data);
+                return;
+            }
+            if (isNotModified(exchange, data)) {
+                NOT_MODIFIED.increment();
+                exchange.getResponseHeaders().set("ETag", data.getEtag());
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            switch (route) {
+                case "employees":
+                    routeEmployees(exchange, data, path, query);
+                    break;
+                case "departments":
+                    routeDepartments(exchange, data, path);
+                    break;
+                case "payrolls":
+                    if (path.length != 2) {
+                        throw new ApiException(404, "Not found");
+                    }
+                    writePayrolls(exchange, data, query);
+                    break;
+                case "reports":
+                    routeReports(exchange, data, path);
+                    break;
+                default:
+                    // Keep arbitrary paths out of the metric names
+                    route = "unknown";
+                    throw new ApiException(404, "Not found");
+            }
+        } catch (ApiException e) {
+            CLIENT_ERRORS.increment();
+            sendError(exchange, e.status, e.getMessage());
+        } catch (IOException | UncheckedIOException e) {
+            // Usually the client went away mid-response; nothing more can be sent
+            SERVER_ERRORS.increment();
+        } catch (RuntimeException e) {
+            SERVER_ERRORS.increment();
+            System.err.println("API error for " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+            Metrics.getInstance().histogram("api." + route).recordSince(start);
+        }
+    }
+
+    private void routeEmployees(HttpExchange exchange, DataSnapshot data, String[] path,
+                                Map<String, String> query) throws IOException {
+        if (path.length == 2) {
+            writeEmployees(exchange, data, query);
+            return;
+        }
+        Employee emp = data.getEmployee(path[2]);
+        if (emp == null) {
+            throw new ApiException(404, "No employee " + path[2]);
+        }
+        if (path.length == 3) {
+            JsonWriter json = beginJson(exchange, data);
+            writeEmployee(json, emp);
+            endJson(json);
+        } else if (path.length == 4 && path[3].equals("payrolls")) {
+            int year = intParam(query, "year", 0, 0, 9999);
+            List<Payroll> payrolls = data.getPayrollsByEmployee(emp.getEmployeeId());
+            writePage(exchange, data, query, payrolls,
+                    year == 0 ? null : payroll -> payroll.getPayPeriodEnd().getYear() == year,
+                    ApiServer::writePayroll);
+        } else if (path.length == 4 && path[3].equals("ytd")) {
+            writeYearToDate(exchange, data, emp, intParam(query, "year", LocalDate.now().getYear(), 1, 9999));
+        } else {
+            throw new ApiException(404, "Not found");
+        }
+    }
+
+    private void routeDepartments(HttpExchange exchange, DataSnapshot data, String[] path) throws IOException {
+        if (path.length == 2) {
+            JsonWriter json = beginJson(exchange, data);
+            json.beginArray();
+            for (Department department : data.getDepartments()) {
+                writeDepartment(json, department);
+            }
+            json.endArray();
+            endJson(json);
+        } else if (path.length == 3) {
+            Department department = data.getDepartment(path[2]);
+            if (department == null) {
+                throw new ApiException(404, "No department " + path[2]);
+            }
+            JsonWriter json = beginJson(exchange, data);
+            writeDepartment(json, department);
+            endJson(json);
+        } else {
+            throw new ApiException(404, "Not found");
+        }
+    }
+
+    private void routeReports(HttpExchange exchange, DataSnapshot data, String[] path) throws IOException {
+        if (path.length == 2) {
+            JsonWriter json = beginJson(exchange, data);
+            json.beginArray();
+            for (ReportType type : ReportType.values()) {
+                json.beginObject()
+                        .field("type", type.name())
+                        .field("name", type.getDisplayName())
+                        .endObject();
+            }
+            json.endArray();
+            endJson(json);
+            return;
+        }
+        if (path.length != 3) {
+            throw new ApiException(404, "Not found");
+        }
+        String name = path[2];
+        boolean csv = name.toLowerCase(Locale.ROOT).endsWith(".csv");
+        if (csv) {
+            name = name.substring(0, name.length() - 4);
+        }
+        ReportType type;
+        try {
+            type = ReportType.valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(404, "No report " + name);
+        }
+
+        if (csv) {
+            startResponse(exchange, data, "text/csv; charset=utf-8");
+            OutputStream body = exchange.getResponseBody();
+            data.getReports().csvExport(type).exportTo(body);
+        } else {
+            startResponse(exchange, data, "text/plain; charset=utf-8");
+            Writer out = responseWriter(exchange);
+            try {
+                data.getReports().generate(type, line -> {
+                    try {
+                        out.write(line);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                out.flush();
+            }
+        }
+    }
+
+    // Responses
+
+    private void writeHealth(HttpExchange exchange, DataSnapshot data) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, 0);
+        JsonWriter json = new JsonWriter(responseWriter(exchange));
+        json.beginObject()
+                .field("status", "ok")
+                .field("dataVersion", data.getVersion())
+                .field("employees", data.getEmployees().size())
+                .field("departments", data.getDepartments().size())
+                .field("payrolls", data.getPayrolls().size())
+                .endObject();
+        endJson(json);
+    }
+
+    private void writeEmployees(HttpExchange exchange, DataSnapshot data, Map<String, String> query)
+            throws IOException {
+        Predicate<Employee> filter = null;
+        String status = query.get("status");
+        if (status != null) {
+            Employee.EmployeeStatus wanted = enumParam(Employee.EmployeeStatus.class, "status", status);
+            filter = emp -> emp.getStatus() == wanted;
+        }
+        String departmentId = query.get("departmentId");
+        if (departmentId != null) {
+            Predicate<Employee> inDepartment = emp -> emp.getDepartment() != null
+                    && departmentId.equals(emp.getDepartment().getDepartmentId());
+            filter = filter == null ? inDepartment : filter.and(inDepartment);
+        }
+        writePage(exchange, data, query, data.getEmployees(), filter, ApiServer::writeEmployee);
+    }
+
+    private void writePayrolls(HttpExchange exchange, DataSnapshot data, Map<String, String> query)
+            throws IOException {
+        LocalDate from = dateParam(query, "from");
+        LocalDate to = dateParam(query, "to");
+        Predicate<Payroll> filter = null;
+        if (from != null || to != null) {
+            filter = payroll -> (from == null || !payroll.getPayPeriodEnd().isBefore(from))
+                    && (to == null || !payroll.getPayPeriodEnd().isAfter(to));
+        }
+        writePage(exchange, data, query, data.getPayrolls(), filter, ApiServer::writePayroll);
+    }
+
+    private void writeYearToDate(HttpExchange exchange, DataSnapshot data, Employee emp, int year)
+            throws IOException {
+        double gross = 0.0;
+        double deductions = 0.0;
+        double net = 0.0;
+        int periods = 0;
+        for (Payroll payroll : data.getPayrollsByEmployee(emp.getEmployeeId())) {
+            if (payroll.getPayPeriodEnd().getYear() == year) {
+                gross += payroll.getGrossPay();
+                deductions += payroll.getTotalDeductions();
+                net += payroll.getNetPay();
+                periods++;
+            }
+        }
+        JsonWriter json = beginJson(exchange, data);
+        json.beginObject()
+                .field("employeeId", emp.getEmployeeId())
+                .field("year", year)
+                .field("payPeriods", periods)
+                .moneyField("totalGrossPay", gross)
+                .moneyField("totalDeductions", deductions)
+                .moneyField("totalNetPay", net)
+                .endObject();
+        endJson(json);
+    }
+
+    /**
+     * Writes one page of a list as {"total", "offset", "limit", "items"}.
+     * Without a filter the page is a direct slice; with one, the list is scanned once
+     * to count matches while writing those inside the page.
+     */
+    private <T> void writePage(HttpExchange exchange, DataSnapshot data, Map<String, String> query,
+                               List<T> items, Predicate<T> filter, ItemWriter<T> itemWriter) throws IOException {
+        int offset = intParam(query, "offset", 0, 0, Integer.MAX_VALUE);
+        int limit = intParam(query, "limit", DEFAULT_LIMIT, 0, MAX_LIMIT);
+
+        JsonWriter json = beginJson(exchange, data);
+        json.beginObject();
+        if (filter == null) {
+            json.field("total", items.size())
+                    .field("offset", offset)
+                    .field("limit", limit)
+                    .name("items").beginArray();
+            int end = (int) Math.min(items.size(), (long) offset + limit);
+            for (int i = offset; i < end; i++) {
+                itemWriter.write(json, items.get(i));
+            }
+            json.endArray();
+        } else {
+            // The total is only known after the scan, so it is written after the items
+            json.field("offset", offset)
+                    .field("limit", limit)
+                    .name("items").beginArray();
+            int matched = 0;
+            for (T item : items) {
+                if (filter.test(item)) {
+                    if (matched >= offset && matched - offset < limit) {
+                        itemWriter.write(json, item);
+                    }
+                    matched++;
+                }
+            }
+            json.endArray();
+            json.field("total", matched);
+        }
+        json.endObject();
+        endJson(json);
+    }
+
+    private static void writeEmployee(JsonWriter json, Employee emp) throws IOException {
+        Department department = emp.getDepartment();
+        json.beginObject()
+                .field("employeeId", emp.getEmployeeId())
+                .field("firstName", emp.getFirstName())
+                .field("lastName", emp.getLastName())
+                .field("email", emp.getEmail())
+                .field("phone", emp.getPhone())
+                .field("position", emp.getPosition())
+                .field("employmentType", emp.getEmploymentType() == null ? null : emp.getEmploymentType().name())
+                .field("status", emp.getStatus() == null ? null : emp.getStatus().name())
+                .moneyField("hourlyRate", emp.getHourlyRate())
+                .moneyField("annualSalary", emp.getAnnualSalary())
+                .field("departmentId", department == null ? null : department.getDepartmentId())
+                .field("hireDate", dateText(emp.getHireDate()))
+                .endObject();
+    }
+
+    private static void writeDepartment(JsonWriter json, Department department) throws IOException {
+        json.beginObject()
+                .field("departmentId", department.getDepartmentId())
+                .field("name", department.getDepartmentName())
+                .field("managerEmployeeId", department.getManagerEmployeeId())
+                .field("description", department.getDescription())
+                .field("employeeCount", department.getEmployeeCount())
+                .endObject();
+    }
+
+    private static void writePayroll(JsonWriter json, Payroll payroll) throws IOException {
+        json.beginObject()
+                .field("payrollId", payroll.getPayrollId())
+                .field("employeeId", payroll.getEmployeeId())
+                .field("payPeriodStart", dateText(payroll.getPayPeriodStart()))
+                .field("payPeriodEnd", dateText(payroll.getPayPeriodEnd()))
+                .field("payDate", dateText(payroll.getPayDate()))
+                .moneyField("regularHours", payroll.getRegularHours())
+                .moneyField("overtimeHours", payroll.getOvertimeHours())
+                .moneyField("doubleTimeHours", payroll.getDoubleTimeHours())
+                .moneyField("hourlyRate", payroll.getHourlyRate())
+                .moneyField("regularPay", payroll.getRegularPay())
+                .moneyField("overtimePay", payroll.getOvertimePay())
+                .moneyField("bonus", payroll.getBonus())
+                .moneyField("grossPay", payroll.getGrossPay())
+                .moneyField("federalTax", payroll.getFederalTax())
+                .moneyField("stateTax", payroll.getStateTax())
+                .moneyField("socialSecurity", payroll.getSocialSecurity())
+                .moneyField("medicare", payroll.getMedicare())
+                .moneyField("healthInsurance", payroll.getHealthInsurance())
+                .moneyField("retirement401k", payroll.getRetirement401k())
+                .moneyField("otherDeductions", payroll.getOtherDeductions())
+                .moneyField("totalDeductions", payroll.getTotalDeductions())
+                .moneyField("netPay", payroll.getNetPay())
+                .endObject();
+    }
+
+    private JsonWriter beginJson(HttpExchange exchange, DataSnapshot data) throws IOException {
+        startResponse(exchange, data, "application/json; charset=utf-8");
+        return new JsonWriter(responseWriter(exchange));
+    }
+
+    private static void endJson(JsonWriter json) throws IOException {
+        json.flush();
+    }
+
+    /**
+     * Sends 200 headers for a streamed (chunked) body that can be revalidated by ETag.
+     */
+    private static void startResponse(HttpExchange exchange, DataSnapshot data, String contentType)
+            throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", contentType);
+        headers.set("ETag", data.getEtag());
+        headers.set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+    }
+
+    private static Writer responseWriter(HttpExchange exchange) {
+        return new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                RESPONSE_BUFFER_SIZE);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, 0);
+            JsonWriter json = new JsonWriter(responseWriter(exchange));
+            json.beginObject().field("error", message).endObject();
+            json.flush();
+        } catch (IOException e) {
+            // Headers were already sent or the client went away
+        }
+    }
+
+    private static boolean isNotModified(HttpExchange exchange, DataSnapshot data) {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(data.getEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Request Parsing
+
+    /**
+     * Splits "/api/employees/EMP1/ytd" into {"api", "employees", "EMP1", "ytd"}.
+     */
+    private static String[] splitPath(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            try {
+                query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Malformed query string");
+            }
+        }
+        return query;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue, int min, int max) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min || parsed > max) {
+                throw new ApiException(400, name + " must be between " + min + " and " + max);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    private static LocalDate dateParam(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Invalid " + name + " '" + value + "', expected yyyy-mm-dd");
+        }
+    }
+
+    private static <E extends Enum<E>> E enumParam(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    private static String dateText(LocalDate date) {
+        return date == null ? null : date.toString();
+    }
+
+    /**
+     * Writes one list item as JSON.
+     */
+    private interface ItemWriter<T> {
+        void write(JsonWriter json, T item) throws IOException;
+    }
+
+    /**
+     * Ends a request with an HTTP error status and a JSON message.
+     */
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package api;
+
+import model.Department;
+import model.Employee;
+import model.Payroll;
+import service.DataManager;
+import service.ReportGenerator;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, indexed copy of the data served by {@link ApiServer}.
+ *
+ * <p>A snapshot is built once per data version and then shared by every request
+ * thread without locking. Employees and departments are sorted by ID, and payroll
+ * records by employee and pay period end, so each employee's payroll history is a
+ * contiguous range found with one map lookup.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+class DataSnapshot {
+
+    private static final Comparator<Payroll> BY_EMPLOYEE_AND_PERIOD = Comparator
+            .comparing(Payroll::getEmployeeId)
+            .thenComparing(Payroll::getPayPeriodEnd)
+            .thenComparing(Payroll::getPayrollId);
+
+    private final long version;
+    private final String etag;
+    private final List<Employee> employees;
+    private final Map<String, Employee> employeesById;
+    private final List<Department> departments;
+    private final Map<String, Department> departmentsById;
+    private final List<Payroll> payrolls;
+    // Employee ID -> {first index, end index} in payrolls
+    private final Map<String, int[]> payrollRanges;
+    private final ReportGenerator reports;
+
+    /**
+     * Copies the data currently held by the DataManager.
+     * Must not run concurrently with changes to the DataManager.
+     *
+     * @param dataManager Source of the data
+     * @param bootId      Identifies this server run, so ETags never repeat across restarts
+     */
+    DataSnapshot(DataManager dataManager, String bootId) {
+        this.version = dataManager.getDataVersion();
+        this.etag = "\"" + bootId + "-" + version + "\"";
+
+        List<Employee> sortedEmployees = dataManager.getAllEmployees();
+        sortedEmployees.sort(Comparator.comparing(Employee::getEmployeeId));
+        this.employees = Collections.unmodifiableList(sortedEmployees);
+        this.employeesById = new HashMap<>(sortedEmployees.size() * 4 / 3 + 1);
+        for (Employee emp : sortedEmployees) {
+            employeesById.put(emp.getEmployeeId(), emp);
+        }
+
+        List<Department> sortedDepartments = dataManager.getAllDepartments();
+        sortedDepartments.sort(Comparator.comparing(Department::getDepartmentId));
+        this.departments = Collections.unmodifiableList(sortedDepartments);
+        this.departmentsById = new HashMap<>();
+        for (Department department : sortedDepartments) {
+            departmentsById.put(department.getDepartmentId(), department);
+        }
+
+        List<Payroll> sortedPayrolls = dataManager.getAllPayrolls();
+        sortedPayrolls.sort(BY_EMPLOYEE_AND_PERIOD);
+        this.payrolls = Collections.unmodifiableList(sortedPayrolls);
+        this.payrollRanges = new HashMap<>(sortedEmployees.size() * 4 / 3 + 1);
+        int rangeStart = 0;
+        for (int i = 1; i <= sortedPayrolls.size(); i++) {
+            if (i == sortedPayrolls.size()
+                    || !sortedPayrolls.get(i).getEmployeeId().equals(sortedPayrolls.get(rangeStart).getEmployeeId())) {
+                payrollRanges.put(sortedPayrolls.get(rangeStart).getEmployeeId(), new int[]{rangeStart, i});
+                rangeStart = i;
+            }
+        }
+
+        // Versioned, so aggregates behind the summary reports are shared through the ReportCache
+        this.reports = ReportGenerator.fromCurrentData();
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    String getEtag() {
+        return etag;
+    }
+
+    List<Employee> getEmployees() {
+        return employees;
+    }
+
+    Employee getEmployee(String employeeId) {
+        return employeesById.get(employeeId);
+    }
+
+    List<Department> getDepartments() {
+        return departments;
+    }
+
+    Department getDepartment(String departmentId) {
+        return departmentsById.get(departmentId);
+    }
+
+    /**
+     * Gets all payroll records, ordered by employee ID and pay period end.
+     */
+    List<Payroll> getPayrolls() {
+        return payrolls;
+    }
+
+    /**
+     * Gets one employee's payroll records, oldest pay period first.
+     */
+    List<Payroll> getPayrollsByEmployee(String employeeId) {
+        int[] range = payrollRanges.get(employeeId);
+        return range == null ? Collections.emptyList() : payrolls.subList(range[0], range[1]);
+    }
+
+    ReportGenerator getReports() {
+        return reports;
+    }
+}
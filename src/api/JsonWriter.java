@@ -0,0 +1,170 @@
+package api;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal streaming JSON writer. Values are written straight to the underlying
+ * writer, so large arrays never have to be built in memory first.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class JsonWriter {
+
+    private static final int MAX_DEPTH = 32;
+
+    private final Writer out;
+    // For each open object/array: whether a value has been written yet (so a comma is needed)
+    private final boolean[] hasValue = new boolean[MAX_DEPTH];
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+
+    /**
+     * Writes a member name; the next call must write its value.
+     */
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        string(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        separate();
+        if (value == null) {
+            out.write("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        separate();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        separate();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes an amount of money with two decimals, rounded half-up to the cent
+     * (the same rounding as the CSV export).
+     */
+    public JsonWriter money(double value) throws IOException {
+        separate();
+        long cents = Math.round(value * 100.0);
+        if (cents < 0) {
+            out.write('-');
+            cents = -cents;
+        }
+        out.write(Long.toString(cents / 100));
+        out.write('.');
+        int remainder = (int) (cents % 100);
+        out.write('0' + remainder / 10);
+        out.write('0' + remainder % 10);
+        return this;
+    }
+
+    /**
+     * Writes a member whose value is a string, or null.
+     */
+    public JsonWriter field(String name, String value) throws IOException {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, long value) throws IOException {
+        return name(name).value(value);
+    }
+
+    public JsonWriter moneyField(String name, double value) throws IOException {
+        return name(name).money(value);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private JsonWriter open(char bracket) throws IOException {
+        separate();
+        out.write(bracket);
+        hasValue[++depth] = false;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) throws IOException {
+        depth--;
+        out.write(bracket);
+        return this;
+    }
+
+    /**
+     * Writes a comma if this is not the first value in the current object or array.
+     */
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (hasValue[depth]) {
+            out.write(',');
+        }
+        hasValue[depth] = true;
+    }
+
+    private void string(String value) throws IOException {
+        out.write('"');
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String escape = null;
+            if (c == '"') {
+                escape = "\\\"";
+            } else if (c == '\\') {
+                escape = "\\\\";
+            } else if (c == '\n') {
+                escape = "\\n";
+            } else if (c == '\r') {
+                escape = "\\r";
+            } else if (c == '\t') {
+                escape = "\\t";
+            } else if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                escape = String.format("\\u%04x", (int) c);
+            }
+            if (escape != null) {
+                out.write(value, runStart, i - runStart);
+                out.write(escape);
+                runStart = i + 1;
+            }
+        }
+        out.write(value, runStart, value.length() - runStart);
+        out.write('"');
+    }
+}
@@ -0,0 +1,605 @@
+package cli;
+
+import model.Employee;
+import model.Payroll;
+import service.BankAccounts;
+import service.BankFileWriter;
+import service.CsvExporter;
+import service.DataManager;
+import service.EmployeeCsvImporter;
+import service.PayCalendar;
+import service.PayrollCalculator;
+import service.PayrollScheduler;
+import service.ReportGenerator;
+import service.ReportType;
+import service.RetroPayEngine;
+import service.TimesheetIngester;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Headless command-line entry point for running payroll and reports on a server
+ * or from a scheduled job. It never touches JavaFX, and each command loads only
+ * the data files it needs.
+ *
+ * <p>Results go to standard output as they are produced; progress and timings go
+ * to standard error, so output can be piped. Exit status is 0 on success, 1 on
+ * failure and 2 for a usage error.</p>
+ *
+ * <pre>
+ * java cli.PayrollCli payroll 2025-11-01 2025-11-14 [--dry-run]
+ * java cli.PayrollCli run-due [2025-11-14] [--dry-run]
+ * java cli.PayrollCli report ALL_PAYROLLS
+ * java cli.PayrollCli export PAYROLL_SUMMARY summary.csv
+ * java cli.PayrollCli import-employees employees.csv
+ * java cli.PayrollCli retro 2025-07-01 --raise 3.5
+ * java cli.PayrollCli timesheets punches.csv 2025-11-01 2025-11-14
+ * java cli.PayrollCli bank-file 2025-11-19 deposit.txt 42
+ * java cli.PayrollCli compact
+ * </pre>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class PayrollCli {
+
+    private final PrintStream out;
+    private final PrintStream err;
+    private final DataManager dataManager;
+
+    /**
+     * Creates a CLI writing results and diagnostics to the given streams.
+     */
+    public PayrollCli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+        this.dataManager = DataManager.getInstance();
+    }
+
+    public static void main(String[] args) {
+        // Buffered, not flushed per line, so large reports stream at full speed
+        PrintStream out = new PrintStream(new BufferedOutputStream(
+                new FileOutputStream(FileDescriptor.out), 1 << 16), false);
+        int status = new PayrollCli(out, System.err).run(args);
+        out.flush();
+        System.exit(status);
+    }
+
+    /**
+     * Runs one command.
+     *
+     * @param args Command name followed by its arguments
+     * @return Exit status
+     */
+    public int run(String[] args) {
+        if (args.length == 0) {
+            printUsage();
+            return 2;
+        }
+        try {
+            switch (args[0]) {
+                case "payroll":
+                    return runPayroll(args);
+                case "run-due":
+                    return runDue(args);
+                case "report":
+                    return runReport(args);
+                case "export":
+                    return runExport(args);
+                case "import-employees":
+                    return runImportEmployees(args);
+                case "retro":
+                    return runRetro(args);
+                case "timesheets":
+                    return runTimesheets(args);
+                case "bank-file":
+                    return runBankFile(args);
+                case "compact":
+                    return runCompact();
+                case "help":
+                case "--help":
+                    printUsage();
+                    return 0;
+                default:
+                    err.println("Unknown command: " + args[0]);
+                    printUsage();
+                    return 2;
+            }
+        } catch (UsageException e) {
+            err.println(e.getMessage());
+            printUsage();
+            return 2;
+        } catch (IOException | RuntimeException e) {
+            err.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * payroll START END [--dry-run]: pays every active salaried employee for one
+     * period, skipping employees already paid for it. Hourly employees are paid
+     * with the timesheets command.
+     */
+    private int runPayroll(String[] args) {
+        if (args.length < 3 || args.length > 4 || (args.length == 4 && !args[3].equals("--dry-run"))) {
+            throw new UsageException("Usage: payroll <start yyyy-mm-dd> <end yyyy-mm-dd> [--dry-run]");
+        }
+        LocalDate start = parseDate(args[1]);
+        LocalDate end = parseDate(args[2]);
+        if (end.isBefore(start)) {
+            throw new UsageException("Pay period end is before its start");
+        }
+        boolean dryRun = args.length == 4;
+
+        long startTime = System.nanoTime();
+        dataManager.loadEmployees();
+        dataManager.loadDepartments();
+        // Existing records are needed to skip employees already paid for the period
+        dataManager.loadPayrolls();
+        logTime("Loaded data", startTime);
+
+        List<Employee> employees = dataManager.getAllEmployees();
+        Set<String> paid = dataManager.getEmployeesPaidFor(start, end);
+        List<Payroll> payrolls = new ArrayList<>();
+        int[] alreadyPaid = new int[1];
+        double[] totals = new double[3];
+        out.printf("%-24s %-12s %12s %12s %12s%n", "Payroll ID", "Employee", "Gross", "Deductions", "Net");
+        PayrollCalculator.calculateBatch(employees, start, end, payroll -> {
+            if (paid.contains(payroll.getEmployeeId())) {
+                alreadyPaid[0]++;
+                return;
+            }
+            payrolls.add(payroll);
+            totals[0] += payroll.getGrossPay();
+            totals[1] += payroll.getTotalDeductions();
+            totals[2] += payroll.getNetPay();
+            out.printf("%-24s %-12s %12.2f %12.2f %12.2f%n", payroll.getPayrollId(), payroll.getEmployeeId(),
+                    payroll.getGrossPay(), payroll.getTotalDeductions(), payroll.getNetPay());
+        });
+        out.printf("%-37s %12.2f %12.2f %12.2f%n", "TOTAL (" + payrolls.size() + " employees)",
+                totals[0], totals[1], totals[2]);
+
+        int hourly = 0;
+        for (Employee employee : employees) {
+            if (employee.getStatus() == Employee.EmployeeStatus.ACTIVE && !PayrollCalculator.isSalaried(employee)) {
+                hourly++;
+            }
+        }
+        err.printf("Skipped %d employees already paid for the period and %d hourly employees (use timesheets)%n",
+                alreadyPaid[0], hourly);
+        if (dryRun) {
+            err.println("Dry run: payroll records were not saved");
+        } else if (!payrolls.isEmpty()) {
+            long saveTime = System.nanoTime();
+            dataManager.addPayrolls(payrolls);
+            logTime("Saved " + payrolls.size() + " payroll records", saveTime);
+        }
+        return 0;
+    }
+
+    /**
+     * run-due [DATE] [--dry-run]: pays every pay calendar period that has ended by
+     * the date (default today) and was not paid by an earlier run.
+     */
+    private int runDue(String[] args) {
+        LocalDate today = LocalDate.now();
+        boolean dryRun = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--dry-run")) {
+                dryRun = true;
+            } else if (i == 1) {
+                today = parseDate(args[i]);
+            } else {
+                throw new UsageException("Usage: run-due [yyyy-mm-dd] [--dry-run]");
+            }
+        }
+
+        long startTime = System.nanoTime();
+        dataManager.loadEmployees();
+        dataManager.loadDepartments();
+        // Already-paid checks and saving need the existing records
+        dataManager.loadPayrolls();
+        logTime("Loaded data", startTime);
+
+        long runTime = System.nanoTime();
+        List<PayrollScheduler.Run> runs = new PayrollScheduler(dataManager, PayCalendar.getInstance())
+                .runDue(today, dryRun);
+        out.printf("%-24s %-24s %10s %12s %14s %14s %14s%n", "Schedule", "Period", "Payrolls", "Already paid",
+                "Hourly skipped", "Gross", "Net");
+        for (PayrollScheduler.Run run : runs) {
+            out.printf("%-24s %-24s %10d %12d %14d %14.2f %14.2f%n", run.getSchedule().getKey(), run.getPeriod(),
+                    run.getPayrolls().size(), run.getAlreadyPaid(), run.getHourlySkipped(), run.getTotalGrossPay(),
+                    run.getTotalNetPay());
+        }
+        logTime(runs.isEmpty() ? "No pay periods due" : "Ran " + runs.size() + " pay periods", runTime);
+        if (dryRun) {
+            err.println("Dry run: payroll records and runs were not saved");
+        }
+        return 0;
+    }
+
+    /**
+     * report TYPE: writes a text report to standard output.
+     */
+    private int runReport(String[] args) {
+        if (args.length != 2) {
+            throw new UsageException("Usage: report <" + reportTypeNames() + ">");
+        }
+        ReportType type = parseReportType(args[1]);
+        loadFor(type);
+        new ReportGenerator(dataManager.getAllEmployees(), dataManager.getAllPayrolls())
+                .generate(type, out::println);
+        return 0;
+    }
+
+    /**
+     * export TYPE FILE: writes a report to a CSV file.
+     */
+    private int runExport(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new UsageException("Usage: export <" + reportTypeNames() + "> <file.csv>");
+        }
+        ReportType type = parseReportType(args[1]);
+        Path file = Paths.get(args[2]);
+        loadFor(type);
+
+        long startTime = System.nanoTime();
+        CsvExporter.Job<?> job = new ReportGenerator(dataManager.getAllEmployees(), dataManager.getAllPayrolls())
+                .csvExport(type);
+        job.getExporter().setParallel(true);
+        job.exportTo(file);
+        logTime("Exported " + job.getRowCount() + " rows to " + file.toAbsolutePath(), startTime);
+        return 0;
+    }
+
+    /**
+     * import-employees FILE: adds or replaces employees from a CSV file.
+     */
+    private int runImportEmployees(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new UsageException("Usage: import-employees <file.csv>");
+        }
+        long startTime = System.nanoTime();
+        dataManager.loadEmployees();
+        dataManager.loadDepartments();
+
+        EmployeeCsvImporter importer = new EmployeeCsvImporter(dataManager.getAllDepartments(),
+                dataManager.getAllEmployees());
+        List<Employee> employees = importer.read(Paths.get(args[1]));
+        for (String error : importer.getErrors()) {
+            err.println(error);
+        }
+        if (!employees.isEmpty()) {
+            dataManager.addEmployees(employees);
+        }
+        out.println("Imported " + employees.size() + " employees, skipped " + importer.getErrors().size() + " rows");
+        logTime("Import finished", startTime);
+        return importer.getErrors().isEmpty() ? 0 : 1;
+    }
+
+    /**
+     * retro EFFECTIVE [--raise PERCENT] [--dry-run] [EMPLOYEE_ID ...]: issues adjustments
+     * for pay changes effective from a past date, optionally giving a raise first.
+     */
+    private int runRetro(String[] args) {
+        String usage = "Usage: retro <effective yyyy-mm-dd> [--raise <percent>] [--dry-run] [employee ID ...]";
+        if (args.length < 2) {
+            throw new UsageException(usage);
+        }
+        LocalDate effectiveDate = parseDate(args[1]);
+        Double raisePercent = null;
+        boolean dryRun = false;
+        List<String> employeeIds = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--dry-run")) {
+                dryRun = true;
+            } else if (args[i].equals("--raise") && i + 1 < args.length) {
+                try {
+                    raisePercent = Double.parseDouble(args[++i]);
+                } catch (NumberFormatException e) {
+                    throw new UsageException("Invalid raise percentage '" + args[i] + "'");
+                }
+            } else if (args[i].startsWith("--")) {
+                throw new UsageException(usage);
+            } else {
+                employeeIds.add(args[i]);
+            }
+        }
+        if (dryRun && raisePercent != null) {
+            throw new UsageException("--dry-run cannot be combined with --raise, since the raise must be saved to recalculate");
+        }
+
+        long startTime = System.nanoTime();
+        dataManager.loadAllData();
+        logTime("Loaded data", startTime);
+
+        List<Employee> employees = new ArrayList<>();
+        if (employeeIds.isEmpty()) {
+            employees.addAll(dataManager.getAllEmployees());
+        } else {
+            for (String employeeId : employeeIds) {
+                Employee employee = dataManager.getEmployee(employeeId);
+                if (employee == null) {
+                    throw new UsageException("Unknown employee " + employeeId);
+                }
+                employees.add(employee);
+            }
+        }
+
+        long calculateTime = System.nanoTime();
+        RetroPayEngine engine = new RetroPayEngine(dataManager);
+        RetroPayEngine.Result result;
+        if (raisePercent != null) {
+            double factor = 1.0 + raisePercent / 100.0;
+            List<Employee> raised = new ArrayList<>();
+            for (Employee employee : employees) {
+                if (employee.getStatus() != Employee.EmployeeStatus.ACTIVE) {
+                    continue;
+                }
+                Employee copy = new Employee(employee);
+                copy.setHourlyRate(Math.round(employee.getHourlyRate() * factor * 100.0) / 100.0);
+                copy.setAnnualSalary(Math.round(employee.getAnnualSalary() * factor * 100.0) / 100.0);
+                raised.add(copy);
+            }
+            result = engine.applyChanges(raised, effectiveDate, LocalDate.now());
+        } else {
+            List<String> ids = new ArrayList<>();
+            for (Employee employee : employees) {
+                ids.add(employee.getEmployeeId());
+            }
+            result = dryRun
+                    ? engine.calculate(ids, effectiveDate, LocalDate.now())
+                    : engine.run(ids, effectiveDate, LocalDate.now());
+        }
+
+        out.printf("%-32s %-12s %12s %12s %12s%n", "Adjustment ID", "Employee", "Gross", "Deductions", "Net");
+        for (Payroll adjustment : result.getAdjustments()) {
+            out.printf("%-32s %-12s %12.2f %12.2f %12.2f%n", adjustment.getPayrollId(), adjustment.getEmployeeId(),
+                    adjustment.getGrossPay(), adjustment.getTotalDeductions(), adjustment.getNetPay());
+        }
+        out.printf("%-45s %12.2f %12.2f %12.2f%n", "TOTAL (" + result.getAdjustments().size() + " adjustments)",
+                result.getTotalGrossPay(), result.getTotalDeductions(), result.getTotalNetPay());
+        logTime("Recalculated " + result.getPayrollsChecked() + " payrolls of " + result.getEmployeeCount()
+                + " employees", calculateTime);
+        if (dryRun) {
+            err.println("Dry run: adjustments were not saved");
+        }
+        return 0;
+    }
+
+    /**
+     * timesheets FILE START END [--dry-run]: pays hourly employees for the time in a
+     * timesheet or punch-clock CSV file.
+     */
+    private int runTimesheets(String[] args) throws IOException {
+        if (args.length < 4 || args.length > 5 || (args.length == 5 && !args[4].equals("--dry-run"))) {
+            throw new UsageException("Usage: timesheets <file.csv> <start yyyy-mm-dd> <end yyyy-mm-dd> [--dry-run]");
+        }
+        Path file = Paths.get(args[1]);
+        LocalDate start = parseDate(args[2]);
+        LocalDate end = parseDate(args[3]);
+        if (end.isBefore(start)) {
+            throw new UsageException("Pay period end is before its start");
+        }
+        boolean dryRun = args.length == 5;
+
+        long startTime = System.nanoTime();
+        dataManager.loadEmployees();
+        dataManager.loadDepartments();
+        if (!dryRun) {
+            dataManager.loadPayrolls();
+        }
+        logTime("Loaded data", startTime);
+
+        long ingestTime = System.nanoTime();
+        List<Payroll> payrolls = new ArrayList<>();
+        double[] totals = new double[3];
+        out.printf("%-24s %-12s %8s %8s %8s %12s %12s %12s%n", "Payroll ID", "Employee", "Regular", "Overtime",
+                "Double", "Gross", "Deductions", "Net");
+        TimesheetIngester ingester = new TimesheetIngester(start, end);
+        TimesheetIngester.Result result = ingester.ingest(file,
+                TimesheetIngester.employeesById(dataManager.getAllEmployees()), payroll -> {
+                    payrolls.add(payroll);
+                    totals[0] += payroll.getGrossPay();
+                    totals[1] += payroll.getTotalDeductions();
+                    totals[2] += payroll.getNetPay();
+                    out.printf("%-24s %-12s %8.2f %8.2f %8.2f %12.2f %12.2f %12.2f%n", payroll.getPayrollId(),
+                            payroll.getEmployeeId(), payroll.getRegularHours(), payroll.getOvertimeHours(),
+                            payroll.getDoubleTimeHours(), payroll.getGrossPay(), payroll.getTotalDeductions(),
+                            payroll.getNetPay());
+                });
+        out.printf("%-37s %8.2f %8.2f %8.2f %12.2f %12.2f %12.2f%n", "TOTAL (" + payrolls.size() + " employees)",
+                result.getRegularHours(), result.getOvertimeHours(), result.getDoubleTimeHours(),
+                totals[0], totals[1], totals[2]);
+
+        for (String error : result.getErrors()) {
+            err.println(error);
+        }
+        if (result.getErrorCount() > result.getErrors().size()) {
+            err.println("... and " + (result.getErrorCount() - result.getErrors().size()) + " more invalid rows");
+        }
+        if (!result.getUnknownEmployees().isEmpty()) {
+            err.println("Unknown employees (not paid): " + String.join(", ", result.getUnknownEmployees()));
+        }
+        err.printf("Read %,d rows: %,d outside the period, %,d invalid; skipped %d salaried employees%n",
+                result.getRows(), result.getRowsOutsidePeriod(), result.getErrorCount(), result.getSalariedSkipped());
+        logTime("Processed timesheets", ingestTime);
+
+        if (dryRun) {
+            err.println("Dry run: payroll records were not saved");
+        } else {
+            int alreadyPaid = ingester.removeAlreadyPaid(payrolls, dataManager);
+            if (alreadyPaid > 0) {
+                err.println("Not saved: " + alreadyPaid + " employees already paid for this period");
+            }
+            if (!payrolls.isEmpty()) {
+                long saveTime = System.nanoTime();
+                dataManager.addPayrolls(payrolls);
+                logTime("Saved " + payrolls.size() + " payroll records", saveTime);
+            }
+        }
+        return result.getErrorCount() == 0 && result.getUnknownEmployees().isEmpty() ? 0 : 1;
+    }
+
+    /**
+     * bank-file PAY_DATE FILE NUMBER: writes the direct deposit file for the
+     * payrolls paid on a date. Employees without a bank account are listed and
+     * make the exit status 1.
+     */
+    private int runBankFile(String[] args) throws IOException {
+        if (args.length != 4) {
+            throw new UsageException("Usage: bank-file <pay date yyyy-mm-dd> <output file> <file creation number>");
+        }
+        LocalDate payDate = parseDate(args[1]);
+        Path file = Paths.get(args[2]);
+        int fileCreationNumber;
+        try {
+            fileCreationNumber = Integer.parseInt(args[3]);
+        } catch (NumberFormatException e) {
+            fileCreationNumber = 0;
+        }
+        if (fileCreationNumber < 1 || fileCreationNumber > 9999) {
+            throw new UsageException("Invalid file creation number '" + args[3] + "', expected 1 to 9999");
+        }
+        BankFileWriter writer = BankFileWriter.load(Paths.get(BankFileWriter.DEFAULT_SETTINGS_FILE),
+                fileCreationNumber);
+
+        long startTime = System.nanoTime();
+        dataManager.loadEmployees();
+        dataManager.loadPayrolls();
+        BankAccounts accounts = BankAccounts.read(Paths.get(BankAccounts.DEFAULT_FILE));
+        logTime("Loaded data", startTime);
+        for (String error : accounts.getErrors()) {
+            err.println(BankAccounts.DEFAULT_FILE + " " + error);
+        }
+
+        long writeTime = System.nanoTime();
+        BankFileWriter.Summary summary = writer.write(dataManager.getPayrollShards(), payDate,
+                dataManager::getEmployee, accounts, file);
+        out.printf("%,d deposits totalling %,d.%02d in %,d records written to %s%n", summary.getPayments(),
+                summary.getTotalCents() / 100, summary.getTotalCents() % 100, summary.getRecords(), file);
+        logTime("Wrote bank file", writeTime);
+
+        if (summary.getNotPositive() > 0) {
+            err.println("Skipped " + summary.getNotPositive() + " payrolls with no net pay");
+        }
+        if (summary.getWithoutAccount() > 0) {
+            String more = summary.getWithoutAccount() > summary.getMissingAccounts().size()
+                    ? " and " + (summary.getWithoutAccount() - summary.getMissingAccounts().size()) + " more" : "";
+            err.println("No bank account (not paid): " + String.join(", ", summary.getMissingAccounts()) + more);
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * compact: rewrites every data file from a fresh load.
+     */
+    private int runCompact() {
+        long before = dataFileBytes();
+        long startTime = System.nanoTime();
+        dataManager.loadAllData();
+        dataManager.saveAllData();
+        long after = dataFileBytes();
+        out.printf("Data files rewritten: %,d bytes before, %,d bytes after%n", before, after);
+        logTime("Compact finished", startTime);
+        return 0;
+    }
+
+    /**
+     * Loads only the files a report needs; employee reports skip the (large) payroll file.
+     */
+    private void loadFor(ReportType type) {
+        long startTime = System.nanoTime();
+        dataManager.loadEmployees();
+        dataManager.loadDepartments();
+        if (type != ReportType.ALL_EMPLOYEES && type != ReportType.ACTIVE_EMPLOYEES) {
+            dataManager.loadPayrolls();
+        }
+        logTime("Loaded data", startTime);
+    }
+
+    private static long dataFileBytes() {
+        long total = 0;
+        for (File file : DataManager.getDataFiles()) {
+            total += file.length();
+        }
+        return total;
+    }
+
+    private void logTime(String what, long startNanos) {
+        err.printf("%s in %d ms%n", what, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new UsageException("Invalid date '" + value + "', expected yyyy-mm-dd");
+        }
+    }
+
+    private static ReportType parseReportType(String value) {
+        try {
+            return ReportType.valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new UsageException("Unknown report '" + value + "', expected one of: " + reportTypeNames());
+        }
+    }
+
+    private static String reportTypeNames() {
+        StringBuilder names = new StringBuilder();
+        for (ReportType type : ReportType.values()) {
+            if (names.length() > 0) {
+                names.append('|');
+            }
+            names.append(type.name());
+        }
+        return names.toString();
+    }
+
+    private void printUsage() {
+        err.println("Usage: java cli.PayrollCli <command> [arguments]");
+        err.println();
+        err.println("Commands:");
+        err.println("  payroll <start> <end> [--dry-run]   Pay active salaried employees not yet paid for a period (dates yyyy-mm-dd)");
+        err.println("  run-due [<date>] [--dry-run]        Pay every pay calendar period ended by the date (default today)");
+        err.println("  report <type>                       Print a report");
+        err.println("  export <type> <file.csv>            Export a report to CSV");
+        err.println("  import-employees <file.csv>         Add or update employees from CSV");
+        err.println("  retro <effective> [--raise <pct>] [--dry-run] [employee ID ...]");
+        err.println("                                      Issue adjustments for pay changed from a past date");
+        err.println("  timesheets <file.csv> <start> <end> [--dry-run]");
+        err.println("                                      Pay hourly employees from timesheet or punch-clock CSV");
+        err.println("  bank-file <pay date> <file> <number>");
+        err.println("                                      Write the direct deposit file for a pay date");
+        err.println("  compact                             Rewrite all data files");
+        err.println();
+        err.println("Report types: " + reportTypeNames());
+    }
+
+    /**
+     * Thrown for invalid command-line arguments.
+     */
+    private static class UsageException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UsageException(String message) {
+            super(message);
+        }
+    }
+}
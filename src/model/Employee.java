@@ -48,6 +48,27 @@ public class Employee implements Serializable {
         this.status = EmployeeStatus.ACTIVE;
     }
 
+    /**
+     * Copy constructor, used to edit an employee without changing the stored record
+     *
+     * @param other Employee to copy
+     */
+    public Employee(Employee other) {
+        this.employeeId = other.employeeId;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.phone = other.phone;
+        this.dateOfBirth = other.dateOfBirth;
+        this.hireDate = other.hireDate;
+        this.department = other.department;
+        this.position = other.position;
+        this.employmentType = other.employmentType;
+        this.hourlyRate = other.hourlyRate;
+        this.annualSalary = other.annualSalary;
+        this.status = other.status;
+    }
+
     // Getters and Setters
 
     /**
@@ -21,6 +21,7 @@ public class Payroll implements Serializable {
     // Hours and Rate
     private double regularHours;
     private double overtimeHours;
+    private double doubleTimeHours;   // Paid in overtimePay at the double-time rate
     private double hourlyRate;
 
     // Earnings
@@ -42,6 +43,16 @@ public class Payroll implements Serializable {
     private double totalDeductions;
     private double netPay;
 
+    // Retroactive adjustment: ID of the payroll this record corrects (null for a regular payroll)
+    private String adjustedPayrollId;
+
+    // How the amounts were calculated, so they can be recalculated the same way later
+    // (null for records saved before this was stored)
+    private PayType payType;
+    private double overtimeMultiplier;    // Hourly only
+    private double doubleTimeMultiplier;  // Hourly only
+    private int periodsPerYear;           // Salaried only
+
     /**
      * Constructor for creating a new payroll record
      */
@@ -110,6 +121,14 @@ public class Payroll implements Serializable {
         this.overtimeHours = overtimeHours;
     }
 
+    public double getDoubleTimeHours() {
+        return doubleTimeHours;
+    }
+
+    public void setDoubleTimeHours(double doubleTimeHours) {
+        this.doubleTimeHours = doubleTimeHours;
+    }
+
     public double getHourlyRate() {
         return hourlyRate;
     }
@@ -222,6 +241,54 @@ public class Payroll implements Serializable {
         this.netPay = netPay;
     }
 
+    public String getAdjustedPayrollId() {
+        return adjustedPayrollId;
+    }
+
+    public void setAdjustedPayrollId(String adjustedPayrollId) {
+        this.adjustedPayrollId = adjustedPayrollId;
+    }
+
+    public PayType getPayType() {
+        return payType;
+    }
+
+    public void setPayType(PayType payType) {
+        this.payType = payType;
+    }
+
+    public double getOvertimeMultiplier() {
+        return overtimeMultiplier;
+    }
+
+    public void setOvertimeMultiplier(double overtimeMultiplier) {
+        this.overtimeMultiplier = overtimeMultiplier;
+    }
+
+    public double getDoubleTimeMultiplier() {
+        return doubleTimeMultiplier;
+    }
+
+    public void setDoubleTimeMultiplier(double doubleTimeMultiplier) {
+        this.doubleTimeMultiplier = doubleTimeMultiplier;
+    }
+
+    public int getPeriodsPerYear() {
+        return periodsPerYear;
+    }
+
+    public void setPeriodsPerYear(int periodsPerYear) {
+        this.periodsPerYear = periodsPerYear;
+    }
+
+    /**
+     * Check whether this record is a retroactive adjustment holding only the
+     * differences from an earlier payroll
+     */
+    public boolean isAdjustment() {
+        return adjustedPayrollId != null;
+    }
+
     /**
      * Calculate total deductions
      */
@@ -243,4 +310,12 @@ public class Payroll implements Serializable {
         return String.format("Payroll %s - Employee: %s, Period: %s to %s, Net Pay: $%.2f",
                 payrollId, employeeId, payPeriodStart, payPeriodEnd, netPay);
     }
-}
\ No newline at end of file
+
+    /**
+     * How a payroll's earnings were calculated
+     */
+    public enum PayType {
+        HOURLY,
+        SALARIED
+    }
+}
@@ -0,0 +1,157 @@
+package service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Employees' direct deposit accounts, read from {@code data/bank_accounts.csv}.
+ *
+ * <p>Banking details are kept out of the employee records so they are only read
+ * when a payment file is made. The file has a header row with the columns
+ * Employee ID, Institution (3 digits), Transit (5 digits) and Account (up to 12
+ * digits), in any order. Rows that cannot be read are skipped and listed in
+ * {@link #getErrors()}.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class BankAccounts {
+
+    public static final String DEFAULT_FILE = "data/bank_accounts.csv";
+
+    private final Map<String, Account> accounts = new HashMap<>();
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * Reads accounts from a CSV file.
+     *
+     * @throws IOException If the file cannot be read or is missing a column
+     */
+    public static BankAccounts read(Path file) throws IOException {
+        BankAccounts result = new BankAccounts();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IOException("Bank account file is empty: " + file);
+            }
+            String[] header = headerLine.replace("\uFEFF", "").split(",", -1);
+            int idColumn = column(header, "employeeid");
+            int institutionColumn = column(header, "institution");
+            int transitColumn = column(header, "transit");
+            int accountColumn = column(header, "account");
+
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length < header.length) {
+                    result.errors.add("Line " + lineNumber + ": expected " + header.length + " columns");
+                    continue;
+                }
+                String employeeId = unquote(fields[idColumn]);
+                String institution = unquote(fields[institutionColumn]);
+                String transit = unquote(fields[transitColumn]);
+                String account = unquote(fields[accountColumn]);
+                if (employeeId.isEmpty()) {
+                    result.errors.add("Line " + lineNumber + ": employee id is empty");
+                } else if (!isDigits(institution, 3, 3)) {
+                    result.errors.add("Line " + lineNumber + ": institution must be 3 digits");
+                } else if (!isDigits(transit, 5, 5)) {
+                    result.errors.add("Line " + lineNumber + ": transit must be 5 digits");
+                } else if (!isDigits(account, 1, 12)) {
+                    result.errors.add("Line " + lineNumber + ": account must be 1 to 12 digits");
+                } else {
+                    result.accounts.put(employeeId, new Account(institution, transit, account));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets an employee's account, or null if they have none.
+     */
+    public Account get(String employeeId) {
+        return accounts.get(employeeId);
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    /**
+     * Gets the rows that were skipped, as "Line N: reason".
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    private static int column(String[] header, String name) throws IOException {
+        for (int i = 0; i < header.length; i++) {
+            if (unquote(header[i]).replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT).equals(name)) {
+                return i;
+            }
+        }
+        throw new IOException("Missing required column in bank account file: " + name);
+    }
+
+    private static String unquote(String value) {
+        value = value.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+        return value;
+    }
+
+    private static boolean isDigits(String value, int minLength, int maxLength) {
+        if (value.length() < minLength || value.length() > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A bank account: institution number, branch transit number and account number.
+     */
+    public static final class Account {
+        private final String institution;
+        private final String transit;
+        private final String account;
+
+        public Account(String institution, String transit, String account) {
+            this.institution = institution;
+            this.transit = transit;
+            this.account = account;
+        }
+
+        public String getInstitution() {
+            return institution;
+        }
+
+        public String getTransit() {
+            return transit;
+        }
+
+        public String getAccount() {
+            return account;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package service;
+
+import model.Employee;
+import model.Payroll;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Writes the direct deposit file sent to the bank for one pay date, in the
+ * fixed-width CPA 005 layout used by Canadian banks.
+ *
+ * <p>The file is an "A" header record, "C" credit records holding up to six
+ * payments each, and a "Z" trailer with the payment count and total. Every record
+ * is 1464 characters followed by CRLF. Payrolls are formatted straight into a
+ * reused byte buffer that is written to the file whenever it fills, and the
+ * trailer totals are added up in the same pass, so memory use grows only with
+ * the number of employees paid, not the number of payments.</p>
+ *
+ * <p>Each payment's cross-reference, which the bank sends back with returned
+ * payments, is the employee ID, the pay date as yyMMdd and the employee's payment
+ * number in the file: {@code EMP0000001251114001}, then {@code ...002} for an
+ * adjustment paid the same day. Payroll IDs are too long for the 19-character
+ * field, so employee IDs longer than 10 characters are rejected.</p>
+ *
+ * <p>The originator details the bank assigns are read from
+ * {@code data/direct_deposit.properties}; each employee's account comes from
+ * {@link BankAccounts}.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class BankFileWriter {
+
+    public static final String DEFAULT_SETTINGS_FILE = "data/direct_deposit.properties";
+
+    private static final int RECORD_LENGTH = 1464;
+    private static final int SEGMENT_LENGTH = 240;
+    private static final int SEGMENTS_PER_RECORD = 6;
+    private static final int SEGMENTS_START = 24;
+    private static final int FLUSH_THRESHOLD = 256 * 1024;
+    private static final int MAX_LISTED = 100;
+    // The 19-character cross-reference is the employee ID, the pay date (yyMMdd) and a 3-digit sequence
+    private static final int MAX_EMPLOYEE_ID_LENGTH = 19 - 6 - 3;
+    private static final int MAX_SEQUENCE = 999;
+
+    private static final LatencyHistogram WRITE_TIME = Metrics.getInstance().histogram("bankFile.write");
+    private static final Metrics.Counter PAYMENTS = Metrics.getInstance().counter("bankFile.payments");
+
+    private final byte[] originatorId;
+    private final byte[] shortName;
+    private final byte[] longName;
+    private final int destinationDataCentre;
+    private final int transactionCode;
+    private final byte[] returnInstitution;
+    private final byte[] returnAccount;
+    private final byte[] currency;
+    private final int fileCreationNumber;
+    private LocalDate creationDate = LocalDate.now();
+
+    /**
+     * @param settings           Originator details (see {@code data/direct_deposit.properties})
+     * @param fileCreationNumber The file's sequence number, 1 to 9999; the bank rejects a repeated number
+     * @throws IllegalArgumentException If a setting is missing or invalid
+     */
+    public BankFileWriter(Properties settings, int fileCreationNumber) {
+        if (fileCreationNumber < 1 || fileCreationNumber > 9999) {
+            throw new IllegalArgumentException("File creation number must be 1 to 9999");
+        }
+        this.fileCreationNumber = fileCreationNumber;
+        this.originatorId = ascii(required(settings, "originatorId", 1, 10));
+        this.shortName = ascii(required(settings, "shortName", 1, 15));
+        this.longName = ascii(required(settings, "longName", 1, 30));
+        this.destinationDataCentre = digits(settings, "destinationDataCentre", null, 5);
+        this.transactionCode = digits(settings, "transactionCode", "200", 3);
+        this.returnInstitution = ascii("0" + digitString(settings, "returnInstitution", 3, 3)
+                + digitString(settings, "returnTransit", 5, 5));
+        this.returnAccount = ascii(digitString(settings, "returnAccount", 1, 12));
+        String currencyCode = settings.getProperty("currency", "CAD").trim();
+        if (!currencyCode.equals("CAD") && !currencyCode.equals("USD")) {
+            throw new IllegalArgumentException("currency must be CAD or USD");
+        }
+        this.currency = ascii(currencyCode);
+    }
+
+    /**
+     * Reads originator details from a properties file.
+     *
+     * @throws IOException              If the file is missing or cannot be read
+     * @throws IllegalArgumentException If a setting is missing or invalid
+     */
+    public static BankFileWriter load(Path file, int fileCreationNumber) throws IOException {
+        Properties settings = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            settings.load(reader);
+        } catch (NoSuchFileException e) {
+            throw new IOException("Direct deposit settings not found: " + file, e);
+        }
+        return new BankFileWriter(settings, fileCreationNumber);
+    }
+
+    /**
+     * Sets the creation date put in the header, today by default.
+     */
+    public void setCreationDate(LocalDate creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    /**
+     * Writes a deposit for every payroll paid on a date with a positive net pay,
+     * replacing the file if it exists. Employees without a bank account are skipped
+     * and listed in the summary. If writing fails the partial file is deleted.
+     *
+     * @param payrolls  Payrolls to choose from, e.g. {@link DataManager#getPayrollShards()}
+     * @param payDate   Pay date to pay; also the date funds are available
+     * @param employees Looks up the employee for a payroll, for the payee name
+     * @param accounts  Employees' bank accounts
+     * @param file      Destination file
+     * @throws IOException If the file cannot be written
+     */
+    public Summary write(Iterable<Payroll> payrolls, LocalDate payDate, Function<String, Employee> employees,
+                         BankAccounts accounts, Path file) throws IOException {
+        long start = Metrics.startTimer();
+        Summary summary;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            summary = write(payrolls, payDate, employees, accounts, channel);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        PAYMENTS.add(summary.getPayments());
+        WRITE_TIME.recordSince(start);
+        return summary;
+    }
+
+    private Summary write(Iterable<Payroll> payrolls, LocalDate payDate, Function<String, Employee> employees,
+                          BankAccounts accounts, FileChannel channel) throws IOException {
+        Summary summary = new Summary();
+        byte[] record = new byte[RECORD_LENGTH + 2];
+        // Room for the last credit record and the trailer after the final flush check
+        byte[] buffer = new byte[FLUSH_THRESHOLD + 2 * record.length];
+        int length = 0;
+        byte[] dueDate = julianDate(payDate);
+        byte[] referenceDate = ascii(payDate.format(DateTimeFormatter.ofPattern("yyMMdd")));
+        Map<String, Integer> paymentsByEmployee = new HashMap<>();
+        int recordCount = 1;
+
+        startRecord(record, 'A', recordCount);
+        putDate(record, 24, creationDate);
+        putNumber(record, 30, 5, destinationDataCentre);
+        System.arraycopy(currency, 0, record, 55, currency.length);
+        length = append(buffer, length, record);
+
+        int segments = 0;
+        for (Payroll payroll : payrolls) {
+            if (!payDate.equals(payroll.getPayDate())) {
+                continue;
+            }
+            long cents = Math.round(payroll.getNetPay() * 100.0);
+            if (cents <= 0) {
+                summary.notPositive++;
+                continue;
+            }
+            BankAccounts.Account account = accounts.get(payroll.getEmployeeId());
+            if (account == null) {
+                summary.withoutAccount++;
+                if (summary.missingAccounts.size() < MAX_LISTED) {
+                    summary.missingAccounts.add(payroll.getEmployeeId());
+                }
+                continue;
+            }
+            if (cents > 9_999_999_999L) {
+                throw new IllegalArgumentException("Net pay too large for a deposit: " + payroll.getPayrollId());
+            }
+            int sequence = paymentsByEmployee.merge(payroll.getEmployeeId(), 1, Integer::sum);
+            checkCrossReference(payroll, sequence);
+
+            if (segments == 0) {
+                recordCount++;
+                startRecord(record, 'C', recordCount);
+            }
+            Employee employee = employees.apply(payroll.getEmployeeId());
+            putSegment(record, SEGMENTS_START + segments * SEGMENT_LENGTH, payroll, sequence, cents, dueDate,
+                    referenceDate, account, employee == null ? payroll.getEmployeeId() : employee.getFullName());
+            summary.payments++;
+            summary.totalCents += cents;
+            segments++;
+            if (segments == SEGMENTS_PER_RECORD) {
+                length = append(buffer, length, record);
+                segments = 0;
+            }
+            if (length >= FLUSH_THRESHOLD) {
+                length = flush(channel, buffer, length);
+            }
+        }
+        if (segments > 0) {
+            length = append(buffer, length, record);
+        }
+
+        recordCount++;
+        startRecord(record, 'Z', recordCount);
+        putNumber(record, 24, 14, 0);
+        putNumber(record, 38, 8, 0);
+        putNumber(record, 46, 14, summary.totalCents);
+        putNumber(record, 60, 8, summary.payments);
+        putNumber(record, 68, 44, 0);
+        length = append(buffer, length, record);
+        flush(channel, buffer, length);
+
+        summary.records = recordCount;
+        return summary;
+    }
+
+    /**
+     * Blanks the record and fills in the fields every record starts with.
+     */
+    private void startRecord(byte[] record, char type, int recordCount) {
+        Arrays.fill(record, 0, RECORD_LENGTH, (byte) ' ');
+        record[RECORD_LENGTH] = '\r';
+        record[RECORD_LENGTH + 1] = '\n';
+        record[0] = (byte) type;
+        putNumber(record, 1, 9, recordCount);
+        System.arraycopy(originatorId, 0, record, 10, originatorId.length);
+        putNumber(record, 20, 4, fileCreationNumber);
+    }
+
+    /**
+     * Fills in one 240-character payment segment of a credit record.
+     */
+    private void putSegment(byte[] record, int at, Payroll payroll, int sequence, long cents, byte[] dueDate,
+                            byte[] referenceDate, BankAccounts.Account account, String payeeName) {
+        putNumber(record, at, 3, transactionCode);
+        putNumber(record, at + 3, 10, cents);
+        System.arraycopy(dueDate, 0, record, at + 13, dueDate.length);
+        record[at + 19] = '0';
+        putText(record, at + 20, 3, account.getInstitution());
+        putText(record, at + 23, 5, account.getTransit());
+        putText(record, at + 28, 12, account.getAccount());
+        putNumber(record, at + 40, 25, 0);
+        System.arraycopy(shortName, 0, record, at + 65, shortName.length);
+        putText(record, at + 80, 30, payeeName);
+        System.arraycopy(longName, 0, record, at + 110, longName.length);
+        System.arraycopy(originatorId, 0, record, at + 140, originatorId.length);
+        String employeeId = payroll.getEmployeeId();
+        putText(record, at + 150, employeeId.length(), employeeId);
+        System.arraycopy(referenceDate, 0, record, at + 150 + employeeId.length(), referenceDate.length);
+        putNumber(record, at + 150 + employeeId.length() + referenceDate.length, 3, sequence);
+        System.arraycopy(returnInstitution, 0, record, at + 169, returnInstitution.length);
+        System.arraycopy(returnAccount, 0, record, at + 178, returnAccount.length);
+        putNumber(record, at + 229, 11, 0);
+    }
+
+    /**
+     * Checks that a payment's cross-reference fits its field without being cut.
+     *
+     * @throws IllegalArgumentException If the employee ID is too long or not plain
+     *                                  ASCII, or the employee has too many payments
+     */
+    private static void checkCrossReference(Payroll payroll, int sequence) {
+        String employeeId = payroll.getEmployeeId();
+        if (employeeId.isEmpty() || employeeId.length() > MAX_EMPLOYEE_ID_LENGTH) {
+            throw new IllegalArgumentException("Employee ID too long for the deposit cross-reference (at most "
+                    + MAX_EMPLOYEE_ID_LENGTH + " characters): " + employeeId);
+        }
+        for (int i = 0; i < employeeId.length(); i++) {
+            char c = employeeId.charAt(i);
+            if (c <= ' ' || c > '~') {
+                throw new IllegalArgumentException("Employee ID has characters the bank cannot read: " + employeeId);
+            }
+        }
+        if (sequence > MAX_SEQUENCE) {
+            throw new IllegalArgumentException("More than " + MAX_SEQUENCE + " deposits on one date for employee "
+                    + employeeId);
+        }
+    }
+
+    private static int append(byte[] buffer, int length, byte[] record) {
+        System.arraycopy(record, 0, buffer, length, record.length);
+        return length + record.length;
+    }
+
+    private static int flush(FileChannel channel, byte[] buffer, int length) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(buffer, 0, length);
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+        return 0;
+    }
+
+    /**
+     * Writes a number right-justified and zero-filled.
+     */
+    private static void putNumber(byte[] record, int at, int width, long value) {
+        for (int i = at + width - 1; i >= at; i--) {
+            record[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Writes text left-justified, cut to the width. Accents are dropped and any
+     * other character the bank cannot read becomes a space.
+     */
+    private static void putText(byte[] record, int at, int width, String value) {
+        if (value == null) {
+            return;
+        }
+        int count = Math.min(width, value.length());
+        for (int i = 0; i < count; i++) {
+            char c = value.charAt(i);
+            if (c < ' ' || c > '~') {
+                putText(record, at, width, toAscii(value));
+                return;
+            }
+            record[at + i] = (byte) c;
+        }
+    }
+
+    private static String toAscii(String value) {
+        String stripped = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder result = new StringBuilder(stripped.length());
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            if (c >= ' ' && c <= '~') {
+                result.append(c);
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                result.append(' ');
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes a date as 0YYDDD: year in the century and day of the year.
+     */
+    private static void putDate(byte[] record, int at, LocalDate date) {
+        record[at] = '0';
+        putNumber(record, at + 1, 2, date.getYear() % 100);
+        putNumber(record, at + 3, 3, date.getDayOfYear());
+    }
+
+    private static byte[] julianDate(LocalDate date) {
+        byte[] result = new byte[6];
+        putDate(result, 0, date);
+        return result;
+    }
+
+    private static String required(Properties settings, String key, int minLength, int maxLength) {
+        String value = settings.getProperty(key, "").trim();
+        if (value.length() < minLength || value.length() > maxLength) {
+            throw new IllegalArgumentException(key + " must be " + minLength + " to " + maxLength + " characters");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < ' ' || value.charAt(i) > '~') {
+                throw new IllegalArgumentException(key + " must use only plain ASCII characters");
+            }
+        }
+        return value;
+    }
+
+    private static String digitString(Properties settings, String key, int minLength, int maxLength) {
+        String value = required(settings, key, minLength, maxLength);
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                throw new IllegalArgumentException(key + " must be digits");
+            }
+        }
+        return value;
+    }
+
+    private static int digits(Properties settings, String key, String defaultValue, int length) {
+        if (defaultValue != null && !settings.containsKey(key)) {
+            return Integer.parseInt(defaultValue);
+        }
+        return Integer.parseInt(digitString(settings, key, length, length));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * What a bank file contains and which payrolls were left out.
+     */
+    public static class Summary {
+        private int payments;
+        private long totalCents;
+        private int records;
+        private int withoutAccount;
+        private int notPositive;
+        private final List<String> missingAccounts = new ArrayList<>();
+
+        public int getPayments() {
+            return payments;
+        }
+
+        /**
+         * Gets the total of all deposits in cents, as in the trailer record.
+         */
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        /**
+         * Gets the number of records in the file, including the header and trailer.
+         */
+        public int getRecords() {
+            return records;
+        }
+
+        /**
+         * Gets the number of payrolls skipped because the employee has no bank account.
+         */
+        public int getWithoutAccount() {
+            return withoutAccount;
+        }
+
+        /**
+         * Gets the IDs of the first employees skipped for having no bank account.
+         */
+        public List<String> getMissingAccounts() {
+            return missingAccounts;
+        }
+
+        /**
+         * Gets the number of payrolls skipped because their net pay was zero or negative.
+         */
+        public int getNotPositive() {
+            return notPositive;
+        }
+    }
+}
@@ -0,0 +1,579 @@
+package service;
+
+import model.Employee;
+import model.Payroll;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Streams rows to a CSV file (RFC 4180) through a file channel.
+ *
+ * <p>Rows are formatted straight into a reusable byte buffer using hand-written
+ * number and date formatting, so no intermediate Strings are created per row.
+ * Large exports can optionally be formatted in parallel: the rows are split into
+ * chunks that are formatted on the common fork/join pool and written to the file
+ * in their original order.</p>
+ *
+ * <p>Progress is reported after every chunk and a running export can be stopped
+ * with {@link #cancel()}. If an export to a file is cancelled or fails, the
+ * partial file is deleted.</p>
+ *
+ * @param <T> Type of the exported rows
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class CsvExporter<T> {
+
+    private static final int DEFAULT_CHUNK_SIZE = 16_384;
+    private static final int FLUSH_THRESHOLD = 256 * 1024;
+
+    private final String[] header;
+    private final RowFormatter<T> formatter;
+    private boolean parallel;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private ProgressListener progressListener;
+    private volatile boolean cancelled;
+
+    /**
+     * Writes the fields of one row into a buffer.
+     *
+     * @param <T> Type of the row
+     */
+    public interface RowFormatter<T> {
+        void format(T row, CsvBuffer out);
+    }
+
+    /**
+     * Receives progress updates while an export runs (called on the exporting thread).
+     */
+    public interface ProgressListener {
+        void onProgress(long rowsWritten, long totalRows);
+    }
+
+    /**
+     * Creates an exporter.
+     *
+     * @param header    Column names written as the first row
+     * @param formatter Writes the fields of each row
+     */
+    public CsvExporter(String[] header, RowFormatter<T> formatter) {
+        this.header = header;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Enables formatting rows in parallel chunks (output order is preserved).
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets how many rows are formatted between progress updates and cancellation checks.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Requests that a running export stops at the next chunk boundary.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Exports all rows to the given file, replacing it if it exists.
+     *
+     * @param rows Rows to export
+     * @param file Destination file
+     * @throws IOException           If the file cannot be written; the partial file is deleted
+     * @throws CancellationException If {@link #cancel()} was called; the partial file is deleted
+     */
+    public void export(List<T> rows, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            export(rows, channel);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Exports all rows to a stream, e.g. an HTTP response body. The stream is not closed.
+     *
+     * @param rows Rows to export
+     * @param out  Destination stream
+     * @throws IOException           If the stream cannot be written
+     * @throws CancellationException If {@link #cancel()} was called
+     */
+    public void export(List<T> rows, OutputStream out) throws IOException {
+        export(rows, Channels.newChannel(out));
+        out.flush();
+    }
+
+    private void export(List<T> rows, WritableByteChannel channel) throws IOException {
+        CsvBuffer headerBuffer = new CsvBuffer(256);
+        for (String column : header) {
+            headerBuffer.text(column);
+        }
+        headerBuffer.endRow();
+        headerBuffer.writeTo(channel);
+
+        if (parallel && rows.size() > chunkSize) {
+            exportParallel(rows, channel);
+        } else {
+            exportSequential(rows, channel);
+        }
+    }
+
+    /**
+     * Formats rows on the calling thread, flushing the buffer whenever it fills up.
+     */
+    private void exportSequential(List<T> rows, WritableByteChannel channel) throws IOException {
+        CsvBuffer buffer = new CsvBuffer(FLUSH_THRESHOLD + 4096);
+        int total = rows.size();
+        for (int start = 0; start < total; start += chunkSize) {
+            checkCancelled();
+            int end = Math.min(start + chunkSize, total);
+            for (int i = start; i < end; i++) {
+                formatter.format(rows.get(i), buffer);
+                buffer.endRow();
+                if (buffer.length() >= FLUSH_THRESHOLD) {
+                    buffer.writeTo(channel);
+                }
+            }
+            reportProgress(end, total);
+        }
+        buffer.writeTo(channel);
+    }
+
+    /**
+     * Formats chunks on the fork/join pool, keeping a bounded number in flight,
+     * and writes them to the channel in order.
+     */
+    private void exportParallel(List<T> rows, WritableByteChannel channel) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+        int total = rows.size();
+        Deque<CompletableFuture<CsvBuffer>> inFlight = new ArrayDeque<>();
+        int nextStart = 0;
+        int written = 0;
+
+        try {
+            while (written < total) {
+                while (nextStart < total && inFlight.size() < maxInFlight) {
+                    int start = nextStart;
+                    int end = Math.min(start + chunkSize, total);
+                    inFlight.addLast(CompletableFuture.supplyAsync(() -> formatChunk(rows, start, end), pool));
+                    nextStart = end;
+                }
+
+                checkCancelled();
+                CsvBuffer chunk = inFlight.removeFirst().join();
+                chunk.writeTo(channel);
+                written = Math.min(written + chunkSize, total);
+                reportProgress(written, total);
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            for (CompletableFuture<CsvBuffer> future : inFlight) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private CsvBuffer formatChunk(List<T> rows, int start, int end) {
+        CsvBuffer buffer = new CsvBuffer((end - start) * 96);
+        for (int i = start; i < end; i++) {
+            formatter.format(rows.get(i), buffer);
+            buffer.endRow();
+        }
+        return buffer;
+    }
+
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Export cancelled");
+        }
+    }
+
+    private void reportProgress(long rowsWritten, long totalRows) {
+        if (progressListener != null) {
+            progressListener.onProgress(rowsWritten, totalRows);
+        }
+    }
+
+    // Standard exports
+
+    /**
+     * Creates an exporter for employee rows.
+     */
+    public static CsvExporter<Employee> forEmployees() {
+        return new CsvExporter<>(
+                new String[]{"Employee ID", "First Name", "Last Name", "Email", "Phone", "Position", "Type", "Status"},
+                (emp, out) -> out
+                        .text(emp.getEmployeeId())
+                        .text(emp.getFirstName())
+                        .text(emp.getLastName())
+                        .text(emp.getEmail())
+                        .text(emp.getPhone())
+                        .text(emp.getPosition())
+                        .text(emp.getEmploymentType() != null ? emp.getEmploymentType().getDisplayName() : null)
+                        .text(emp.getStatus() != null ? emp.getStatus().getDisplayName() : null));
+    }
+
+    /**
+     * Creates an exporter for payroll record rows.
+     */
+    public static CsvExporter<Payroll> forPayrolls() {
+        return new CsvExporter<>(
+                new String[]{"Payroll ID", "Employee ID", "Pay Period Start", "Pay Period End",
+                        "Gross Pay", "Total Deductions", "Net Pay"},
+                (payroll, out) -> out
+                        .text(payroll.getPayrollId())
+                        .text(payroll.getEmployeeId())
+                        .date(payroll.getPayPeriodStart())
+                        .date(payroll.getPayPeriodEnd())
+                        .money(payroll.getGrossPay())
+                        .money(payroll.getTotalDeductions())
+                        .money(payroll.getNetPay()));
+    }
+
+    /**
+     * Creates an exporter for per-employee payroll summary rows.
+     *
+     * @param employees Employees used to look up the names shown next to each summary
+     */
+    public static CsvExporter<PayrollCalculator.PayrollSummary> forSummaries(List<Employee> employees) {
+        Map<String, String> names = new HashMap<>();
+        for (Employee emp : employees) {
+            names.put(emp.getEmployeeId(), emp.getFullName());
+        }
+        return new CsvExporter<>(
+                new String[]{"Employee ID", "Employee Name", "Total Gross Pay", "Total Deductions", "Total Net Pay"},
+                (summary, out) -> out
+                        .text(summary.getEmployeeId())
+                        .text(names.get(summary.getEmployeeId()))
+                        .money(summary.getTotalGrossPay())
+                        .money(summary.getTotalDeductions())
+                        .money(summary.getTotalNetPay()));
+    }
+
+    /**
+     * Creates an exporter for grouped payroll totals produced by {@link PayrollAggregator}.
+     *
+     * @param groupBy The grouping used, shown as the first column name
+     */
+    public static CsvExporter<Map.Entry<String, PayrollAggregator.GroupTotals>> forGroupTotals(
+            PayrollAggregator.GroupBy groupBy) {
+        return new CsvExporter<>(
+                new String[]{groupBy.getDisplayName(), "Records", "Total Gross Pay", "Total Deductions",
+                        "Total Net Pay", "Average Net Pay", "Min Net Pay", "Max Net Pay"},
+                (entry, out) -> {
+                    PayrollAggregator.GroupTotals totals = entry.getValue();
+                    out.text(entry.getKey())
+                            .number(totals.getCount())
+                            .money(totals.getTotalGross())
+                            .money(totals.getTotalDeductions())
+                            .money(totals.getTotalNet())
+                            .money(totals.getAverageNet())
+                            .money(totals.getMinNet())
+                            .money(totals.getMaxNet());
+                });
+    }
+
+    /**
+     * Rows paired with the exporter that writes them, ready to be exported to a file.
+     *
+     * @param <T> Type of row being exported
+     */
+    public static final class Job<T> {
+        private final CsvExporter<T> exporter;
+        private final List<T> rows;
+
+        public Job(CsvExporter<T> exporter, List<T> rows) {
+            this.exporter = exporter;
+            this.rows = rows;
+        }
+
+        /**
+         * Gets the exporter, e.g. to enable parallel formatting, listen to progress or cancel.
+         */
+        public CsvExporter<T> getExporter() {
+            return exporter;
+        }
+
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        /**
+         * Writes the rows to a file.
+         *
+         * @throws IOException If the file cannot be written
+         */
+        public void exportTo(Path file) throws IOException {
+            exporter.export(rows, file);
+        }
+
+        /**
+         * Writes the rows to a stream, which is left open.
+         *
+         * @throws IOException If the stream cannot be written
+         */
+        public void exportTo(OutputStream out) throws IOException {
+            exporter.export(rows, out);
+        }
+    }
+
+    /**
+     * Growable byte buffer that CSV fields are written into as UTF-8.
+     * Fields are separated and quoted automatically.
+     */
+    public static final class CsvBuffer {
+        private byte[] bytes;
+        private int length;
+        private boolean rowStarted;
+
+        CsvBuffer(int initialCapacity) {
+            bytes = new byte[Math.max(initialCapacity, 64)];
+        }
+
+        /**
+         * Appends a text field, quoting it if it contains a comma, quote or line break.
+         * A null value is written as an empty field.
+         */
+        public CsvBuffer text(String value) {
+            separator();
+            if (value == null || value.isEmpty()) {
+                return this;
+            }
+            if (needsQuoting(value)) {
+                put('"');
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c == '"') {
+                        put('"');
+                    }
+                    putChar(value, i);
+                    if (Character.isHighSurrogate(c)) {
+                        i++;
+                    }
+                }
+                put('"');
+            } else {
+                for (int i = 0; i < value.length(); i++) {
+                    putChar(value, i);
+                    if (Character.isHighSurrogate(value.charAt(i))) {
+                        i++;
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Appends an amount with two decimals, rounded half-up to the cent exactly as
+         * {@code String.format("%.2f")} does in the reports, so both show the same cents.
+         */
+        public CsvBuffer money(double value) {
+            separator();
+            long cents = roundToCents(value);
+            if (cents < 0) {
+                put('-');
+                cents = -cents;
+            }
+            putLong(cents / 100);
+            put('.');
+            int remainder = (int) (cents % 100);
+            put((char) ('0' + remainder / 10));
+            put((char) ('0' + remainder % 10));
+            return this;
+        }
+
+        /**
+         * Rounds to cents the way {@code %.2f} does: {@link RoundingMode#HALF_UP} applied
+         * to the value's shortest decimal form, so 1.005 becomes 1.01 and -1.005 becomes
+         * -1.01. {@code value * 100} decides the result unless it lands next to a half
+         * cent; only those values go through {@link BigDecimal}.
+         */
+        static long roundToCents(double value) {
+            double magnitude = Math.abs(value);
+            double scaled = magnitude * 100.0;
+            double fraction = scaled - Math.floor(scaled);
+            long cents;
+            if (Math.abs(fraction - 0.5) > 4 * Math.ulp(scaled)) {
+                cents = (long) Math.floor(scaled + 0.5);
+            } else {
+                cents = BigDecimal.valueOf(magnitude).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+            }
+            return value < 0 ? -cents : cents;
+        }
+
+        /**
+         * Appends a whole number.
+         */
+        public CsvBuffer number(long value) {
+            separator();
+            if (value < 0) {
+                put('-');
+                value = -value;
+            }
+            putLong(value);
+            return this;
+        }
+
+        /**
+         * Appends a date as yyyy-MM-dd (empty if null).
+         */
+        public CsvBuffer date(LocalDate date) {
+            separator();
+            if (date == null) {
+                return this;
+            }
+            int year = date.getYear();
+            put((char) ('0' + year / 1000 % 10));
+            put((char) ('0' + year / 100 % 10));
+            put((char) ('0' + year / 10 % 10));
+            put((char) ('0' + year % 10));
+            put('-');
+            putTwoDigits(date.getMonthValue());
+            put('-');
+            putTwoDigits(date.getDayOfMonth());
+            return this;
+        }
+
+        /**
+         * Ends the current row with CRLF as required by RFC 4180.
+         */
+        public void endRow() {
+            put('\r');
+            put('\n');
+            rowStarted = false;
+        }
+
+        int length() {
+            return length;
+        }
+
+        /**
+         * Writes the buffered bytes to the channel and empties the buffer.
+         */
+        void writeTo(WritableByteChannel channel) throws IOException {
+            ByteBuffer data = ByteBuffer.wrap(bytes, 0, length);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            length = 0;
+        }
+
+        private static boolean needsQuoting(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void separator() {
+            if (rowStarted) {
+                put(',');
+            }
+            rowStarted = true;
+        }
+
+        private void putTwoDigits(int value) {
+            put((char) ('0' + value / 10));
+            put((char) ('0' + value % 10));
+        }
+
+        private void putLong(long value) {
+            if (value == 0) {
+                put('0');
+                return;
+            }
+            ensureCapacity(20);
+            int digits = 0;
+            for (long v = value; v > 0; v /= 10) {
+                digits++;
+            }
+            int pos = length + digits;
+            for (long v = value; v > 0; v /= 10) {
+                bytes[--pos] = (byte) ('0' + (v % 10));
+            }
+            length += digits;
+        }
+
+        /**
+         * Writes the character at the given index as UTF-8 (surrogate pairs as one code point).
+         */
+        private void putChar(String value, int index) {
+            char c = value.charAt(index);
+            if (c < 0x80) {
+                put(c);
+            } else {
+                int codePoint = value.codePointAt(index);
+                byte[] encoded = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+                ensureCapacity(encoded.length);
+                System.arraycopy(encoded, 0, bytes, length, encoded.length);
+                length += encoded.length;
+            }
+        }
+
+        private void put(char c) {
+            if (length == bytes.length) {
+                ensureCapacity(1);
+            }
+            bytes[length++] = (byte) c;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, length + extra)];
+                System.arraycopy(bytes, 0, grown, 0, length);
+                bytes = grown;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for loading or saving one DataManager data file.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+@Name("hr.DataFile")
+@Label("Data File I/O")
+@Category({"HR Payroll", "Persistence"})
+@Description("Loading or saving a data file")
+@StackTrace(false)
+public class DataFileEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    @Description("load or save")
+    public String operation;
+
+    @Label("File")
+    public String file;
+
+    @Label("Records")
+    public int records;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
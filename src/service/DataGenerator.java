@@ -0,0 +1,349 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.Payroll;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic workforce and payroll-history data for load testing.
+ *
+ * <p>The same seed and settings always produce exactly the same departments, employees
+ * and payroll records, so benchmarks and UI load tests can run against identical datasets.
+ * Employment types, statuses, pay and hire dates follow fixed distributions, and each
+ * employee gets a payroll history in the periods of their {@link PayCalendar} schedule,
+ * calculated through {@link PayrollCalculator}, so generated payrolls line up with the
+ * periods scheduled runs and timesheet imports use.</p>
+ *
+ * <p>Run {@code java service.DataGenerator [employees] [departments] [years] [seed]}
+ * to replace the contents of the {@code data} directory with a generated dataset.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class DataGenerator {
+
+    // Bi-weekly, the default schedule; only used to size the payroll list
+    private static final int PERIODS_PER_YEAR = 26;
+    private static final int PAY_DATE_OFFSET_DAYS = 5;
+
+    private static final String[] DEPARTMENT_NAMES = {
+            "Engineering", "Finance", "Human Resources", "Marketing", "Sales", "Operations",
+            "Customer Support", "Legal", "Research", "Logistics", "Procurement", "Facilities",
+            "Quality Assurance", "Information Technology", "Training"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Olivia", "Liam", "Emma", "Noah", "Charlotte", "Oliver", "Amelia", "William", "Sophia",
+            "Lucas", "Mia", "Benjamin", "Chloe", "Ethan", "Zoe", "Jacob", "Aiden", "Priya", "Wei",
+            "Fatima", "Mohammed", "Ana", "Mateo", "Yuki", "Hana", "Arjun", "Leila", "Omar", "Grace", "Samuel"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Brown", "Tremblay", "Martin", "Roy", "Wilson", "MacDonald", "Gagnon", "Johnson",
+            "Taylor", "Lee", "Campbell", "Anderson", "Leblanc", "Singh", "Patel", "Nguyen", "Chen",
+            "Wong", "Kim", "Garcia", "Ali", "Khan", "Cote", "White", "Clark", "Lewis", "Young", "Scott", "Hall"
+    };
+    private static final String[] POSITIONS = {
+            "Associate", "Analyst", "Specialist", "Coordinator", "Senior Analyst",
+            "Team Lead", "Manager", "Senior Manager", "Director", "Administrator"
+    };
+
+    private final long seed;
+    private int employeeCount = 1000;
+    private int departmentCount = 10;
+    private int payPeriods;
+    private int yearsOfHistory = 3;
+    private LocalDate lastPayPeriodEnd = LocalDate.of(2025, 11, 14);
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed Random seed; the same seed and settings always give the same data
+     */
+    public DataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public void setEmployeeCount(int employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public void setDepartmentCount(int departmentCount) {
+        this.departmentCount = departmentCount;
+    }
+
+    /**
+     * Sets how many pay periods of history to generate (at most, per employee, in
+     * the employee's pay schedule), instead of a number of years.
+     */
+    public void setPayPeriods(int payPeriods) {
+        this.payPeriods = payPeriods;
+    }
+
+    /**
+     * Sets the length of the payroll history in years (3 by default); the number of
+     * periods depends on each schedule's frequency.
+     */
+    public void setYearsOfHistory(int years) {
+        this.yearsOfHistory = years;
+        this.payPeriods = 0;
+    }
+
+    /**
+     * Sets the latest date the most recent pay period may end; each schedule's last
+     * generated period is the one ending on or before it. Fixed by default so the
+     * generated data does not depend on the current date.
+     */
+    public void setLastPayPeriodEnd(LocalDate lastPayPeriodEnd) {
+        this.lastPayPeriodEnd = lastPayPeriodEnd;
+    }
+
+    /**
+     * Generates a complete dataset.
+     *
+     * @return The generated departments, employees and payroll records
+     */
+    public GeneratedData generate() {
+        PayrollBatchEvent event = new PayrollBatchEvent();
+        event.begin();
+        Random random = new Random(seed);
+        GeneratedData data = new GeneratedData(departmentCount, employeeCount,
+                (long) employeeCount * (payPeriods > 0 ? payPeriods : yearsOfHistory * PERIODS_PER_YEAR));
+        // The history's periods for each pay schedule, worked out once
+        Map<String, List<PayCalendar.Period>> periodsBySchedule = new HashMap<>();
+
+        for (int d = 0; d < departmentCount; d++) {
+            String name = DEPARTMENT_NAMES[d % DEPARTMENT_NAMES.length];
+            if (d >= DEPARTMENT_NAMES.length) {
+                name += " " + (d / DEPARTMENT_NAMES.length + 1);
+            }
+            Department department = new Department(String.format("DEPT%03d", d + 1), name);
+            department.setDescription(name + " department");
+            data.departments.add(department);
+        }
+
+        for (int i = 0; i < employeeCount; i++) {
+            Employee emp = generateEmployee(i, random, data.departments);
+            data.employees.add(emp);
+            PayCalendar.Schedule schedule = PayCalendar.getInstance().getSchedule(emp.getEmploymentType());
+            List<PayCalendar.Period> periods = periodsBySchedule.computeIfAbsent(schedule.getKey(),
+                    key -> schedule.getLastPeriods(payPeriods > 0 ? payPeriods
+                            : yearsOfHistory * schedule.getFrequency().getPeriodsPerYear(), lastPayPeriodEnd));
+            generatePayrollHistory(emp, random, periods, data.payrolls);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.batch = "Generated payroll history (seed " + seed + ")";
+            event.employees = data.employees.size();
+            event.payrolls = data.payrolls.size();
+            event.commit();
+        }
+        return data;
+    }
+
+    /**
+     * Generates a dataset and replaces all data in the DataManager with it,
+     * writing each data file once.
+     *
+     * @param dataManager The data manager to fill
+     * @return The generated data
+     */
+    public GeneratedData generateInto(DataManager dataManager) {
+        GeneratedData data = generate();
+        dataManager.replaceAllData(data.departments, data.employees, data.payrolls);
+        return data;
+    }
+
+    private Employee generateEmployee(int index, Random random, List<Department> departments) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String employeeId = String.format("EMP%07d", index + 1);
+        String email = (firstName + "." + lastName + (index + 1) + "@example.com").toLowerCase();
+
+        Employee emp = new Employee(employeeId, firstName, lastName, email);
+        emp.setPhone(String.format("(%03d) %03d-%04d", 200 + random.nextInt(800),
+                200 + random.nextInt(800), random.nextInt(10000)));
+
+        Employee.EmploymentType type = pickEmploymentType(random);
+        emp.setEmploymentType(type);
+        emp.setStatus(pickStatus(random));
+
+        // Interns are young and recently hired; everyone else has up to 15 years of service
+        int age = type == Employee.EmploymentType.INTERN ? 19 + random.nextInt(7) : 22 + random.nextInt(43);
+        int serviceDays = type == Employee.EmploymentType.INTERN ? random.nextInt(365) : random.nextInt(15 * 365);
+        emp.setDateOfBirth(lastPayPeriodEnd.minusYears(age).minusDays(random.nextInt(365)));
+        emp.setHireDate(lastPayPeriodEnd.minusDays(serviceDays));
+
+        switch (type) {
+            case FULL_TIME:
+                emp.setAnnualSalary(roundTo(gaussian(random, 72_000, 20_000, 42_000, 180_000), 500));
+                break;
+            case CONTRACT:
+                emp.setAnnualSalary(roundTo(gaussian(random, 90_000, 25_000, 50_000, 200_000), 500));
+                break;
+            case PART_TIME:
+                emp.setHourlyRate(roundTo(gaussian(random, 22.0, 4.0, 17.20, 40.0), 0.05));
+                break;
+            case INTERN:
+                emp.setHourlyRate(roundTo(gaussian(random, 19.5, 1.5, 17.20, 25.0), 0.05));
+                break;
+        }
+
+        int positionLimit = type == Employee.EmploymentType.INTERN ? 1 : POSITIONS.length;
+        emp.setPosition(POSITIONS[skewedIndex(random, positionLimit)]);
+
+        Department department = departments.isEmpty() ? null : departments.get(random.nextInt(departments.size()));
+        if (department != null) {
+            emp.setDepartment(department);
+            department.addEmployee(employeeId);
+            if (department.getManagerEmployeeId() == null && type == Employee.EmploymentType.FULL_TIME) {
+                department.setManagerEmployeeId(employeeId);
+            }
+        }
+        return emp;
+    }
+
+    /**
+     * Generates payroll records for the schedule's periods from the first one ending
+     * on or after the hire date. Terminated employees stop being paid at a random
+     * point; employees on leave or suspended miss their most recent periods. Hourly
+     * employees' hours scale with the period length.
+     *
+     * @param periods The history's pay periods in the employee's schedule, oldest first
+     */
+    private void generatePayrollHistory(Employee emp, Random random, List<PayCalendar.Period> periods,
+                                        List<Payroll> payrolls) {
+        int first = 0;
+        while (first < periods.size() && periods.get(first).getEnd().isBefore(emp.getHireDate())) {
+            first++;
+        }
+        if (first == periods.size()) {
+            return;
+        }
+        int last = periods.size() - 1;
+        switch (emp.getStatus()) {
+            case TERMINATED:
+                last = first + random.nextInt(Math.max(1, last - first + 1));
+                break;
+            case ON_LEAVE:
+                last -= 1 + random.nextInt(6);
+                break;
+            case SUSPENDED:
+                last--;
+                break;
+            default:
+                break;
+        }
+
+        boolean salaried = PayrollCalculator.isSalaried(emp);
+        for (int i = first; i <= last; i++) {
+            LocalDate start = periods.get(i).getStart();
+            LocalDate end = periods.get(i).getEnd();
+            Payroll payroll;
+            if (salaried) {
+                // Year-end bonus in the last period of December for some salaried staff
+                double bonus = end.getMonthValue() == 12 && end.getDayOfMonth() > 17 && random.nextInt(4) == 0
+                        ? roundTo(emp.getAnnualSalary() * (0.02 + random.nextDouble() * 0.08), 50) : 0.0;
+                payroll = PayrollCalculator.calculateSalariedPayroll(emp, bonus, start, end);
+            } else {
+                // Hours for two weeks, scaled to the period
+                double weeks = (ChronoUnit.DAYS.between(start, end) + 1) / 14.0;
+                double regular = emp.getEmploymentType() == Employee.EmploymentType.INTERN
+                        ? 60 + random.nextInt(21)
+                        : 30 + random.nextInt(41);
+                double overtime = regular >= 70 && random.nextInt(5) == 0 ? 1 + random.nextInt(12) : 0.0;
+                payroll = PayrollCalculator.calculateHourlyPayroll(emp, Math.round(regular * weeks),
+                        Math.round(overtime * weeks), 0.0, start, end);
+            }
+            payroll.setPayDate(end.plusDays(PAY_DATE_OFFSET_DAYS));
+            payrolls.add(payroll);
+        }
+    }
+
+    private static Employee.EmploymentType pickEmploymentType(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 65) {
+            return Employee.EmploymentType.FULL_TIME;
+        } else if (roll < 85) {
+            return Employee.EmploymentType.PART_TIME;
+        } else if (roll < 95) {
+            return Employee.EmploymentType.CONTRACT;
+        }
+        return Employee.EmploymentType.INTERN;
+    }
+
+    private static Employee.EmployeeStatus pickStatus(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 88) {
+            return Employee.EmployeeStatus.ACTIVE;
+        } else if (roll < 92) {
+            return Employee.EmployeeStatus.ON_LEAVE;
+        } else if (roll < 93) {
+            return Employee.EmployeeStatus.SUSPENDED;
+        }
+        return Employee.EmployeeStatus.TERMINATED;
+    }
+
+    /**
+     * Picks an index biased towards the start of the range (more juniors than directors).
+     */
+    private static int skewedIndex(Random random, int limit) {
+        double r = random.nextDouble();
+        return Math.min(limit - 1, (int) (r * r * limit));
+    }
+
+    private static double gaussian(Random random, double mean, double stdDev, double min, double max) {
+        return Math.max(min, Math.min(max, mean + random.nextGaussian() * stdDev));
+    }
+
+    private static double roundTo(double value, double step) {
+        return Math.round(value / step) * step;
+    }
+
+    /**
+     * A generated dataset.
+     */
+    public static class GeneratedData {
+        public final List<Department> departments;
+        public final List<Employee> employees;
+        public final List<Payroll> payrolls;
+
+        GeneratedData(int departmentCount, int employeeCount, long maxPayrolls) {
+            departments = new ArrayList<>(departmentCount);
+            employees = new ArrayList<>(employeeCount);
+            payrolls = new ArrayList<>((int) Math.min(maxPayrolls, Integer.MAX_VALUE - 8));
+        }
+    }
+
+    /**
+     * Replaces the data files with a generated dataset.
+     * Arguments (all optional): employees, departments, years of history, seed.
+     */
+    public static void main(String[] args) {
+        DataGenerator generator = new DataGenerator(args.length > 3 ? Long.parseLong(args[3]) : 42L);
+        if (args.length > 0) {
+            generator.setEmployeeCount(Integer.parseInt(args[0]));
+        }
+        if (args.length > 1) {
+            generator.setDepartmentCount(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            generator.setYearsOfHistory(Integer.parseInt(args[2]));
+        }
+
+        long startTime = System.nanoTime();
+        GeneratedData data = generator.generateInto(DataManager.getInstance());
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000;
+        System.out.println("Generated " + data.departments.size() + " departments, "
+                + data.employees.size() + " employees and " + data.payrolls.size()
+                + " payroll records in " + elapsedMs + " ms");
+    }
+}
@@ -5,48 +5,136 @@ import model.Employee;
 import model.Payroll;
 
 import java.io.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Manages data persistence using Java serialization
  * Handles saving and loading of employees, departments, and payroll records
  *
+ * Records are held in persistent maps, so every change makes a new version that
+ * shares structure with the previous one: {@link #snapshot()} is instant, and
+ * snapshots stay valid for undo, reports and background saves.
+ *
  * Group Members: [ADD YOUR NAMES HERE]
  */
 public class DataManager {
     private static final String EMPLOYEES_FILE = "data/employees.dat";
     private static final String DEPARTMENTS_FILE = "data/departments.dat";
-    private static final String PAYROLLS_FILE = "data/payrolls.dat";
-
-    private Map<String, Employee> employees;
-    private Map<String, Department> departments;
-    private Map<String, Payroll> payrolls;
+    private static final String HISTORY_FILE = "data/employee_history.dat";
+
+    private PersistentMap<String, Employee> employees;
+    private PersistentMap<String, Department> departments;
+    // Payroll records, sharded by employee (see PayrollStore)
+    private PayrollStore payrolls;
+    // Read from its file on first use, since most runs never look at it
+    private final EmployeeHistory employeeHistory;
+    private boolean historyLoaded;
+
+    // Version stamps, bumped on every change so views and caches can detect stale data
+    private long employeesVersion;
+    private long departmentsVersion;
+    private long payrollsVersion;
+
+    // False for in-memory copies (e.g. a replication follower) that must not touch the data files
+    private boolean persistent;
+
+    // When set, changes are written by the saver thread from the snapshot taken at the change
+    private boolean backgroundSaves;
+    private ExecutorService saver;
+    // Latest write job per file not yet started; a newer job replaces an older one
+    private final Map<String, Runnable> pendingSaves = new ConcurrentHashMap<>();
 
     private static DataManager instance;
 
+    // Operation timings
+    private static final LatencyHistogram SAVE_EMPLOYEES_TIME =
+            Metrics.getInstance().histogram("dataManager.saveEmployees");
+    private static final LatencyHistogram SAVE_DEPARTMENTS_TIME =
+            Metrics.getInstance().histogram("dataManager.saveDepartments");
+    private static final LatencyHistogram SAVE_PAYROLLS_TIME =
+            Metrics.getInstance().histogram("dataManager.savePayrolls");
+    private static final LatencyHistogram LOAD_ALL_TIME =
+            Metrics.getInstance().histogram("dataManager.loadAllData");
+    private static final LatencyHistogram PAYROLLS_BY_EMPLOYEE_TIME =
+            Metrics.getInstance().histogram("dataManager.getPayrollsByEmployee");
+    private static final Metrics.Counter SAVE_ERRORS = Metrics.getInstance().counter("dataManager.saveErrors");
+    private static final Metrics.Counter LOAD_ERRORS = Metrics.getInstance().counter("dataManager.loadErrors");
+
     /**
-     * Private constructor for singleton pattern
+     * Constructor for singleton pattern (package-private so the remote client can extend it)
      */
-    private DataManager() {
-        employees = new HashMap<>();
-        departments = new HashMap<>();
-        payrolls = new HashMap<>();
-        ensureDataDirectoryExists();
+    DataManager() {
+        this(true);
     }
 
     /**
-     * Get singleton instance of DataManager
+     * Create a data manager; a non-persistent one keeps its data in memory only
+     * and never reads or writes the data files
+     */
+    DataManager(boolean persistent) {
+        employees = PersistentMap.empty();
+        departments = PersistentMap.empty();
+        payrolls = new PayrollStore(PayrollStore.configuredShardCount());
+        employeeHistory = new EmployeeHistory(departmentId -> departments.get(departmentId));
+        this.persistent = persistent;
+        if (persistent) {
+            ensureDataDirectoryExists();
+        }
+
+        Metrics metrics = Metrics.getInstance();
+        metrics.gauge("dataManager.employees", () -> employees.size());
+        metrics.gauge("dataManager.departments", () -> departments.size());
+        metrics.gauge("dataManager.payrolls", () -> payrolls.size());
+        metrics.gauge("dataManager.pendingSaves", pendingSaves::size);
+        metrics.gauge("dataManager.employeeHistoryBytes", employeeHistory::getSizeInBytes);
+    }
+
+    /**
+     * Get singleton instance of DataManager.
+     * When the data.server system property is set (host:port), the instance is a
+     * client of that {@link DataServer} instead of reading the local data files.
      */
     public static DataManager getInstance() {
         if (instance == null) {
-            instance = new DataManager();
+            String server = System.getProperty("data.server", "");
+            instance = server.isEmpty() ? new DataManager() : new RemoteDataManager(server);
         }
         return instance;
     }
 
+    /**
+     * Start or stop reading and writing the data files (e.g. when a follower is promoted)
+     */
+    void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+        if (persistent) {
+            ensureDataDirectoryExists();
+        }
+    }
+
+    /**
+     * Get the data files currently on disk, including every payroll shard file
+     */
+    public static List<File> getDataFiles() {
+        List<File> files = new ArrayList<>();
+        files.add(new File(EMPLOYEES_FILE));
+        files.add(new File(DEPARTMENTS_FILE));
+        files.add(new File(HISTORY_FILE));
+        files.addAll(PayrollStore.dataFiles());
+        return files;
+    }
+
     /**
      * Ensure data directory exists
      */
@@ -57,9 +145,53 @@ public class DataManager {
         }
     }
 
+    // Version Methods
+    public long getEmployeesVersion() {
+        return employeesVersion;
+    }
+
+    public long getDepartmentsVersion() {
+        return departmentsVersion;
+    }
+
+    public long getPayrollsVersion() {
+        return payrollsVersion;
+    }
+
+    /**
+     * Get a combined version stamp that changes whenever any data changes
+     */
+    public long getDataVersion() {
+        return getEmployeesVersion() + getDepartmentsVersion() + getPayrollsVersion();
+    }
+
     // Employee Management Methods
     public void addEmployee(Employee employee) {
-        employees.put(employee.getEmployeeId(), employee);
+        recordChange(employees.get(employee.getEmployeeId()), employee, LocalDate.now());
+        employees = employees.plus(employee.getEmployeeId(), employee);
+        employeesVersion++;
+        saveEmployees();
+    }
+
+    /**
+     * Add many employees at once, saving the file only once
+     */
+    public void addEmployees(Collection<Employee> newEmployees) {
+        updateEmployees(newEmployees, LocalDate.now());
+    }
+
+    /**
+     * Add or update many employees with changes that take effect on one date
+     * (e.g. a backdated mass raise), saving the file only once
+     */
+    public void updateEmployees(Collection<Employee> changedEmployees, LocalDate effectiveDate) {
+        PersistentMap.Builder<String, Employee> builder = employees.toBuilder();
+        for (Employee employee : changedEmployees) {
+            recordChange(builder.get(employee.getEmployeeId()), employee, effectiveDate);
+            builder.put(employee.getEmployeeId(), employee);
+        }
+        employees = builder.build();
+        employeesVersion++;
         saveEmployees();
     }
 
@@ -68,12 +200,24 @@ public class DataManager {
     }
 
     public void updateEmployee(Employee employee) {
-        employees.put(employee.getEmployeeId(), employee);
+        updateEmployee(employee, LocalDate.now());
+    }
+
+    /**
+     * Update an employee with a change that takes effect on another date (e.g. a
+     * backdated raise); the employee history shows the new values from that date
+     */
+    public void updateEmployee(Employee employee, LocalDate effectiveDate) {
+        recordChange(employees.get(employee.getEmployeeId()), employee, effectiveDate);
+        employees = employees.plus(employee.getEmployeeId(), employee);
+        employeesVersion++;
         saveEmployees();
     }
 
     public void deleteEmployee(String employeeId) {
-        employees.remove(employeeId);
+        recordChange(employees.get(employeeId), null, LocalDate.now());
+        employees = employees.minus(employeeId);
+        employeesVersion++;
         saveEmployees();
     }
 
@@ -81,9 +225,80 @@ public class DataManager {
         return new ArrayList<>(employees.values());
     }
 
+    /**
+     * Get an employee as they were at the end of a date, from the employee history
+     *
+     * @return The employee, or null if they did not exist on that date
+     */
+    public Employee getEmployeeAsOf(String employeeId, LocalDate date) {
+        EmployeeHistory history = getEmployeeHistory();
+        if (history.contains(employeeId)) {
+            return history.asOf(employeeId, date);
+        }
+        // Never changed: the current record has applied since hiring
+        Employee current = employees.get(employeeId);
+        if (current == null || (current.getHireDate() != null && date.isBefore(current.getHireDate()))) {
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * Get the history of employee changes (see {@link EmployeeHistory#getChanges(String)})
+     */
+    public EmployeeHistory getEmployeeHistory() {
+        if (!historyLoaded) {
+            historyLoaded = true;
+            File file = new File(HISTORY_FILE);
+            if (persistent && file.exists()) {
+                flushSaves();
+                if (!employeeHistory.read(file)) {
+                    LOAD_ERRORS.increment();
+                }
+            }
+        }
+        return employeeHistory;
+    }
+
+    /**
+     * Write the employee history, e.g. into a replication snapshot
+     */
+    void writeEmployeeHistory(DataOutputStream out) throws IOException {
+        EmployeeHistory.writeTo(out, getEmployeeHistory().state());
+    }
+
+    /**
+     * Replace the employee history with one written by {@link #writeEmployeeHistory}
+     */
+    void readEmployeeHistory(DataInputStream in) throws IOException {
+        employeeHistory.readFrom(in);
+        historyLoaded = true;
+        saveEmployeeHistory();
+    }
+
+    private void recordChange(Employee before, Employee after, LocalDate effectiveDate) {
+        if (before != after) {
+            getEmployeeHistory().record(before, after, effectiveDate, System.currentTimeMillis());
+        }
+    }
+
     // Department Management Methods
     public void addDepartment(Department department) {
-        departments.put(department.getDepartmentId(), department);
+        departments = departments.plus(department.getDepartmentId(), department);
+        departmentsVersion++;
+        saveDepartments();
+    }
+
+    /**
+     * Add many departments at once, saving the file only once
+     */
+    public void addDepartments(Collection<Department> newDepartments) {
+        PersistentMap.Builder<String, Department> builder = departments.toBuilder();
+        for (Department department : newDepartments) {
+            builder.put(department.getDepartmentId(), department);
+        }
+        departments = builder.build();
+        departmentsVersion++;
         saveDepartments();
     }
 
@@ -92,12 +307,14 @@ public class DataManager {
     }
 
     public void updateDepartment(Department department) {
-        departments.put(department.getDepartmentId(), department);
+        departments = departments.plus(department.getDepartmentId(), department);
+        departmentsVersion++;
         saveDepartments();
     }
 
     public void deleteDepartment(String departmentId) {
-        departments.remove(departmentId);
+        departments = departments.minus(departmentId);
+        departmentsVersion++;
         saveDepartments();
     }
 
@@ -107,7 +324,17 @@ public class DataManager {
 
     // Payroll Management Methods
     public void addPayroll(Payroll payroll) {
-        payrolls.put(payroll.getPayrollId(), payroll);
+        payrolls.put(payroll);
+        payrollsVersion++;
+        savePayrolls();
+    }
+
+    /**
+     * Add many payrolls at once, saving each changed shard file only once
+     */
+    public void addPayrolls(Collection<Payroll> newPayrolls) {
+        payrolls.putAll(newPayrolls);
+        payrollsVersion++;
         savePayrolls();
     }
 
@@ -116,93 +343,255 @@ public class DataManager {
     }
 
     public void updatePayroll(Payroll payroll) {
-        payrolls.put(payroll.getPayrollId(), payroll);
+        payrolls.put(payroll);
+        payrollsVersion++;
         savePayrolls();
     }
 
     public void deletePayroll(String payrollId) {
         payrolls.remove(payrollId);
+        payrollsVersion++;
         savePayrolls();
     }
 
     public List<Payroll> getAllPayrolls() {
-        return new ArrayList<>(payrolls.values());
+        return new ArrayList<>(payrolls.snapshot());
+    }
+
+    /**
+     * Get a read-only copy of all payrolls that keeps the store's shards apart,
+     * so full scans (e.g. report aggregation) can work on each shard in parallel
+     */
+    public ShardedList<Payroll> getPayrollShards() {
+        return payrolls.snapshot();
     }
 
     /**
-     * Get all payrolls for a specific employee
+     * Get all payrolls for a specific employee (only the employee's shard is scanned)
      */
     public List<Payroll> getPayrollsByEmployee(String employeeId) {
-        List<Payroll> employeePayrolls = new ArrayList<>();
-        for (Payroll payroll : payrolls.values()) {
-            if (payroll.getEmployeeId().equals(employeeId)) {
-                employeePayrolls.add(payroll);
+        long start = Metrics.startTimer();
+        List<Payroll> employeePayrolls = payrolls.byEmployee(employeeId);
+        PAYROLLS_BY_EMPLOYEE_TIME.recordSince(start);
+        return employeePayrolls;
+    }
+
+    /**
+     * Get the IDs of the employees already paid for a pay period: those with a
+     * payroll (not an adjustment) for a period that overlaps it
+     */
+    public Set<String> getEmployeesPaidFor(LocalDate periodStart, LocalDate periodEnd) {
+        Set<String> paid = new HashSet<>();
+        for (Payroll payroll : getPayrollShards()) {
+            if (!payroll.isAdjustment()
+                    && !payroll.getPayPeriodStart().isAfter(periodEnd)
+                    && !payroll.getPayPeriodEnd().isBefore(periodStart)) {
+                paid.add(payroll.getEmployeeId());
             }
         }
-        return employeePayrolls;
+        return paid;
     }
 
     // Serialization Methods
     private void saveEmployees() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(EMPLOYEES_FILE))) {
-            oos.writeObject(employees);
-        } catch (IOException e) {
-            System.err.println("Error saving employees: " + e.getMessage());
+        if (!persistent) {
+            return;
         }
+        PersistentMap<String, Employee> current = employees;
+        save(EMPLOYEES_FILE, () -> writeMap(EMPLOYEES_FILE, "employees", current, SAVE_EMPLOYEES_TIME));
+        saveEmployeeHistory();
+    }
+
+    private void saveEmployeeHistory() {
+        if (!persistent || !historyLoaded) {
+            return;
+        }
+        PersistentMap<String, EmployeeHistory.Chain> current = employeeHistory.state();
+        save(HISTORY_FILE, () -> {
+            if (!EmployeeHistory.write(new File(HISTORY_FILE), current)) {
+                SAVE_ERRORS.increment();
+            }
+        });
     }
 
     @SuppressWarnings("unchecked")
     public void loadEmployees() {
         File file = new File(EMPLOYEES_FILE);
-        if (file.exists()) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                employees = (Map<String, Employee>) ois.readObject();
+        if (persistent && file.exists()) {
+            flushSaves();
+            DataFileEvent event = beginFileEvent();
+            boolean succeeded = false;
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                employees = PersistentMap.copyOf((Map<String, Employee>) ois.readObject());
+                succeeded = true;
+                // The history file is read again when next needed
+                employeeHistory.clear();
+                historyLoaded = false;
             } catch (IOException | ClassNotFoundException e) {
                 System.err.println("Error loading employees: " + e.getMessage());
-                employees = new HashMap<>();
+                LOAD_ERRORS.increment();
+                employees = PersistentMap.empty();
             }
+            endFileEvent(event, "load", EMPLOYEES_FILE, employees.size(), succeeded);
         }
+        employeesVersion++;
     }
 
     private void saveDepartments() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(DEPARTMENTS_FILE))) {
-            oos.writeObject(departments);
-        } catch (IOException e) {
-            System.err.println("Error saving departments: " + e.getMessage());
+        if (!persistent) {
+            return;
         }
+        PersistentMap<String, Department> current = departments;
+        save(DEPARTMENTS_FILE, () -> writeMap(DEPARTMENTS_FILE, "departments", current, SAVE_DEPARTMENTS_TIME));
     }
 
     @SuppressWarnings("unchecked")
     public void loadDepartments() {
         File file = new File(DEPARTMENTS_FILE);
-        if (file.exists()) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                departments = (Map<String, Department>) ois.readObject();
+        if (persistent && file.exists()) {
+            flushSaves();
+            DataFileEvent event = beginFileEvent();
+            boolean succeeded = false;
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                departments = PersistentMap.copyOf((Map<String, Department>) ois.readObject());
+                succeeded = true;
             } catch (IOException | ClassNotFoundException e) {
                 System.err.println("Error loading departments: " + e.getMessage());
-                departments = new HashMap<>();
+                LOAD_ERRORS.increment();
+                departments = PersistentMap.empty();
             }
+            endFileEvent(event, "load", DEPARTMENTS_FILE, departments.size(), succeeded);
         }
+        departmentsVersion++;
     }
 
-    private void savePayrolls() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(PAYROLLS_FILE))) {
-            oos.writeObject(payrolls);
+    /**
+     * Write one captured version of a map to its file, as a plain HashMap so the
+     * file format stays the same
+     */
+    private static void writeMap(String fileName, String what, Map<String, ?> map, LatencyHistogram timer) {
+        long start = Metrics.startTimer();
+        DataFileEvent event = beginFileEvent();
+        boolean succeeded = false;
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)))) {
+            oos.writeObject(new HashMap<>(map));
+            succeeded = true;
         } catch (IOException e) {
-            System.err.println("Error saving payrolls: " + e.getMessage());
+            System.err.println("Error saving " + what + ": " + e.getMessage());
+            SAVE_ERRORS.increment();
         }
+        endFileEvent(event, "save", fileName, map.size(), succeeded);
+        timer.recordSince(start);
     }
 
-    @SuppressWarnings("unchecked")
-    public void loadPayrolls() {
-        File file = new File(PAYROLLS_FILE);
-        if (file.exists()) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                payrolls = (Map<String, Payroll>) ois.readObject();
-            } catch (IOException | ClassNotFoundException e) {
-                System.err.println("Error loading payrolls: " + e.getMessage());
-                payrolls = new HashMap<>();
+    /**
+     * Run a file write now, or queue it for the saver thread when background saves are on
+     */
+    private void save(String fileName, Runnable write) {
+        if (!backgroundSaves) {
+            write.run();
+            return;
+        }
+        if (pendingSaves.put(fileName, write) == null) {
+            saver.execute(() -> {
+                Runnable latest = pendingSaves.remove(fileName);
+                if (latest != null) {
+                    latest.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Write changes on a background thread instead of the thread making them.
+     * Each write uses the version of the data at the time of the change, so records
+     * must not be modified in place after being added (edit a copy and update it instead).
+     * {@link #saveAllData()} and the load methods wait for queued writes first.
+     */
+    public void setBackgroundSaves(boolean backgroundSaves) {
+        if (backgroundSaves && saver == null) {
+            saver = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "data-saver");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        if (!backgroundSaves) {
+            flushSaves();
+        }
+        this.backgroundSaves = backgroundSaves;
+    }
+
+    /**
+     * Wait until every queued background write has finished
+     */
+    public void flushSaves() {
+        if (saver == null) {
+            return;
+        }
+        try {
+            saver.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error waiting for saves: " + e.getCause());
+        }
+    }
+
+    private void savePayrolls() {
+        if (!persistent) {
+            return;
+        }
+        if (backgroundSaves && !payrolls.needsFullSave()) {
+            for (Map.Entry<String, Runnable> write : payrolls.takeShardWrites().entrySet()) {
+                Runnable shardWrite = write.getValue();
+                save(write.getKey(), () -> {
+                    long start = Metrics.startTimer();
+                    shardWrite.run();
+                    SAVE_PAYROLLS_TIME.recordSince(start);
+                });
             }
+            return;
+        }
+        flushSaves();
+        long start = Metrics.startTimer();
+        payrolls.save();
+        SAVE_PAYROLLS_TIME.recordSince(start);
+    }
+
+    /**
+     * Load payrolls, reading the shard files in parallel
+     */
+    public void loadPayrolls() {
+        if (persistent) {
+            flushSaves();
+            payrolls.load();
+        }
+        payrollsVersion++;
+    }
+
+    /**
+     * Start timing a Flight Recorder event for a data file
+     */
+    static DataFileEvent beginFileEvent() {
+        DataFileEvent event = new DataFileEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finish and record a data file event, if Flight Recorder is recording it
+     */
+    static void endFileEvent(DataFileEvent event, String operation, String fileName,
+                                     int records, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.file = fileName;
+            event.records = records;
+            event.bytes = new File(fileName).length();
+            event.succeeded = succeeded;
+            event.commit();
         }
     }
 
@@ -210,27 +599,136 @@ public class DataManager {
      * Load all data from files
      */
     public void loadAllData() {
+        long start = Metrics.startTimer();
         loadEmployees();
         loadDepartments();
         loadPayrolls();
+        LOAD_ALL_TIME.recordSince(start);
     }
 
     /**
-     * Save all data to files
+     * Save all data to files (every payroll shard is rewritten)
      */
     public void saveAllData() {
+        boolean background = backgroundSaves;
+        backgroundSaves = false;
+        flushSaves();
+        payrolls.markAllDirty();
         saveEmployees();
         saveDepartments();
         savePayrolls();
+        backgroundSaves = background;
+    }
+
+    /**
+     * Replace all data at once (e.g. with a generated dataset), writing each file only once
+     */
+    public void replaceAllData(Collection<Department> newDepartments, Collection<Employee> newEmployees,
+                               Collection<Payroll> newPayrolls) {
+        PersistentMap.Builder<String, Department> departmentBuilder = PersistentMap.<String, Department>empty().toBuilder();
+        for (Department department : newDepartments) {
+            departmentBuilder.put(department.getDepartmentId(), department);
+        }
+        departments = departmentBuilder.build();
+        PersistentMap.Builder<String, Employee> employeeBuilder = PersistentMap.<String, Employee>empty().toBuilder();
+        for (Employee employee : newEmployees) {
+            employeeBuilder.put(employee.getEmployeeId(), employee);
+        }
+        employees = employeeBuilder.build();
+        payrolls.replaceAll(newPayrolls);
+        // A new dataset starts with no history
+        employeeHistory.clear();
+        historyLoaded = true;
+        employeesVersion++;
+        departmentsVersion++;
+        payrollsVersion++;
+        saveAllData();
     }
 
     /**
      * Clear all data (useful for testing)
      */
     public void clearAllData() {
-        employees.clear();
-        departments.clear();
+        employees = PersistentMap.empty();
+        departments = PersistentMap.empty();
         payrolls.clear();
+        employeeHistory.clear();
+        historyLoaded = true;
+        employeesVersion++;
+        departmentsVersion++;
+        payrollsVersion++;
         saveAllData();
     }
-}
\ No newline at end of file
+
+    /**
+     * Take a snapshot of all data; it shares structure with the live data, so
+     * this is constant time and later changes do not affect it
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(employees, departments, payrolls.state());
+    }
+
+    /**
+     * Put all data back to how it was in a snapshot, saving only what differs
+     */
+    public void restore(Snapshot snapshot) {
+        restoreEmployeesAndDepartments(snapshot);
+        payrolls.restore(snapshot.payrollShards);
+        payrollsVersion++;
+        savePayrolls();
+    }
+
+    /**
+     * Put employees and departments back to how they were in a snapshot, leaving
+     * payrolls as they are (e.g. to undo an edit without losing a payroll run)
+     */
+    public void restoreEmployeesAndDepartments(Snapshot snapshot) {
+        if (employees != snapshot.employees) {
+            // Record the restore as changes made today
+            LocalDate today = LocalDate.now();
+            PersistentMap<String, Employee> current = employees;
+            snapshot.employees.forEach((employeeId, employee) -> recordChange(current.get(employeeId), employee, today));
+            current.forEach((employeeId, employee) -> {
+                if (!snapshot.employees.containsKey(employeeId)) {
+                    recordChange(employee, null, today);
+                }
+            });
+            employees = snapshot.employees;
+            employeesVersion++;
+            saveEmployees();
+        }
+        if (departments != snapshot.departments) {
+            departments = snapshot.departments;
+            departmentsVersion++;
+            saveDepartments();
+        }
+    }
+
+    /**
+     * Immutable view of all data at one moment, from {@link #snapshot()}
+     */
+    public static final class Snapshot {
+        private final PersistentMap<String, Employee> employees;
+        private final PersistentMap<String, Department> departments;
+        private final List<PersistentMap<String, Payroll>> payrollShards;
+
+        Snapshot(PersistentMap<String, Employee> employees, PersistentMap<String, Department> departments,
+                 List<PersistentMap<String, Payroll>> payrollShards) {
+            this.employees = employees;
+            this.departments = departments;
+            this.payrollShards = payrollShards;
+        }
+
+        public Map<String, Employee> getEmployees() {
+            return employees;
+        }
+
+        public Map<String, Department> getDepartments() {
+            return departments;
+        }
+
+        public ShardedList<Payroll> getPayrolls() {
+            return PayrollStore.snapshotOf(payrollShards);
+        }
+    }
+}
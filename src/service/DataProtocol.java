@@ -0,0 +1,312 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.Payroll;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Binary wire format shared by {@link DataServer} and {@link RemoteDataManager}.
+ *
+ * <p>Every message is a frame: an int length followed by that many bytes.</p>
+ * <pre>
+ * request:  int requestId, byte opcode, payload
+ * response: int requestId, byte status, long employeesVersion, long departmentsVersion,
+ *           long payrollsVersion, payload (status ERROR: the message string)
+ * </pre>
+ * <p>A client may send many requests without waiting; the server answers each
+ * connection's requests in order. A response with request ID {@link #PUSH_ID} is
+ * sent unasked whenever another client changes the data, so clients learn new
+ * version stamps without polling.</p>
+ *
+ * <p>Records are written field by field (strings as UTF-8 with a length prefix,
+ * dates as epoch days, enums as ordinals), which is several times smaller than
+ * Java serialization. An employee's department is written as its ID and name and
+ * resolved against the receiver's own departments.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+final class DataProtocol {
+
+    static final int DEFAULT_PORT = 7070;
+    static final int PUSH_ID = 0;
+    static final int MAX_FRAME_BYTES = Integer.MAX_VALUE - 8;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;
+
+    // Opcodes
+    static final byte PING = 1;
+    static final byte GET_EMPLOYEE = 10;
+    static final byte GET_ALL_EMPLOYEES = 11;
+    static final byte PUT_EMPLOYEES = 12;
+    static final byte DELETE_EMPLOYEE = 13;
+    // Payload: date effective, employees. Changes recorded in the employee history from that date.
+    static final byte PUT_EMPLOYEES_EFFECTIVE = 14;
+    // Payload: employee ID, date. Answered from the employee history.
+    static final byte GET_EMPLOYEE_AS_OF = 15;
+    static final byte GET_DEPARTMENT = 20;
+    static final byte GET_ALL_DEPARTMENTS = 21;
+    static final byte PUT_DEPARTMENTS = 22;
+    static final byte DELETE_DEPARTMENT = 23;
+    static final byte GET_PAYROLL = 30;
+    static final byte GET_ALL_PAYROLLS = 31;
+    static final byte PUT_PAYROLLS = 32;
+    static final byte DELETE_PAYROLL = 33;
+    static final byte GET_PAYROLLS_BY_EMPLOYEE = 34;
+    // Payload: departments, employees, payrolls, then (in replication snapshots only) the employee history
+    static final byte REPLACE_ALL = 40;
+    static final byte CLEAR_ALL = 41;
+    // Payload: long log ID, long last sequence applied. Turns the connection into a replication feed.
+    static final byte REPLICATE = 50;
+
+    // Replication feed frames: byte type, long sequence, long primary time (ms), byte opcode, payload
+    static final byte REPLICATION_SNAPSHOT = 1;
+    static final byte REPLICATION_CHANGE = 2;
+    static final byte REPLICATION_HEARTBEAT = 3;
+
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+
+    private DataProtocol() {
+    }
+
+    /**
+     * Whether an opcode changes data (and so needs exclusive access on the server).
+     */
+    static boolean isMutation(byte opcode) {
+        return opcode == PUT_EMPLOYEES || opcode == PUT_EMPLOYEES_EFFECTIVE || opcode == DELETE_EMPLOYEE
+                || opcode == PUT_DEPARTMENTS || opcode == DELETE_DEPARTMENT
+                || opcode == PUT_PAYROLLS || opcode == DELETE_PAYROLL
+                || opcode == REPLACE_ALL || opcode == CLEAR_ALL;
+    }
+
+    // Primitives
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeInt(date == null ? NULL_DATE : (int) date.toEpochDay());
+    }
+
+    static LocalDate readDate(DataInputStream in) throws IOException {
+        int epochDay = in.readInt();
+        return epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, E[] values) throws IOException {
+        int ordinal = in.readByte();
+        return ordinal < 0 || ordinal >= values.length ? null : values[ordinal];
+    }
+
+    // Records
+
+    static void writeEmployee(DataOutputStream out, Employee emp) throws IOException {
+        writeString(out, emp.getEmployeeId());
+        writeString(out, emp.getFirstName());
+        writeString(out, emp.getLastName());
+        writeString(out, emp.getEmail());
+        writeString(out, emp.getPhone());
+        writeDate(out, emp.getDateOfBirth());
+        writeDate(out, emp.getHireDate());
+        Department department = emp.getDepartment();
+        writeString(out, department == null ? null : department.getDepartmentId());
+        writeString(out, department == null ? null : department.getDepartmentName());
+        writeString(out, emp.getPosition());
+        writeEnum(out, emp.getEmploymentType());
+        out.writeDouble(emp.getHourlyRate());
+        out.writeDouble(emp.getAnnualSalary());
+        writeEnum(out, emp.getStatus());
+    }
+
+    /**
+     * Reads an employee.
+     *
+     * @param departments Finds the receiver's department by ID, or returns null
+     */
+    static Employee readEmployee(DataInputStream in, Function<String, Department> departments) throws IOException {
+        Employee emp = new Employee(readString(in), readString(in), readString(in), readString(in));
+        emp.setPhone(readString(in));
+        emp.setDateOfBirth(readDate(in));
+        emp.setHireDate(readDate(in));
+        String departmentId = readString(in);
+        String departmentName = readString(in);
+        if (departmentId != null) {
+            Department department = departments.apply(departmentId);
+            emp.setDepartment(department != null ? department : new Department(departmentId, departmentName));
+        }
+        emp.setPosition(readString(in));
+        emp.setEmploymentType(readEnum(in, Employee.EmploymentType.values()));
+        emp.setHourlyRate(in.readDouble());
+        emp.setAnnualSalary(in.readDouble());
+        emp.setStatus(readEnum(in, Employee.EmployeeStatus.values()));
+        return emp;
+    }
+
+    static void writeDepartment(DataOutputStream out, Department department) throws IOException {
+        writeString(out, department.getDepartmentId());
+        writeString(out, department.getDepartmentName());
+        writeString(out, department.getManagerEmployeeId());
+        writeString(out, department.getDescription());
+        List<String> employeeIds = department.getEmployeeIds();
+        out.writeInt(employeeIds.size());
+        for (String employeeId : employeeIds) {
+            writeString(out, employeeId);
+        }
+    }
+
+    static Department readDepartment(DataInputStream in) throws IOException {
+        Department department = new Department(readString(in), readString(in));
+        department.setManagerEmployeeId(readString(in));
+        department.setDescription(readString(in));
+        int employeeCount = in.readInt();
+        // The sender's list is already unique; addEmployee's contains() check would be quadratic
+        List<String> employeeIds = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            employeeIds.add(readString(in));
+        }
+        department.setEmployeeIds(employeeIds);
+        return department;
+    }
+
+    static void writePayroll(DataOutputStream out, Payroll payroll) throws IOException {
+        writeString(out, payroll.getPayrollId());
+        writeString(out, payroll.getEmployeeId());
+        writeDate(out, payroll.getPayPeriodStart());
+        writeDate(out, payroll.getPayPeriodEnd());
+        writeDate(out, payroll.getPayDate());
+        out.writeDouble(payroll.getRegularHours());
+        out.writeDouble(payroll.getOvertimeHours());
+        out.writeDouble(payroll.getHourlyRate());
+        out.writeDouble(payroll.getGrossPay());
+        out.writeDouble(payroll.getRegularPay());
+        out.writeDouble(payroll.getOvertimePay());
+        out.writeDouble(payroll.getBonus());
+        out.writeDouble(payroll.getFederalTax());
+        out.writeDouble(payroll.getStateTax());
+        out.writeDouble(payroll.getSocialSecurity());
+        out.writeDouble(payroll.getMedicare());
+        out.writeDouble(payroll.getHealthInsurance());
+        out.writeDouble(payroll.getRetirement401k());
+        out.writeDouble(payroll.getOtherDeductions());
+        out.writeDouble(payroll.getTotalDeductions());
+        out.writeDouble(payroll.getNetPay());
+        writeString(out, payroll.getAdjustedPayrollId());
+        out.writeDouble(payroll.getDoubleTimeHours());
+        writeEnum(out, payroll.getPayType());
+        out.writeDouble(payroll.getOvertimeMultiplier());
+        out.writeDouble(payroll.getDoubleTimeMultiplier());
+        out.writeInt(payroll.getPeriodsPerYear());
+    }
+
+    static Payroll readPayroll(DataInputStream in) throws IOException {
+        Payroll payroll = new Payroll(readString(in), readString(in), readDate(in), readDate(in));
+        payroll.setPayDate(readDate(in));
+        payroll.setRegularHours(in.readDouble());
+        payroll.setOvertimeHours(in.readDouble());
+        payroll.setHourlyRate(in.readDouble());
+        payroll.setGrossPay(in.readDouble());
+        payroll.setRegularPay(in.readDouble());
+        payroll.setOvertimePay(in.readDouble());
+        payroll.setBonus(in.readDouble());
+        payroll.setFederalTax(in.readDouble());
+        payroll.setStateTax(in.readDouble());
+        payroll.setSocialSecurity(in.readDouble());
+        payroll.setMedicare(in.readDouble());
+        payroll.setHealthInsurance(in.readDouble());
+        payroll.setRetirement401k(in.readDouble());
+        payroll.setOtherDeductions(in.readDouble());
+        payroll.setTotalDeductions(in.readDouble());
+        payroll.setNetPay(in.readDouble());
+        payroll.setAdjustedPayrollId(readString(in));
+        payroll.setDoubleTimeHours(in.readDouble());
+        payroll.setPayType(readEnum(in, Payroll.PayType.values()));
+        payroll.setOvertimeMultiplier(in.readDouble());
+        payroll.setDoubleTimeMultiplier(in.readDouble());
+        payroll.setPeriodsPerYear(in.readInt());
+        return payroll;
+    }
+
+    // Lists
+
+    static void writeEmployees(DataOutputStream out, Collection<Employee> employees) throws IOException {
+        out.writeInt(employees.size());
+        for (Employee emp : employees) {
+            writeEmployee(out, emp);
+        }
+    }
+
+    static List<Employee> readEmployees(DataInputStream in, Function<String, Department> departments)
+            throws IOException {
+        int count = in.readInt();
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(readEmployee(in, departments));
+        }
+        return employees;
+    }
+
+    static void writeDepartments(DataOutputStream out, Collection<Department> departments) throws IOException {
+        out.writeInt(departments.size());
+        for (Department department : departments) {
+            writeDepartment(out, department);
+        }
+    }
+
+    static List<Department> readDepartments(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Department> departments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            departments.add(readDepartment(in));
+        }
+        return departments;
+    }
+
+    static void writePayrolls(DataOutputStream out, Collection<Payroll> payrolls) throws IOException {
+        out.writeInt(payrolls.size());
+        for (Payroll payroll : payrolls) {
+            writePayroll(out, payroll);
+        }
+    }
+
+    static List<Payroll> readPayrolls(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Payroll> payrolls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            payrolls.add(readPayroll(in));
+        }
+        return payrolls;
+    }
+}
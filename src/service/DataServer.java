@@ -0,0 +1,568 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.Payroll;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Process that owns the data files and serves them to desktop clients, so several
+ * users can work on one dataset without overwriting each other's files.
+ *
+ * <p>The server holds the only {@link DataManager} that reads and writes
+ * {@code data/*.dat}; clients use {@link RemoteDataManager}, which has the same API.
+ * Each connection gets its own thread. Reads run concurrently, changes run one at a
+ * time (and are saved before they are acknowledged), and after every change the new
+ * version stamps are pushed to all other clients. Responses to pipelined requests
+ * are flushed together once the connection has no more requests waiting.</p>
+ *
+ * <p>Every change is also recorded in a {@link ReplicationLog} and streamed to any
+ * {@link ReplicaFollower} connected to this server.</p>
+ *
+ * <p>There is no authentication: bind it to loopback (the default) or a trusted
+ * office network only.</p>
+ *
+ * <pre>
+ * java service.DataServer [port] [bind address]
+ * java -Ddata.server=localhost:7070 Main
+ * </pre>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class DataServer {
+
+    private static final int RETAINED_PAYLOAD_BYTES = 1 << 20;
+    private static final long HEARTBEAT_MILLIS = 200;
+
+    private static final LatencyHistogram READ_TIME = Metrics.getInstance().histogram("dataServer.read");
+    private static final LatencyHistogram WRITE_TIME = Metrics.getInstance().histogram("dataServer.write");
+    private static final Metrics.Counter ERRORS = Metrics.getInstance().counter("dataServer.errors");
+    private static final Metrics.Counter SNAPSHOTS_SENT = Metrics.getInstance().counter("dataServer.snapshotsSent");
+
+    private final DataManager dataManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionNumber = new AtomicInteger();
+    private final ReplicationLog replicationLog =
+            new ReplicationLog(ReplicationLog.DEFAULT_MAX_ENTRIES, ReplicationLog.DEFAULT_MAX_BYTES);
+
+    private ServerSocket serverSocket;
+    private volatile boolean readOnly;
+    private volatile LongSupplier lagMillis;
+    private volatile long maxLagMillis;
+
+    /**
+     * Creates a server over a DataManager that reads and writes the local data files.
+     */
+    public DataServer(DataManager dataManager) {
+        this.dataManager = dataManager;
+        Metrics metrics = Metrics.getInstance();
+        metrics.gauge("dataServer.connections", connections::size);
+        metrics.gauge("dataServer.replicas", () -> connections.stream().filter(c -> c.replicating).count());
+        metrics.gauge("dataServer.replicationSequence", replicationLog::getLastSequence);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DataProtocol.DEFAULT_PORT;
+        InetAddress bindAddress = InetAddress.getLoopbackAddress();
+        try {
+            if (args.length > 0) {
+                port = Integer.parseInt(args[0]);
+            }
+            if (args.length > 1) {
+                bindAddress = InetAddress.getByName(args[1]);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Usage: java service.DataServer [port] [bind address]");
+            System.exit(2);
+        }
+
+        DataManager dataManager = DataManager.getInstance();
+        if (dataManager instanceof RemoteDataManager) {
+            System.err.println("The data server must own the data files; unset data.server");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        dataManager.loadAllData();
+        System.err.printf("Loaded %d employees and %d payroll records in %d ms%n",
+                dataManager.getAllEmployees().size(), dataManager.getAllPayrolls().size(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        DataServer server = new DataServer(dataManager);
+        server.bind(new InetSocketAddress(bindAddress, port));
+        System.err.println("Data server listening on " + bindAddress.getHostAddress() + ":" + server.getPort());
+        server.serve();
+    }
+
+    /**
+     * Opens the listening socket. The employee history is loaded first: reads share
+     * a lock, so it must not be loaded lazily by the first as-of lookup.
+     */
+    public void bind(InetSocketAddress address) throws IOException {
+        lock.writeLock().lock();
+        try {
+            dataManager.getEmployeeHistory();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(address, 64);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    DataManager getDataManager() {
+        return dataManager;
+    }
+
+    /**
+     * Gets the sequence number of the last change applied, as seen by replication followers.
+     */
+    long getReplicationSequence() {
+        return replicationLog.getLastSequence();
+    }
+
+    /**
+     * Accepts connections until {@link #close()} is called.
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                // Closed while waiting
+                break;
+            }
+            socket.setTcpNoDelay(true);
+            Connection connection = new Connection(socket);
+            connections.add(connection);
+            Thread thread = new Thread(connection, "data-server-" + connectionNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Makes the server reject changes from clients, as a replication follower does.
+     */
+    void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Makes the server refuse reads while its data is more than a limit behind the primary.
+     *
+     * @param lagMillis    Current replication lag, or null for no limit
+     * @param maxLagMillis Largest lag at which reads are still served
+     */
+    void setLagLimit(LongSupplier lagMillis, long maxLagMillis) {
+        this.lagMillis = lagMillis;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * Applies a change received from the primary and tells this server's clients.
+     * The change is also logged, so this server can in turn feed other followers.
+     *
+     * @param opcode  Change opcode from {@link DataProtocol}
+     * @param payload The change's request payload
+     */
+    void applyReplicated(byte opcode, byte[] payload) throws IOException {
+        lock.writeLock().lock();
+        try {
+            execute(opcode, new DataInputStream(new ByteArrayInputStream(payload)),
+                    new DataOutputStream(OutputStream.nullOutputStream()));
+            replicationLog.append(opcode, payload);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        broadcastVersions(null);
+    }
+
+    /**
+     * Stops accepting connections and disconnects every client.
+     */
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Runs one request against the DataManager and writes the response payload.
+     */
+    private void execute(byte opcode, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (opcode) {
+            case DataProtocol.PING:
+                break;
+            case DataProtocol.GET_EMPLOYEE: {
+                Employee emp = dataManager.getEmployee(DataProtocol.readString(in));
+                out.writeBoolean(emp != null);
+                if (emp != null) {
+                    DataProtocol.writeEmployee(out, emp);
+                }
+                break;
+            }
+            case DataProtocol.GET_ALL_EMPLOYEES:
+                DataProtocol.writeEmployees(out, dataManager.getAllEmployees());
+                break;
+            case DataProtocol.PUT_EMPLOYEES:
+                dataManager.addEmployees(DataProtocol.readEmployees(in, dataManager::getDepartment));
+                break;
+            case DataProtocol.PUT_EMPLOYEES_EFFECTIVE: {
+                LocalDate effectiveDate = DataProtocol.readDate(in);
+                dataManager.updateEmployees(DataProtocol.readEmployees(in, dataManager::getDepartment), effectiveDate);
+                break;
+            }
+            case DataProtocol.DELETE_EMPLOYEE:
+                dataManager.deleteEmployee(DataProtocol.readString(in));
+                break;
+            case DataProtocol.GET_EMPLOYEE_AS_OF: {
+                String employeeId = DataProtocol.readString(in);
+                Employee emp = dataManager.getEmployeeAsOf(employeeId, DataProtocol.readDate(in));
+                out.writeBoolean(emp != null);
+                if (emp != null) {
+                    DataProtocol.writeEmployee(out, emp);
+                }
+                break;
+            }
+            case DataProtocol.GET_DEPARTMENT: {
+                Department department = dataManager.getDepartment(DataProtocol.readString(in));
+                out.writeBoolean(department != null);
+                if (department != null) {
+                    DataProtocol.writeDepartment(out, department);
+                }
+                break;
+            }
+            case DataProtocol.GET_ALL_DEPARTMENTS:
+                DataProtocol.writeDepartments(out, dataManager.getAllDepartments());
+                break;
+            case DataProtocol.PUT_DEPARTMENTS:
+                dataManager.addDepartments(DataProtocol.readDepartments(in));
+                break;
+            case DataProtocol.DELETE_DEPARTMENT:
+                dataManager.deleteDepartment(DataProtocol.readString(in));
+                break;
+            case DataProtocol.GET_PAYROLL: {
+                Payroll payroll = dataManager.getPayroll(DataProtocol.readString(in));
+                out.writeBoolean(payroll != null);
+                if (payroll != null) {
+                    DataProtocol.writePayroll(out, payroll);
+                }
+                break;
+            }
+            case DataProtocol.GET_ALL_PAYROLLS:
+                DataProtocol.writePayrolls(out, dataManager.getAllPayrolls());
+                break;
+            case DataProtocol.PUT_PAYROLLS:
+                dataManager.addPayrolls(DataProtocol.readPayrolls(in));
+                break;
+            case DataProtocol.DELETE_PAYROLL:
+                dataManager.deletePayroll(DataProtocol.readString(in));
+                break;
+            case DataProtocol.GET_PAYROLLS_BY_EMPLOYEE:
+                DataProtocol.writePayrolls(out, dataManager.getPayrollsByEmployee(DataProtocol.readString(in)));
+                break;
+            case DataProtocol.REPLACE_ALL: {
+                List<Department> departments = DataProtocol.readDepartments(in);
+                Map<String, Department> departmentsById = new HashMap<>();
+                for (Department department : departments) {
+                    departmentsById.put(department.getDepartmentId(), department);
+                }
+                List<Employee> employees = DataProtocol.readEmployees(in, departmentsById::get);
+                List<Payroll> payrolls = DataProtocol.readPayrolls(in);
+                dataManager.replaceAllData(departments, employees, payrolls);
+                // A replication snapshot also carries the employee history; a client's new dataset has none
+                if (in.available() > 0) {
+                    dataManager.readEmployeeHistory(in);
+                }
+                break;
+            }
+            case DataProtocol.CLEAR_ALL:
+                dataManager.clearAllData();
+                break;
+            default:
+                throw new IOException("Unknown opcode " + opcode);
+        }
+    }
+
+    /**
+     * Tells every connection except the one that made a change about the new versions.
+     */
+    private void broadcastVersions(Connection changedBy) {
+        for (Connection connection : connections) {
+            if (connection != changedBy && !connection.replicating) {
+                connection.pushVersions();
+            }
+        }
+    }
+
+    /**
+     * One client connection, served by its own thread.
+     */
+    private final class Connection implements Runnable {
+        private final Socket socket;
+        // Set once the connection has become a replication feed
+        private volatile boolean replicating;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        // Response payload, reused between requests unless a large one made it grow
+        private ByteArrayOutputStream payloadBytes;
+        private DataOutputStream payload;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+            newPayloadBuffer();
+        }
+
+        private void newPayloadBuffer() {
+            payloadBytes = new ByteArrayOutputStream(4096);
+            payload = new DataOutputStream(payloadBytes);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    if (length < 5 || length > DataProtocol.MAX_FRAME_BYTES) {
+                        throw new IOException("Bad frame length " + length);
+                    }
+                    byte[] frame = new byte[length];
+                    in.readFully(frame);
+                    handle(frame);
+                }
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    System.err.println("Data server connection " + socket.getRemoteSocketAddress() + ": " + e.getMessage());
+                }
+            } finally {
+                connections.remove(this);
+                close();
+            }
+        }
+
+        private void handle(byte[] frame) throws IOException {
+            DataInputStream request = new DataInputStream(new ByteArrayInputStream(frame));
+            int requestId = request.readInt();
+            byte opcode = request.readByte();
+            if (opcode == DataProtocol.REPLICATE) {
+                streamChanges(request);
+                return;
+            }
+            boolean mutation = DataProtocol.isMutation(opcode);
+            long start = Metrics.startTimer();
+
+            payloadBytes.reset();
+            byte status = DataProtocol.STATUS_OK;
+            long[] versions;
+            Lock held = mutation ? lock.writeLock() : lock.readLock();
+            held.lock();
+            try {
+                checkAllowed(mutation);
+                execute(opcode, request, payload);
+                if (mutation) {
+                    // Logged under the write lock, so followers see changes in the order they were applied
+                    replicationLog.append(opcode, Arrays.copyOfRange(frame, 5, frame.length));
+                }
+            } catch (IOException | RuntimeException e) {
+                ERRORS.increment();
+                payloadBytes.reset();
+                status = DataProtocol.STATUS_ERROR;
+                DataProtocol.writeString(payload, e.getClass().getSimpleName() + ": " + e.getMessage());
+            } finally {
+                versions = versions();
+                held.unlock();
+            }
+            (mutation ? WRITE_TIME : READ_TIME).recordSince(start);
+
+            synchronized (this) {
+                writeFrame(requestId, status, versions, payloadBytes);
+                // Flush once the pipeline is drained, so queued responses share packets
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+            if (payloadBytes.size() > RETAINED_PAYLOAD_BYTES) {
+                newPayloadBuffer();
+            }
+            if (mutation && status == DataProtocol.STATUS_OK) {
+                broadcastVersions(this);
+            }
+        }
+
+        private void checkAllowed(boolean mutation) {
+            if (mutation && readOnly) {
+                throw new IllegalStateException("This server is a read-only replica");
+            }
+            LongSupplier lag = lagMillis;
+            if (!mutation && lag != null) {
+                long behind = lag.getAsLong();
+                if (behind == Long.MAX_VALUE) {
+                    throw new IllegalStateException("Replica has not received the primary's data yet");
+                }
+                if (behind > maxLagMillis) {
+                    throw new IllegalStateException("Replica is " + behind + " ms behind the primary");
+                }
+            }
+        }
+
+        /**
+         * Turns this connection into a replication feed: sends a snapshot if the follower
+         * cannot continue from where it is, then every change as it is logged, with a
+         * heartbeat when there are none. Runs until the follower disconnects.
+         */
+        private void streamChanges(DataInputStream request) throws IOException {
+            long followerLogId = request.readLong();
+            long after = request.readLong();
+            boolean needSnapshot = followerLogId != replicationLog.getLogId();
+            replicating = true;
+            try {
+                while (true) {
+                    List<ReplicationLog.Entry> entries = needSnapshot ? null
+                            : replicationLog.entriesAfter(after, HEARTBEAT_MILLIS);
+                    if (entries == null) {
+                        after = sendSnapshot();
+                        needSnapshot = false;
+                        continue;
+                    }
+                    if (entries.isEmpty()) {
+                        writeReplicationFrame(DataProtocol.REPLICATION_HEARTBEAT, replicationLog.getLastSequence(),
+                                System.currentTimeMillis(), (byte) 0, null);
+                    }
+                    for (ReplicationLog.Entry entry : entries) {
+                        writeReplicationFrame(DataProtocol.REPLICATION_CHANGE, entry.sequence, entry.timeMillis,
+                                entry.opcode, entry.payload);
+                        after = entry.sequence;
+                    }
+                    out.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Sends all data as of the latest logged change.
+         *
+         * @return Sequence number of the last change included
+         */
+        private long sendSnapshot() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+            DataOutputStream snapshot = new DataOutputStream(bytes);
+            long sequence;
+            lock.readLock().lock();
+            try {
+                sequence = replicationLog.getLastSequence();
+                snapshot.writeLong(replicationLog.getLogId());
+                DataProtocol.writeDepartments(snapshot, dataManager.getAllDepartments());
+                DataProtocol.writeEmployees(snapshot, dataManager.getAllEmployees());
+                DataProtocol.writePayrolls(snapshot, dataManager.getAllPayrolls());
+                dataManager.writeEmployeeHistory(snapshot);
+            } finally {
+                lock.readLock().unlock();
+            }
+            SNAPSHOTS_SENT.increment();
+            writeReplicationFrame(DataProtocol.REPLICATION_SNAPSHOT, sequence, System.currentTimeMillis(),
+                    (byte) 0, bytes.toByteArray());
+            out.flush();
+            return sequence;
+        }
+
+        private void writeReplicationFrame(byte type, long sequence, long timeMillis, byte opcode, byte[] body)
+                throws IOException {
+            int bodyLength = body == null ? 0 : body.length;
+            out.writeInt(1 + 8 + 8 + 1 + bodyLength);
+            out.writeByte(type);
+            out.writeLong(sequence);
+            out.writeLong(timeMillis);
+            out.writeByte(opcode);
+            if (body != null) {
+                out.write(body);
+            }
+        }
+
+        synchronized void pushVersions() {
+            long[] versions;
+            lock.readLock().lock();
+            try {
+                versions = versions();
+            } finally {
+                lock.readLock().unlock();
+            }
+            try {
+                writeFrame(DataProtocol.PUSH_ID, DataProtocol.STATUS_OK, versions, null);
+                out.flush();
+            } catch (IOException e) {
+                // The connection's own thread notices and cleans up
+            }
+        }
+
+        private void writeFrame(int requestId, byte status, long[] versions, ByteArrayOutputStream body)
+                throws IOException {
+            int bodyLength = body == null ? 0 : body.size();
+            out.writeInt(4 + 1 + 24 + bodyLength);
+            out.writeInt(requestId);
+            out.writeByte(status);
+            out.writeLong(versions[0]);
+            out.writeLong(versions[1]);
+            out.writeLong(versions[2]);
+            if (body != null) {
+                body.writeTo(out);
+            }
+        }
+
+        private long[] versions() {
+            return new long[]{dataManager.getEmployeesVersion(), dataManager.getDepartmentsVersion(),
+                    dataManager.getPayrollsVersion()};
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package service;
+
+import model.Employee;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Undo and redo for employee edits.
+ *
+ * <p>Call {@link #recordAdd}, {@link #recordEdit} or {@link #recordDelete} once a
+ * change has been made. Each step remembers only the one employee record before and
+ * after the change, so undoing it puts back that record and leaves every other
+ * change alone, including ones made elsewhere (another screen, an import or another
+ * desktop). If the employee has been changed again elsewhere since, the step is
+ * dropped instead of overwriting that change. Payrolls are never rolled back.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class EditHistory {
+
+    public static final int DEFAULT_LIMIT = 100;
+
+    private final DataManager dataManager;
+    private final int limit;
+    private final Deque<Step> undoSteps = new ArrayDeque<>();
+    private final Deque<Step> redoSteps = new ArrayDeque<>();
+
+    public EditHistory(DataManager dataManager) {
+        this(dataManager, DEFAULT_LIMIT);
+    }
+
+    /**
+     * @param dataManager Data to change when undoing and redoing
+     * @param limit       Most steps kept; the oldest are dropped first
+     */
+    public EditHistory(DataManager dataManager, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        this.dataManager = dataManager;
+        this.limit = limit;
+    }
+
+    /**
+     * Records an employee that was added; undoing removes them again.
+     */
+    public void recordAdd(Employee added) {
+        record("Add " + added.getFullName(), null, added);
+    }
+
+    /**
+     * Records an employee that was changed; undoing puts back the old record.
+     *
+     * @param before The record before the change
+     * @param after  The record after the change
+     */
+    public void recordEdit(Employee before, Employee after) {
+        record("Edit " + after.getFullName(), before, after);
+    }
+
+    /**
+     * Records an employee that was deleted; undoing adds them back.
+     */
+    public void recordDelete(Employee deleted) {
+        record("Delete " + deleted.getFullName(), deleted, null);
+    }
+
+    private void record(String description, Employee before, Employee after) {
+        // Copies, so later edits to the caller's objects cannot change the step
+        push(undoSteps, new Step(description, before == null ? null : new Employee(before),
+                after == null ? null : new Employee(after)));
+        redoSteps.clear();
+    }
+
+    public boolean canUndo() {
+        return !undoSteps.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoSteps.isEmpty();
+    }
+
+    /**
+     * Gets the description of the step {@link #undo()} would reverse, or null if there is none.
+     */
+    public String getUndoDescription() {
+        return canUndo() ? undoSteps.peek().description : null;
+    }
+
+    /**
+     * Gets the description of the step {@link #redo()} would repeat, or null if there is none.
+     */
+    public String getRedoDescription() {
+        return canRedo() ? redoSteps.peek().description : null;
+    }
+
+    /**
+     * Reverses the last recorded change.
+     *
+     * @return Description of the undone step
+     * @throws IllegalStateException If there is nothing to undo, or the employee was
+     *                               changed elsewhere since (the step is then dropped)
+     */
+    public String undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        Step step = undoSteps.peek();
+        apply(undoSteps, step.after, step.before, "undo");
+        undoSteps.pop();
+        push(redoSteps, step);
+        return step.description;
+    }
+
+    /**
+     * Repeats the last undone change.
+     *
+     * @return Description of the redone step
+     * @throws IllegalStateException If there is nothing to redo, or the employee was
+     *                               changed elsewhere since (the step is then dropped)
+     */
+    public String redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        Step step = redoSteps.peek();
+        apply(redoSteps, step.before, step.after, "redo");
+        redoSteps.pop();
+        push(undoSteps, step);
+        return step.description;
+    }
+
+    public void clear() {
+        undoSteps.clear();
+        redoSteps.clear();
+    }
+
+    /**
+     * Changes the employee of the top step from one record to another (null meaning
+     * absent). If the employee no longer holds the expected record the step is dropped.
+     */
+    private void apply(Deque<Step> steps, Employee expected, Employee target, String action) {
+        Step step = steps.peek();
+        Employee current = dataManager.getEmployee(step.employeeId);
+        if (!EmployeeHistory.sameValues(current, expected)) {
+            steps.pop();
+            throw new IllegalStateException("Cannot " + action + " \"" + step.description + "\": employee "
+                    + step.employeeId + " has been changed since");
+        }
+        if (target == null) {
+            dataManager.deleteEmployee(step.employeeId);
+        } else if (current == null) {
+            dataManager.addEmployee(new Employee(target));
+        } else {
+            dataManager.updateEmployee(new Employee(target));
+        }
+    }
+
+    private void push(Deque<Step> steps, Step step) {
+        steps.push(step);
+        while (steps.size() > limit) {
+            steps.removeLast();
+        }
+    }
+
+    private static class Step {
+        private final String description;
+        private final String employeeId;
+        private final Employee before;
+        private final Employee after;
+
+        Step(String description, Employee before, Employee after) {
+            this.description = description;
+            this.employeeId = before != null ? before.getEmployeeId() : after.getEmployeeId();
+            this.before = before;
+            this.after = after;
+        }
+    }
+}
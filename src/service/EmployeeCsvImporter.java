@@ -0,0 +1,303 @@
+package service;
+
+import model.Department;
+import model.Employee;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads employees from a CSV file (RFC 4180, UTF-8).
+ *
+ * <p>Columns are matched by header name, so the employee CSV written by
+ * {@link CsvExporter#forEmployees()} can be imported again. The "Employee ID",
+ * "First Name", "Last Name" and "Email" columns are required; "Phone", "Position",
+ * "Type", "Status", "Hourly Rate", "Annual Salary", "Department ID" and "Hire Date"
+ * are optional. A row for an existing employee ID updates that employee, changing only
+ * the columns present in the file. Rows that cannot be read are skipped and reported
+ * in {@link #getErrors()}.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class EmployeeCsvImporter {
+
+    private static final String[] REQUIRED_COLUMNS = {"employee id", "first name", "last name", "email"};
+
+    private final Map<String, Department> departmentsById = new HashMap<>();
+    private final Map<String, Employee> existingById = new HashMap<>();
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * Creates an importer.
+     *
+     * @param departments Known departments, matched by department ID
+     * @param existing    Existing employees, used as the starting point when their ID is imported
+     */
+    public EmployeeCsvImporter(List<Department> departments, List<Employee> existing) {
+        for (Department department : departments) {
+            departmentsById.put(department.getDepartmentId(), department);
+        }
+        for (Employee emp : existing) {
+            existingById.put(emp.getEmployeeId(), emp);
+        }
+    }
+
+    /**
+     * Reads all valid employees from a file.
+     *
+     * @param file CSV file with a header row
+     * @return Employees in file order
+     * @throws IOException If the file cannot be read or has no usable header
+     */
+    public List<Employee> read(Path file) throws IOException {
+        errors.clear();
+        List<Employee> employees = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            List<String> header = csv.nextRow();
+            if (header == null) {
+                throw new IOException("File is empty: " + file);
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(required)) {
+                    throw new IOException("Missing required column: " + required);
+                }
+            }
+
+            List<String> row;
+            while ((row = csv.nextRow()) != null) {
+                int line = csv.getRowStartLine();
+                if (row.size() == 1 && row.get(0).isEmpty()) {
+                    continue;
+                }
+                try {
+                    employees.add(toEmployee(row, columns));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    errors.add("Line " + line + ": " + e.getMessage());
+                }
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Gets the problems found in the rows skipped by the last {@link #read(Path)}.
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    private Employee toEmployee(List<String> row, Map<String, Integer> columns) {
+        String id = required(row, columns, "employee id");
+        String firstName = required(row, columns, "first name");
+        String lastName = required(row, columns, "last name");
+        String email = required(row, columns, "email");
+
+        // Parse into a new object so a bad row leaves an existing employee untouched
+        Employee emp = new Employee(id, firstName, lastName, email);
+        Employee existing = existingById.get(id);
+        if (existing != null) {
+            copyEmployment(existing, emp);
+        }
+
+        String phone = value(row, columns, "phone");
+        if (phone != null) {
+            emp.setPhone(phone);
+        }
+        String position = value(row, columns, "position");
+        if (position != null) {
+            emp.setPosition(position);
+        }
+        String type = value(row, columns, "type");
+        if (type != null) {
+            emp.setEmploymentType(parseEmploymentType(type));
+        }
+        String status = value(row, columns, "status");
+        if (status != null) {
+            emp.setStatus(parseStatus(status));
+        }
+        String hourlyRate = value(row, columns, "hourly rate");
+        if (hourlyRate != null) {
+            emp.setHourlyRate(parseAmount(hourlyRate, "hourly rate"));
+        }
+        String annualSalary = value(row, columns, "annual salary");
+        if (annualSalary != null) {
+            emp.setAnnualSalary(parseAmount(annualSalary, "annual salary"));
+        }
+        String hireDate = value(row, columns, "hire date");
+        if (hireDate != null) {
+            emp.setHireDate(LocalDate.parse(hireDate));
+        }
+        String departmentId = value(row, columns, "department id");
+        if (departmentId != null) {
+            Department department = departmentsById.get(departmentId);
+            if (department == null) {
+                throw new IllegalArgumentException("unknown department " + departmentId);
+            }
+            emp.setDepartment(department);
+        }
+
+        // Stored records are never changed in place; later rows for the same ID build on this one
+        existingById.put(id, emp);
+        return emp;
+    }
+
+    /**
+     * Copies every field except ID, names and email.
+     */
+    private static void copyEmployment(Employee from, Employee to) {
+        to.setPhone(from.getPhone());
+        to.setPosition(from.getPosition());
+        to.setEmploymentType(from.getEmploymentType());
+        to.setStatus(from.getStatus());
+        to.setHourlyRate(from.getHourlyRate());
+        to.setAnnualSalary(from.getAnnualSalary());
+        to.setHireDate(from.getHireDate());
+        to.setDateOfBirth(from.getDateOfBirth());
+        to.setDepartment(from.getDepartment());
+    }
+
+    private static String required(List<String> row, Map<String, Integer> columns, String column) {
+        String value = value(row, columns, column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+
+    /**
+     * Gets a trimmed cell value, or null if the column or value is missing.
+     */
+    private static String value(List<String> row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.size()) {
+            return null;
+        }
+        String value = row.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static double parseAmount(String value, String column) {
+        try {
+            return Double.parseDouble(value.replace("$", "").replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid " + column + " '" + value + "'");
+        }
+    }
+
+    private static Employee.EmploymentType parseEmploymentType(String value) {
+        for (Employee.EmploymentType type : Employee.EmploymentType.values()) {
+            if (type.getDisplayName().equalsIgnoreCase(value) || type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("unknown employment type '" + value + "'");
+    }
+
+    private static Employee.EmployeeStatus parseStatus(String value) {
+        for (Employee.EmployeeStatus status : Employee.EmployeeStatus.values()) {
+            if (status.getDisplayName().equalsIgnoreCase(value) || status.name().equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("unknown status '" + value + "'");
+    }
+
+    /**
+     * Minimal streaming RFC 4180 reader: quoted fields may contain commas,
+     * doubled quotes and line breaks.
+     */
+    private static final class CsvReader {
+        private final Reader reader;
+        private int line = 1;
+        private int rowStartLine;
+        private int pushedBack = -2;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        int getRowStartLine() {
+            return rowStartLine;
+        }
+
+        List<String> nextRow() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            rowStartLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field starting on line " + rowStartLine);
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            pushedBack = next;
+                        }
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
@@ -0,0 +1,834 @@
+package service;
+
+import model.Department;
+import model.Employee;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Field-level change history of every employee, for questions like "what was this
+ * person's rate on date X" in retro pay and audits.
+ *
+ * <p>Each employee has a chain of entries ordered by effective date. An entry holds
+ * only the fields that changed, varint-encoded into one byte array per employee.
+ * Every {@value #CHECKPOINT_INTERVAL}th entry is a full checkpoint, and the chain
+ * keeps an index of checkpoints by date, so {@link #asOf(String, LocalDate)}
+ * decodes at most one checkpoint and the deltas after it.</p>
+ *
+ * <p>An employee gets a chain on their first change, starting with their state
+ * before it. Employees that never changed take no space; {@link DataManager}
+ * answers for them from the current record.</p>
+ *
+ * <p>A backdated change applies from its effective date onward: later changes to
+ * the same fields are superseded, so the current record and the history agree.</p>
+ *
+ * <p>Chains are immutable and kept in a {@link PersistentMap}, so {@link #state()}
+ * is constant time and can be written on another thread.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class EmployeeHistory {
+
+    /**
+     * Employee fields tracked in the history (the employee ID is the chain's key).
+     */
+    public enum Field {
+        FIRST_NAME, LAST_NAME, EMAIL, PHONE, DATE_OF_BIRTH, HIRE_DATE, DEPARTMENT,
+        POSITION, EMPLOYMENT_TYPE, HOURLY_RATE, ANNUAL_SALARY, STATUS
+    }
+
+    static final int CHECKPOINT_INTERVAL = 16;
+
+    private static final Field[] FIELDS = Field.values();
+    private static final int ALL_FIELDS = (1 << FIELDS.length) - 1;
+    private static final int DELETED = 1 << FIELDS.length;
+    private static final int CHECKPOINT = DELETED << 1;
+    private static final int FILE_MAGIC = 0x45484931; // "EHI1"
+
+    private final Function<String, Department> departmentLookup;
+    private PersistentMap<String, Chain> chains = PersistentMap.empty();
+    private long sizeInBytes;
+
+    /**
+     * Creates an empty history.
+     *
+     * @param departmentLookup Finds departments by ID when rebuilding employees;
+     *                         a department that no longer exists is shown by its ID
+     */
+    public EmployeeHistory(Function<String, Department> departmentLookup) {
+        this.departmentLookup = departmentLookup;
+    }
+
+    /**
+     * Records a change to an employee.
+     *
+     * @param before        The employee before the change, or null if they are being added
+     * @param after         The employee after the change, or null if they are being deleted
+     * @param effectiveDate Date the change takes effect; may be in the past
+     * @param recordedAt    When the change was made, in epoch milliseconds
+     */
+    public void record(Employee before, Employee after, LocalDate effectiveDate, long recordedAt) {
+        if (before == null && after == null) {
+            return;
+        }
+        String employeeId = after != null ? after.getEmployeeId() : before.getEmployeeId();
+        Chain chain = chains.get(employeeId);
+        if (chain == null) {
+            if (before == null) {
+                // New employees need no entry until they first change
+                return;
+            }
+            LocalDate hireDate = before.getHireDate();
+            LocalDate since = hireDate != null && hireDate.isBefore(effectiveDate) ? hireDate : effectiveDate;
+            chain = Chain.EMPTY.append((int) since.toEpochDay(), 0, ALL_FIELDS, valuesOf(before));
+        }
+
+        int day = (int) effectiveDate.toEpochDay();
+        Object[] newValues = after == null ? null : valuesOf(after);
+        int changed;
+        if (newValues == null) {
+            changed = DELETED;
+        } else if (before == null) {
+            changed = ALL_FIELDS;
+        } else {
+            changed = diff(valuesOf(before), newValues);
+            if (changed == 0) {
+                return;
+            }
+        }
+
+        Chain updated = day >= chain.lastDay
+                ? chain.append(day, recordedAt, changed, newValues)
+                : chain.insert(day, recordedAt, changed, newValues);
+        sizeInBytes += updated.data.length - (chains.containsKey(employeeId) ? chain.data.length : 0);
+        chains = chains.plus(employeeId, updated);
+    }
+
+    /**
+     * Checks whether an employee has any recorded changes.
+     */
+    public boolean contains(String employeeId) {
+        return chains.containsKey(employeeId);
+    }
+
+    /**
+     * Rebuilds an employee as they were at the end of a date.
+     *
+     * @return The employee, or null if they did not exist on that date or have no history
+     */
+    public Employee asOf(String employeeId, LocalDate date) {
+        Chain chain = chains.get(employeeId);
+        if (chain == null) {
+            return null;
+        }
+        Object[] values = chain.valuesAsOf((int) Math.max(Integer.MIN_VALUE,
+                Math.min(Integer.MAX_VALUE, date.toEpochDay())));
+        return values == null ? null : toEmployee(employeeId, values);
+    }
+
+    /**
+     * Gets every recorded change to an employee, oldest effective date first.
+     */
+    public List<Change> getChanges(String employeeId) {
+        Chain chain = chains.get(employeeId);
+        if (chain == null) {
+            return Collections.emptyList();
+        }
+        List<Change> changes = new ArrayList<>();
+        for (Entry entry : chain.entries()) {
+            changes.add(new Change(LocalDate.ofEpochDay(entry.day), entry.recordedAt, entry.changed,
+                    entry.values == null ? null : toEmployee(employeeId, entry.values)));
+        }
+        return changes;
+    }
+
+    public int getEmployeeCount() {
+        return chains.size();
+    }
+
+    /**
+     * Gets the encoded size of all chains.
+     */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public void clear() {
+        chains = PersistentMap.empty();
+        sizeInBytes = 0;
+    }
+
+    /**
+     * Captures the chains for {@link #write(File, PersistentMap)}. Later changes do not affect the result.
+     */
+    PersistentMap<String, Chain> state() {
+        return chains;
+    }
+
+    /**
+     * Writes captured chains to a file.
+     *
+     * @return True if the file was written
+     */
+    static boolean write(File file, PersistentMap<String, Chain> state) {
+        DataFileEvent event = DataManager.beginFileEvent();
+        boolean succeeded = false;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            writeTo(out, state);
+            succeeded = true;
+        } catch (IOException e) {
+            System.err.println("Error saving employee history: " + e.getMessage());
+        }
+        DataManager.endFileEvent(event, "save", file.getPath(), state.size(), succeeded);
+        return succeeded;
+    }
+
+    /**
+     * Replaces the chains with those in a file written by {@link #write(File, PersistentMap)}.
+     *
+     * @return True if the file was read; otherwise the history is left empty
+     */
+    boolean read(File file) {
+        clear();
+        DataFileEvent event = DataManager.beginFileEvent();
+        boolean succeeded = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("not an employee history file");
+            }
+            readFrom(in);
+            succeeded = true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error loading employee history: " + e.getMessage());
+            clear();
+        }
+        DataManager.endFileEvent(event, "load", file.getPath(), chains.size(), succeeded);
+        return succeeded;
+    }
+
+    /**
+     * Writes captured chains to a stream, e.g. a replication snapshot (see {@link #readFrom}).
+     */
+    static void writeTo(DataOutputStream out, PersistentMap<String, Chain> state) throws IOException {
+        out.writeInt(state.size());
+        for (java.util.Map.Entry<String, Chain> entry : state.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().data.length);
+            out.write(entry.getValue().data);
+        }
+    }
+
+    /**
+     * Replaces the chains with those written by {@link #writeTo}.
+     */
+    void readFrom(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        PersistentMap.Builder<String, Chain> builder = PersistentMap.<String, Chain>empty().toBuilder();
+        long size = 0;
+        for (int i = 0; i < count; i++) {
+            String employeeId = in.readUTF();
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            builder.put(employeeId, Chain.index(data));
+            size += data.length;
+        }
+        chains = builder.build();
+        sizeInBytes = size;
+    }
+
+    // Field values, in Field order; the department is kept by ID
+
+    private static Object[] valuesOf(Employee employee) {
+        return new Object[] {
+                employee.getFirstName(), employee.getLastName(), employee.getEmail(), employee.getPhone(),
+                employee.getDateOfBirth(), employee.getHireDate(),
+                employee.getDepartment() == null ? null : employee.getDepartment().getDepartmentId(),
+                employee.getPosition(), employee.getEmploymentType(),
+                employee.getHourlyRate(), employee.getAnnualSalary(), employee.getStatus()
+        };
+    }
+
+    private Employee toEmployee(String employeeId, Object[] values) {
+        Employee employee = new Employee(employeeId, (String) values[0], (String) values[1], (String) values[2]);
+        employee.setPhone((String) values[3]);
+        employee.setDateOfBirth((LocalDate) values[4]);
+        employee.setHireDate((LocalDate) values[5]);
+        String departmentId = (String) values[6];
+        if (departmentId != null) {
+            Department department = departmentLookup.apply(departmentId);
+            employee.setDepartment(department != null ? department : new Department(departmentId, departmentId));
+        }
+        employee.setPosition((String) values[7]);
+        employee.setEmploymentType((Employee.EmploymentType) values[8]);
+        employee.setHourlyRate((Double) values[9]);
+        employee.setAnnualSalary((Double) values[10]);
+        employee.setStatus((Employee.EmployeeStatus) values[11]);
+        return employee;
+    }
+
+    /**
+     * Checks whether two employee records hold the same values in every tracked field.
+     */
+    static boolean sameValues(Employee a, Employee b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return diff(valuesOf(a), valuesOf(b)) == 0;
+    }
+
+    private static int diff(Object[] before, Object[] after) {
+        int changed = 0;
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (!Objects.equals(before[i], after[i])) {
+                changed |= 1 << i;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * One employee's encoded entries plus an index of checkpoints.
+     *
+     * <p>Entry layout: varint flags (changed fields, DELETED, CHECKPOINT); zigzag varint
+     * effective epoch day and recorded-at milliseconds, absolute in checkpoints and
+     * relative to the previous entry otherwise; then the value of each changed field,
+     * or of every field in a checkpoint. Deleted entries carry no values.</p>
+     */
+    static final class Chain {
+        static final Chain EMPTY = new Chain(new byte[0], new int[0], new int[0], Integer.MIN_VALUE, 0, 0, true);
+
+        final byte[] data;
+        // Effective day and byte offset of each checkpoint, in chain order
+        private final int[] checkpointDays;
+        private final int[] checkpointOffsets;
+        private final int lastDay;
+        private final long lastRecordedAt;
+        private final int sinceCheckpoint;
+        private final boolean lastDeleted;
+
+        private Chain(byte[] data, int[] checkpointDays, int[] checkpointOffsets, int lastDay,
+                      long lastRecordedAt, int sinceCheckpoint, boolean lastDeleted) {
+            this.data = data;
+            this.checkpointDays = checkpointDays;
+            this.checkpointOffsets = checkpointOffsets;
+            this.lastDay = lastDay;
+            this.lastRecordedAt = lastRecordedAt;
+            this.sinceCheckpoint = sinceCheckpoint;
+            this.lastDeleted = lastDeleted;
+        }
+
+        /**
+         * Returns a chain with one more entry at the end.
+         *
+         * @param values Full state after the entry, or null if it is a deletion
+         */
+        Chain append(int day, long recordedAt, int changed, Object[] values) {
+            boolean checkpoint = values != null && (lastDeleted || sinceCheckpoint + 1 >= CHECKPOINT_INTERVAL);
+            ByteWriter out = new ByteWriter(data);
+            int offset = out.size();
+            writeEntry(out, day, recordedAt, changed, checkpoint, values, lastDay, lastRecordedAt);
+            int[] days = checkpointDays;
+            int[] offsets = checkpointOffsets;
+            if (checkpoint) {
+                days = Arrays.copyOf(days, days.length + 1);
+                offsets = Arrays.copyOf(offsets, offsets.length + 1);
+                days[days.length - 1] = day;
+                offsets[offsets.length - 1] = offset;
+            }
+            return new Chain(out.toByteArray(), days, offsets, day, recordedAt,
+                    checkpoint ? 0 : sinceCheckpoint + 1, values == null);
+        }
+
+        /**
+         * Returns a chain with a backdated entry, re-encoding the entries after it.
+         * The entry's fields override the same fields in every later entry.
+         */
+        Chain insert(int day, long recordedAt, int changed, Object[] values) {
+            List<Entry> entries = entries();
+            // A change cannot take effect before the employee's first entry
+            day = Math.max(day, entries.get(0).day);
+            int position = 0;
+            while (position < entries.size() && entries.get(position).day <= day) {
+                position++;
+            }
+            Object[] prior = entries.get(position - 1).values;
+            List<Entry> result = new ArrayList<>(entries.subList(0, position));
+            List<Entry> later = entries.subList(position, entries.size());
+            if (values == null) {
+                if (prior != null) {
+                    result.add(new Entry(day, recordedAt, DELETED, null));
+                }
+                // Later changes are dropped until the employee is deleted and added again
+                boolean deletedAgain = false;
+                boolean readded = false;
+                for (Entry entry : later) {
+                    if (readded) {
+                        result.add(entry);
+                    } else if (entry.values == null) {
+                        deletedAgain = true;
+                    } else if (deletedAgain) {
+                        result.add(new Entry(entry.day, entry.recordedAt, ALL_FIELDS, entry.values));
+                        readded = true;
+                    }
+                }
+            } else {
+                int fields = changed & ALL_FIELDS;
+                if (prior != null) {
+                    result.add(new Entry(day, recordedAt, fields, override(prior, values, fields)));
+                }
+                boolean existed = prior != null;
+                for (Entry entry : later) {
+                    if (entry.values == null) {
+                        result.add(entry);
+                        existed = false;
+                        continue;
+                    }
+                    // Entries that add the employee keep every field; others lose the overridden ones
+                    int remaining = existed ? entry.changed & ~fields : ALL_FIELDS;
+                    if (remaining != 0) {
+                        result.add(new Entry(entry.day, entry.recordedAt, remaining, override(entry.values, values, fields)));
+                    }
+                    existed = true;
+                }
+            }
+
+            Chain chain = EMPTY;
+            for (Entry entry : result) {
+                chain = chain.append(entry.day, entry.recordedAt, entry.changed, entry.values);
+            }
+            return chain;
+        }
+
+        private static Object[] override(Object[] base, Object[] values, int fields) {
+            Object[] result = base.clone();
+            for (int i = 0; i < FIELDS.length; i++) {
+                if ((fields & (1 << i)) != 0) {
+                    result[i] = values[i];
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Decodes the state at the end of a day, or null if the employee did not exist.
+         */
+        Object[] valuesAsOf(int day) {
+            int index = lastCheckpointOnOrBefore(day);
+            if (index < 0) {
+                return null;
+            }
+            ByteReader in = new ByteReader(data, checkpointOffsets[index]);
+            Object[] values = new Object[FIELDS.length];
+            int previousDay = 0;
+            long previousRecordedAt = 0;
+            while (in.hasMore()) {
+                int flags = in.readVarInt();
+                boolean checkpoint = (flags & CHECKPOINT) != 0;
+                int entryDay = (checkpoint ? 0 : previousDay) + in.readZigZagInt();
+                if (entryDay > day) {
+                    break;
+                }
+                long delta = in.readZigZagLong();
+                previousRecordedAt = checkpoint ? delta : previousRecordedAt + delta;
+                previousDay = entryDay;
+                if ((flags & DELETED) != 0) {
+                    values = null;
+                    continue;
+                }
+                if (values == null) {
+                    values = new Object[FIELDS.length];
+                }
+                readValues(in, checkpoint ? ALL_FIELDS : flags & ALL_FIELDS, values);
+            }
+            return values;
+        }
+
+        private int lastCheckpointOnOrBefore(int day) {
+            int low = 0;
+            int high = checkpointDays.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (checkpointDays[middle] <= day) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Decodes every entry with the full state after it.
+         */
+        List<Entry> entries() {
+            List<Entry> entries = new ArrayList<>();
+            ByteReader in = new ByteReader(data, 0);
+            Object[] values = null;
+            int day = 0;
+            long recordedAt = 0;
+            while (in.hasMore()) {
+                int flags = in.readVarInt();
+                boolean checkpoint = (flags & CHECKPOINT) != 0;
+                day = (checkpoint ? 0 : day) + in.readZigZagInt();
+                long delta = in.readZigZagLong();
+                recordedAt = checkpoint ? delta : recordedAt + delta;
+                if ((flags & DELETED) != 0) {
+                    values = null;
+                } else {
+                    values = values == null ? new Object[FIELDS.length] : values.clone();
+                    readValues(in, checkpoint ? ALL_FIELDS : flags & ALL_FIELDS, values);
+                }
+                entries.add(new Entry(day, recordedAt, flags & (ALL_FIELDS | DELETED), values));
+            }
+            return entries;
+        }
+
+        /**
+         * Rebuilds the checkpoint index of chain bytes read from a file.
+         */
+        static Chain index(byte[] data) {
+            ByteReader in = new ByteReader(data, 0);
+            int[] days = new int[4];
+            int[] offsets = new int[4];
+            int checkpoints = 0;
+            int day = 0;
+            long recordedAt = 0;
+            int sinceCheckpoint = 0;
+            boolean deleted = true;
+            Object[] scratch = new Object[FIELDS.length];
+            while (in.hasMore()) {
+                int offset = in.position();
+                int flags = in.readVarInt();
+                boolean checkpoint = (flags & CHECKPOINT) != 0;
+                day = (checkpoint ? 0 : day) + in.readZigZagInt();
+                long delta = in.readZigZagLong();
+                recordedAt = checkpoint ? delta : recordedAt + delta;
+                deleted = (flags & DELETED) != 0;
+                if (checkpoint) {
+                    if (checkpoints == days.length) {
+                        days = Arrays.copyOf(days, checkpoints * 2);
+                        offsets = Arrays.copyOf(offsets, checkpoints * 2);
+                    }
+                    days[checkpoints] = day;
+                    offsets[checkpoints++] = offset;
+                    sinceCheckpoint = 0;
+                } else {
+                    sinceCheckpoint++;
+                }
+                if (!deleted) {
+                    readValues(in, checkpoint ? ALL_FIELDS : flags & ALL_FIELDS, scratch);
+                }
+            }
+            return new Chain(data, Arrays.copyOf(days, checkpoints), Arrays.copyOf(offsets, checkpoints),
+                    checkpoints == 0 ? Integer.MIN_VALUE : day, recordedAt, sinceCheckpoint, deleted);
+        }
+
+        private static void writeEntry(ByteWriter out, int day, long recordedAt, int changed, boolean checkpoint,
+                                       Object[] values, int previousDay, long previousRecordedAt) {
+            out.writeVarInt(changed | (checkpoint ? CHECKPOINT : 0));
+            out.writeZigZagLong(checkpoint ? day : (long) day - previousDay);
+            out.writeZigZagLong(checkpoint ? recordedAt : recordedAt - previousRecordedAt);
+            if (values != null) {
+                int fields = checkpoint ? ALL_FIELDS : changed & ALL_FIELDS;
+                for (int i = 0; i < FIELDS.length; i++) {
+                    if ((fields & (1 << i)) != 0) {
+                        writeValue(out, FIELDS[i], values[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeValue(ByteWriter out, Field field, Object value) {
+        switch (field) {
+            case DATE_OF_BIRTH:
+            case HIRE_DATE:
+                // 0 = null, otherwise zigzag epoch day + 1
+                out.writeVarLong(value == null ? 0 : zigZag(((LocalDate) value).toEpochDay()) + 1);
+                break;
+            case EMPLOYMENT_TYPE:
+            case STATUS:
+                out.writeVarInt(value == null ? 0 : ((Enum<?>) value).ordinal() + 1);
+                break;
+            case HOURLY_RATE:
+            case ANNUAL_SALARY:
+                writeMoney(out, (Double) value);
+                break;
+            default:
+                // 0 = null, otherwise UTF-8 length + 1 and the bytes
+                if (value == null) {
+                    out.writeVarInt(0);
+                } else {
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    out.writeVarInt(bytes.length + 1);
+                    out.write(bytes);
+                }
+        }
+    }
+
+    /**
+     * Whole cents as zigzag cents shifted left (low bit 0); anything else as a 1 and the raw double bits.
+     */
+    private static void writeMoney(ByteWriter out, double value) {
+        long cents = Math.round(value * 100);
+        if (Math.abs(cents) < (1L << 52) && cents / 100.0 == value && Double.doubleToRawLongBits(value) != Long.MIN_VALUE) {
+            out.writeVarLong(zigZag(cents) << 1);
+        } else {
+            out.writeVarLong(1);
+            out.writeLong(Double.doubleToRawLongBits(value));
+        }
+    }
+
+    private static void readValues(ByteReader in, int fields, Object[] values) {
+        for (int i = 0; i < FIELDS.length; i++) {
+            if ((fields & (1 << i)) != 0) {
+                values[i] = readValue(in, FIELDS[i]);
+            }
+        }
+    }
+
+    private static Object readValue(ByteReader in, Field field) {
+        switch (field) {
+            case DATE_OF_BIRTH:
+            case HIRE_DATE: {
+                long encoded = in.readVarLong();
+                return encoded == 0 ? null : LocalDate.ofEpochDay(unZigZag(encoded - 1));
+            }
+            case EMPLOYMENT_TYPE: {
+                int ordinal = in.readVarInt();
+                return ordinal == 0 ? null : Employee.EmploymentType.values()[ordinal - 1];
+            }
+            case STATUS: {
+                int ordinal = in.readVarInt();
+                return ordinal == 0 ? null : Employee.EmployeeStatus.values()[ordinal - 1];
+            }
+            case HOURLY_RATE:
+            case ANNUAL_SALARY: {
+                long encoded = in.readVarLong();
+                return (encoded & 1) == 0 ? unZigZag(encoded >>> 1) / 100.0 : Double.longBitsToDouble(in.readLong());
+            }
+            default: {
+                int length = in.readVarInt();
+                return length == 0 ? null : in.readString(length - 1);
+            }
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * A decoded entry with the full state after it (null once deleted).
+     */
+    private static final class Entry {
+        final int day;
+        final long recordedAt;
+        final int changed;
+        final Object[] values;
+
+        Entry(int day, long recordedAt, int changed, Object[] values) {
+            this.day = day;
+            this.recordedAt = recordedAt;
+            this.changed = changed;
+            this.values = values;
+        }
+    }
+
+    /**
+     * One recorded change, as returned by {@link #getChanges(String)}.
+     */
+    public static final class Change {
+        private final LocalDate effectiveDate;
+        private final long recordedAtMillis;
+        private final int flags;
+        private final Employee employee;
+
+        Change(LocalDate effectiveDate, long recordedAtMillis, int flags, Employee employee) {
+            this.effectiveDate = effectiveDate;
+            this.recordedAtMillis = recordedAtMillis;
+            this.flags = flags;
+            this.employee = employee;
+        }
+
+        public LocalDate getEffectiveDate() {
+            return effectiveDate;
+        }
+
+        /**
+         * Gets when the change was made, or null for the state before the first
+         * recorded change (when that was made is not known).
+         */
+        public Instant getRecordedAt() {
+            return recordedAtMillis == 0 ? null : Instant.ofEpochMilli(recordedAtMillis);
+        }
+
+        public Set<Field> getChangedFields() {
+            Set<Field> fields = EnumSet.noneOf(Field.class);
+            for (Field field : FIELDS) {
+                if ((flags & (1 << field.ordinal())) != 0) {
+                    fields.add(field);
+                }
+            }
+            return fields;
+        }
+
+        public boolean isDeleted() {
+            return (flags & DELETED) != 0;
+        }
+
+        /**
+         * Gets the employee as they were after the change, or null if it was a deletion.
+         */
+        public Employee getEmployee() {
+            return employee;
+        }
+    }
+
+    /**
+     * Growable byte array with varint writers.
+     */
+    private static final class ByteWriter {
+        private byte[] buffer;
+        private int size;
+
+        ByteWriter(byte[] initial) {
+            buffer = Arrays.copyOf(initial, initial.length + 64);
+            size = initial.length;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeZigZagLong(long value) {
+            writeVarLong(zigZag(value));
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void write(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * Reader for the encoding written by {@link ByteWriter}.
+     */
+    private static final class ByteReader {
+        private final byte[] data;
+        private int position;
+
+        ByteReader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        boolean hasMore() {
+            return position < data.length;
+        }
+
+        int position() {
+            return position;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= data.length) {
+                    throw new IllegalStateException("Truncated employee history", new EOFException());
+                }
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed employee history varint");
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        int readZigZagInt() {
+            return (int) unZigZag(readVarLong());
+        }
+
+        long readZigZagLong() {
+            return unZigZag(readVarLong());
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String readString(int length) {
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
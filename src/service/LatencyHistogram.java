@@ -0,0 +1,190 @@
+package service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency histogram with log-linear buckets, in the style of HdrHistogram.
+ *
+ * <p>Each power of two is split into 32 equal sub-buckets, so any recorded value is
+ * reported within about 3% of its true value while the whole range from 1 ns to
+ * hundreds of years fits in a fixed array. Recording is a few arithmetic operations
+ * and one atomic increment, with no allocation.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile long lastNanos;
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param name Metric name
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records the time elapsed since a start time from {@link Metrics#startTimer()}.
+     * Does nothing if the timer was started while metrics were disabled.
+     *
+     * @param startNanos Start time, or 0 if metrics were disabled
+     */
+    public void recordSince(long startNanos) {
+        if (startNanos != 0) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records one value.
+     *
+     * @param nanos Duration in nanoseconds (negative values are recorded as 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        lastNanos = value;
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalNanos.add(value);
+
+        long min = minNanos.get();
+        while (value < min && !minNanos.compareAndSet(min, value)) {
+            min = minNanos.get();
+        }
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalNanos.reset();
+        minNanos.set(Long.MAX_VALUE);
+        maxNanos.set(0);
+        lastNanos = 0;
+    }
+
+    /**
+     * Gets the most recently recorded value (0 if none).
+     */
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    /**
+     * Takes a consistent-enough copy of the current values for reporting.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long min = minNanos.get();
+        return new Snapshot(name, copy, count, totalNanos.sum(),
+                min == Long.MAX_VALUE ? 0 : min, maxNanos.get());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Highest value that falls into a bucket.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long lower = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Point-in-time view of a histogram.
+     */
+    public static class Snapshot {
+        private final String name;
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long minNanos;
+        private final long maxNanos;
+
+        Snapshot(String name, long[] counts, long count, long totalNanos, long minNanos, long maxNanos) {
+            this.name = name;
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.minNanos = minNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getName() { return name; }
+
+        public long getCount() { return count; }
+
+        public long getMinNanos() { return minNanos; }
+
+        public long getMaxNanos() { return maxNanos; }
+
+        public double getMeanNanos() { return count > 0 ? (double) totalNanos / count : 0.0; }
+
+        /**
+         * Gets the value at a percentile.
+         *
+         * @param percentile Percentile between 0 and 100 (e.g. 99.9)
+         * @return Upper bound of the bucket holding that percentile, capped at the maximum
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(count * Math.min(100.0, percentile) / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.min(bucketUpperBound(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
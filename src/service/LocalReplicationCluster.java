@@ -0,0 +1,153 @@
+package service;
+
+import model.Employee;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs a primary data server and a replication follower in one process, for trying
+ * out replication lag and failover without setting up two machines.
+ *
+ * <p>The primary holds a generated dataset in memory (the {@code data} directory is
+ * never touched). A writer updates random employees through the primary at a fixed
+ * rate while the follower's lag is printed every second. Optionally each change is
+ * applied slowly on the follower, to watch the lag build up and the stale-read guard
+ * kick in, and the primary can be stopped part-way to promote the follower, after
+ * which the writer carries on against it. Without a failover the two copies are
+ * compared at the end.</p>
+ *
+ * <pre>
+ * java service.LocalReplicationCluster [employees] [seconds] [writes/s] [apply delay ms] [failover after s]
+ * </pre>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class LocalReplicationCluster {
+
+    public static void main(String[] args) throws Exception {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int writesPerSecond = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        long applyDelayMillis = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        int failoverAfter = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        DataManager primaryData = new DataManager(false);
+        DataGenerator generator = new DataGenerator(42);
+        generator.setEmployeeCount(employees);
+        generator.generateInto(primaryData);
+        System.out.printf("Primary: %d employees, %d payroll records%n",
+                primaryData.getAllEmployees().size(), primaryData.getAllPayrolls().size());
+
+        DataServer primary = startServer(new DataServer(primaryData));
+        ReplicaFollower follower = ReplicaFollower.create("localhost:" + primary.getPort());
+        follower.setApplyDelayMillis(applyDelayMillis);
+        startServer(follower.getServer());
+        follower.start();
+
+        RemoteDataManager writer = new RemoteDataManager("localhost:" + primary.getPort());
+        RemoteDataManager reader = new RemoteDataManager("localhost:" + follower.getServer().getPort());
+        List<Employee> all = writer.getAllEmployees();
+        Random random = new Random(7);
+        long intervalNanos = 1_000_000_000L / Math.max(1, writesPerSecond);
+        long start = System.nanoTime();
+        long nextWrite = start;
+        long nextReport = start + 1_000_000_000L;
+        long writes = 0;
+        boolean failedOver = false;
+        long lostAtFailover = 0;
+
+        while (System.nanoTime() - start < seconds * 1_000_000_000L) {
+            long now = System.nanoTime();
+            if (!failedOver && failoverAfter > 0 && now - start >= failoverAfter * 1_000_000_000L) {
+                primary.close();
+                lostAtFailover = primary.getReplicationSequence() - follower.getAppliedSequence();
+                follower.promote();
+                writer = new RemoteDataManager("localhost:" + follower.getServer().getPort());
+                failedOver = true;
+                System.out.printf("Primary stopped after %d writes; follower promoted at sequence %d"
+                        + " (%d unreplicated changes lost)%n", writes, follower.getAppliedSequence(), lostAtFailover);
+            }
+            if (now >= nextReport) {
+                System.out.printf("%3ds  writes %7d  applied %7d  lag %s  follower reads %s%n",
+                        (now - start) / 1_000_000_000L, writes, follower.getAppliedSequence(),
+                        formatLag(follower.getLagMillis()), tryRead(reader, all));
+                nextReport += 1_000_000_000L;
+            }
+            if (now < nextWrite) {
+                Thread.sleep(Math.max(0, (nextWrite - now) / 1_000_000L));
+                continue;
+            }
+            Employee emp = writer.getEmployee(all.get(random.nextInt(all.size())).getEmployeeId());
+            emp.setPhone(String.format("(555) %03d-%04d", random.nextInt(1000), random.nextInt(10000)));
+            writer.updateEmployee(emp);
+            writes++;
+            nextWrite += intervalNanos;
+        }
+
+        if (failedOver) {
+            System.out.printf("%d writes; %d lost at failover%n", writes, lostAtFailover);
+            printApplyDelay();
+            System.exit(0);
+        }
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (follower.getAppliedSequence() < primary.getReplicationSequence()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        DataManager copy = follower.getServer().getDataManager();
+        int mismatches = 0;
+        for (Employee emp : primaryData.getAllEmployees()) {
+            Employee replicated = copy.getEmployee(emp.getEmployeeId());
+            if (replicated == null || !String.valueOf(replicated.getPhone()).equals(String.valueOf(emp.getPhone()))) {
+                mismatches++;
+            }
+        }
+        System.out.printf("%d writes; follower %s the primary (%d mismatched employees)%n",
+                writes, mismatches == 0 ? "matches" : "differs from", mismatches);
+        printApplyDelay();
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+
+    private static void printApplyDelay() {
+        LatencyHistogram.Snapshot delay = Metrics.getInstance().histogram("replication.applyDelay").snapshot();
+        System.out.printf("Commit-to-apply delay: %d changes, p50 %d ms, p99 %d ms, max %d ms%n",
+                delay.getCount(), delay.getValueAtPercentile(50) / 1_000_000, delay.getValueAtPercentile(99) / 1_000_000,
+                delay.getMaxNanos() / 1_000_000);
+    }
+
+    private static DataServer startServer(DataServer server) throws IOException {
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        Thread thread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                System.err.println("Server stopped: " + e.getMessage());
+            }
+        }, "cluster-server-" + server.getPort());
+        thread.setDaemon(true);
+        thread.start();
+        return server;
+    }
+
+    private static String tryRead(RemoteDataManager reader, List<Employee> all) {
+        try {
+            reader.loadEmployees();
+            reader.getEmployee(all.get(0).getEmployeeId());
+            return "ok";
+        } catch (IllegalStateException e) {
+            return "refused (" + e.getMessage() + ")";
+        } catch (RuntimeException e) {
+            return "failed (" + e.getMessage() + ")";
+        }
+    }
+
+    private static String formatLag(long lagMillis) {
+        return lagMillis == Long.MAX_VALUE ? "   (no snapshot)" : String.format("%6d ms", lagMillis);
+    }
+}
@@ -0,0 +1,371 @@
+package service;
+
+import model.Employee;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Overtime rules for hourly pay: which worked hours are regular, overtime or
+ * double time, and what overtime and double time pay.
+ *
+ * <p>Rules are read from {@code data/overtime_rules.properties} (another file can be
+ * given with {@code -Dovertime.rules=path}). Each key is
+ * {@code <group>.<setting>}, where the group is {@code default} or an
+ * {@link Employee.EmploymentType} name; a type without a setting of its own uses
+ * the default one. Settings:</p>
+ * <ul>
+ *   <li>{@code dailyOvertimeHours}: hours in a day after which time is overtime</li>
+ *   <li>{@code dailyDoubleTimeHours}: hours in a day after which time is double time</li>
+ *   <li>{@code weeklyOvertimeHours}: regular hours in a week after which time is overtime</li>
+ *   <li>{@code weeklyDoubleTimeHours}: hours worked in a week after which time is double time</li>
+ *   <li>{@code overtimeMultiplier}, {@code doubleTimeMultiplier}: pay rates as
+ *       multiples of the hourly rate</li>
+ * </ul>
+ * <p>A threshold of {@code none} turns the rule off. Weeks are counted in whole
+ * 7-day blocks from the first day of the pay period. Without a rules file, overtime
+ * is paid at 1.5x after 40 hours a week.</p>
+ *
+ * <p>Each policy is compiled once into an evaluator specialised for the rules it
+ * uses. Thresholds are final fields and missing rules are not checked at all, so
+ * the common weekly-only policy runs the same arithmetic as a hardcoded split.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class OvertimeRules {
+
+    public static final String DEFAULT_FILE = "data/overtime_rules.properties";
+
+    private static final String DEFAULT_GROUP = "default";
+    private static final String NONE = "none";
+    // Stands for a rule that is off: far above any real total, and safe to add to
+    private static final long OFF = Long.MAX_VALUE / 4;
+
+    private static OvertimeRules instance;
+
+    private final Policy defaultPolicy;
+    private final Map<Employee.EmploymentType, Policy> policies = new EnumMap<>(Employee.EmploymentType.class);
+
+    /**
+     * Creates rules from settings in the format of the rules file.
+     *
+     * @throws IllegalArgumentException If a key or value is not recognised
+     */
+    public OvertimeRules(Properties settings) {
+        for (String key : settings.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            String group = dot < 0 ? key : key.substring(0, dot);
+            if (dot < 0 || !group.equals(DEFAULT_GROUP) && !isEmploymentType(group)) {
+                throw new IllegalArgumentException("Unknown overtime rule '" + key + "'");
+            }
+        }
+        defaultPolicy = new Policy(settings, DEFAULT_GROUP, null);
+        for (Employee.EmploymentType type : Employee.EmploymentType.values()) {
+            policies.put(type, new Policy(settings, type.name(), defaultPolicy));
+        }
+    }
+
+    /**
+     * Gets the rules from the rules file, reading it on first use.
+     * If the file cannot be used, the error is printed and the built-in rules are used.
+     */
+    public static synchronized OvertimeRules getInstance() {
+        if (instance == null) {
+            Path file = Paths.get(System.getProperty("overtime.rules", DEFAULT_FILE));
+            try {
+                instance = load(file);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error loading overtime rules from " + file + ", using 40 hours a week at 1.5x: "
+                        + e.getMessage());
+                instance = new OvertimeRules(new Properties());
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reads rules from a file. A missing file gives the built-in rules.
+     *
+     * @throws IOException              If the file cannot be read
+     * @throws IllegalArgumentException If a key or value is not recognised
+     */
+    public static OvertimeRules load(Path file) throws IOException {
+        Properties settings = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            settings.load(reader);
+        } catch (NoSuchFileException e) {
+            // No file: built-in rules
+        }
+        return new OvertimeRules(settings);
+    }
+
+    /**
+     * Gets the policy for an employment type; a null type gets the default policy.
+     */
+    public Policy getPolicy(Employee.EmploymentType type) {
+        return type == null ? defaultPolicy : policies.get(type);
+    }
+
+    private static boolean isEmploymentType(String name) {
+        for (Employee.EmploymentType type : Employee.EmploymentType.values()) {
+            if (type.name().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The overtime rules for one group of employees.
+     */
+    public static final class Policy {
+        private static final String[] SETTINGS = {"dailyOvertimeHours", "dailyDoubleTimeHours",
+                "weeklyOvertimeHours", "weeklyDoubleTimeHours", "overtimeMultiplier", "doubleTimeMultiplier"};
+
+        // Thresholds in seconds, OFF when the rule is not used
+        private final long dailyOvertime;
+        private final long dailyDoubleTime;
+        private final long weeklyOvertime;
+        private final long weeklyDoubleTime;
+        private final double overtimeMultiplier;
+        private final double doubleTimeMultiplier;
+        private final Evaluator evaluator;
+
+        /**
+         * Reads one group's settings; settings it does not have come from the parent,
+         * or from the built-in rules if there is no parent.
+         */
+        private Policy(Properties settings, String group, Policy parent) {
+            for (String key : settings.stringPropertyNames()) {
+                if (key.startsWith(group + ".") && !isSetting(key.substring(group.length() + 1))) {
+                    throw new IllegalArgumentException("Unknown overtime rule '" + key + "'");
+                }
+            }
+            dailyOvertime = threshold(settings, group + ".dailyOvertimeHours",
+                    parent == null ? OFF : parent.dailyOvertime);
+            dailyDoubleTime = threshold(settings, group + ".dailyDoubleTimeHours",
+                    parent == null ? OFF : parent.dailyDoubleTime);
+            weeklyOvertime = threshold(settings, group + ".weeklyOvertimeHours",
+                    parent == null ? (long) (PayrollCalculator.STANDARD_WORK_HOURS * 3600) : parent.weeklyOvertime);
+            weeklyDoubleTime = threshold(settings, group + ".weeklyDoubleTimeHours",
+                    parent == null ? OFF : parent.weeklyDoubleTime);
+            overtimeMultiplier = multiplier(settings, group + ".overtimeMultiplier",
+                    parent == null ? 1.5 : parent.overtimeMultiplier);
+            doubleTimeMultiplier = multiplier(settings, group + ".doubleTimeMultiplier",
+                    parent == null ? 2.0 : parent.doubleTimeMultiplier);
+            evaluator = compile();
+        }
+
+        private static boolean isSetting(String name) {
+            for (String setting : SETTINGS) {
+                if (setting.equals(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static long threshold(Properties settings, String key, long inherited) {
+            String value = settings.getProperty(key);
+            if (value == null) {
+                return inherited;
+            }
+            value = value.trim();
+            if (value.toLowerCase(Locale.ROOT).equals(NONE)) {
+                return OFF;
+            }
+            double hours = number(key, value);
+            if (hours > 24 * 7) {
+                throw new IllegalArgumentException("Overtime rule " + key + " must be at most 168 hours or 'none'");
+            }
+            return Math.round(hours * 3600);
+        }
+
+        private static double multiplier(Properties settings, String key, double inherited) {
+            String value = settings.getProperty(key);
+            return value == null ? inherited : number(key, value.trim());
+        }
+
+        private static double number(String key, String value) {
+            try {
+                double number = Double.parseDouble(value);
+                if (number >= 0 && !Double.isInfinite(number)) {
+                    return number;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            throw new IllegalArgumentException("Invalid value '" + value + "' for overtime rule " + key);
+        }
+
+        /**
+         * Picks the simplest evaluator that gives the right answer for these rules.
+         */
+        private Evaluator compile() {
+            if (dailyOvertime == OFF && dailyDoubleTime == OFF && weeklyDoubleTime == OFF) {
+                return weeklyOvertime == OFF ? new RegularOnly() : new WeeklyOvertime(weeklyOvertime);
+            }
+            return new DailyAndWeekly(dailyOvertime, dailyDoubleTime, weeklyOvertime, weeklyDoubleTime);
+        }
+
+        /**
+         * Splits worked time into regular, overtime and double time.
+         *
+         * @param secondsPerDay Seconds worked on each day of the pay period
+         * @param result        Receives the split; its previous values are replaced
+         */
+        public void evaluate(long[] secondsPerDay, Hours result) {
+            result.regular = 0;
+            result.overtime = 0;
+            result.doubleTime = 0;
+            evaluator.evaluate(secondsPerDay, result);
+        }
+
+        public double getOvertimeMultiplier() {
+            return overtimeMultiplier;
+        }
+
+        public double getDoubleTimeMultiplier() {
+            return doubleTimeMultiplier;
+        }
+    }
+
+    /**
+     * Worked time split by pay rate, in seconds. Reusable between evaluations.
+     */
+    public static final class Hours {
+        private long regular;
+        private long overtime;
+        private long doubleTime;
+
+        public double getRegularHours() {
+            return regular / 3600.0;
+        }
+
+        public double getOvertimeHours() {
+            return overtime / 3600.0;
+        }
+
+        public double getDoubleTimeHours() {
+            return doubleTime / 3600.0;
+        }
+    }
+
+    // Evaluators
+
+    private abstract static class Evaluator {
+        /**
+         * Adds the split of the days to the result.
+         */
+        abstract void evaluate(long[] secondsPerDay, Hours result);
+    }
+
+    /**
+     * No overtime: every hour is regular.
+     */
+    private static final class RegularOnly extends Evaluator {
+        @Override
+        void evaluate(long[] secondsPerDay, Hours result) {
+            for (long seconds : secondsPerDay) {
+                result.regular += seconds;
+            }
+        }
+    }
+
+    /**
+     * Overtime after a number of hours each week.
+     */
+    private static final class WeeklyOvertime extends Evaluator {
+        private final long weeklyOvertime;
+
+        WeeklyOvertime(long weeklyOvertime) {
+            this.weeklyOvertime = weeklyOvertime;
+        }
+
+        @Override
+        void evaluate(long[] secondsPerDay, Hours result) {
+            for (int weekStart = 0; weekStart < secondsPerDay.length; weekStart += 7) {
+                long week = 0;
+                for (int day = weekStart; day < Math.min(weekStart + 7, secondsPerDay.length); day++) {
+                    week += secondsPerDay[day];
+                }
+                result.regular += Math.min(week, weeklyOvertime);
+                result.overtime += Math.max(0, week - weeklyOvertime);
+            }
+        }
+    }
+
+    /**
+     * Any mix of daily and weekly overtime and double time. Rules that are off have
+     * an unreachable threshold, so every day runs the same branch-free steps.
+     */
+    private static final class DailyAndWeekly extends Evaluator {
+        private final long dailyOvertime;
+        private final long dailyDoubleTime;
+        private final long weeklyOvertime;
+        private final long weeklyDoubleTime;
+
+        DailyAndWeekly(long dailyOvertime, long dailyDoubleTime, long weeklyOvertime, long weeklyDoubleTime) {
+            this.dailyOvertime = dailyOvertime;
+            this.dailyDoubleTime = dailyDoubleTime;
+            this.weeklyOvertime = weeklyOvertime;
+            this.weeklyDoubleTime = weeklyDoubleTime;
+        }
+
+        @Override
+        void evaluate(long[] secondsPerDay, Hours result) {
+            for (int weekStart = 0; weekStart < secondsPerDay.length; weekStart += 7) {
+                evaluateWeek(secondsPerDay, weekStart, Math.min(weekStart + 7, secondsPerDay.length), result);
+            }
+        }
+
+        private void evaluateWeek(long[] secondsPerDay, int from, int to, Hours result) {
+            long weekRegular = 0;
+            long weekWorked = 0;
+            long regularTotal = 0;
+            long overtimeTotal = 0;
+            long doubleTimeTotal = 0;
+            for (int day = from; day < to; day++) {
+                long worked = secondsPerDay[day];
+
+                // Daily rules: the last hours of a long day
+                long doubleTime = Math.max(0, worked - dailyDoubleTime);
+                long overtime = Math.max(0, worked - doubleTime - dailyOvertime);
+                long regular = worked - doubleTime - overtime;
+
+                // Weekly overtime: regular hours past the week's limit
+                long toOvertime = Math.min(regular, Math.max(0, weekRegular + regular - weeklyOvertime));
+                regular -= toOvertime;
+                overtime += toOvertime;
+
+                // Weekly double time: hours past the week's limit, taken from overtime first
+                long pastLimit = Math.min(worked, Math.max(0, weekWorked + worked - weeklyDoubleTime));
+                long toDoubleTime = Math.max(0, pastLimit - doubleTime);
+                long fromOvertime = Math.min(overtime, toDoubleTime);
+                overtime -= fromOvertime;
+                regular -= toDoubleTime - fromOvertime;
+                doubleTime += toDoubleTime;
+
+                weekRegular += regular;
+                weekWorked += worked;
+                regularTotal += regular;
+                overtimeTotal += overtime;
+                doubleTimeTotal += doubleTime;
+            }
+            result.regular += regularTotal;
+            result.overtime += overtimeTotal;
+            result.doubleTime += doubleTimeTotal;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package service;
+
+import model.Employee;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Pay schedules: how often each group of employees is paid and where each pay
+ * period starts and ends.
+ *
+ * <p>Schedules are read from {@code data/pay_calendar.properties} (another file can
+ * be given with {@code -Dpay.calendar=path}). As in {@link OvertimeRules}, keys are
+ * {@code <group>.<setting>} with the group {@code default} or an
+ * {@link Employee.EmploymentType} name, and a type uses the default for any
+ * setting it does not set. Settings:</p>
+ * <ul>
+ *   <li>{@code frequency}: {@code WEEKLY}, {@code BI_WEEKLY}, {@code SEMI_MONTHLY}
+ *       (1st to 15th and 16th to month end) or {@code MONTHLY}</li>
+ *   <li>{@code firstPeriodStart}: any period start (yyyy-mm-dd) of a weekly or
+ *       bi-weekly schedule; other periods are counted from it</li>
+ * </ul>
+ * <p>Without a file everyone is paid bi-weekly, in periods starting on Saturdays.</p>
+ *
+ * <p>Types with the same settings share one {@link Schedule}, so a pay run handles
+ * all of them together. Each schedule works out all its period boundaries from
+ * 2000 to 2099 once, when it is created; finding a date's period is then a binary
+ * search.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class PayCalendar {
+
+    public static final String DEFAULT_FILE = "data/pay_calendar.properties";
+
+    private static final String DEFAULT_GROUP = "default";
+    private static final PayFrequency DEFAULT_FREQUENCY = PayFrequency.BI_WEEKLY;
+    private static final LocalDate DEFAULT_FIRST_PERIOD_START = LocalDate.of(2025, 1, 4);
+    private static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2099, 12, 31);
+
+    private static PayCalendar instance;
+
+    private final Schedule defaultSchedule;
+    private final Map<Employee.EmploymentType, Schedule> schedules = new EnumMap<>(Employee.EmploymentType.class);
+    private final List<Schedule> distinctSchedules;
+
+    /**
+     * Creates a calendar from settings in the format of the calendar file.
+     *
+     * @throws IllegalArgumentException If a key or value is not recognised
+     */
+    public PayCalendar(Properties settings) {
+        for (String key : settings.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            String group = dot < 0 ? key : key.substring(0, dot);
+            String setting = dot < 0 ? "" : key.substring(dot + 1);
+            if (!group.equals(DEFAULT_GROUP) && !isEmploymentType(group)
+                    || !setting.equals("frequency") && !setting.equals("firstPeriodStart")) {
+                throw new IllegalArgumentException("Unknown pay calendar setting '" + key + "'");
+            }
+        }
+        PayFrequency defaultFrequency = frequency(settings, DEFAULT_GROUP, DEFAULT_FREQUENCY);
+        LocalDate defaultStart = date(settings, DEFAULT_GROUP, DEFAULT_FIRST_PERIOD_START);
+
+        // Types with the same settings share a schedule
+        Map<String, List<Employee.EmploymentType>> typesByKey = new LinkedHashMap<>();
+        for (Employee.EmploymentType type : Employee.EmploymentType.values()) {
+            PayFrequency frequency = frequency(settings, type.name(), defaultFrequency);
+            LocalDate start = frequency.isFixedLength() ? date(settings, type.name(), defaultStart) : null;
+            typesByKey.computeIfAbsent(Schedule.key(frequency, start), key -> new ArrayList<>()).add(type);
+        }
+        Map<String, Schedule> byKey = new LinkedHashMap<>();
+        for (List<Employee.EmploymentType> types : typesByKey.values()) {
+            Schedule schedule = new Schedule(settings, types, defaultFrequency, defaultStart);
+            byKey.put(schedule.getKey(), schedule);
+            for (Employee.EmploymentType type : types) {
+                schedules.put(type, schedule);
+            }
+        }
+        Schedule fallback = new Schedule(settings, Collections.emptyList(), defaultFrequency, defaultStart);
+        defaultSchedule = byKey.getOrDefault(fallback.getKey(), fallback);
+        distinctSchedules = Collections.unmodifiableList(new ArrayList<>(byKey.values()));
+    }
+
+    /**
+     * Gets the calendar from the calendar file, reading it on first use.
+     * If the file cannot be used, the error is printed and everyone is paid bi-weekly.
+     */
+    public static synchronized PayCalendar getInstance() {
+        if (instance == null) {
+            Path file = Paths.get(System.getProperty("pay.calendar", DEFAULT_FILE));
+            try {
+                instance = load(file);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error loading pay calendar from " + file + ", paying everyone bi-weekly: "
+                        + e.getMessage());
+                instance = new PayCalendar(new Properties());
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reads a calendar from a file. A missing file gives the built-in calendar.
+     *
+     * @throws IOException              If the file cannot be read
+     * @throws IllegalArgumentException If a key or value is not recognised
+     */
+    public static PayCalendar load(Path file) throws IOException {
+        Properties settings = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            settings.load(reader);
+        } catch (NoSuchFileException e) {
+            // No file: built-in calendar
+        }
+        return new PayCalendar(settings);
+    }
+
+    /**
+     * Gets the schedule for an employment type; a null type gets the default schedule.
+     */
+    public Schedule getSchedule(Employee.EmploymentType type) {
+        return type == null ? defaultSchedule : schedules.get(type);
+    }
+
+    /**
+     * Gets each schedule in use once, with the employment types it pays.
+     */
+    public List<Schedule> getSchedules() {
+        return distinctSchedules;
+    }
+
+    private static PayFrequency frequency(Properties settings, String group, PayFrequency inherited) {
+        String value = settings.getProperty(group + ".frequency");
+        if (value == null) {
+            return inherited;
+        }
+        try {
+            return PayFrequency.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid pay frequency '" + value + "' for " + group
+                    + ", expected one of: " + Arrays.toString(PayFrequency.values()));
+        }
+    }
+
+    private static LocalDate date(Properties settings, String group, LocalDate inherited) {
+        String value = settings.getProperty(group + ".firstPeriodStart");
+        if (value == null) {
+            return inherited;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid firstPeriodStart '" + value + "' for " + group
+                    + ", expected yyyy-mm-dd");
+        }
+    }
+
+    private static boolean isEmploymentType(String name) {
+        for (Employee.EmploymentType type : Employee.EmploymentType.values()) {
+            if (type.name().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One pay schedule and all its period boundaries.
+     */
+    public static final class Schedule {
+        private final PayFrequency frequency;
+        private final LocalDate firstPeriodStart;
+        private final List<Employee.EmploymentType> employmentTypes;
+        // Epoch day of each period's first day, then the day after the last period
+        private final int[] starts;
+
+        /**
+         * Creates the schedule of some employment types, which all have the same
+         * settings; with no types, the default schedule.
+         */
+        private Schedule(Properties settings, List<Employee.EmploymentType> employmentTypes,
+                         PayFrequency defaultFrequency, LocalDate defaultStart) {
+            String group = employmentTypes.isEmpty() ? DEFAULT_GROUP : employmentTypes.get(0).name();
+            this.frequency = frequency(settings, group, defaultFrequency);
+            this.firstPeriodStart = frequency.isFixedLength() ? date(settings, group, defaultStart) : null;
+            this.employmentTypes = Collections.unmodifiableList(new ArrayList<>(employmentTypes));
+            this.starts = boundaries(frequency, firstPeriodStart);
+        }
+
+        private static int[] boundaries(PayFrequency frequency, LocalDate firstPeriodStart) {
+            int first = (int) FIRST_DAY.toEpochDay();
+            int last = (int) LAST_DAY.toEpochDay();
+            int[] starts;
+            int count = 0;
+            if (frequency.isFixedLength()) {
+                int length = frequency == PayFrequency.WEEKLY ? 7 : 14;
+                // Earliest period that overlaps the window
+                int start = (int) firstPeriodStart.toEpochDay()
+                        - Math.floorDiv((int) firstPeriodStart.toEpochDay() - first, length) * length;
+                if (start > first) {
+                    start -= length;
+                }
+                starts = new int[(last - start) / length + 2];
+                for (; start <= last; start += length) {
+                    starts[count++] = start;
+                }
+                starts[count++] = start;
+            } else {
+                int perMonth = frequency == PayFrequency.SEMI_MONTHLY ? 2 : 1;
+                starts = new int[(LAST_DAY.getYear() - FIRST_DAY.getYear() + 1) * 12 * perMonth + 1];
+                for (LocalDate month = FIRST_DAY.withDayOfMonth(1); !month.isAfter(LAST_DAY);
+                     month = month.plusMonths(1)) {
+                    starts[count++] = (int) month.toEpochDay();
+                    if (perMonth == 2) {
+                        starts[count++] = (int) month.withDayOfMonth(16).toEpochDay();
+                    }
+                }
+                starts[count++] = (int) LAST_DAY.plusDays(1).toEpochDay();
+            }
+            return Arrays.copyOf(starts, count);
+        }
+
+        static String key(PayFrequency frequency, LocalDate firstPeriodStart) {
+            return firstPeriodStart == null ? frequency.name() : frequency.name() + "@" + firstPeriodStart;
+        }
+
+        /**
+         * Gets a name that identifies this schedule, e.g. "BI_WEEKLY@2025-01-04" or "MONTHLY".
+         */
+        public String getKey() {
+            return key(frequency, firstPeriodStart);
+        }
+
+        public PayFrequency getFrequency() {
+            return frequency;
+        }
+
+        /**
+         * Gets the employment types paid on this schedule.
+         */
+        public List<Employee.EmploymentType> getEmploymentTypes() {
+            return employmentTypes;
+        }
+
+        /**
+         * Gets the period that contains a date.
+         *
+         * @throws IllegalArgumentException If the date is outside 2000 to 2099
+         */
+        public Period getPeriod(LocalDate date) {
+            return period(indexOf(date));
+        }
+
+        /**
+         * Gets the periods that end after one date and on or before another, oldest first.
+         *
+         * @param after   Only periods ending after this date; null for just the last
+         *                period ending on or before {@code through}
+         * @param through Latest end date
+         */
+        public List<Period> getPeriodsEnding(LocalDate after, LocalDate through) {
+            int last = indexOf(through);
+            if (period(last).getEnd().isAfter(through)) {
+                last--;
+            }
+            int first = last;
+            if (after != null) {
+                first = indexOf(after);
+                if (!period(first).getEnd().isAfter(after)) {
+                    first++;
+                }
+            }
+            List<Period> periods = new ArrayList<>();
+            for (int i = Math.max(first, 0); i <= last; i++) {
+                periods.add(period(i));
+            }
+            return periods;
+        }
+
+        /**
+         * Gets the last periods ending on or before a date, oldest first.
+         *
+         * @param count   Most periods to return; fewer if the calendar starts sooner
+         * @param through Latest end date
+         */
+        public List<Period> getLastPeriods(int count, LocalDate through) {
+            int last = indexOf(through);
+            if (period(last).getEnd().isAfter(through)) {
+                last--;
+            }
+            List<Period> periods = new ArrayList<>();
+            for (int i = Math.max(last - count + 1, 0); i <= last; i++) {
+                periods.add(period(i));
+            }
+            return periods;
+        }
+
+        private int indexOf(LocalDate date) {
+            if (date.isBefore(FIRST_DAY) || date.isAfter(LAST_DAY)) {
+                throw new IllegalArgumentException("Pay calendar only covers " + FIRST_DAY.getYear()
+                        + " to " + LAST_DAY.getYear() + ": " + date);
+            }
+            int index = Arrays.binarySearch(starts, (int) date.toEpochDay());
+            return index >= 0 ? index : -index - 2;
+        }
+
+        private Period period(int index) {
+            return new Period(LocalDate.ofEpochDay(starts[index]), LocalDate.ofEpochDay(starts[index + 1] - 1));
+        }
+
+        @Override
+        public String toString() {
+            return getKey();
+        }
+    }
+
+    /**
+     * One pay period, first and last day included.
+     */
+    public static final class Period {
+        private final LocalDate start;
+        private final LocalDate end;
+
+        public Period(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public LocalDate getStart() {
+            return start;
+        }
+
+        public LocalDate getEnd() {
+            return end;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Period)) {
+                return false;
+            }
+            Period period = (Period) other;
+            return start.equals(period.start) && end.equals(period.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return start + " to " + end;
+        }
+    }
+}
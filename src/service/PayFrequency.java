@@ -0,0 +1,41 @@
+package service;
+
+/**
+ * How often a pay schedule pays.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public enum PayFrequency {
+    WEEKLY("Weekly", 52),
+    BI_WEEKLY("Bi-Weekly", 26),
+    SEMI_MONTHLY("Semi-Monthly", 24),
+    MONTHLY("Monthly", 12);
+
+    private final String displayName;
+    private final int periodsPerYear;
+
+    PayFrequency(String displayName, int periodsPerYear) {
+        this.displayName = displayName;
+        this.periodsPerYear = periodsPerYear;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the number of pay periods in a year, used to divide annual salaries.
+     */
+    public int getPeriodsPerYear() {
+        return periodsPerYear;
+    }
+
+    /**
+     * Checks whether periods are a fixed number of days counted from a first period start.
+     */
+    public boolean isFixedLength() {
+        return this == WEEKLY || this == BI_WEEKLY;
+    }
+}
@@ -0,0 +1,290 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.Payroll;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Computes grouped payroll totals (count, sum, min, max and average of gross pay,
+ * deductions and net pay) in a single pass over the payroll records.
+ *
+ * <p>Large inputs are split into fixed-size partitions that are aggregated on the
+ * fork/join pool and merged left to right. A {@link ShardedList} is first split into
+ * its shards, which are aggregated in parallel and merged in shard order. Because the
+ * partitioning does not depend on thread scheduling, the same input always produces
+ * exactly the same totals.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class PayrollAggregator {
+
+    private static final int PARTITION_SIZE = 8192;
+    private static final String UNASSIGNED = "Unassigned";
+
+    private final Map<String, Employee> employeesById;
+
+    /**
+     * How payroll records are grouped.
+     */
+    public enum GroupBy {
+        EMPLOYEE("Employee"),
+        DEPARTMENT("Department"),
+        PAY_PERIOD("Pay Period End"),
+        EMPLOYMENT_TYPE("Employment Type");
+
+        private final String displayName;
+
+        GroupBy(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Creates an aggregator that resolves departments and employment types from the given employees.
+     *
+     * @param employees Employees referenced by the payroll records
+     */
+    public PayrollAggregator(List<Employee> employees) {
+        employeesById = new HashMap<>();
+        for (Employee emp : employees) {
+            employeesById.put(emp.getEmployeeId(), emp);
+        }
+    }
+
+    /**
+     * Aggregates payroll records into groups.
+     *
+     * @param payrolls Records to aggregate (should support fast random access)
+     * @param groupBy  Grouping to apply
+     * @param filter   Only records matching the filter are included (null for all)
+     * @return Totals per group label, sorted by label
+     */
+    public Map<String, GroupTotals> aggregate(List<Payroll> payrolls, GroupBy groupBy, Predicate<Payroll> filter) {
+        Map<Object, GroupTotals> byKey;
+        if (payrolls instanceof ShardedList && ((ShardedList<Payroll>) payrolls).getShardCount() > 1
+                && payrolls.size() > PARTITION_SIZE) {
+            byKey = ForkJoinPool.commonPool().invoke(
+                    new ShardsTask((ShardedList<Payroll>) payrolls, groupBy, filter));
+        } else if (payrolls.size() <= PARTITION_SIZE) {
+            byKey = aggregateRange(payrolls, 0, payrolls.size(), groupBy, filter);
+        } else {
+            byKey = ForkJoinPool.commonPool().invoke(
+                    new AggregateTask(payrolls, 0, payrolls.size(), groupBy, filter));
+        }
+
+        Map<String, GroupTotals> byLabel = new TreeMap<>();
+        for (Map.Entry<Object, GroupTotals> entry : byKey.entrySet()) {
+            byLabel.put(entry.getKey().toString(), entry.getValue());
+        }
+        return byLabel;
+    }
+
+    /**
+     * Sequentially aggregates one partition of the records.
+     */
+    private Map<Object, GroupTotals> aggregateRange(List<Payroll> payrolls, int from, int to,
+                                                    GroupBy groupBy, Predicate<Payroll> filter) {
+        Map<Object, GroupTotals> totals = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            Payroll payroll = payrolls.get(i);
+            if (filter != null && !filter.test(payroll)) {
+                continue;
+            }
+            totals.computeIfAbsent(groupKey(payroll, groupBy), k -> new GroupTotals()).add(payroll);
+        }
+        return totals;
+    }
+
+    /**
+     * Returns the group key of a record. Keys are existing objects where possible
+     * so that no garbage is created per record.
+     */
+    private Object groupKey(Payroll payroll, GroupBy groupBy) {
+        switch (groupBy) {
+            case EMPLOYEE:
+                return payroll.getEmployeeId();
+            case DEPARTMENT: {
+                Employee emp = employeesById.get(payroll.getEmployeeId());
+                Department department = emp != null ? emp.getDepartment() : null;
+                return department != null ? department.getDepartmentName() : UNASSIGNED;
+            }
+            case PAY_PERIOD: {
+                LocalDate end = payroll.getPayPeriodEnd();
+                return end != null ? end : UNASSIGNED;
+            }
+            case EMPLOYMENT_TYPE: {
+                Employee emp = employeesById.get(payroll.getEmployeeId());
+                return emp != null && emp.getEmploymentType() != null
+                        ? emp.getEmploymentType().getDisplayName() : UNASSIGNED;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown grouping: " + groupBy);
+        }
+    }
+
+    /**
+     * Fork/join task that splits the record range in half until it is small enough
+     * to aggregate sequentially, then merges the halves in order.
+     */
+    private class AggregateTask extends RecursiveTask<Map<Object, GroupTotals>> {
+        private static final long serialVersionUID = 1L;
+
+        // Tasks are never serialized (ForkJoinTask is Serializable only by inheritance)
+        private final transient List<Payroll> payrolls;
+        private final int from;
+        private final int to;
+        private final GroupBy groupBy;
+        private final transient Predicate<Payroll> filter;
+
+        AggregateTask(List<Payroll> payrolls, int from, int to, GroupBy groupBy, Predicate<Payroll> filter) {
+            this.payrolls = payrolls;
+            this.from = from;
+            this.to = to;
+            this.groupBy = groupBy;
+            this.filter = filter;
+        }
+
+        @Override
+        protected Map<Object, GroupTotals> compute() {
+            if (to - from <= PARTITION_SIZE) {
+                return aggregateRange(payrolls, from, to, groupBy, filter);
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(payrolls, from, mid, groupBy, filter);
+            AggregateTask right = new AggregateTask(payrolls, mid, to, groupBy, filter);
+            left.fork();
+            Map<Object, GroupTotals> rightTotals = right.compute();
+            return mergeInto(left.join(), rightTotals);
+        }
+    }
+
+    /**
+     * Fork/join task that aggregates every shard of a sharded list as its own
+     * partitioned task, then merges the shards' totals in shard order.
+     */
+    private class ShardsTask extends RecursiveTask<Map<Object, GroupTotals>> {
+        private static final long serialVersionUID = 1L;
+
+        // Never serialized, like AggregateTask
+        private final transient ShardedList<Payroll> payrolls;
+        private final GroupBy groupBy;
+        private final transient Predicate<Payroll> filter;
+
+        ShardsTask(ShardedList<Payroll> payrolls, GroupBy groupBy, Predicate<Payroll> filter) {
+            this.payrolls = payrolls;
+            this.groupBy = groupBy;
+            this.filter = filter;
+        }
+
+        @Override
+        protected Map<Object, GroupTotals> compute() {
+            List<AggregateTask> tasks = new ArrayList<>(payrolls.getShardCount());
+            for (int i = 0; i < payrolls.getShardCount(); i++) {
+                List<Payroll> shard = payrolls.getShard(i);
+                tasks.add(new AggregateTask(shard, 0, shard.size(), groupBy, filter));
+            }
+            invokeAll(tasks);
+            Map<Object, GroupTotals> totals = new HashMap<>();
+            for (AggregateTask task : tasks) {
+                mergeInto(totals, task.join());
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * Merges the second set of group totals into the first.
+     */
+    private static Map<Object, GroupTotals> mergeInto(Map<Object, GroupTotals> totals,
+                                                      Map<Object, GroupTotals> more) {
+        for (Map.Entry<Object, GroupTotals> entry : more.entrySet()) {
+            GroupTotals existing = totals.get(entry.getKey());
+            if (existing == null) {
+                totals.put(entry.getKey(), entry.getValue());
+            } else {
+                existing.merge(entry.getValue());
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Running totals for one group of payroll records.
+     */
+    public static class GroupTotals {
+        private long count;
+        private double totalGross;
+        private double totalDeductions;
+        private double totalNet;
+        private double minNet = Double.POSITIVE_INFINITY;
+        private double maxNet = Double.NEGATIVE_INFINITY;
+        private double minGross = Double.POSITIVE_INFINITY;
+        private double maxGross = Double.NEGATIVE_INFINITY;
+
+        /**
+         * Adds one payroll record to the totals.
+         */
+        public void add(Payroll payroll) {
+            double gross = payroll.getGrossPay();
+            double net = payroll.getNetPay();
+            count++;
+            totalGross += gross;
+            totalDeductions += payroll.getTotalDeductions();
+            totalNet += net;
+            minGross = Math.min(minGross, gross);
+            maxGross = Math.max(maxGross, gross);
+            minNet = Math.min(minNet, net);
+            maxNet = Math.max(maxNet, net);
+        }
+
+        /**
+         * Adds another group's totals into this one.
+         */
+        public void merge(GroupTotals other) {
+            count += other.count;
+            totalGross += other.totalGross;
+            totalDeductions += other.totalDeductions;
+            totalNet += other.totalNet;
+            minGross = Math.min(minGross, other.minGross);
+            maxGross = Math.max(maxGross, other.maxGross);
+            minNet = Math.min(minNet, other.minNet);
+            maxNet = Math.max(maxNet, other.maxNet);
+        }
+
+        public long getCount() { return count; }
+
+        public double getTotalGross() { return totalGross; }
+
+        public double getTotalDeductions() { return totalDeductions; }
+
+        public double getTotalNet() { return totalNet; }
+
+        public double getMinGross() { return count > 0 ? minGross : 0.0; }
+
+        public double getMaxGross() { return count > 0 ? maxGross : 0.0; }
+
+        public double getMinNet() { return count > 0 ? minNet : 0.0; }
+
+        public double getMaxNet() { return count > 0 ? maxNet : 0.0; }
+
+        public double getAverageGross() { return count > 0 ? totalGross / count : 0.0; }
+
+        public double getAverageNet() { return count > 0 ? totalNet / count : 0.0; }
+    }
+}
@@ -0,0 +1,31 @@
+package service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a batch of payroll calculations.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+@Name("hr.PayrollBatch")
+@Label("Payroll Batch")
+@Category({"HR Payroll", "Payroll"})
+@Description("Calculation of many payroll records in one run")
+@StackTrace(false)
+public class PayrollBatchEvent extends jdk.jfr.Event {
+
+    @Label("Batch")
+    public String batch;
+
+    @Label("Employees")
+    public int employees;
+
+    @Label("Payroll Records")
+    public long payrolls;
+}
@@ -0,0 +1,35 @@
+package service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a single payroll calculation.
+ * Disabled by default because it fires for every record; enable it in the
+ * recording settings with {@code hr.PayrollCalculation#enabled=true}.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+@Name("hr.PayrollCalculation")
+@Label("Payroll Calculation")
+@Category({"HR Payroll", "Payroll"})
+@Description("Calculation of one payroll record")
+@Enabled(false)
+@StackTrace(false)
+public class PayrollCalculationEvent extends jdk.jfr.Event {
+
+    @Label("Employee ID")
+    public String employeeId;
+
+    @Label("Salaried")
+    public boolean salaried;
+
+    @Label("Gross Pay")
+    public double grossPay;
+}
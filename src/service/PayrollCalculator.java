@@ -4,6 +4,8 @@ import model.Employee;
 import model.Payroll;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Handles payroll calculations including taxes, deductions, and net pay.
@@ -30,14 +32,24 @@ public class PayrollCalculator {
     private static final double FEDERAL_TAX_RATE = 0.15;      // 15% federal tax (simplified)
     private static final double EI_RATE = 0.0166;             // 1.66% Employment Insurance
     private static final double CPP_RATE = 0.0595;            // 5.95% Canada Pension Plan
-    private static final double OVERTIME_MULTIPLIER = 1.5;     // Time and a half
-    private static final double STANDARD_WORK_HOURS = 40.0;    // Standard hours per week
+    static final double STANDARD_WORK_HOURS = 40.0;    // Standard hours per week
+
+    // Calculation timings
+    private static final LatencyHistogram HOURLY_TIME =
+            Metrics.getInstance().histogram("payrollCalculator.calculateHourlyPayroll");
+    private static final LatencyHistogram SALARIED_TIME =
+            Metrics.getInstance().histogram("payrollCalculator.calculateSalariedPayroll");
+    private static final LatencyHistogram PREVIEW_TIME =
+            Metrics.getInstance().histogram("payrollCalculator.calculatePreview");
+    private static final Metrics.Counter PREVIEW_REUSED =
+            Metrics.getInstance().counter("payrollCalculator.previewReused");
 
     /**
      * Calculates payroll for an hourly employee including regular pay, overtime,
      * taxes, and all standard deductions.
      *
-     * <p>Overtime is calculated at 1.5x the employee's regular hourly rate.
+     * <p>Overtime is paid at the multiplier of the employee's overtime policy
+     * (1.5x the regular hourly rate unless configured in {@link OvertimeRules}).
      * All applicable taxes (federal, cpp, ei, etc) are
      * automatically calculated and deducted from gross pay.</p>
      *
@@ -52,40 +64,75 @@ public class PayrollCalculator {
     public static Payroll calculateHourlyPayroll(Employee employee, double regularHours,
                                                    double overtimeHours, double bonus,
                                                    LocalDate payPeriodStart, LocalDate payPeriodEnd) {
+        return calculateHourlyPayroll(employee, regularHours, overtimeHours, 0.0, bonus,
+                payPeriodStart, payPeriodEnd);
+    }
+
+    /**
+     * Calculates payroll for an hourly employee whose hours include double time.
+     * Overtime and double time are paid at the multipliers of the employee's
+     * overtime policy and added together as overtime pay.
+     *
+     * @param employee         The employee to calculate payroll for (must have hourly rate set)
+     * @param regularHours     Number of regular hours worked
+     * @param overtimeHours    Number of hours paid at the overtime rate
+     * @param doubleTimeHours  Number of hours paid at the double-time rate
+     * @param bonus            Additional bonus amount to add to gross pay
+     * @param payPeriodStart   Start date of the pay period
+     * @param payPeriodEnd     End date of the pay period
+     * @return A fully calculated Payroll object with gross pay, deductions, and net pay
+     */
+    public static Payroll calculateHourlyPayroll(Employee employee, double regularHours,
+                                                   double overtimeHours, double doubleTimeHours, double bonus,
+                                                   LocalDate payPeriodStart, LocalDate payPeriodEnd) {
+        OvertimeRules.Policy policy = OvertimeRules.getInstance().getPolicy(employee.getEmploymentType());
+        return hourlyPayroll(employee, regularHours, overtimeHours, doubleTimeHours, bonus,
+                payPeriodStart, payPeriodEnd, policy.getOvertimeMultiplier(), policy.getDoubleTimeMultiplier());
+    }
+
+    /**
+     * Calculates an hourly payroll at the given overtime and double-time multipliers,
+     * which are stored on the record.
+     */
+    private static Payroll hourlyPayroll(Employee employee, double regularHours, double overtimeHours,
+                                         double doubleTimeHours, double bonus, LocalDate payPeriodStart,
+                                         LocalDate payPeriodEnd, double overtimeMultiplier,
+                                         double doubleTimeMultiplier) {
+        long start = Metrics.startTimer();
+        PayrollCalculationEvent event = new PayrollCalculationEvent();
+        event.begin();
+
         // Generate unique payroll ID
         String payrollId = generatePayrollId(employee.getEmployeeId(), payPeriodEnd);
 
         // Create new payroll record
         Payroll payroll = new Payroll(payrollId, employee.getEmployeeId(), payPeriodStart, payPeriodEnd);
 
-        // Set hours and rate
+        // Set hours, rate and the multipliers they are paid at
         payroll.setRegularHours(regularHours);
         payroll.setOvertimeHours(overtimeHours);
+        payroll.setDoubleTimeHours(doubleTimeHours);
         payroll.setHourlyRate(employee.getHourlyRate());
-
-        // Calculate earnings
-        double regularPay = regularHours * employee.getHourlyRate();
-        double overtimePay = overtimeHours * employee.getHourlyRate() * OVERTIME_MULTIPLIER;
-        double grossPay = regularPay + overtimePay + bonus;
-
-        payroll.setRegularPay(regularPay);
-        payroll.setOvertimePay(overtimePay);
-        payroll.setBonus(bonus);
-        payroll.setGrossPay(grossPay);
-
-        // Calculate deductions
-        calculateDeductions(payroll, grossPay);
-
-        // Calculate net pay
-        payroll.calculateNetPay();
-
+        payroll.setPayType(Payroll.PayType.HOURLY);
+        payroll.setOvertimeMultiplier(overtimeMultiplier);
+        payroll.setDoubleTimeMultiplier(doubleTimeMultiplier);
+
+        // Calculate earnings and deductions
+        PayrollPreview amounts = new PayrollPreview();
+        computeHourly(employee.getHourlyRate(), regularHours, overtimeHours, doubleTimeHours, bonus,
+                overtimeMultiplier, doubleTimeMultiplier, amounts);
+        applyAmounts(payroll, amounts);
+
+        HOURLY_TIME.recordSince(start);
+        commitCalculationEvent(event, payroll, false);
         return payroll;
     }
 
     /**
      * Calculates payroll for a salaried employee based on their annual salary.
      *
-     * <p>The annual salary is divided into 26 bi-weekly pay periods. All applicable
+     * <p>The annual salary is divided by the number of pay periods a year in the
+     * employee's {@link PayCalendar} schedule (26 for bi-weekly). All applicable
      * taxes and deductions are automatically calculated.</p>
      *
      * @param employee         The employee to calculate payroll for (must have annual salary set)
@@ -96,52 +143,245 @@ public class PayrollCalculator {
      */
     public static Payroll calculateSalariedPayroll(Employee employee, double bonus,
                                                      LocalDate payPeriodStart, LocalDate payPeriodEnd) {
+        return salariedPayroll(employee, bonus, payPeriodStart, payPeriodEnd, periodsPerYear(employee));
+    }
+
+    /**
+     * Calculates a salaried payroll for one of the given number of periods a year,
+     * which is stored on the record.
+     */
+    private static Payroll salariedPayroll(Employee employee, double bonus, LocalDate payPeriodStart,
+                                           LocalDate payPeriodEnd, int periodsPerYear) {
+        long start = Metrics.startTimer();
+        PayrollCalculationEvent event = new PayrollCalculationEvent();
+        event.begin();
+
         // Generate unique payroll ID
         String payrollId = generatePayrollId(employee.getEmployeeId(), payPeriodEnd);
 
         // Create new payroll record
         Payroll payroll = new Payroll(payrollId, employee.getEmployeeId(), payPeriodStart, payPeriodEnd);
+        payroll.setPayType(Payroll.PayType.SALARIED);
+        payroll.setPeriodsPerYear(periodsPerYear);
 
-        // Calculate bi-weekly salary (assuming 26 pay periods per year)
-        double biWeeklySalary = employee.getAnnualSalary() / 26.0;
-        double grossPay = biWeeklySalary + bonus;
+        // Calculate the salary for one period, deductions and net pay
+        PayrollPreview amounts = new PayrollPreview();
+        computeSalaried(employee.getAnnualSalary(), periodsPerYear, bonus, amounts);
+        applyAmounts(payroll, amounts);
 
-        payroll.setRegularPay(biWeeklySalary);
-        payroll.setBonus(bonus);
-        payroll.setGrossPay(grossPay);
+        SALARIED_TIME.recordSince(start);
+        commitCalculationEvent(event, payroll, true);
+        return payroll;
+    }
 
-        // Calculate deductions
-        calculateDeductions(payroll, grossPay);
+    /**
+     * Recalculates a payroll with an employee's (possibly changed) rate or salary,
+     * keeping the payroll's own hours and bonus.
+     *
+     * <p>The pay type, overtime multipliers and periods a year stored on the payroll
+     * are used, not today's {@link OvertimeRules} and {@link PayCalendar}, so a
+     * settings change alone never changes what a past period was owed. Records saved
+     * before these were stored are taken as hourly if they have a rate or hours, and
+     * recalculated with the current settings.</p>
+     *
+     * @param original The payroll to recalculate
+     * @param employee The employee as they should have been paid for its period
+     * @return A new payroll record for the same period; it is not saved
+     */
+    static Payroll recalculatePayroll(Payroll original, Employee employee) {
+        Payroll.PayType payType = original.getPayType();
+        if (payType == null) {
+            boolean hourly = original.getHourlyRate() != 0.0 || original.getRegularHours() != 0.0
+                    || original.getOvertimeHours() != 0.0 || original.getDoubleTimeHours() != 0.0;
+            return hourly
+                    ? calculateHourlyPayroll(employee, original.getRegularHours(), original.getOvertimeHours(),
+                            original.getDoubleTimeHours(), original.getBonus(),
+                            original.getPayPeriodStart(), original.getPayPeriodEnd())
+                    : calculateSalariedPayroll(employee, original.getBonus(),
+                            original.getPayPeriodStart(), original.getPayPeriodEnd());
+        }
+        return payType == Payroll.PayType.HOURLY
+                ? hourlyPayroll(employee, original.getRegularHours(), original.getOvertimeHours(),
+                        original.getDoubleTimeHours(), original.getBonus(), original.getPayPeriodStart(),
+                        original.getPayPeriodEnd(), original.getOvertimeMultiplier(),
+                        original.getDoubleTimeMultiplier())
+                : salariedPayroll(employee, original.getBonus(), original.getPayPeriodStart(),
+                        original.getPayPeriodEnd(), original.getPeriodsPerYear());
+    }
 
-        // Calculate net pay
-        payroll.calculateNetPay();
+    /**
+     * Checks whether an employee is paid a salary (full-time and contract) rather than by the hour.
+     */
+    public static boolean isSalaried(Employee employee) {
+        return employee.getEmploymentType() == Employee.EmploymentType.FULL_TIME
+                || employee.getEmploymentType() == Employee.EmploymentType.CONTRACT;
+    }
 
-        return payroll;
+    /**
+     * Calculates payroll for every active salaried employee (full-time and contract)
+     * for one pay period, paying their regular salary. Hourly employees are skipped:
+     * they are paid for the hours they worked, from their timesheets
+     * (see {@link TimesheetIngester}). Employees already paid for the period are not
+     * checked here; callers drop them before saving (see
+     * {@link DataManager#getEmployeesPaidFor(LocalDate, LocalDate)}).
+     *
+     * @param employees      Employees to pay; inactive and hourly employees are skipped
+     * @param payPeriodStart Start date of the pay period
+     * @param payPeriodEnd   End date of the pay period
+     * @param out            Receives each calculated payroll record as soon as it is ready
+     * @return Number of payroll records calculated
+     */
+    public static int calculateBatch(Collection<Employee> employees, LocalDate payPeriodStart,
+                                     LocalDate payPeriodEnd, Consumer<Payroll> out) {
+        PayrollBatchEvent event = new PayrollBatchEvent();
+        event.begin();
+
+        int count = 0;
+        for (Employee employee : employees) {
+            if (employee.getStatus() != Employee.EmployeeStatus.ACTIVE || !isSalaried(employee)) {
+                continue;
+            }
+            out.accept(calculateSalariedPayroll(employee, 0.0, payPeriodStart, payPeriodEnd));
+            count++;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.batch = "Pay period " + payPeriodStart + " to " + payPeriodEnd;
+            event.employees = employees.size();
+            event.payrolls = count;
+            event.commit();
+        }
+        return count;
+    }
+
+    /**
+     * Records a calculation in Flight Recorder, if that event is enabled.
+     */
+    private static void commitCalculationEvent(PayrollCalculationEvent event, Payroll payroll, boolean salaried) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.employeeId = payroll.getEmployeeId();
+            event.salaried = salaried;
+            event.grossPay = payroll.getGrossPay();
+            event.commit();
+        }
+    }
+
+    /**
+     * Calculates a payroll preview without creating a Payroll record or payroll ID.
+     * Results are written into a caller-owned object that can be reused for every
+     * keystroke. If the inputs are the same as the ones the result was last
+     * calculated from, nothing is recalculated.
+     *
+     * @param employee      The employee to preview (uses the hourly rate or annual salary)
+     * @param salaried      True to use the salaried calculation, false for hourly
+     * @param regularHours  Regular hours worked (ignored for salaried employees)
+     * @param overtimeHours Overtime hours worked (ignored for salaried employees)
+     * @param bonus         Bonus amount
+     * @param result        Receives the calculated amounts
+     * @return true if the amounts were recalculated, false if the inputs had not changed
+     */
+    public static boolean calculatePreview(Employee employee, boolean salaried, double regularHours,
+                                           double overtimeHours, double bonus, PayrollPreview result) {
+        double rate = salaried ? employee.getAnnualSalary() : employee.getHourlyRate();
+        OvertimeRules.Policy policy = OvertimeRules.getInstance().getPolicy(employee.getEmploymentType());
+        int periodsPerYear = periodsPerYear(employee);
+        if (salaried) {
+            regularHours = 0.0;
+            overtimeHours = 0.0;
+        }
+        if (result.matches(salaried, rate, regularHours, overtimeHours, bonus, policy, periodsPerYear)) {
+            PREVIEW_REUSED.increment();
+            return false;
+        }
+
+        long start = Metrics.startTimer();
+        if (salaried) {
+            computeSalaried(rate, periodsPerYear, bonus, result);
+        } else {
+            computeHourly(rate, regularHours, overtimeHours, 0.0, bonus,
+                    policy.getOvertimeMultiplier(), policy.getDoubleTimeMultiplier(), result);
+        }
+        result.remember(salaried, rate, regularHours, overtimeHours, bonus, policy, periodsPerYear);
+        PREVIEW_TIME.recordSince(start);
+        return true;
+    }
+
+    /**
+     * Calculates hourly earnings and deductions into the given result.
+     */
+    private static void computeHourly(double hourlyRate, double regularHours, double overtimeHours,
+                                      double doubleTimeHours, double bonus, double overtimeMultiplier,
+                                      double doubleTimeMultiplier, PayrollPreview result) {
+        result.regularPay = regularHours * hourlyRate;
+        result.overtimePay = overtimeHours * hourlyRate * overtimeMultiplier
+                + doubleTimeHours * hourlyRate * doubleTimeMultiplier;
+        result.bonus = bonus;
+        result.grossPay = result.regularPay + result.overtimePay + bonus;
+        calculateDeductions(result);
+    }
+
+    /**
+     * Gets the number of pay periods a year in the employee's pay schedule.
+     */
+    private static int periodsPerYear(Employee employee) {
+        return PayCalendar.getInstance().getSchedule(employee.getEmploymentType()).getFrequency().getPeriodsPerYear();
+    }
+
+    /**
+     * Calculates salaried earnings for one pay period and deductions into the given result.
+     */
+    private static void computeSalaried(double annualSalary, int periodsPerYear, double bonus,
+                                        PayrollPreview result) {
+        result.regularPay = annualSalary / periodsPerYear;
+        result.overtimePay = 0.0;
+        result.bonus = bonus;
+        result.grossPay = result.regularPay + bonus;
+        calculateDeductions(result);
     }
 
     /**
      * Calculates all tax deductions based on gross pay including federal tax,
      * EI (Employment Insurance), and CPP (Canada Pension Plan) for Ontario.
      *
-     * @param payroll  The payroll object to update with calculated deductions
-     * @param grossPay The gross pay amount before deductions
+     * @param result The amounts to update; gross pay must already be set
      */
-    private static void calculateDeductions(Payroll payroll, double grossPay) {
+    private static void calculateDeductions(PayrollPreview result) {
         // Ontario tax deductions
-        double federalTax = grossPay * FEDERAL_TAX_RATE;
-        double ei = grossPay * EI_RATE;           // Employment Insurance (using stateTax field)
-        double cpp = grossPay * CPP_RATE;         // Canada Pension Plan (using socialSecurity field)
+        double grossPay = result.grossPay;
+        result.federalTax = grossPay * FEDERAL_TAX_RATE;
+        result.ei = grossPay * EI_RATE;             // Employment Insurance
+        result.cpp = grossPay * CPP_RATE;           // Canada Pension Plan
+        result.totalDeductions = result.federalTax + result.ei + result.cpp;
+        result.netPay = grossPay - result.totalDeductions;
+    }
 
-        payroll.setFederalTax(federalTax);
-        payroll.setStateTax(ei);                  // Repurposed for EI
-        payroll.setSocialSecurity(cpp);           // Repurposed for CPP
-        payroll.setMedicare(0.0);                 // Not used in Ontario
+    /**
+     * Copies calculated amounts into a payroll record.
+     *
+     * @param payroll The payroll object to update
+     * @param amounts The calculated earnings and deductions
+     */
+    private static void applyAmounts(Payroll payroll, PayrollPreview amounts) {
+        payroll.setRegularPay(amounts.regularPay);
+        payroll.setOvertimePay(amounts.overtimePay);
+        payroll.setBonus(amounts.bonus);
+        payroll.setGrossPay(amounts.grossPay);
+
+        payroll.setFederalTax(amounts.federalTax);
+        payroll.setStateTax(amounts.ei);           // Repurposed for EI
+        payroll.setSocialSecurity(amounts.cpp);    // Repurposed for CPP
+        payroll.setMedicare(0.0);                  // Not used in Ontario
 
         // Additional deductions (these would typically be employee-specific)
         // For now, using default values - you can make these configurable
         payroll.setHealthInsurance(0.0);
         payroll.setRetirement401k(0.0);
         payroll.setOtherDeductions(0.0);
+
+        // Calculate net pay
+        payroll.calculateNetPay();
     }
 
     /**
@@ -196,6 +436,85 @@ public class PayrollCalculator {
         return new PayrollSummary(employeeId, totalGrossPay, totalDeductions, totalNetPay);
     }
 
+    /**
+     * Mutable holder for calculated payroll amounts, reused between preview calculations.
+     * Also remembers the inputs it was last calculated from.
+     */
+    public static class PayrollPreview {
+        private double regularPay;
+        private double overtimePay;
+        private double bonus;
+        private double grossPay;
+        private double federalTax;
+        private double ei;
+        private double cpp;
+        private double totalDeductions;
+        private double netPay;
+
+        // Inputs of the last calculation
+        private boolean calculated;
+        private boolean lastSalaried;
+        private double lastRate;
+        private double lastRegularHours;
+        private double lastOvertimeHours;
+        private double lastBonus;
+        private OvertimeRules.Policy lastPolicy;
+        private int lastPeriodsPerYear;
+
+        private boolean matches(boolean salaried, double rate, double regularHours,
+                                double overtimeHours, double bonus, OvertimeRules.Policy policy,
+                                int periodsPerYear) {
+            return calculated
+                    && lastSalaried == salaried
+                    && lastRate == rate
+                    && lastRegularHours == regularHours
+                    && lastOvertimeHours == overtimeHours
+                    && lastBonus == bonus
+                    && lastPolicy == policy
+                    && lastPeriodsPerYear == periodsPerYear;
+        }
+
+        private void remember(boolean salaried, double rate, double regularHours,
+                              double overtimeHours, double bonus, OvertimeRules.Policy policy,
+                              int periodsPerYear) {
+            calculated = true;
+            lastSalaried = salaried;
+            lastRate = rate;
+            lastRegularHours = regularHours;
+            lastOvertimeHours = overtimeHours;
+            lastBonus = bonus;
+            lastPolicy = policy;
+            lastPeriodsPerYear = periodsPerYear;
+        }
+
+        /**
+         * Forgets the remembered inputs so the next preview is always recalculated.
+         */
+        public void reset() {
+            calculated = false;
+        }
+
+        public double getRegularPay() { return regularPay; }
+
+        public double getOvertimePay() { return overtimePay; }
+
+        public double getBonus() { return bonus; }
+
+        public double getGrossPay() { return grossPay; }
+
+        public double getFederalTax() { return federalTax; }
+
+        /** Gets the EI (Employment Insurance) deduction */
+        public double getEi() { return ei; }
+
+        /** Gets the CPP (Canada Pension Plan) deduction */
+        public double getCpp() { return cpp; }
+
+        public double getTotalDeductions() { return totalDeductions; }
+
+        public double getNetPay() { return netPay; }
+    }
+
     /**
      * Inner class representing a summary of payroll totals for an employee.
      * Used for year-to-date and period summary reporting.
@@ -0,0 +1,332 @@
+package service;
+
+import model.Employee;
+import model.Payroll;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs payroll automatically for every pay period that has ended.
+ *
+ * <p>For each schedule of the {@link PayCalendar}, every period that ended since the
+ * last run is paid with one {@link PayrollCalculator#calculateBatch} job over all
+ * active salaried employees on that schedule (employees are grouped by schedule
+ * once per check). Hourly employees are only paid for hours they worked, so they
+ * are left to a timesheet import ({@link TimesheetIngester}). Employees hired after
+ * the period, or already paid for an overlapping period (by hand or by an import),
+ * are skipped. The first time a schedule is seen only its latest ended period is
+ * paid, not its whole history.</p>
+ *
+ * <p>The last period paid for each schedule is kept in
+ * {@code data/scheduled_runs.properties}, so missed periods are caught up after a
+ * restart. {@link #start(long)} checks on a background thread; {@link #runDue} does
+ * one check, e.g. from a cron job.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class PayrollScheduler {
+
+    public static final String STATE_FILE = "data/scheduled_runs.properties";
+
+    private static final LatencyHistogram RUN_TIME = Metrics.getInstance().histogram("payrollScheduler.run");
+    private static final Metrics.Counter PAYROLLS = Metrics.getInstance().counter("payrollScheduler.payrolls");
+
+    private final DataManager dataManager;
+    private final PayCalendar calendar;
+    private final Path stateFile;
+    private Executor saveExecutor = Runnable::run;
+    private Consumer<Run> listener = run -> { };
+    private ScheduledExecutorService timer;
+
+    public PayrollScheduler(DataManager dataManager, PayCalendar calendar) {
+        this(dataManager, calendar, Paths.get(STATE_FILE));
+    }
+
+    /**
+     * @param stateFile File recording the last period paid for each schedule
+     */
+    public PayrollScheduler(DataManager dataManager, PayCalendar calendar, Path stateFile) {
+        this.dataManager = dataManager;
+        this.calendar = calendar;
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * Sets where employees are read and payrolls checked and saved, e.g.
+     * {@code Platform::runLater} so the desktop app's data is only touched on the FX
+     * thread. Calculation stays on the scheduler's thread, on copies of the
+     * employees. Saves run on the calling thread by default.
+     */
+    public void setSaveExecutor(Executor saveExecutor) {
+        this.saveExecutor = saveExecutor;
+    }
+
+    /**
+     * Sets a callback told about each completed run, on the scheduler's thread.
+     */
+    public void setListener(Consumer<Run> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Checks for ended periods now and then every few minutes on a background thread.
+     *
+     * @param intervalMinutes Minutes between checks
+     */
+    public synchronized void start(long intervalMinutes) {
+        if (timer != null) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "payroll-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::check, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    private void check() {
+        // An exception would cancel the repeating task, so report it and try again next time
+        try {
+            runDue(LocalDate.now(), false);
+        } catch (RuntimeException e) {
+            System.err.println("Error running scheduled payroll: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pays every period that ended on or before a date and has not been paid yet.
+     *
+     * @param today  Periods ending on or before this date are due
+     * @param dryRun True to calculate without saving payrolls or recording the runs
+     * @return One run per paid period, oldest first for each schedule
+     */
+    public synchronized List<Run> runDue(LocalDate today, boolean dryRun) {
+        Properties state = readState();
+        Map<Employee.EmploymentType, List<Employee>> employeesByType = new EnumMap<>(Employee.EmploymentType.class);
+        for (Employee employee : onSaveExecutor(this::copyEmployees)) {
+            if (employee.getEmploymentType() != null) {
+                employeesByType.computeIfAbsent(employee.getEmploymentType(), type -> new ArrayList<>()).add(employee);
+            }
+        }
+
+        List<Run> runs = new ArrayList<>();
+        for (PayCalendar.Schedule schedule : calendar.getSchedules()) {
+            String lastPaid = state.getProperty(schedule.getKey());
+            List<PayCalendar.Period> due = schedule.getPeriodsEnding(
+                    lastPaid == null ? null : LocalDate.parse(lastPaid), today);
+            if (due.isEmpty()) {
+                continue;
+            }
+            List<Employee> employees = new ArrayList<>();
+            for (Employee.EmploymentType type : schedule.getEmploymentTypes()) {
+                employees.addAll(employeesByType.getOrDefault(type, List.of()));
+            }
+            for (PayCalendar.Period period : due) {
+                Run run = run(schedule, period, employees, dryRun);
+                if (!dryRun) {
+                    state.setProperty(schedule.getKey(), period.getEnd().toString());
+                    writeState(state);
+                }
+                runs.add(run);
+                listener.accept(run);
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Copies every employee, on the save executor, so the calculation never reads
+     * records that are being changed.
+     */
+    private List<Employee> copyEmployees() {
+        List<Employee> employees = dataManager.getAllEmployees();
+        List<Employee> copies = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            copies.add(new Employee(employee));
+        }
+        return copies;
+    }
+
+    /**
+     * Pays one period of one schedule as a single batch.
+     */
+    private Run run(PayCalendar.Schedule schedule, PayCalendar.Period period, List<Employee> employees,
+                    boolean dryRun) {
+        long start = Metrics.startTimer();
+        List<Employee> eligible = new ArrayList<>(employees.size());
+        int hourly = 0;
+        for (Employee employee : employees) {
+            if (employee.getHireDate() != null && employee.getHireDate().isAfter(period.getEnd())) {
+                continue;
+            }
+            // Hourly employees are paid from their timesheets (see TimesheetIngester), never for assumed hours
+            if (PayrollCalculator.isSalaried(employee)) {
+                eligible.add(employee);
+            } else if (employee.getStatus() == Employee.EmployeeStatus.ACTIVE) {
+                hourly++;
+            }
+        }
+        List<Payroll> payrolls = new ArrayList<>(eligible.size());
+        PayrollCalculator.calculateBatch(eligible, period.getStart(), period.getEnd(), payrolls::add);
+
+        List<Payroll> saved = onSaveExecutor(() -> {
+            Set<String> paid = dataManager.getEmployeesPaidFor(period.getStart(), period.getEnd());
+            List<Payroll> unpaid = new ArrayList<>(payrolls.size());
+            for (Payroll payroll : payrolls) {
+                if (!paid.contains(payroll.getEmployeeId())) {
+                    unpaid.add(payroll);
+                }
+            }
+            if (!dryRun && !unpaid.isEmpty()) {
+                dataManager.addPayrolls(unpaid);
+            }
+            return unpaid;
+        });
+
+        if (!dryRun) {
+            PAYROLLS.add(saved.size());
+        }
+        RUN_TIME.recordSince(start);
+        return new Run(schedule, period, saved, payrolls.size() - saved.size(), hourly);
+    }
+
+    /**
+     * Runs a task that reads or changes the data on the save executor and waits for its result.
+     */
+    private <T> T onSaveExecutor(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, saveExecutor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Properties readState() {
+        Properties state = new Properties();
+        try (Reader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+            state.load(reader);
+        } catch (NoSuchFileException e) {
+            // Nothing has run yet
+        } catch (IOException e) {
+            System.err.println("Error reading " + stateFile + ": " + e.getMessage());
+        }
+        return state;
+    }
+
+    private void writeState(Properties state) {
+        Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try {
+            if (stateFile.getParent() != null) {
+                Files.createDirectories(stateFile.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                state.store(writer, "Last pay period end paid by the payroll scheduler, per pay schedule");
+            }
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error saving " + stateFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * One scheduled payroll run: a schedule's payrolls for one period.
+     */
+    public static class Run {
+        private final PayCalendar.Schedule schedule;
+        private final PayCalendar.Period period;
+        private final List<Payroll> payrolls;
+        private final int alreadyPaid;
+        private final int hourlySkipped;
+
+        Run(PayCalendar.Schedule schedule, PayCalendar.Period period, List<Payroll> payrolls, int alreadyPaid,
+            int hourlySkipped) {
+            this.schedule = schedule;
+            this.period = period;
+            this.payrolls = payrolls;
+            this.alreadyPaid = alreadyPaid;
+            this.hourlySkipped = hourlySkipped;
+        }
+
+        public PayCalendar.Schedule getSchedule() {
+            return schedule;
+        }
+
+        public PayCalendar.Period getPeriod() {
+            return period;
+        }
+
+        /**
+         * Gets the payrolls created (or, for a dry run, that would be created).
+         */
+        public List<Payroll> getPayrolls() {
+            return payrolls;
+        }
+
+        /**
+         * Gets the number of employees skipped because they were already paid for the period.
+         */
+        public int getAlreadyPaid() {
+            return alreadyPaid;
+        }
+
+        /**
+         * Gets the number of active hourly employees on the schedule, who are left for
+         * a timesheet import to pay.
+         */
+        public int getHourlySkipped() {
+            return hourlySkipped;
+        }
+
+        public double getTotalGrossPay() {
+            double total = 0.0;
+            for (Payroll payroll : payrolls) {
+                total += payroll.getGrossPay();
+            }
+            return total;
+        }
+
+        public double getTotalNetPay() {
+            double total = 0.0;
+            for (Payroll payroll : payrolls) {
+                total += payroll.getNetPay();
+            }
+            return total;
+        }
+    }
+}
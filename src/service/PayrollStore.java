@@ -0,0 +1,526 @@
+package service;
+
+import model.Payroll;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Payroll records split by employee ID hash into shards, each kept in its own file
+ * under {@code data/payrolls/}.
+ *
+ * <p>All of an employee's records are in one shard, so looking them up scans only
+ * that shard, and a change rewrites only the shard files it touched instead of the
+ * whole payroll history. Shards are loaded and saved in parallel. Each shard is a
+ * {@link PersistentMap}, so the whole store can be captured with {@link #state()}
+ * in time proportional to the shard count.</p>
+ *
+ * <p>The shard count ({@code -Dpayroll.shards}, default 8) is part of the file names.
+ * When the files on disk were written with another count, or as the single
+ * {@code data/payrolls.dat} of earlier versions, they are loaded and redistributed,
+ * and replaced with the new layout on the next save.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+class PayrollStore {
+
+    static final File DIRECTORY = new File("data", "payrolls");
+    static final File LEGACY_FILE = new File("data", "payrolls.dat");
+    static final int DEFAULT_SHARDS = 8;
+
+    private static final Pattern SHARD_FILE = Pattern.compile("shard-(\\d+)-of-(\\d+)\\.dat");
+
+    private static final Metrics.Counter SAVE_ERRORS = Metrics.getInstance().counter("dataManager.saveErrors");
+    private static final Metrics.Counter LOAD_ERRORS = Metrics.getInstance().counter("dataManager.loadErrors");
+    private static final Metrics.Counter SHARDS_SAVED = Metrics.getInstance().counter("dataManager.payrollShardsSaved");
+
+    private final Shard[] shards;
+    // True until the files on disk are known to be a full set in this store's layout
+    private boolean layoutChanged = true;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param shardCount Number of shards (at least 1)
+     */
+    PayrollStore(int shardCount) {
+        if (shardCount < 1 || shardCount > 4096) {
+            throw new IllegalArgumentException("Payroll shard count must be between 1 and 4096: " + shardCount);
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(new File(DIRECTORY, String.format("shard-%02d-of-%02d.dat", i, shardCount)));
+        }
+    }
+
+    /**
+     * Gets the shard count configured with {@code -Dpayroll.shards}.
+     */
+    static int configuredShardCount() {
+        return Integer.getInteger("payroll.shards", DEFAULT_SHARDS);
+    }
+
+    int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Gets the shard that holds an employee's payroll records.
+     */
+    int shardOf(String employeeId) {
+        if (employeeId == null) {
+            return 0;
+        }
+        // Mix the bits so that IDs differing only in their last characters spread evenly
+        int h = employeeId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return Math.floorMod(h, shards.length);
+    }
+
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.records.size();
+        }
+        return size;
+    }
+
+    Payroll get(String payrollId) {
+        for (Shard shard : shards) {
+            Payroll payroll = shard.records.get(payrollId);
+            if (payroll != null) {
+                return payroll;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds or replaces a record, moving it if its employee now belongs to another shard.
+     */
+    void put(Payroll payroll) {
+        Shard target = shards[shardOf(payroll.getEmployeeId())];
+        boolean isNew = !target.records.containsKey(payroll.getPayrollId());
+        target.records = target.records.plus(payroll.getPayrollId(), payroll);
+        target.dirty = true;
+        if (isNew && shards.length > 1) {
+            for (Shard shard : shards) {
+                if (shard != target && shard.records.containsKey(payroll.getPayrollId())) {
+                    shard.records = shard.records.minus(payroll.getPayrollId());
+                    shard.dirty = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds or replaces many records, building each shard's new map in one go.
+     */
+    void putAll(Collection<Payroll> payrolls) {
+        List<PersistentMap.Builder<String, Payroll>> builders = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            builders.add(shard.records.toBuilder());
+        }
+        for (Payroll payroll : payrolls) {
+            int target = shardOf(payroll.getEmployeeId());
+            if (builders.get(target).get(payroll.getPayrollId()) == null && shards.length > 1) {
+                for (int i = 0; i < shards.length; i++) {
+                    if (i != target && builders.get(i).get(payroll.getPayrollId()) != null) {
+                        builders.get(i).remove(payroll.getPayrollId());
+                        shards[i].dirty = true;
+                    }
+                }
+            }
+            builders.get(target).put(payroll.getPayrollId(), payroll);
+            shards[target].dirty = true;
+        }
+        for (int i = 0; i < shards.length; i++) {
+            shards[i].records = builders.get(i).build();
+        }
+    }
+
+    void remove(String payrollId) {
+        for (Shard shard : shards) {
+            if (shard.records.containsKey(payrollId)) {
+                shard.records = shard.records.minus(payrollId);
+                shard.dirty = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces every record.
+     */
+    void replaceAll(Collection<Payroll> payrolls) {
+        List<PersistentMap.Builder<String, Payroll>> builders = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            builders.add(PersistentMap.<String, Payroll>empty().toBuilder());
+        }
+        for (Payroll payroll : payrolls) {
+            builders.get(shardOf(payroll.getEmployeeId())).put(payroll.getPayrollId(), payroll);
+        }
+        for (int i = 0; i < shards.length; i++) {
+            shards[i].records = builders.get(i).build();
+            shards[i].dirty = true;
+        }
+    }
+
+    void clear() {
+        for (Shard shard : shards) {
+            shard.records = PersistentMap.empty();
+            shard.dirty = true;
+        }
+    }
+
+    /**
+     * Captures the current records of every shard. Later changes do not affect the result.
+     */
+    List<PersistentMap<String, Payroll>> state() {
+        List<PersistentMap<String, Payroll>> state = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            state.add(shard.records);
+        }
+        return state;
+    }
+
+    /**
+     * Puts back records captured with {@link #state()}, marking the shards that differ as changed.
+     */
+    void restore(List<PersistentMap<String, Payroll>> state) {
+        if (state.size() != shards.length) {
+            throw new IllegalArgumentException("State has " + state.size() + " shards, store has " + shards.length);
+        }
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i].records != state.get(i)) {
+                shards[i].records = state.get(i);
+                shards[i].dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Gets an employee's records, scanning only the employee's shard.
+     */
+    List<Payroll> byEmployee(String employeeId) {
+        List<Payroll> employeePayrolls = new ArrayList<>();
+        shards[shardOf(employeeId)].records.forEach((payrollId, payroll) -> {
+            if (payroll.getEmployeeId().equals(employeeId)) {
+                employeePayrolls.add(payroll);
+            }
+        });
+        return employeePayrolls;
+    }
+
+    /**
+     * Gets all records as a list with one shard per store shard. Each shard is copied
+     * into an array only when the list is first read, on the reading thread.
+     */
+    ShardedList<Payroll> snapshot() {
+        return snapshotOf(state());
+    }
+
+    static ShardedList<Payroll> snapshotOf(List<PersistentMap<String, Payroll>> state) {
+        List<Collection<Payroll>> values = new ArrayList<>(state.size());
+        for (PersistentMap<String, Payroll> records : state) {
+            values.add(records.values());
+        }
+        return new ShardedList<>(values);
+    }
+
+    /**
+     * Marks every shard as changed, so the next {@link #save()} rewrites all files.
+     */
+    void markAllDirty() {
+        for (Shard shard : shards) {
+            shard.dirty = true;
+        }
+    }
+
+    /**
+     * Writes the shards changed since they were last loaded or saved, in parallel.
+     * Once a full set of shard files is written, files from an earlier layout are deleted.
+     */
+    void save() {
+        if (layoutChanged) {
+            markAllDirty();
+        }
+        List<Shard> dirty = new ArrayList<>();
+        for (Shard shard : shards) {
+            if (shard.dirty) {
+                dirty.add(shard);
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+        DIRECTORY.mkdirs();
+        AtomicInteger failures = new AtomicInteger();
+        runAll(dirty.size(), i -> {
+            if (!dirty.get(i).save()) {
+                failures.incrementAndGet();
+            }
+        });
+        if (layoutChanged && failures.get() == 0) {
+            deleteStaleFiles();
+            layoutChanged = false;
+        }
+    }
+
+    /**
+     * Whether the next save must write every shard (the files on disk are in another
+     * layout), which {@link #save()} does; otherwise {@link #takeShardWrites()} can be used.
+     */
+    boolean needsFullSave() {
+        return layoutChanged;
+    }
+
+    /**
+     * Captures the changed shards and returns a job per shard file that writes the
+     * captured records, so the writing can happen later on another thread. The shards
+     * count as saved from now on.
+     *
+     * @return Write jobs by shard file path, in shard order
+     */
+    Map<String, Runnable> takeShardWrites() {
+        Map<String, Runnable> writes = new LinkedHashMap<>();
+        for (Shard shard : shards) {
+            if (shard.dirty) {
+                PersistentMap<String, Payroll> records = shard.records;
+                File file = shard.file;
+                writes.put(file.getPath(), () -> {
+                    DIRECTORY.mkdirs();
+                    write(file, records);
+                });
+                shard.dirty = false;
+            }
+        }
+        return writes;
+    }
+
+    /**
+     * Loads the shards in parallel, redistributing records written in another layout.
+     */
+    void load() {
+        List<File> current = new ArrayList<>();
+        List<File> other = new ArrayList<>();
+        listShardFiles(current, other);
+
+        boolean stale = !other.isEmpty() || LEGACY_FILE.exists();
+        // A switch to this layout writes every shard before removing the old files, so while
+        // old files remain, the new ones are only trusted if all of them were written
+        if (!current.isEmpty() && (!stale || current.size() == shards.length)) {
+            forEachShard(i -> shards[i].load());
+            layoutChanged = stale;
+            return;
+        }
+        List<File> sources = other.isEmpty() && LEGACY_FILE.exists() ? List.of(LEGACY_FILE) : other;
+        if (sources.isEmpty()) {
+            for (Shard shard : shards) {
+                shard.records = PersistentMap.empty();
+                shard.dirty = false;
+            }
+            layoutChanged = true;
+            return;
+        }
+
+        // Another layout: read its files in parallel, then distribute the records over this one
+        List<Map<String, Payroll>> loaded = new ArrayList<>();
+        for (int i = 0; i < sources.size(); i++) {
+            loaded.add(null);
+        }
+        runAll(sources.size(), i -> loaded.set(i, readFile(sources.get(i))));
+        int total = 0;
+        for (Map<String, Payroll> records : loaded) {
+            total += records.size();
+        }
+        List<Payroll> all = new ArrayList<>(total);
+        for (Map<String, Payroll> records : loaded) {
+            all.addAll(records.values());
+        }
+        replaceAll(all);
+        for (Shard shard : shards) {
+            shard.dirty = false;
+        }
+        layoutChanged = true;
+    }
+
+    /**
+     * Lists every payroll data file on disk, in any layout.
+     */
+    static List<File> dataFiles() {
+        List<File> files = new ArrayList<>();
+        if (LEGACY_FILE.exists()) {
+            files.add(LEGACY_FILE);
+        }
+        File[] inDirectory = DIRECTORY.listFiles((dir, name) -> SHARD_FILE.matcher(name).matches());
+        if (inDirectory != null) {
+            files.addAll(List.of(inDirectory));
+        }
+        return files;
+    }
+
+    /**
+     * Sorts the shard files on disk into those of this store's layout and all others.
+     */
+    private void listShardFiles(List<File> current, List<File> other) {
+        File[] files = DIRECTORY.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            Matcher matcher = SHARD_FILE.matcher(file.getName());
+            if (matcher.matches()) {
+                (Integer.parseInt(matcher.group(2)) == shards.length ? current : other).add(file);
+            }
+        }
+    }
+
+    private void deleteStaleFiles() {
+        List<File> other = new ArrayList<>();
+        listShardFiles(new ArrayList<>(), other);
+        if (LEGACY_FILE.exists()) {
+            other.add(LEGACY_FILE);
+        }
+        for (File file : other) {
+            if (!file.delete()) {
+                System.err.println("Could not delete old payroll file " + file);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Payroll> readFile(File file) {
+        DataFileEvent event = DataManager.beginFileEvent();
+        Map<String, Payroll> records;
+        boolean succeeded = false;
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            records = (Map<String, Payroll>) ois.readObject();
+            succeeded = true;
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Error loading payrolls from " + file + ": " + e.getMessage());
+            LOAD_ERRORS.increment();
+            records = new HashMap<>();
+        }
+        DataManager.endFileEvent(event, "load", file.getPath(), records.size(), succeeded);
+        return records;
+    }
+
+    private void forEachShard(IntConsumer action) {
+        runAll(shards.length, action);
+    }
+
+    /**
+     * Runs an action for 0 to count - 1 on the shard I/O threads, the last one on
+     * the calling thread, and waits for all of them.
+     */
+    private static void runAll(int count, IntConsumer action) {
+        if (count == 1) {
+            action.accept(0);
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>(count - 1);
+        for (int i = 0; i < count - 1; i++) {
+            int index = i;
+            futures.add(IoThreads.POOL.submit(() -> action.accept(index)));
+        }
+        action.accept(count - 1);
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for payroll shards", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Payroll shard task failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Shared daemon threads for shard I/O, created on first use.
+     */
+    private static final class IoThreads {
+        static final ExecutorService POOL;
+
+        static {
+            AtomicInteger number = new AtomicInteger();
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+            POOL = Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "payroll-shard-io-" + number.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * One shard: its records and file.
+     */
+    private static final class Shard {
+        final File file;
+        PersistentMap<String, Payroll> records = PersistentMap.empty();
+        // Changed since last loaded or saved
+        boolean dirty;
+
+        Shard(File file) {
+            this.file = file;
+        }
+
+        void load() {
+            records = file.exists() ? PersistentMap.copyOf(readFile(file)) : PersistentMap.empty();
+            dirty = false;
+        }
+
+        boolean save() {
+            dirty = false;
+            if (!write(file, records)) {
+                dirty = true;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes one shard's records. The file holds a plain HashMap, as payrolls.dat always has.
+     */
+    private static boolean write(File file, PersistentMap<String, Payroll> records) {
+        DataFileEvent event = DataManager.beginFileEvent();
+        boolean succeeded = false;
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            oos.writeObject(new HashMap<>(records));
+            succeeded = true;
+            SHARDS_SAVED.increment();
+        } catch (IOException e) {
+            System.err.println("Error saving payrolls to " + file + ": " + e.getMessage());
+            SAVE_ERRORS.increment();
+        }
+        DataManager.endFileEvent(event, "save", file.getPath(), records.size(), succeeded);
+        return succeeded;
+    }
+}
@@ -0,0 +1,646 @@
+package service;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map where every change returns a new map that shares all unchanged
+ * structure with the old one (a hash array mapped trie).
+ *
+ * <p>{@link #plus} and {@link #minus} copy only the few small nodes on the path to
+ * the changed key, so keeping earlier versions around (for snapshots and undo) costs
+ * almost nothing. Lookups take at most seven array steps. A {@link Builder} changes
+ * nodes in place while it owns them, for fast bulk loading.</p>
+ *
+ * <p>Keys must not be null. The map itself cannot be modified through the
+ * {@link Map} interface.</p>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    // Enough levels for a 32-bit hash plus one collision node
+    private static final int MAX_DEPTH = 8;
+    private static final Object[] NO_ENTRIES = new Object[0];
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Gets a persistent map with the same entries as another map (the map itself if it already is one).
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentMap) {
+            return (PersistentMap<K, V>) map;
+        }
+        Builder<K, V> builder = new Builder<>(empty());
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets a map with a key set to a value; this map is unchanged.
+     */
+    public PersistentMap<K, V> plus(K key, V value) {
+        Box added = new Box();
+        Node base = root != null ? root : BitmapNode.EMPTY;
+        Node newRoot = base.assoc(null, 0, hash(key), key, value, added);
+        return newRoot == root ? this : new PersistentMap<>(newRoot, added.value ? size + 1 : size);
+    }
+
+    /**
+     * Gets a map without a key; this map is unchanged.
+     */
+    public PersistentMap<K, V> minus(Object key) {
+        if (root == null) {
+            return this;
+        }
+        Box removed = new Box();
+        Node newRoot = root.without(null, 0, hash(key), key, removed);
+        if (!removed.value) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Starts a builder from this map's entries; the map itself is not affected.
+     */
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object value = find(root, key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(root, key) != NOT_FOUND;
+    }
+
+    /**
+     * Looks a key up with a loop rather than recursion, as lookups are the hot path.
+     */
+    private static Object find(Node node, Object key) {
+        if (node == null || key == null) {
+            return NOT_FOUND;
+        }
+        int hash = hash(key);
+        int shift = 0;
+        while (node instanceof BitmapNode) {
+            BitmapNode bitmapNode = (BitmapNode) node;
+            int bit = bitFor(hash, shift);
+            int bitmap = bitmapNode.bitmap;
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object[] array = bitmapNode.array;
+            Object k = array[i];
+            if (k != null) {
+                return k == key || key.equals(k) ? array[i + 1] : NOT_FOUND;
+            }
+            node = (Node) array[i + 1];
+            shift += BITS;
+        }
+        return node.find(shift, hash, key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new TrieIterator<>(root, TrieIterator.ENTRIES);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new TrieIterator<>(root, TrieIterator.KEYS);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new TrieIterator<>(root, TrieIterator.VALUES);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Object[] toArray() {
+                Object[] values = new Object[size];
+                int[] next = new int[1];
+                PersistentMap.this.forEach((k, v) -> values[next[0]++] = v);
+                return values;
+            }
+        };
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bitFor(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Collects changes to a persistent map. Nodes created by the builder are changed
+     * in place until {@link #build()} hands them out; nodes shared with other maps are
+     * always copied first.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     */
+    public static final class Builder<K, V> {
+        // Identifies the nodes this builder may still change in place
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+
+        private Builder(PersistentMap<K, V> map) {
+            this.root = map.root;
+            this.size = map.size;
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            Box added = new Box();
+            Node base = root != null ? root : new BitmapNode(owner, 0, NO_ENTRIES);
+            root = base.assoc(owner, 0, hash(key), key, value, added);
+            if (added.value) {
+                size++;
+            }
+            return this;
+        }
+
+        public Builder<K, V> remove(Object key) {
+            if (root != null) {
+                Box removed = new Box();
+                root = root.without(owner, 0, hash(key), key, removed);
+                if (removed.value) {
+                    size--;
+                }
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            Object value = find(root, key);
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Gets the map built so far. The builder can keep being used; its later
+         * changes copy the nodes they touch instead of changing the returned map.
+         */
+        public PersistentMap<K, V> build() {
+            owner = new Object();
+            return root == null || size == 0 ? empty() : new PersistentMap<>(root, size);
+        }
+    }
+
+    /**
+     * Set by a node operation when it added or removed an entry.
+     */
+    private static final class Box {
+        boolean value;
+    }
+
+    /**
+     * Trie node. Operations return the node itself when nothing changed.
+     */
+    private abstract static class Node {
+
+        /**
+         * Gets the value of a key, or NOT_FOUND.
+         */
+        abstract Object find(int shift, int hash, Object key);
+
+        /**
+         * Sets a key; nodes owned by {@code owner} are changed in place, others are copied.
+         */
+        abstract Node assoc(Object owner, int shift, int hash, Object key, Object value, Box added);
+
+        /**
+         * Removes a key, returning null if the node becomes empty.
+         */
+        abstract Node without(Object owner, int shift, int hash, Object key, Box removed);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+
+        /**
+         * Gets the key/value array and the number of slots in use, for iteration.
+         */
+        abstract Object[] entries();
+
+        abstract int slots();
+    }
+
+    /**
+     * Node with up to 32 slots, one per 5-bit hash fragment, each holding either a
+     * key/value pair or (with a null key) a child node. Only occupied slots are stored.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, NO_ENTRIES);
+
+        final Object owner;
+        int bitmap;
+        // key0, value0, key1, value1, ...; may have spare room at the end when owned by a builder
+        Object[] array;
+
+        BitmapNode(Object owner, int bitmap, Object[] array) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null) {
+                return ((Node) array[i + 1]).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node assoc(Object owner, int shift, int hash, Object key, Object value, Box added) {
+            int bit = bitFor(hash, shift);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) != 0) {
+                Object k = array[i];
+                Object v = array[i + 1];
+                if (k == null) {
+                    Node child = ((Node) v).assoc(owner, shift + BITS, hash, key, value, added);
+                    return child == v ? this : withSlot(owner, i + 1, child);
+                }
+                if (key.equals(k)) {
+                    return v == value ? this : withSlot(owner, i + 1, value);
+                }
+                // Two keys share this fragment: push both down a level
+                added.value = true;
+                Node child = pair(owner, shift + BITS, k, v, hash, key, value);
+                BitmapNode node = withSlot(owner, i, null);
+                node.array[i + 1] = child;
+                return node;
+            }
+
+            added.value = true;
+            int used = 2 * Integer.bitCount(bitmap);
+            if (owner != null && owner == this.owner) {
+                if (used + 2 > array.length) {
+                    Object[] grown = new Object[Math.min(64, Math.max(4, used * 2))];
+                    System.arraycopy(array, 0, grown, 0, used);
+                    array = grown;
+                }
+                System.arraycopy(array, i, array, i + 2, used - i);
+                array[i] = key;
+                array[i + 1] = value;
+                bitmap |= bit;
+                return this;
+            }
+            Object[] copy = new Object[used + 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            copy[i] = key;
+            copy[i + 1] = value;
+            System.arraycopy(array, i, copy, i + 2, used - i);
+            return new BitmapNode(owner, bitmap | bit, copy);
+        }
+
+        @Override
+        Node without(Object owner, int shift, int hash, Object key, Box removed) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null) {
+                Node child = (Node) array[i + 1];
+                Node newChild = child.without(owner, shift + BITS, hash, key, removed);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild != null) {
+                    return withSlot(owner, i + 1, newChild);
+                }
+            } else if (key.equals(k)) {
+                removed.value = true;
+            } else {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            int used = 2 * Integer.bitCount(bitmap);
+            if (owner != null && owner == this.owner) {
+                System.arraycopy(array, i + 2, array, i, used - i - 2);
+                array[used - 2] = null;
+                array[used - 1] = null;
+                bitmap ^= bit;
+                return this;
+            }
+            Object[] copy = new Object[used - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, used - i - 2);
+            return new BitmapNode(owner, bitmap ^ bit, copy);
+        }
+
+        /**
+         * Sets one array slot, in place if owned, otherwise in a copy.
+         */
+        private BitmapNode withSlot(Object owner, int index, Object value) {
+            if (owner != null && owner == this.owner) {
+                array[index] = value;
+                return this;
+            }
+            Object[] copy = new Object[2 * Integer.bitCount(bitmap)];
+            System.arraycopy(array, 0, copy, 0, copy.length);
+            copy[index] = value;
+            return new BitmapNode(owner, bitmap, copy);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            int used = 2 * Integer.bitCount(bitmap);
+            for (int i = 0; i < used; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+
+        @Override
+        Object[] entries() {
+            return array;
+        }
+
+        @Override
+        int slots() {
+            return 2 * Integer.bitCount(bitmap);
+        }
+    }
+
+    /**
+     * Node for keys whose full hashes are equal, kept as a small list of pairs.
+     * Always copied on change; collisions are rare enough for that not to matter.
+     */
+    private static final class CollisionNode extends Node {
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node assoc(Object owner, int shift, int hash, Object key, Object value, Box added) {
+            if (hash != this.hash) {
+                // A different hash arrives here: put this node below a bitmap node
+                BitmapNode parent = new BitmapNode(owner, bitFor(this.hash, shift), new Object[]{null, this});
+                return parent.assoc(owner, shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                Object[] copy = array.clone();
+                copy[i + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            added.value = true;
+            Object[] copy = new Object[array.length + 2];
+            System.arraycopy(array, 0, copy, 0, array.length);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        Node without(Object owner, int shift, int hash, Object key, Box removed) {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            removed.value = true;
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+
+        @Override
+        Object[] entries() {
+            return array;
+        }
+
+        @Override
+        int slots() {
+            return array.length;
+        }
+    }
+
+    /**
+     * Creates the node holding two keys that collided at the level above.
+     */
+    private static Node pair(Object owner, int shift, Object key1, Object value1,
+                             int hash2, Object key2, Object value2) {
+        int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+        }
+        Box added = new Box();
+        Node node = new BitmapNode(owner, 0, NO_ENTRIES);
+        node = node.assoc(owner, shift, hash1, key1, value1, added);
+        return node.assoc(owner, shift, hash2, key2, value2, added);
+    }
+
+    /**
+     * Depth-first iterator over the trie's keys, values or entries.
+     */
+    private static final class TrieIterator<T> implements Iterator<T> {
+        static final int KEYS = 0;
+        static final int VALUES = 1;
+        static final int ENTRIES = 2;
+
+        private final int mode;
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] limits = new int[MAX_DEPTH];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth = -1;
+        private Object nextKey;
+        private Object nextValue;
+        private boolean ready;
+
+        TrieIterator(Node root, int mode) {
+            this.mode = mode;
+            if (root != null) {
+                push(root);
+            }
+        }
+
+        private void push(Node node) {
+            depth++;
+            arrays[depth] = node.entries();
+            limits[depth] = node.slots();
+            positions[depth] = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!ready && depth >= 0) {
+                int position = positions[depth];
+                if (position >= limits[depth]) {
+                    arrays[depth] = null;
+                    depth--;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                Object key = arrays[depth][position];
+                Object value = arrays[depth][position + 1];
+                if (key == null) {
+                    push((Node) value);
+                } else {
+                    nextKey = key;
+                    nextValue = value;
+                    ready = true;
+                }
+            }
+            return ready;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            switch (mode) {
+                case KEYS:
+                    return (T) nextKey;
+                case VALUES:
+                    return (T) nextValue;
+                default:
+                    return (T) new AbstractMap.SimpleImmutableEntry<>(nextKey, nextValue);
+            }
+        }
+    }
+}
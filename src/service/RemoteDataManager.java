@@ -0,0 +1,700 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.Payroll;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * DataManager that works against a {@link DataServer} instead of local files.
+ * {@link DataManager#getInstance()} returns one when the {@code data.server} system
+ * property is set (e.g. {@code -Ddata.server=localhost:7070}), so {@code Main}, the
+ * views and the CLI run unchanged.
+ *
+ * <p>All threads share one connection. Requests from different threads are pipelined
+ * (sent without waiting for earlier answers) and written together when several are
+ * queued. Full lists are cached per version stamp; the server pushes new stamps when
+ * another client changes data, so a cached list is reused until it is really stale.
+ * The client's own changes are applied to its cached copy instead of refetching it.
+ * Lookups by ID are answered from the cache when it is current, otherwise by one
+ * round trip.</p>
+ *
+ * <p>A lost connection is reopened on the next call. Calls that fail throw
+ * {@link UncheckedIOException}; a change the server rejected throws
+ * {@link IllegalStateException}.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class RemoteDataManager extends DataManager {
+
+    private static final long CALL_TIMEOUT_MINUTES = 5;
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+
+    private static final LatencyHistogram CALL_TIME = Metrics.getInstance().histogram("remoteData.call");
+    private static final Metrics.Counter CONNECTS = Metrics.getInstance().counter("remoteData.connects");
+    private static final Metrics.Counter VERSION_PUSHES = Metrics.getInstance().counter("remoteData.versionPushes");
+
+    private final String host;
+    private final int port;
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+
+    private Connection connection;
+    // Highest version handed out so far; a new connection's versions start above it
+    private volatile long highestVersion;
+
+    private volatile Cached<Employee> employeeCache;
+    private volatile Cached<Department> departmentCache;
+    private volatile Cached<Payroll> payrollCache;
+
+    /**
+     * Creates a client; the connection is opened by the first call.
+     *
+     * @param address Server as "host:port" or "host"
+     */
+    RemoteDataManager(String address) {
+        // The server owns the data files; a client never touches its local data directory
+        super(false);
+        int colon = address.lastIndexOf(':');
+        this.host = colon < 0 ? address : address.substring(0, colon);
+        this.port = colon < 0 ? DataProtocol.DEFAULT_PORT : Integer.parseInt(address.substring(colon + 1));
+
+        Metrics metrics = Metrics.getInstance();
+        metrics.gauge("dataManager.employees", () -> cachedSize(employeeCache));
+        metrics.gauge("dataManager.departments", () -> cachedSize(departmentCache));
+        metrics.gauge("dataManager.payrolls", () -> cachedSize(payrollCache));
+    }
+
+    // Version Methods
+
+    @Override
+    public long getEmployeesVersion() {
+        return connection().employeesVersion;
+    }
+
+    @Override
+    public long getDepartmentsVersion() {
+        return connection().departmentsVersion;
+    }
+
+    @Override
+    public long getPayrollsVersion() {
+        return connection().payrollsVersion;
+    }
+
+    // Employee Management Methods
+
+    @Override
+    public void addEmployee(Employee employee) {
+        addEmployees(Collections.singletonList(employee));
+    }
+
+    @Override
+    public void addEmployees(Collection<Employee> newEmployees) {
+        Response response = call(DataProtocol.PUT_EMPLOYEES, out -> DataProtocol.writeEmployees(out, newEmployees));
+        afterEmployeesChanged(response, newEmployees);
+    }
+
+    @Override
+    public Employee getEmployee(String employeeId) {
+        Cached<Employee> cached = employeeCache;
+        if (cached != null && cached.version == getEmployeesVersion()) {
+            return cached.byId.get(employeeId);
+        }
+        Response response = call(DataProtocol.GET_EMPLOYEE, out -> DataProtocol.writeString(out, employeeId));
+        return readOptional(response, in -> DataProtocol.readEmployee(in, departmentLookup()));
+    }
+
+    @Override
+    public void updateEmployee(Employee employee) {
+        addEmployees(Collections.singletonList(employee));
+    }
+
+    @Override
+    public void updateEmployee(Employee employee, LocalDate effectiveDate) {
+        updateEmployees(Collections.singletonList(employee), effectiveDate);
+    }
+
+    @Override
+    public void updateEmployees(Collection<Employee> changedEmployees, LocalDate effectiveDate) {
+        Response response = call(DataProtocol.PUT_EMPLOYEES_EFFECTIVE, out -> {
+            DataProtocol.writeDate(out, effectiveDate);
+            DataProtocol.writeEmployees(out, changedEmployees);
+        });
+        afterEmployeesChanged(response, changedEmployees);
+    }
+
+    private void afterEmployeesChanged(Response response, Collection<Employee> changedEmployees) {
+        employeeCache = afterChange(employeeCache, response.employeesVersion, byId -> {
+            for (Employee employee : changedEmployees) {
+                byId.put(employee.getEmployeeId(), employee);
+            }
+        });
+    }
+
+    @Override
+    public void deleteEmployee(String employeeId) {
+        Response response = call(DataProtocol.DELETE_EMPLOYEE, out -> DataProtocol.writeString(out, employeeId));
+        employeeCache = afterChange(employeeCache, response.employeesVersion, byId -> byId.remove(employeeId));
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        Cached<Employee> cached = employeeCache;
+        if (cached == null || cached.version != getEmployeesVersion()) {
+            Function<String, Department> departments = departmentLookup();
+            Response response = call(DataProtocol.GET_ALL_EMPLOYEES, null);
+            cached = new Cached<>(response.employeesVersion,
+                    read(response, in -> DataProtocol.readEmployees(in, departments)), Employee::getEmployeeId);
+            employeeCache = cached;
+        }
+        return new ArrayList<>(cached.byId.values());
+    }
+
+    /**
+     * Asks the server, which keeps the employee history (replicas receive it with their snapshot).
+     */
+    @Override
+    public Employee getEmployeeAsOf(String employeeId, LocalDate date) {
+        Response response = call(DataProtocol.GET_EMPLOYEE_AS_OF, out -> {
+            DataProtocol.writeString(out, employeeId);
+            DataProtocol.writeDate(out, date);
+        });
+        return readOptional(response, in -> DataProtocol.readEmployee(in, departmentLookup()));
+    }
+
+    // Department Management Methods
+
+    @Override
+    public void addDepartment(Department department) {
+        addDepartments(Collections.singletonList(department));
+    }
+
+    @Override
+    public void addDepartments(Collection<Department> newDepartments) {
+        Response response = call(DataProtocol.PUT_DEPARTMENTS,
+                out -> DataProtocol.writeDepartments(out, newDepartments));
+        departmentCache = afterChange(departmentCache, response.departmentsVersion, byId -> {
+            for (Department department : newDepartments) {
+                byId.put(department.getDepartmentId(), department);
+            }
+        });
+    }
+
+    @Override
+    public Department getDepartment(String departmentId) {
+        return departments().get(departmentId);
+    }
+
+    @Override
+    public void updateDepartment(Department department) {
+        addDepartments(Collections.singletonList(department));
+    }
+
+    @Override
+    public void deleteDepartment(String departmentId) {
+        Response response = call(DataProtocol.DELETE_DEPARTMENT, out -> DataProtocol.writeString(out, departmentId));
+        departmentCache = afterChange(departmentCache, response.departmentsVersion, byId -> byId.remove(departmentId));
+    }
+
+    @Override
+    public List<Department> getAllDepartments() {
+        return new ArrayList<>(departments().values());
+    }
+
+    /**
+     * Gets the departments by ID, fetching them if the cached copy is stale.
+     * There are few departments, so they are always served from the cache.
+     */
+    private Map<String, Department> departments() {
+        Cached<Department> cached = departmentCache;
+        if (cached == null || cached.version != getDepartmentsVersion()) {
+            Response response = call(DataProtocol.GET_ALL_DEPARTMENTS, null);
+            cached = new Cached<>(response.departmentsVersion, read(response, DataProtocol::readDepartments),
+                    Department::getDepartmentId);
+            departmentCache = cached;
+        }
+        return cached.byId;
+    }
+
+    /**
+     * Resolves employees' departments to the shared cached Department objects.
+     */
+    private Function<String, Department> departmentLookup() {
+        return departments()::get;
+    }
+
+    // Payroll Management Methods
+
+    @Override
+    public void addPayroll(Payroll payroll) {
+        addPayrolls(Collections.singletonList(payroll));
+    }
+
+    @Override
+    public void addPayrolls(Collection<Payroll> newPayrolls) {
+        Response response = call(DataProtocol.PUT_PAYROLLS, out -> DataProtocol.writePayrolls(out, newPayrolls));
+        payrollCache = afterChange(payrollCache, response.payrollsVersion, byId -> {
+            for (Payroll payroll : newPayrolls) {
+                byId.put(payroll.getPayrollId(), payroll);
+            }
+        });
+    }
+
+    @Override
+    public Payroll getPayroll(String payrollId) {
+        Cached<Payroll> cached = payrollCache;
+        if (cached != null && cached.version == getPayrollsVersion()) {
+            return cached.byId.get(payrollId);
+        }
+        Response response = call(DataProtocol.GET_PAYROLL, out -> DataProtocol.writeString(out, payrollId));
+        return readOptional(response, DataProtocol::readPayroll);
+    }
+
+    @Override
+    public void updatePayroll(Payroll payroll) {
+        addPayrolls(Collections.singletonList(payroll));
+    }
+
+    @Override
+    public void deletePayroll(String payrollId) {
+        Response response = call(DataProtocol.DELETE_PAYROLL, out -> DataProtocol.writeString(out, payrollId));
+        payrollCache = afterChange(payrollCache, response.payrollsVersion, byId -> byId.remove(payrollId));
+    }
+
+    @Override
+    public List<Payroll> getAllPayrolls() {
+        Cached<Payroll> cached = payrollCache;
+        if (cached == null || cached.version != getPayrollsVersion()) {
+            Response response = call(DataProtocol.GET_ALL_PAYROLLS, null);
+            cached = new Cached<>(response.payrollsVersion, read(response, DataProtocol::readPayrolls),
+                    Payroll::getPayrollId);
+            payrollCache = cached;
+        }
+        return new ArrayList<>(cached.byId.values());
+    }
+
+    /**
+     * The server's payrolls arrive as one list, so they form a single shard.
+     */
+    @Override
+    public ShardedList<Payroll> getPayrollShards() {
+        return ShardedList.of(getAllPayrolls());
+    }
+
+    /**
+     * Filters the cached payrolls when they are current; otherwise lets the server
+     * filter, so one employee's history never pulls the whole payroll table.
+     */
+    @Override
+    public List<Payroll> getPayrollsByEmployee(String employeeId) {
+        Cached<Payroll> cached = payrollCache;
+        if (cached != null && cached.version == getPayrollsVersion()) {
+            List<Payroll> employeePayrolls = new ArrayList<>();
+            for (Payroll payroll : cached.byId.values()) {
+                if (payroll.getEmployeeId().equals(employeeId)) {
+                    employeePayrolls.add(payroll);
+                }
+            }
+            return employeePayrolls;
+        }
+        Response response = call(DataProtocol.GET_PAYROLLS_BY_EMPLOYEE,
+                out -> DataProtocol.writeString(out, employeeId));
+        return read(response, DataProtocol::readPayrolls);
+    }
+
+    // Loading and Saving
+
+    /**
+     * Connects to the server. Cached lists are dropped, so the next read fetches
+     * the server's current data.
+     */
+    @Override
+    public void loadEmployees() {
+        employeeCache = null;
+        call(DataProtocol.PING, null);
+    }
+
+    @Override
+    public void loadDepartments() {
+        departmentCache = null;
+        call(DataProtocol.PING, null);
+    }
+
+    @Override
+    public void loadPayrolls() {
+        payrollCache = null;
+        call(DataProtocol.PING, null);
+    }
+
+    @Override
+    public void loadAllData() {
+        employeeCache = null;
+        departmentCache = null;
+        payrollCache = null;
+        call(DataProtocol.PING, null);
+    }
+
+    /**
+     * Does nothing: the server saves every change before acknowledging it.
+     */
+    @Override
+    public void saveAllData() {
+    }
+
+    @Override
+    public void replaceAllData(Collection<Department> newDepartments, Collection<Employee> newEmployees,
+                               Collection<Payroll> newPayrolls) {
+        call(DataProtocol.REPLACE_ALL, out -> {
+            DataProtocol.writeDepartments(out, newDepartments);
+            DataProtocol.writeEmployees(out, newEmployees);
+            DataProtocol.writePayrolls(out, newPayrolls);
+        });
+    }
+
+    @Override
+    public void clearAllData() {
+        call(DataProtocol.CLEAR_ALL, null);
+    }
+
+    // Snapshots
+
+    /**
+     * Takes a snapshot of the server's current data (one full fetch of each list).
+     */
+    @Override
+    public Snapshot snapshot() {
+        return new Snapshot(byId(getAllEmployees(), Employee::getEmployeeId),
+                byId(getAllDepartments(), Department::getDepartmentId),
+                Collections.singletonList(byId(getAllPayrolls(), Payroll::getPayrollId)));
+    }
+
+    @Override
+    public void restore(Snapshot snapshot) {
+        replaceAllData(snapshot.getDepartments().values(), snapshot.getEmployees().values(), snapshot.getPayrolls());
+    }
+
+    /**
+     * Sends the snapshot's employees and departments back to the server and deletes
+     * the ones added since. Other clients' changes made since the snapshot are overwritten.
+     */
+    @Override
+    public void restoreEmployeesAndDepartments(Snapshot snapshot) {
+        Map<String, Department> departments = snapshot.getDepartments();
+        Map<String, Employee> employees = snapshot.getEmployees();
+        addDepartments(departments.values());
+        addEmployees(employees.values());
+        for (Employee employee : getAllEmployees()) {
+            if (!employees.containsKey(employee.getEmployeeId())) {
+                deleteEmployee(employee.getEmployeeId());
+            }
+        }
+        for (Department department : getAllDepartments()) {
+            if (!departments.containsKey(department.getDepartmentId())) {
+                deleteDepartment(department.getDepartmentId());
+            }
+        }
+    }
+
+    private static <T> PersistentMap<String, T> byId(List<T> records, Function<T, String> id) {
+        PersistentMap.Builder<String, T> builder = PersistentMap.<String, T>empty().toBuilder();
+        for (T record : records) {
+            builder.put(id.apply(record), record);
+        }
+        return builder.build();
+    }
+
+    // Calls
+
+    /**
+     * Sends one request and waits for its response. Safe to call from any thread.
+     *
+     * @param opcode  Operation from {@link DataProtocol}
+     * @param payload Writes the request arguments, or null if there are none
+     * @throws UncheckedIOException  If the request could not be sent or answered
+     * @throws IllegalStateException If the server could not carry out the request
+     */
+    private Response call(byte opcode, PayloadWriter payload) {
+        long start = Metrics.startTimer();
+        int requestId = nextRequestId.updateAndGet(id -> id == Integer.MAX_VALUE ? 1 : id + 1);
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(frame);
+        try {
+            out.writeInt(requestId);
+            out.writeByte(opcode);
+            if (payload != null) {
+                payload.write(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Connection current = connection();
+        CompletableFuture<Response> pending = new CompletableFuture<>();
+        current.pending.put(requestId, pending);
+        if (current.closed) {
+            // Failed between connection() and put(); fail() may not have seen this call
+            pending.completeExceptionally(new IOException("Connection closed"));
+        }
+        try {
+            current.send(frame);
+            Response response = pending.get(CALL_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            CALL_TIME.recordSince(start);
+            return response;
+        } catch (IOException e) {
+            current.fail(e);
+            throw new UncheckedIOException("Data server " + host + ":" + port + " unavailable", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalStateException) {
+                throw (IllegalStateException) e.getCause();
+            }
+            throw new UncheckedIOException("Data server " + host + ":" + port + " unavailable",
+                    e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause()));
+        } catch (TimeoutException e) {
+            current.pending.remove(requestId);
+            throw new UncheckedIOException(new IOException("Data server did not answer within "
+                    + CALL_TIMEOUT_MINUTES + " minutes"));
+        } catch (InterruptedException e) {
+            current.pending.remove(requestId);
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted waiting for the data server"));
+        }
+    }
+
+    /**
+     * Gets the open connection, opening a new one if there is none or the last one failed.
+     */
+    private synchronized Connection connection() {
+        if (connection == null || connection.closed) {
+            try {
+                connection = new Connection(highestVersion + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot connect to data server " + host + ":" + port, e);
+            }
+            // Versions restart with the connection, so nothing cached can be trusted
+            employeeCache = null;
+            departmentCache = null;
+            payrollCache = null;
+            CONNECTS.increment();
+        }
+        return connection;
+    }
+
+    private static <T> T read(Response response, PayloadReader<T> reader) {
+        try {
+            return reader.read(response.payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T readOptional(Response response, PayloadReader<T> reader) {
+        return read(response, in -> in.readBoolean() ? reader.read(in) : null);
+    }
+
+    /**
+     * Applies this client's own change to a copy of a cached table, if the change is
+     * the only one since the cache was filled; otherwise the table must be refetched.
+     */
+    private static <T> Cached<T> afterChange(Cached<T> cached, long newVersion, Consumer<Map<String, T>> change) {
+        if (cached == null || newVersion != cached.version + 1) {
+            return null;
+        }
+        Map<String, T> byId = new LinkedHashMap<>(cached.byId);
+        change.accept(byId);
+        return new Cached<>(newVersion, byId);
+    }
+
+    private static double cachedSize(Cached<?> cached) {
+        return cached == null ? 0 : cached.byId.size();
+    }
+
+    /**
+     * Writes request arguments.
+     */
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Reads a response payload.
+     */
+    private interface PayloadReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    /**
+     * One table as of a version stamp, in server order. Never changed once published.
+     */
+    private static final class Cached<T> {
+        final long version;
+        final Map<String, T> byId;
+
+        Cached(long version, Map<String, T> byId) {
+            this.version = version;
+            this.byId = byId;
+        }
+
+        Cached(long version, List<T> values, Function<T, String> idOf) {
+            this.version = version;
+            this.byId = new LinkedHashMap<>(values.size() * 4 / 3 + 1);
+            for (T value : values) {
+                byId.put(idOf.apply(value), value);
+            }
+        }
+    }
+
+    /**
+     * A response: the payload plus the version stamps at the time it was produced.
+     */
+    private static final class Response {
+        final DataInputStream payload;
+        final long employeesVersion;
+        final long departmentsVersion;
+        final long payrollsVersion;
+
+        Response(DataInputStream payload, long employeesVersion, long departmentsVersion, long payrollsVersion) {
+            this.payload = payload;
+            this.employeesVersion = employeesVersion;
+            this.departmentsVersion = departmentsVersion;
+            this.payrollsVersion = payrollsVersion;
+        }
+    }
+
+    /**
+     * One socket with a reader thread that matches responses to waiting calls.
+     */
+    private final class Connection implements Runnable {
+        private final Socket socket;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private final Map<Integer, CompletableFuture<Response>> pending = new ConcurrentHashMap<>();
+        // Callers that have a frame ready; the last one to write flushes for all of them
+        private final AtomicInteger queuedWriters = new AtomicInteger();
+        // Added to the server's version stamps so they never go backwards across reconnects
+        private final long versionOffset;
+
+        volatile boolean closed;
+        volatile long employeesVersion;
+        volatile long departmentsVersion;
+        volatile long payrollsVersion;
+
+        Connection(long versionOffset) throws IOException {
+            this.versionOffset = versionOffset;
+            this.socket = new Socket();
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            this.employeesVersion = versionOffset;
+            this.departmentsVersion = versionOffset;
+            this.payrollsVersion = versionOffset;
+
+            Thread reader = new Thread(this, "data-client-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        void send(ByteArrayOutputStream frame) throws IOException {
+            queuedWriters.incrementAndGet();
+            synchronized (out) {
+                try {
+                    out.writeInt(frame.size());
+                    frame.writeTo(out);
+                } finally {
+                    if (queuedWriters.decrementAndGet() == 0) {
+                        out.flush();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    int length = in.readInt();
+                    if (length < 29 || length > DataProtocol.MAX_FRAME_BYTES) {
+                        throw new IOException("Bad frame length " + length);
+                    }
+                    byte[] frame = new byte[length];
+                    in.readFully(frame);
+                    dispatch(new DataInputStream(new ByteArrayInputStream(frame)));
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void dispatch(DataInputStream frame) throws IOException {
+            int requestId = frame.readInt();
+            byte status = frame.readByte();
+            long employees = versionOffset + frame.readLong();
+            long departments = versionOffset + frame.readLong();
+            long payrolls = versionOffset + frame.readLong();
+            // Pushes can overtake responses, so a stamp only ever moves forward
+            employeesVersion = Math.max(employeesVersion, employees);
+            departmentsVersion = Math.max(departmentsVersion, departments);
+            payrollsVersion = Math.max(payrollsVersion, payrolls);
+            highestVersion = Math.max(highestVersion, Math.max(employees, Math.max(departments, payrolls)));
+
+            if (requestId == DataProtocol.PUSH_ID) {
+                VERSION_PUSHES.increment();
+                return;
+            }
+            CompletableFuture<Response> waiting = pending.remove(requestId);
+            if (waiting == null) {
+                return;
+            }
+            if (status == DataProtocol.STATUS_OK) {
+                waiting.complete(new Response(frame, employees, departments, payrolls));
+            } else {
+                waiting.completeExceptionally(new IllegalStateException(
+                        "Data server error: " + DataProtocol.readString(frame)));
+            }
+        }
+
+        /**
+         * Closes the connection and fails every call still waiting on it.
+         */
+        void fail(IOException cause) {
+            closed = true;
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+            for (CompletableFuture<Response> waiting : pending.values()) {
+                waiting.completeExceptionally(cause);
+            }
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Arrays;
+
+/**
+ * Read-only copy of a {@link DataServer}'s data, kept up to date from its change
+ * stream, for offloading report-heavy work (e.g. year-end) from the primary.
+ *
+ * <p>The follower keeps employees, departments and payrolls in memory and serves
+ * them through its own read-only DataServer, so report users simply point
+ * {@code data.server} at the follower. On connecting it asks the primary for the
+ * changes after the last one it applied; if the primary no longer has them (or has
+ * restarted) it receives a full snapshot first, including the employee history, so
+ * as-of lookups (and retro pay after a {@link #promote()}) see the same past as on
+ * the primary.</p>
+ *
+ * <p>Replication lag is published as the {@code replication.lagMillis} gauge: the time
+ * since the follower last held everything the primary had, based on the primary's
+ * change and heartbeat timestamps (so clocks must agree when the two run on different
+ * machines). While the primary is idle the gauge stays below the 200 ms heartbeat
+ * interval. Reads are refused while the lag is over {@code replica.maxLagMs}
+ * (default 30000), so clients never silently see badly stale data.
+ * {@link #promote()} turns the follower into a writable primary for failover.</p>
+ *
+ * <pre>
+ * java service.ReplicaFollower primary-host:7070 [port] [bind address]
+ * </pre>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class ReplicaFollower implements Runnable {
+
+    public static final int DEFAULT_PORT = 7071;
+
+    private static final long RECONNECT_MILLIS = 1000;
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+    // A feed that sends nothing for this long (heartbeats come every 200 ms) is dead
+    private static final int READ_TIMEOUT_MILLIS = 5000;
+
+    private static final LatencyHistogram APPLY_DELAY = Metrics.getInstance().histogram("replication.applyDelay");
+    private static final Metrics.Counter SNAPSHOTS = Metrics.getInstance().counter("replication.snapshots");
+    private static final Metrics.Counter CHANGES = Metrics.getInstance().counter("replication.changes");
+    private static final Metrics.Counter RECONNECTS = Metrics.getInstance().counter("replication.reconnects");
+
+    private final String primaryHost;
+    private final int primaryPort;
+    private final DataManager replica = new DataManager(false);
+    private final DataServer server = new DataServer(replica);
+
+    private volatile Thread thread;
+    private volatile Socket socket;
+    private volatile boolean promoted;
+    private volatile long applyDelayMillis;
+
+    private volatile long logId;
+    private volatile long appliedSequence;
+    private volatile long primarySequence;
+    // Primary time at which this follower last held every change (0 before the first snapshot)
+    private volatile long currentAsOfMillis;
+
+    private ReplicaFollower(String primaryAddress) {
+        int colon = primaryAddress.lastIndexOf(':');
+        this.primaryHost = colon < 0 ? primaryAddress : primaryAddress.substring(0, colon);
+        this.primaryPort = colon < 0 ? DataProtocol.DEFAULT_PORT
+                : Integer.parseInt(primaryAddress.substring(colon + 1));
+        server.setReadOnly(true);
+    }
+
+    /**
+     * Creates a follower of a primary data server; call {@link #start()} to begin replicating.
+     * Its server refuses reads until the first snapshot has arrived.
+     *
+     * @param primaryAddress Primary as "host:port" or "host"
+     */
+    public static ReplicaFollower create(String primaryAddress) {
+        ReplicaFollower follower = new ReplicaFollower(primaryAddress);
+        // Wired here rather than in the constructor so the follower is complete before it is shared
+        follower.server.setLagLimit(follower::getLagMillis, Long.getLong("replica.maxLagMs", 30_000L));
+
+        Metrics metrics = Metrics.getInstance();
+        metrics.gauge("replication.lagMillis", follower::getLagMillis);
+        metrics.gauge("replication.lagChanges",
+                () -> Math.max(0, follower.primarySequence - follower.appliedSequence));
+        metrics.gauge("replication.appliedSequence", () -> follower.appliedSequence);
+        return follower;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: java service.ReplicaFollower <primary host:port> [port] [bind address]");
+            System.exit(2);
+        }
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        InetAddress bindAddress = args.length > 2 ? InetAddress.getByName(args[2]) : InetAddress.getLoopbackAddress();
+
+        ReplicaFollower follower = ReplicaFollower.create(args[0]);
+        follower.start();
+        follower.getServer().bind(new InetSocketAddress(bindAddress, port));
+        System.err.println("Replica of " + args[0] + " listening on " + bindAddress.getHostAddress() + ":"
+                + follower.getServer().getPort());
+        follower.getServer().serve();
+    }
+
+    /**
+     * Starts replicating on a background thread. Reconnects whenever the feed is lost.
+     */
+    public synchronized void start() {
+        if (thread == null) {
+            thread = new Thread(this, "replica-follower");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops replicating and accepts changes from clients, making this the primary.
+     * The data stays in memory; call {@link #persist()} to also write the data files.
+     */
+    public void promote() {
+        promoted = true;
+        closeSocket();
+        Thread follower = thread;
+        if (follower != null) {
+            follower.interrupt();
+        }
+        server.setLagLimit(null, 0);
+        server.setReadOnly(false);
+    }
+
+    /**
+     * After {@link #promote()}, writes the data to this machine's data files and keeps them up to date.
+     */
+    public void persist() {
+        replica.setPersistent(true);
+        replica.saveAllData();
+    }
+
+    /**
+     * Gets the read-only server that publishes the replicated data.
+     */
+    public DataServer getServer() {
+        return server;
+    }
+
+    /**
+     * Gets how far behind the primary this copy may be, in milliseconds
+     * (0 once promoted; grows without bound while no snapshot has arrived).
+     */
+    public long getLagMillis() {
+        if (promoted) {
+            return 0;
+        }
+        long asOf = currentAsOfMillis;
+        return asOf == 0 ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - asOf);
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Delays every applied change, to simulate a slow follower when testing lag.
+     */
+    public void setApplyDelayMillis(long applyDelayMillis) {
+        this.applyDelayMillis = applyDelayMillis;
+    }
+
+    @Override
+    public void run() {
+        boolean first = true;
+        while (!promoted) {
+            if (!first) {
+                RECONNECTS.increment();
+            }
+            first = false;
+            try {
+                follow();
+            } catch (IOException e) {
+                if (!promoted) {
+                    System.err.println("Replication from " + primaryHost + ":" + primaryPort + " interrupted: "
+                            + e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                break;
+            } finally {
+                closeSocket();
+            }
+            try {
+                Thread.sleep(RECONNECT_MILLIS);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Connects to the primary and applies its feed until the connection fails.
+     */
+    private void follow() throws IOException, InterruptedException {
+        Socket primary = new Socket();
+        socket = primary;
+        primary.connect(new InetSocketAddress(primaryHost, primaryPort), CONNECT_TIMEOUT_MILLIS);
+        primary.setTcpNoDelay(true);
+        primary.setSoTimeout(READ_TIMEOUT_MILLIS);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(primary.getOutputStream()));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(primary.getInputStream(), 64 * 1024));
+
+        // Request frame: request ID, opcode, log ID, last applied sequence
+        out.writeInt(4 + 1 + 8 + 8);
+        out.writeInt(1);
+        out.writeByte(DataProtocol.REPLICATE);
+        out.writeLong(logId);
+        out.writeLong(appliedSequence);
+        out.flush();
+
+        while (!promoted) {
+            int length = in.readInt();
+            if (length < 18 || length > DataProtocol.MAX_FRAME_BYTES) {
+                throw new IOException("Bad replication frame length " + length);
+            }
+            byte[] frame = new byte[length];
+            in.readFully(frame);
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(frame, 0, 18));
+            byte type = header.readByte();
+            long sequence = header.readLong();
+            long timeMillis = header.readLong();
+            byte opcode = header.readByte();
+            byte[] payload = Arrays.copyOfRange(frame, 18, frame.length);
+
+            switch (type) {
+                case DataProtocol.REPLICATION_SNAPSHOT:
+                    applySnapshot(payload);
+                    SNAPSHOTS.increment();
+                    appliedSequence = sequence;
+                    primarySequence = Math.max(primarySequence, sequence);
+                    break;
+                case DataProtocol.REPLICATION_CHANGE:
+                    long delay = applyDelayMillis;
+                    if (delay > 0) {
+                        Thread.sleep(delay);
+                    }
+                    server.applyReplicated(opcode, payload);
+                    CHANGES.increment();
+                    APPLY_DELAY.record((System.currentTimeMillis() - timeMillis) * 1_000_000L);
+                    appliedSequence = sequence;
+                    primarySequence = Math.max(primarySequence, sequence);
+                    break;
+                case DataProtocol.REPLICATION_HEARTBEAT:
+                    primarySequence = Math.max(primarySequence, sequence);
+                    break;
+                default:
+                    throw new IOException("Unknown replication frame type " + type);
+            }
+            if (appliedSequence >= primarySequence) {
+                // Everything the primary had at timeMillis is now applied
+                currentAsOfMillis = Math.max(currentAsOfMillis, timeMillis);
+            }
+        }
+    }
+
+    /**
+     * Replaces all data with a snapshot: the primary's log ID followed by a
+     * {@link DataProtocol#REPLACE_ALL} payload.
+     */
+    private void applySnapshot(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long snapshotLogId = in.readLong();
+        server.applyReplicated(DataProtocol.REPLACE_ALL, Arrays.copyOfRange(payload, 8, payload.length));
+        logId = snapshotLogId;
+    }
+
+    private void closeSocket() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
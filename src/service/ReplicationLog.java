@@ -0,0 +1,120 @@
+package service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded in-memory log of the changes applied by a {@link DataServer}, read by
+ * replication followers.
+ *
+ * <p>Each change is kept as its request opcode and payload bytes with a sequence
+ * number and the time it was applied. Only the most recent entries are kept
+ * (bounded by count and bytes); a follower that falls further behind than the log
+ * reaches is sent a full snapshot instead, so a slow follower never makes the
+ * primary buffer without limit.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+class ReplicationLog {
+
+    static final int DEFAULT_MAX_ENTRIES = 100_000;
+    static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    // Distinguishes this log from the one of an earlier primary run, whose sequence numbers restart
+    private final long logId = ThreadLocalRandom.current().nextLong();
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private long lastSequence;
+    private long retainedBytes;
+
+    ReplicationLog(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    long getLogId() {
+        return logId;
+    }
+
+    synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Appends a change that has just been applied, dropping the oldest entries if the
+     * log is full. Must be called in the order the changes were applied.
+     *
+     * @return The change's sequence number
+     */
+    synchronized long append(byte opcode, byte[] payload) {
+        Entry entry = new Entry(++lastSequence, System.currentTimeMillis(), opcode, payload);
+        entries.addLast(entry);
+        retainedBytes += payload.length;
+        while (entries.size() > 1 && (entries.size() > maxEntries || retainedBytes > maxBytes)) {
+            retainedBytes -= entries.removeFirst().payload.length;
+        }
+        notifyAll();
+        return entry.sequence;
+    }
+
+    /**
+     * Gets the entries after a sequence number, waiting up to a timeout for one to arrive.
+     *
+     * @param afterSequence Last sequence number the reader has
+     * @param timeoutMillis How long to wait if there are no newer entries
+     * @return Newer entries in order (empty on timeout), or null if some of them have
+     *         already been dropped and the reader needs a snapshot
+     */
+    synchronized List<Entry> entriesAfter(long afterSequence, long timeoutMillis) throws InterruptedException {
+        if (afterSequence > lastSequence) {
+            return null;
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (afterSequence == lastSequence) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return new ArrayList<>();
+            }
+            wait(remaining);
+        }
+        long firstRetained = entries.isEmpty() ? lastSequence + 1 : entries.peekFirst().sequence;
+        if (afterSequence + 1 < firstRetained) {
+            return null;
+        }
+        List<Entry> newer = new ArrayList<>((int) Math.min(lastSequence - afterSequence, 4096));
+        Iterator<Entry> it = entries.descendingIterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.sequence <= afterSequence) {
+                break;
+            }
+            newer.add(entry);
+        }
+        Collections.reverse(newer);
+        return newer;
+    }
+
+    /**
+     * One applied change.
+     */
+    static final class Entry {
+        final long sequence;
+        final long timeMillis;
+        final byte opcode;
+        final byte[] payload;
+
+        Entry(long sequence, long timeMillis, byte opcode, byte[] payload) {
+            this.sequence = sequence;
+            this.timeMillis = timeMillis;
+            this.opcode = opcode;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Memory-bounded cache of report results (generated report lines and aggregated totals).
+ *
+ * <p>Entries are keyed by report name, parameters and the DataManager version stamps
+ * of the data they were built from, so a result is only reused while that data is
+ * unchanged. Storing a newer result for the same report and parameters drops the
+ * older versions straight away; otherwise the least recently used entries are evicted
+ * once the estimated size of all entries exceeds the limit.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class ReportCache {
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static ReportCache instance;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache holding at most the given estimated number of bytes.
+     */
+    public ReportCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get the shared application report cache
+     */
+    public static synchronized ReportCache getInstance() {
+        if (instance == null) {
+            instance = new ReportCache(DEFAULT_MAX_BYTES);
+            Metrics metrics = Metrics.getInstance();
+            metrics.gauge("reportCache.entries", instance::size);
+            metrics.gauge("reportCache.bytes", instance::getCurrentBytes);
+            metrics.gauge("reportCache.hitRate", instance::getHitRate);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the cached value for the key, or null if it is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <V> V get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return (V) entry.value;
+    }
+
+    /**
+     * Stores a value, replacing older versions of the same report and evicting
+     * least recently used entries if the cache grows past its limit.
+     * Values larger than the whole cache are not stored.
+     *
+     * @param key       Cache key
+     * @param value     Value to cache
+     * @param sizeBytes Estimated memory used by the value
+     */
+    public synchronized void put(Key key, Object value, long sizeBytes) {
+        removeOtherVersions(key);
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            currentBytes -= previous.sizeBytes;
+        }
+        if (sizeBytes > maxBytes) {
+            return;
+        }
+
+        entries.put(key, new Entry(value, sizeBytes));
+        currentBytes += sizeBytes;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().sizeBytes;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Returns the cached value, computing and storing it on a miss.
+     * The loader runs outside the cache lock.
+     */
+    public <V> V computeIfAbsent(Key key, Supplier<V> loader, ToLongFunction<V> sizer) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.get();
+            put(key, value, sizer.applyAsLong(value));
+        }
+        return value;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the fraction of lookups that were served from the cache (0 if none yet).
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    private void removeOtherVersions(Key key) {
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> existing = it.next();
+            if (existing.getKey().sameReport(key) && !existing.getKey().equals(key)) {
+                currentBytes -= existing.getValue().sizeBytes;
+                it.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long sizeBytes;
+
+        Entry(Object value, long sizeBytes) {
+            this.value = value;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+
+    /**
+     * Identifies a cached result: which report, with which parameters,
+     * built from which versions of the employee and payroll data.
+     */
+    public static final class Key {
+        private final String report;
+        private final String parameters;
+        private final long employeesVersion;
+        private final long payrollsVersion;
+
+        /**
+         * Creates a key.
+         *
+         * @param report           Report or result name
+         * @param parameters       Parameters that affect the result (empty if none)
+         * @param employeesVersion Employee data version the result was built from
+         * @param payrollsVersion  Payroll data version the result was built from (0 if unused)
+         */
+        public Key(String report, String parameters, long employeesVersion, long payrollsVersion) {
+            this.report = report;
+            this.parameters = parameters;
+            this.employeesVersion = employeesVersion;
+            this.payrollsVersion = payrollsVersion;
+        }
+
+        boolean sameReport(Key other) {
+            return report.equals(other.report) && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return employeesVersion == other.employeesVersion
+                    && payrollsVersion == other.payrollsVersion
+                    && report.equals(other.report)
+                    && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(report, parameters, employeesVersion, payrollsVersion);
+        }
+
+        @Override
+        public String toString() {
+            return report + "(" + parameters + ")@" + employeesVersion + "/" + payrollsVersion;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for generating (or re-showing) a report.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+@Name("hr.ReportGeneration")
+@Label("Report Generation")
+@Category({"HR Payroll", "Reports"})
+@Description("Generating a report for the report viewer")
+@StackTrace(false)
+public class ReportGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Report Type")
+    public String reportType;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("From Cache")
+    public boolean cached;
+
+    @Label("Cancelled")
+    public boolean cancelled;
+}
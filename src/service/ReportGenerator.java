@@ -0,0 +1,427 @@
+package service;
+
+import model.Employee;
+import model.Payroll;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Produces text reports one line at a time.
+ * Lines are handed to a consumer as soon as they are formatted, so a viewer
+ * can display the first rows immediately instead of waiting for the whole
+ * report to be built into a single string.
+ *
+ * <p>The generator works on a snapshot of the employee and payroll lists taken
+ * when it is created, so it can safely run on a background thread while the
+ * UI keeps using {@link DataManager}.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class ReportGenerator {
+
+    private static final String EMPLOYEE_ROW = "%-12s %-20s %-30s %-20s %-15s";
+    private static final String PAYROLL_ROW = "%-20s %-12s %-12s $%-14.2f $%-14.2f $%-14.2f";
+    private static final String SUMMARY_ROW = "%-12s %-20s $%-14.2f $%-14.2f $%-14.2f";
+
+    private static final String GROUP_ROW = "%-25s %8d $%-14.2f $%-14.2f $%-14.2f $%-12.2f";
+
+    private final List<Employee> employees;
+    private final List<Payroll> payrolls;
+    private final long employeesVersion;
+    private final long payrollsVersion;
+    private PayrollAggregator aggregator;
+
+    /**
+     * Creates a generator over the given data snapshot.
+     * Results from such a generator are not cached because its data has no version.
+     *
+     * @param employees Employees to report on
+     * @param payrolls  Payroll records to report on
+     */
+    public ReportGenerator(List<Employee> employees, List<Payroll> payrolls) {
+        this(employees, payrolls, -1, -1);
+    }
+
+    private ReportGenerator(List<Employee> employees, List<Payroll> payrolls,
+                            long employeesVersion, long payrollsVersion) {
+        this.employees = employees;
+        this.payrolls = payrolls;
+        this.employeesVersion = employeesVersion;
+        this.payrollsVersion = payrollsVersion;
+    }
+
+    /**
+     * Creates a generator over a snapshot of the data currently held by the DataManager.
+     * Must be called on the thread that owns the DataManager (the FX thread).
+     *
+     * @return A generator that can be run on any thread
+     */
+    public static ReportGenerator fromCurrentData() {
+        DataManager dataManager = DataManager.getInstance();
+        ReportCache cache = ReportCache.getInstance();
+        long employeesVersion = dataManager.getEmployeesVersion();
+        long payrollsVersion = dataManager.getPayrollsVersion();
+
+        // Reuse the list copies while the data is unchanged
+        List<Employee> employees = cache.computeIfAbsent(
+                new ReportCache.Key("snapshot:employees", "", employeesVersion, 0),
+                () -> Collections.unmodifiableList(dataManager.getAllEmployees()),
+                list -> 16L + 8L * list.size());
+        List<Payroll> payrolls = cache.computeIfAbsent(
+                new ReportCache.Key("snapshot:payrolls", "", 0, payrollsVersion),
+                dataManager::getPayrollShards,
+                list -> 16L + 8L * list.size());
+        return new ReportGenerator(employees, payrolls, employeesVersion, payrollsVersion);
+    }
+
+    /**
+     * Gets the cache key under which the lines of a generated report can be stored,
+     * or null if this generator's data is not versioned.
+     * The key includes today's date because it appears in the report header.
+     *
+     * @param type The report type
+     * @return Cache key for the report lines, or null
+     */
+    public ReportCache.Key linesCacheKey(ReportType type) {
+        if (employeesVersion < 0) {
+            return null;
+        }
+        boolean employeesOnly = type == ReportType.ALL_EMPLOYEES || type == ReportType.ACTIVE_EMPLOYEES;
+        return new ReportCache.Key("lines:" + type.name(), LocalDate.now().toString(),
+                employeesVersion, employeesOnly ? 0 : payrollsVersion);
+    }
+
+    /**
+     * Generates a report, passing each line (without a line terminator) to the consumer.
+     *
+     * @param type The report to generate
+     * @param out  Receives the report lines in order
+     */
+    public void generate(ReportType type, Consumer<String> out) {
+        long start = Metrics.startTimer();
+        out.accept("=".repeat(80));
+        out.accept(type.getDisplayName().toUpperCase());
+        out.accept("Generated: " + LocalDate.now());
+        out.accept("=".repeat(80));
+        out.accept("");
+
+        switch (type) {
+            case ALL_EMPLOYEES:
+                generateEmployeesReport(out, false);
+                break;
+            case ACTIVE_EMPLOYEES:
+                generateEmployeesReport(out, true);
+                break;
+            case ALL_PAYROLLS:
+                generateAllPayrollReport(out);
+                break;
+            case PAYROLL_SUMMARY:
+                generatePayrollSummaryReport(out);
+                break;
+            case YEAR_TO_DATE:
+                generateYTDSummaryReport(out);
+                break;
+            case PAYROLL_BY_DEPARTMENT:
+                generateGroupedReport(out, PayrollAggregator.GroupBy.DEPARTMENT);
+                break;
+            case PAYROLL_BY_PERIOD:
+                generateGroupedReport(out, PayrollAggregator.GroupBy.PAY_PERIOD);
+                break;
+            case PAYROLL_BY_EMPLOYMENT_TYPE:
+                generateGroupedReport(out, PayrollAggregator.GroupBy.EMPLOYMENT_TYPE);
+                break;
+        }
+        Metrics.getInstance().histogram("reportGenerator.generate." + type.name()).recordSince(start);
+    }
+
+    /**
+     * Generates report of all employees, or active employees only.
+     */
+    private void generateEmployeesReport(Consumer<String> out, boolean activeOnly) {
+        if (activeOnly) {
+            long activeCount = employees.stream()
+                    .filter(e -> e.getStatus() == Employee.EmployeeStatus.ACTIVE)
+                    .count();
+            out.accept("Active Employees: " + activeCount);
+        } else {
+            out.accept("Total Employees: " + employees.size());
+        }
+        out.accept("");
+        out.accept(String.format(EMPLOYEE_ROW, "ID", "Name", "Email", "Position", activeOnly ? "Type" : "Status"));
+        out.accept("-".repeat(100));
+
+        for (Employee emp : employees) {
+            if (activeOnly && emp.getStatus() != Employee.EmployeeStatus.ACTIVE) {
+                continue;
+            }
+
+            String lastColumn;
+            if (activeOnly) {
+                lastColumn = emp.getEmploymentType() != null ? emp.getEmploymentType().getDisplayName() : "N/A";
+            } else {
+                lastColumn = emp.getStatus() != null ? emp.getStatus().getDisplayName() : "N/A";
+            }
+
+            out.accept(String.format(EMPLOYEE_ROW,
+                    emp.getEmployeeId(),
+                    emp.getFullName(),
+                    emp.getEmail() != null ? emp.getEmail() : "N/A",
+                    emp.getPosition() != null ? emp.getPosition() : "N/A",
+                    lastColumn
+            ));
+        }
+
+        out.accept("");
+        out.accept("=".repeat(80));
+    }
+
+    /**
+     * Generates report of all payroll records.
+     */
+    private void generateAllPayrollReport(Consumer<String> out) {
+        out.accept("Total Payroll Records: " + payrolls.size());
+        out.accept("");
+        out.accept(String.format("%-20s %-12s %-12s %-15s %-15s %-15s",
+                "Payroll ID", "Employee ID", "Pay Date", "Gross Pay", "Deductions", "Net Pay"));
+        out.accept("-".repeat(100));
+
+        double totalGross = 0;
+        double totalDeductions = 0;
+        double totalNet = 0;
+
+        for (Payroll payroll : payrolls) {
+            out.accept(String.format(PAYROLL_ROW,
+                    payroll.getPayrollId(),
+                    payroll.getEmployeeId(),
+                    payroll.getPayDate(),
+                    payroll.getGrossPay(),
+                    payroll.getTotalDeductions(),
+                    payroll.getNetPay()
+            ));
+
+            totalGross += payroll.getGrossPay();
+            totalDeductions += payroll.getTotalDeductions();
+            totalNet += payroll.getNetPay();
+        }
+
+        out.accept("-".repeat(100));
+        out.accept(String.format("%-45s $%-14.2f $%-14.2f $%-14.2f",
+                "TOTALS:", totalGross, totalDeductions, totalNet));
+        out.accept("");
+        out.accept("=".repeat(80));
+    }
+
+    /**
+     * Generates payroll summary by employee.
+     */
+    private void generatePayrollSummaryReport(Consumer<String> out) {
+        Map<String, PayrollAggregator.GroupTotals> totals =
+                aggregate(PayrollAggregator.GroupBy.EMPLOYEE, 0);
+
+        out.accept("Payroll Summary by Employee");
+        out.accept("");
+        out.accept(String.format("%-12s %-20s %-15s %-15s %-15s",
+                "Employee ID", "Name", "Total Gross", "Total Deduct", "Total Net"));
+        out.accept("-".repeat(80));
+
+        for (Employee emp : employees) {
+            PayrollAggregator.GroupTotals empTotals = totals.get(emp.getEmployeeId());
+
+            if (empTotals != null) {
+                out.accept(String.format(SUMMARY_ROW,
+                        emp.getEmployeeId(),
+                        emp.getFullName(),
+                        empTotals.getTotalGross(),
+                        empTotals.getTotalDeductions(),
+                        empTotals.getTotalNet()
+                ));
+            }
+        }
+
+        out.accept("");
+        out.accept("=".repeat(80));
+    }
+
+    /**
+     * Generates year-to-date summary report.
+     */
+    private void generateYTDSummaryReport(Consumer<String> out) {
+        int currentYear = LocalDate.now().getYear();
+        Map<String, PayrollAggregator.GroupTotals> totals =
+                aggregate(PayrollAggregator.GroupBy.EMPLOYEE, currentYear);
+
+        out.accept("Year-to-Date Payroll Summary (" + currentYear + ")");
+        out.accept("");
+        out.accept(String.format("%-12s %-20s %-15s %-15s %-15s",
+                "Employee ID", "Name", "YTD Gross", "YTD Deduct", "YTD Net"));
+        out.accept("-".repeat(80));
+
+        double grandTotalGross = 0;
+        double grandTotalDeduct = 0;
+        double grandTotalNet = 0;
+
+        for (Employee emp : employees) {
+            PayrollAggregator.GroupTotals empTotals = totals.get(emp.getEmployeeId());
+
+            if (empTotals != null && empTotals.getTotalGross() > 0) {
+                out.accept(String.format(SUMMARY_ROW,
+                        emp.getEmployeeId(),
+                        emp.getFullName(),
+                        empTotals.getTotalGross(),
+                        empTotals.getTotalDeductions(),
+                        empTotals.getTotalNet()
+                ));
+
+                grandTotalGross += empTotals.getTotalGross();
+                grandTotalDeduct += empTotals.getTotalDeductions();
+                grandTotalNet += empTotals.getTotalNet();
+            }
+        }
+
+        out.accept("-".repeat(80));
+        out.accept(String.format("%-32s $%-14.2f $%-14.2f $%-14.2f",
+                "GRAND TOTALS:", grandTotalGross, grandTotalDeduct, grandTotalNet));
+        out.accept("");
+        out.accept("=".repeat(80));
+    }
+
+    /**
+     * Generates payroll totals grouped by department, pay period or employment type.
+     */
+    private void generateGroupedReport(Consumer<String> out, PayrollAggregator.GroupBy groupBy) {
+        Map<String, PayrollAggregator.GroupTotals> totals = aggregate(groupBy, 0);
+
+        out.accept("Payroll Totals by " + groupBy.getDisplayName());
+        out.accept("");
+        out.accept(String.format("%-25s %8s %-15s %-15s %-15s %-13s",
+                groupBy.getDisplayName(), "Records", "Total Gross", "Total Deduct", "Total Net", "Avg Net"));
+        out.accept("-".repeat(100));
+
+        PayrollAggregator.GroupTotals grandTotals = new PayrollAggregator.GroupTotals();
+        for (Map.Entry<String, PayrollAggregator.GroupTotals> entry : totals.entrySet()) {
+            PayrollAggregator.GroupTotals group = entry.getValue();
+            out.accept(String.format(GROUP_ROW,
+                    entry.getKey(),
+                    group.getCount(),
+                    group.getTotalGross(),
+                    group.getTotalDeductions(),
+                    group.getTotalNet(),
+                    group.getAverageNet()
+            ));
+            grandTotals.merge(group);
+        }
+
+        out.accept("-".repeat(100));
+        out.accept(String.format(GROUP_ROW,
+                "GRAND TOTALS:",
+                grandTotals.getCount(),
+                grandTotals.getTotalGross(),
+                grandTotals.getTotalDeductions(),
+                grandTotals.getTotalNet(),
+                grandTotals.getAverageNet()));
+        out.accept("");
+        out.accept("=".repeat(80));
+    }
+
+    /**
+     * Aggregates the payroll snapshot with the shared aggregation engine.
+     *
+     * @param groupBy Grouping to apply
+     * @param year    Only include pay periods ending in this year, or 0 for all years
+     * @return Totals per group label
+     */
+    public Map<String, PayrollAggregator.GroupTotals> aggregate(PayrollAggregator.GroupBy groupBy, int year) {
+        if (employeesVersion < 0) {
+            return computeAggregate(groupBy, year);
+        }
+        ReportCache.Key key = new ReportCache.Key("aggregate:" + groupBy.name(), String.valueOf(year),
+                employeesVersion, payrollsVersion);
+        return ReportCache.getInstance().computeIfAbsent(key,
+                () -> computeAggregate(groupBy, year), totals -> 64L + 160L * totals.size());
+    }
+
+    private Map<String, PayrollAggregator.GroupTotals> computeAggregate(PayrollAggregator.GroupBy groupBy, int year) {
+        if (aggregator == null) {
+            aggregator = new PayrollAggregator(employees);
+        }
+        return Collections.unmodifiableMap(aggregator.aggregate(payrolls, groupBy,
+                year == 0 ? null : payroll -> payroll.getPayPeriodEnd().getYear() == year));
+    }
+
+    /**
+     * Builds per-employee payroll totals, in employee order, for employees that have pay.
+     *
+     * @param year Only include pay periods ending in this year, or 0 for all years
+     * @return One summary per employee with a positive gross pay total
+     */
+    public List<PayrollCalculator.PayrollSummary> summarizeByEmployee(int year) {
+        Map<String, PayrollAggregator.GroupTotals> totals = aggregate(PayrollAggregator.GroupBy.EMPLOYEE, year);
+        List<PayrollCalculator.PayrollSummary> summaries = new ArrayList<>();
+        for (Employee emp : employees) {
+            PayrollAggregator.GroupTotals empTotals = totals.get(emp.getEmployeeId());
+            if (empTotals != null && empTotals.getTotalGross() > 0) {
+                summaries.add(new PayrollCalculator.PayrollSummary(emp.getEmployeeId(),
+                        empTotals.getTotalGross(), empTotals.getTotalDeductions(), empTotals.getTotalNet()));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Creates the CSV export of a report: the report's rows with the matching exporter.
+     *
+     * @param type The report to export
+     * @return Export job, ready to write to a file
+     */
+    public CsvExporter.Job<?> csvExport(ReportType type) {
+        switch (type) {
+            case ALL_EMPLOYEES:
+                return new CsvExporter.Job<>(CsvExporter.forEmployees(), employees);
+            case ACTIVE_EMPLOYEES: {
+                List<Employee> active = new ArrayList<>();
+                for (Employee emp : employees) {
+                    if (emp.getStatus() == Employee.EmployeeStatus.ACTIVE) {
+                        active.add(emp);
+                    }
+                }
+                return new CsvExporter.Job<>(CsvExporter.forEmployees(), active);
+            }
+            case ALL_PAYROLLS:
+                return new CsvExporter.Job<>(CsvExporter.forPayrolls(), payrolls);
+            case PAYROLL_SUMMARY:
+                return new CsvExporter.Job<>(CsvExporter.forSummaries(employees), summarizeByEmployee(0));
+            case YEAR_TO_DATE:
+                return new CsvExporter.Job<>(CsvExporter.forSummaries(employees),
+                        summarizeByEmployee(LocalDate.now().getYear()));
+            case PAYROLL_BY_DEPARTMENT:
+                return groupTotalsExport(PayrollAggregator.GroupBy.DEPARTMENT);
+            case PAYROLL_BY_PERIOD:
+                return groupTotalsExport(PayrollAggregator.GroupBy.PAY_PERIOD);
+            case PAYROLL_BY_EMPLOYMENT_TYPE:
+                return groupTotalsExport(PayrollAggregator.GroupBy.EMPLOYMENT_TYPE);
+            default:
+                throw new IllegalArgumentException("Unknown report: " + type);
+        }
+    }
+
+    private CsvExporter.Job<Map.Entry<String, PayrollAggregator.GroupTotals>> groupTotalsExport(
+            PayrollAggregator.GroupBy groupBy) {
+        return new CsvExporter.Job<>(CsvExporter.forGroupTotals(groupBy),
+                new ArrayList<>(aggregate(groupBy, 0).entrySet()));
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public List<Payroll> getPayrolls() {
+        return payrolls;
+    }
+}
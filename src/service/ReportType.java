@@ -0,0 +1,34 @@
+package service;
+
+/**
+ * The reports that can be generated from the Reports screen.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public enum ReportType {
+    ALL_EMPLOYEES("All Employees"),
+    ACTIVE_EMPLOYEES("Active Employees"),
+    ALL_PAYROLLS("All Payroll Records"),
+    PAYROLL_SUMMARY("Payroll Summary by Employee"),
+    YEAR_TO_DATE("Year-to-Date Summary"),
+    PAYROLL_BY_DEPARTMENT("Payroll by Department"),
+    PAYROLL_BY_PERIOD("Payroll by Pay Period"),
+    PAYROLL_BY_EMPLOYMENT_TYPE("Payroll by Employment Type");
+
+    private final String displayName;
+
+    ReportType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,289 @@
+package service;
+
+import model.Employee;
+import model.Payroll;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Recalculates payrolls affected by backdated pay changes and issues the
+ * differences as adjustment records.
+ *
+ * <p>Past payroll records are never changed. Each affected payroll gets an adjustment
+ * ({@link Payroll#isAdjustment()}) holding the recalculated amounts minus what was
+ * already paid for that period (the original plus earlier adjustments), so running
+ * the engine again for the same change issues nothing new.</p>
+ *
+ * <p>A period is paid with the employee as they were on its last day, from the
+ * employee history (see {@link DataManager#getEmployeeAsOf(String, LocalDate)}).
+ * Hourly payrolls are recalculated with their original hours (regular, overtime
+ * and double time), bonus and overtime multipliers, salaried ones with their
+ * original bonus and periods a year (see
+ * {@link PayrollCalculator#recalculatePayroll(Payroll, Employee)}).</p>
+ *
+ * <p>Affected payrolls are found with one parallel pass over the payroll shards,
+ * building a per-employee index of the periods that end on or after the effective
+ * date. Employees are then recalculated on the fork/join pool in fixed-size chunks
+ * and the results joined in order, so the same input always gives the same output.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class RetroPayEngine {
+
+    private static final int CHUNK_SIZE = 256;
+    // Differences under half a cent are rounding noise, not underpayments
+    private static final double HALF_CENT = 0.005;
+
+    private static final LatencyHistogram CALCULATE_TIME = Metrics.getInstance().histogram("retroPay.calculate");
+    private static final Metrics.Counter ADJUSTMENTS = Metrics.getInstance().counter("retroPay.adjustments");
+
+    private final DataManager dataManager;
+
+    public RetroPayEngine(DataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    /**
+     * Saves backdated changes to many employees (e.g. a mass raise) and issues the
+     * adjustments they cause.
+     *
+     * @param changedEmployees Employees with their new values
+     * @param effectiveDate    Date the changes take effect
+     * @param payDate          Pay date of the adjustment records
+     * @return The adjustments issued
+     */
+    public Result applyChanges(Collection<Employee> changedEmployees, LocalDate effectiveDate, LocalDate payDate) {
+        dataManager.updateEmployees(changedEmployees, effectiveDate);
+        List<String> employeeIds = new ArrayList<>(changedEmployees.size());
+        for (Employee employee : changedEmployees) {
+            employeeIds.add(employee.getEmployeeId());
+        }
+        return run(employeeIds, effectiveDate, payDate);
+    }
+
+    /**
+     * Calculates and saves the adjustments owed to employees for periods ending on
+     * or after a date.
+     */
+    public Result run(Collection<String> employeeIds, LocalDate effectiveDate, LocalDate payDate) {
+        Result result = calculate(employeeIds, effectiveDate, payDate);
+        if (!result.adjustments.isEmpty()) {
+            dataManager.addPayrolls(result.adjustments);
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the adjustments owed to employees for periods ending on or after a
+     * date, without saving them.
+     *
+     * @param employeeIds   Employees to check
+     * @param effectiveDate First day whose pay may have changed
+     * @param payDate       Pay date of the adjustment records
+     * @return The adjustments, in employee and period order
+     */
+    public Result calculate(Collection<String> employeeIds, LocalDate effectiveDate, LocalDate payDate) {
+        long start = Metrics.startTimer();
+        // Load the history on this thread before the workers read it
+        dataManager.getEmployeeHistory();
+
+        Map<String, List<Payroll>> index = indexPeriods(new HashSet<>(employeeIds), effectiveDate);
+        List<String> affected = new ArrayList<>(index.keySet());
+        affected.sort(Comparator.naturalOrder());
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<CompletableFuture<List<Payroll>>> chunks = new ArrayList<>();
+        for (int from = 0; from < affected.size(); from += CHUNK_SIZE) {
+            List<String> chunk = affected.subList(from, Math.min(from + CHUNK_SIZE, affected.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> recalculate(chunk, index, payDate), pool));
+        }
+        List<Payroll> adjustments = new ArrayList<>();
+        int checked = 0;
+        for (List<Payroll> payrolls : index.values()) {
+            for (Payroll payroll : payrolls) {
+                if (!payroll.isAdjustment()) {
+                    checked++;
+                }
+            }
+        }
+        try {
+            for (CompletableFuture<List<Payroll>> chunk : chunks) {
+                adjustments.addAll(chunk.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        ADJUSTMENTS.add(adjustments.size());
+        CALCULATE_TIME.recordSince(start);
+        return new Result(adjustments, affected.size(), checked);
+    }
+
+    /**
+     * Collects each employee's payrolls (and their adjustments) for periods ending
+     * on or after the date, scanning the payroll shards in parallel.
+     */
+    private Map<String, List<Payroll>> indexPeriods(Set<String> employeeIds, LocalDate effectiveDate) {
+        ShardedList<Payroll> payrolls = dataManager.getPayrollShards();
+        List<CompletableFuture<Map<String, List<Payroll>>>> shards = new ArrayList<>();
+        for (int i = 0; i < payrolls.getShardCount(); i++) {
+            int shard = i;
+            shards.add(CompletableFuture.supplyAsync(() -> {
+                Map<String, List<Payroll>> byEmployee = new HashMap<>();
+                for (Payroll payroll : payrolls.getShard(shard)) {
+                    if (employeeIds.contains(payroll.getEmployeeId())
+                            && !payroll.getPayPeriodEnd().isBefore(effectiveDate)) {
+                        byEmployee.computeIfAbsent(payroll.getEmployeeId(), id -> new ArrayList<>()).add(payroll);
+                    }
+                }
+                return byEmployee;
+            }, ForkJoinPool.commonPool()));
+        }
+        Map<String, List<Payroll>> index = new HashMap<>();
+        for (CompletableFuture<Map<String, List<Payroll>>> shard : shards) {
+            // An employee's payrolls are all in one shard, so the maps never overlap
+            index.putAll(shard.join());
+        }
+        return index;
+    }
+
+    private List<Payroll> recalculate(List<String> employeeIds, Map<String, List<Payroll>> index, LocalDate payDate) {
+        List<Payroll> adjustments = new ArrayList<>();
+        for (String employeeId : employeeIds) {
+            List<Payroll> payrolls = index.get(employeeId);
+            payrolls.sort(Comparator.comparing(Payroll::getPayPeriodEnd).thenComparing(Payroll::getPayrollId));
+
+            Map<String, List<Payroll>> adjustmentsByOriginal = new HashMap<>();
+            for (Payroll payroll : payrolls) {
+                if (payroll.isAdjustment()) {
+                    adjustmentsByOriginal.computeIfAbsent(payroll.getAdjustedPayrollId(), id -> new ArrayList<>())
+                            .add(payroll);
+                }
+            }
+            for (Payroll original : payrolls) {
+                if (original.isAdjustment()) {
+                    continue;
+                }
+                Employee employee = dataManager.getEmployeeAsOf(employeeId, original.getPayPeriodEnd());
+                if (employee == null) {
+                    continue;
+                }
+                List<Payroll> paid = new ArrayList<>();
+                paid.add(original);
+                paid.addAll(adjustmentsByOriginal.getOrDefault(original.getPayrollId(), List.of()));
+                Payroll adjustment = difference(PayrollCalculator.recalculatePayroll(original, employee), paid, payDate);
+                if (adjustment != null) {
+                    adjustments.add(adjustment);
+                }
+            }
+        }
+        return adjustments;
+    }
+
+    /**
+     * Builds the adjustment from what is owed and what was paid, or returns null if they match.
+     *
+     * @param owed The recalculated payroll
+     * @param paid The original payroll followed by its earlier adjustments
+     */
+    private static Payroll difference(Payroll owed, List<Payroll> paid, LocalDate payDate) {
+        Payroll original = paid.get(0);
+        Payroll adjustment = new Payroll(original.getPayrollId() + "-ADJ" + paid.size(), original.getEmployeeId(),
+                original.getPayPeriodStart(), original.getPayPeriodEnd());
+        adjustment.setAdjustedPayrollId(original.getPayrollId());
+        adjustment.setPayDate(payDate);
+        adjustment.setHourlyRate(owed.getHourlyRate());
+        adjustment.setPayType(owed.getPayType());
+        adjustment.setOvertimeMultiplier(owed.getOvertimeMultiplier());
+        adjustment.setDoubleTimeMultiplier(owed.getDoubleTimeMultiplier());
+        adjustment.setPeriodsPerYear(owed.getPeriodsPerYear());
+
+        adjustment.setRegularPay(owed.getRegularPay() - sum(paid, Payroll::getRegularPay));
+        adjustment.setOvertimePay(owed.getOvertimePay() - sum(paid, Payroll::getOvertimePay));
+        adjustment.setBonus(owed.getBonus() - sum(paid, Payroll::getBonus));
+        adjustment.setGrossPay(owed.getGrossPay() - sum(paid, Payroll::getGrossPay));
+        adjustment.setFederalTax(owed.getFederalTax() - sum(paid, Payroll::getFederalTax));
+        adjustment.setStateTax(owed.getStateTax() - sum(paid, Payroll::getStateTax));
+        adjustment.setSocialSecurity(owed.getSocialSecurity() - sum(paid, Payroll::getSocialSecurity));
+        adjustment.setMedicare(owed.getMedicare() - sum(paid, Payroll::getMedicare));
+        adjustment.setHealthInsurance(owed.getHealthInsurance() - sum(paid, Payroll::getHealthInsurance));
+        adjustment.setRetirement401k(owed.getRetirement401k() - sum(paid, Payroll::getRetirement401k));
+        adjustment.setOtherDeductions(owed.getOtherDeductions() - sum(paid, Payroll::getOtherDeductions));
+        adjustment.calculateNetPay();
+
+        if (Math.abs(adjustment.getGrossPay()) < HALF_CENT && Math.abs(adjustment.getTotalDeductions()) < HALF_CENT) {
+            return null;
+        }
+        return adjustment;
+    }
+
+    private static double sum(List<Payroll> payrolls, ToDoubleFunction<Payroll> amount) {
+        double total = 0.0;
+        for (Payroll payroll : payrolls) {
+            total += amount.applyAsDouble(payroll);
+        }
+        return total;
+    }
+
+    /**
+     * Adjustments from one retro calculation, with totals.
+     */
+    public static class Result {
+        private final List<Payroll> adjustments;
+        private final int employeeCount;
+        private final int payrollsChecked;
+
+        Result(List<Payroll> adjustments, int employeeCount, int payrollsChecked) {
+            this.adjustments = adjustments;
+            this.employeeCount = employeeCount;
+            this.payrollsChecked = payrollsChecked;
+        }
+
+        public List<Payroll> getAdjustments() {
+            return adjustments;
+        }
+
+        /**
+         * Gets the number of employees with payrolls in the affected periods.
+         */
+        public int getEmployeeCount() {
+            return employeeCount;
+        }
+
+        /**
+         * Gets the number of original payrolls recalculated.
+         */
+        public int getPayrollsChecked() {
+            return payrollsChecked;
+        }
+
+        public double getTotalGrossPay() {
+            return sum(adjustments, Payroll::getGrossPay);
+        }
+
+        public double getTotalDeductions() {
+            return sum(adjustments, Payroll::getTotalDeductions);
+        }
+
+        public double getTotalNetPay() {
+            return sum(adjustments, Payroll::getNetPay);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package service;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Read-only list made of several shards laid end to end, as returned for the
+ * sharded payroll store.
+ *
+ * <p>It behaves like any other list, but full scans can also work shard by shard
+ * (see {@link PayrollAggregator}) so each shard is processed as an independent,
+ * parallel unit. Shards can be immutable collections that are only copied into
+ * arrays when first read, so taking the snapshot is cheap and the copying happens
+ * on the threads that use it.</p>
+ *
+ * @param <T> Element type
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public final class ShardedList<T> extends AbstractList<T> implements RandomAccess {
+
+    // Shard contents, copied into the arrays below on first use
+    private final Collection<?>[] sources;
+    private final AtomicReferenceArray<Object[]> shards;
+    // offsets[i] is the list index of shard i's first element; offsets[shardCount] is the size
+    private final int[] offsets;
+
+    /**
+     * Creates a list over immutable collections, copied into arrays on first use.
+     */
+    ShardedList(List<? extends Collection<? extends T>> sources) {
+        this.sources = sources.toArray(new Collection<?>[0]);
+        this.shards = new AtomicReferenceArray<>(this.sources.length);
+        this.offsets = new int[this.sources.length + 1];
+        for (int i = 0; i < this.sources.length; i++) {
+            offsets[i + 1] = Math.addExact(offsets[i], this.sources[i].size());
+        }
+    }
+
+    /**
+     * Wraps a copy of an ordinary list as a list with a single shard.
+     */
+    public static <T> ShardedList<T> of(List<? extends T> list) {
+        return new ShardedList<T>(List.of(new ArrayList<T>(list)));
+    }
+
+    public int getShardCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Gets a shard's array, copying it from its source the first time.
+     */
+    private Object[] shard(int index) {
+        Object[] shard = shards.get(index);
+        if (shard == null) {
+            // Two threads may both copy; either copy is correct
+            shard = sources[index].toArray();
+            shards.set(index, shard);
+        }
+        return shard;
+    }
+
+    /**
+     * Gets the elements of one shard.
+     *
+     * @param index Shard number, from 0 to {@link #getShardCount()} - 1
+     * @return Read-only list of the shard's elements
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getShard(int index) {
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(shard(index)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        int shard = Arrays.binarySearch(offsets, index);
+        if (shard < 0) {
+            shard = -shard - 2;
+        } else {
+            // Skip empty shards that start at the same index
+            while (offsets[shard + 1] == index) {
+                shard++;
+            }
+        }
+        return (T) shard(shard)[index - offsets[shard]];
+    }
+
+    @Override
+    public int size() {
+        return offsets[offsets.length - 1];
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] all = new Object[size()];
+        for (int i = 0; i < getShardCount(); i++) {
+            Object[] shard = shard(i);
+            System.arraycopy(shard, 0, all, offsets[i], shard.length);
+        }
+        return all;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int shard = -1;
+            private Object[] current = new Object[0];
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                while (position == current.length) {
+                    if (shard + 1 >= getShardCount()) {
+                        return false;
+                    }
+                    current = shard(++shard);
+                    position = 0;
+                }
+                return true;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (T) current[position++];
+            }
+        };
+    }
+}
@@ -0,0 +1,819 @@
+package service;
+
+import model.Employee;
+import model.Payroll;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Reads timesheet or punch-clock CSV files and turns the worked time into hourly
+ * payroll for one pay period.
+ *
+ * <p>The file needs an "Employee ID" column and either "Date" and "Hours" columns
+ * (hours as a decimal, e.g. 7.5) or "Clock In" and "Clock Out" columns
+ * (yyyy-mm-ddTHH:MM[:SS]; a punch counts on the day it starts). Column names are
+ * matched ignoring case, spaces and underscores. Rows outside the pay period are
+ * ignored; rows that cannot be read are skipped and reported.</p>
+ *
+ * <p>Work runs in three stages connected by bounded queues, so memory use depends
+ * on the number of employees and days, not on the file size:</p>
+ * <ol>
+ *   <li>parse: reads the file in large blocks and parses rows straight from the
+ *       bytes into reused batches of primitive arrays (no object per row; each
+ *       employee ID becomes a String only the first time it is seen)</li>
+ *   <li>aggregate: adds the worked seconds per employee per day</li>
+ *   <li>calculate: splits the days into regular time, overtime and double time
+ *       with the employee's {@link OvertimeRules} policy, and calculates the payroll</li>
+ * </ol>
+ * <p>A stage that falls behind blocks the one before it (the parser waits for a
+ * free batch), which keeps the number of rows in flight fixed.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class TimesheetIngester {
+
+    private static final int BATCH_ROWS = 8192;
+    private static final int BATCHES = 4;
+    private static final int TOTALS_QUEUE_SIZE = 1024;
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+    private static final int MAX_ERRORS_KEPT = 100;
+    private static final int SECONDS_PER_DAY = 24 * 3600;
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private static final LatencyHistogram INGEST_TIME = Metrics.getInstance().histogram("timesheets.ingest");
+    private static final Metrics.Counter ROWS = Metrics.getInstance().counter("timesheets.rows");
+    private static final Metrics.Counter BAD_ROWS = Metrics.getInstance().counter("timesheets.badRows");
+
+    private final LocalDate payPeriodStart;
+    private final LocalDate payPeriodEnd;
+    private final long firstDay;
+    private final int dayCount;
+
+    /**
+     * Creates an ingester for one pay period.
+     *
+     * @throws IllegalArgumentException If the period ends before it starts
+     */
+    public TimesheetIngester(LocalDate payPeriodStart, LocalDate payPeriodEnd) {
+        if (payPeriodEnd.isBefore(payPeriodStart)) {
+            throw new IllegalArgumentException("Pay period end is before its start");
+        }
+        this.payPeriodStart = payPeriodStart;
+        this.payPeriodEnd = payPeriodEnd;
+        this.firstDay = payPeriodStart.toEpochDay();
+        this.dayCount = Math.toIntExact(ChronoUnit.DAYS.between(payPeriodStart, payPeriodEnd) + 1);
+    }
+
+    /**
+     * Reads a timesheet file and calculates a payroll for every hourly employee
+     * who worked in the period. Salaried employees (full-time and contract) are skipped.
+     *
+     * @param file      CSV file with a header row
+     * @param employees Employees by ID, e.g. from {@link #employeesById}; read from the
+     *                  calculate stage's thread, so it is copied into an immutable map first
+     * @param out       Receives each payroll on the calculate stage's thread, in the
+     *                  order employees first appear in the file
+     * @return Counts, hour totals and the rows that could not be used
+     * @throws IOException If the file cannot be read or has no usable header
+     */
+    public Result ingest(Path file, Map<String, Employee> employees, Consumer<Payroll> out) throws IOException {
+        long start = Metrics.startTimer();
+        Result result = new Result();
+        Map<String, Employee> byId = Map.copyOf(employees);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Parser parser = new Parser(channel, result);
+            parser.readHeader();
+
+            Calculator calculator = new Calculator(parser.ids, byId, out, result);
+            Thread parseThread = new Thread(parser, "timesheet-parse");
+            Thread calculateThread = new Thread(calculator, "timesheet-calculate");
+            parseThread.setDaemon(true);
+            calculateThread.setDaemon(true);
+            parseThread.start();
+            calculateThread.start();
+            try {
+                aggregate(parser, calculator);
+                calculateThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading timesheets", e);
+            } finally {
+                parseThread.interrupt();
+                calculateThread.interrupt();
+            }
+            if (parser.failure != null) {
+                throw parser.failure;
+            }
+            if (calculator.failure != null) {
+                throw calculator.failure;
+            }
+        }
+        INGEST_TIME.recordSince(start);
+        return result;
+    }
+
+    /**
+     * Copies employees into an immutable map by ID for {@link #ingest}. Call it on the
+     * thread that owns the data (DataManager is not thread-safe), before the import
+     * starts; the calculate stage then only reads the copies.
+     */
+    public static Map<String, Employee> employeesById(Collection<Employee> employees) {
+        Map<String, Employee> byId = new HashMap<>();
+        for (Employee employee : employees) {
+            byId.put(employee.getEmployeeId(), new Employee(employee));
+        }
+        return Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * Removes the payrolls of employees already paid for the period (by hand, by
+     * the payroll scheduler or by an earlier import), so an import never replaces
+     * an issued payroll.
+     *
+     * @param payrolls    Payrolls from {@link #ingest}; those left are the ones to save
+     * @param dataManager The data to check, on the thread that owns it
+     * @return Number of payrolls removed
+     */
+    public int removeAlreadyPaid(List<Payroll> payrolls, DataManager dataManager) {
+        Set<String> paid = dataManager.getEmployeesPaidFor(payPeriodStart, payPeriodEnd);
+        int before = payrolls.size();
+        payrolls.removeIf(payroll -> paid.contains(payroll.getEmployeeId()));
+        return before - payrolls.size();
+    }
+
+    /**
+     * Aggregate stage, on the calling thread: sums batches into seconds per employee
+     * per day, then hands each employee's days to the calculate stage.
+     */
+    private void aggregate(Parser parser, Calculator calculator) throws InterruptedException {
+        long[] seconds = new long[0];
+        int employeeCount = 0;
+        while (true) {
+            RowBatch batch = parser.full.take();
+            if (batch == RowBatch.END) {
+                break;
+            }
+            if (calculator.failure != null) {
+                parser.free.put(batch);
+                break;
+            }
+            for (int i = 0; i < batch.size; i++) {
+                int employee = batch.employees[i];
+                if (employee >= employeeCount) {
+                    employeeCount = employee + 1;
+                    if ((long) employeeCount * dayCount > seconds.length) {
+                        seconds = Arrays.copyOf(seconds, Math.toIntExact(
+                                Math.max((long) employeeCount * dayCount, 2L * seconds.length)));
+                    }
+                }
+                seconds[employee * dayCount + batch.days[i]] += batch.seconds[i];
+            }
+            batch.size = 0;
+            parser.free.put(batch);
+        }
+
+        for (int employee = 0; employee < employeeCount && calculator.failure == null; employee++) {
+            calculator.totals.put(new EmployeeDays(employee,
+                    Arrays.copyOfRange(seconds, employee * dayCount, (employee + 1) * dayCount)));
+        }
+        calculator.totals.put(EmployeeDays.END);
+    }
+
+    // Stages
+
+    /**
+     * Parse stage: reads the file and fills batches from the free queue.
+     */
+    private final class Parser implements Runnable {
+        private final FileChannel channel;
+        private final Result result;
+        private final BlockingQueue<RowBatch> free = new ArrayBlockingQueue<>(BATCHES);
+        // One extra place so the end marker never blocks
+        private final BlockingQueue<RowBatch> full = new ArrayBlockingQueue<>(BATCHES + 1);
+        private final IdTable ids = new IdTable();
+        private volatile IOException failure;
+
+        private final byte[] data = new byte[READ_BUFFER_BYTES];
+        private final ByteBuffer buffer = ByteBuffer.wrap(data);
+        private int position;
+        private int limit;
+        private boolean endOfFile;
+        private long line;
+
+        // Column positions and the fields of the current row
+        private int idColumn = -1;
+        private int dateColumn = -1;
+        private int hoursColumn = -1;
+        private int clockInColumn = -1;
+        private int clockOutColumn = -1;
+        private int columnCount;
+        private int[] fieldStarts;
+        private int[] fieldEnds;
+
+        Parser(FileChannel channel, Result result) {
+            this.channel = channel;
+            this.result = result;
+            for (int i = 0; i < BATCHES; i++) {
+                free.add(new RowBatch());
+            }
+        }
+
+        void readHeader() throws IOException {
+            int end = nextLine();
+            if (end < 0) {
+                throw new IOException("Timesheet file is empty");
+            }
+            int start = position;
+            // Skip a UTF-8 byte order mark
+            if (end - start >= 3 && data[start] == (byte) 0xEF && data[start + 1] == (byte) 0xBB
+                    && data[start + 2] == (byte) 0xBF) {
+                start += 3;
+            }
+            String[] names = new String(data, start, end - start, StandardCharsets.UTF_8).split(",", -1);
+            position = end + 1;
+            for (int i = 0; i < names.length; i++) {
+                switch (names[i].replaceAll("[\\s_\"-]", "").toLowerCase(Locale.ROOT)) {
+                    case "employeeid":
+                        idColumn = i;
+                        break;
+                    case "date":
+                        dateColumn = i;
+                        break;
+                    case "hours":
+                        hoursColumn = i;
+                        break;
+                    case "clockin":
+                        clockInColumn = i;
+                        break;
+                    case "clockout":
+                        clockOutColumn = i;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (idColumn < 0) {
+                throw new IOException("Missing required column: employee id");
+            }
+            boolean hours = dateColumn >= 0 && hoursColumn >= 0;
+            boolean punches = clockInColumn >= 0 && clockOutColumn >= 0;
+            if (!hours && !punches) {
+                throw new IOException("Need either date and hours columns or clock in and clock out columns");
+            }
+            if (punches) {
+                // Punches win when a file has both, since they are the source of the hours
+                dateColumn = -1;
+                hoursColumn = -1;
+            }
+            columnCount = names.length;
+            fieldStarts = new int[columnCount];
+            fieldEnds = new int[columnCount];
+        }
+
+        @Override
+        public void run() {
+            try {
+                RowBatch batch = free.take();
+                int end;
+                while ((end = nextLine()) >= 0) {
+                    if (parseRow(position, end, batch) && batch.size == BATCH_ROWS) {
+                        full.put(batch);
+                        batch = free.take();
+                    }
+                    position = end + 1;
+                }
+                if (batch.size > 0) {
+                    full.put(batch);
+                }
+            } catch (IOException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                // Stopped because a later stage failed
+            } finally {
+                full.offer(RowBatch.END);
+            }
+        }
+
+        /**
+         * Finds the end of the next line, reading more of the file as needed.
+         *
+         * @return Index of the line's '\n' (or of the end of the data for a last line
+         *         without one), or -1 at the end of the file
+         */
+        private int nextLine() throws IOException {
+            while (true) {
+                for (int i = position; i < limit; i++) {
+                    if (data[i] == '\n') {
+                        line++;
+                        return i;
+                    }
+                }
+                if (endOfFile) {
+                    if (position < limit) {
+                        line++;
+                        // Pretend the last line ends with a newline
+                        data[limit] = '\n';
+                        limit++;
+                        return limit - 1;
+                    }
+                    return -1;
+                }
+                // Move the partial line to the front and read more after it
+                System.arraycopy(data, position, data, 0, limit - position);
+                limit -= position;
+                position = 0;
+                if (limit >= data.length - 1) {
+                    throw new IOException("Line " + (line + 1) + " is longer than " + (data.length - 1) + " bytes");
+                }
+                buffer.clear().position(limit).limit(data.length - 1);
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    endOfFile = true;
+                } else {
+                    limit += read;
+                }
+            }
+        }
+
+        /**
+         * Parses one row into the batch.
+         *
+         * @return True if a row was added
+         */
+        private boolean parseRow(int start, int end, RowBatch batch) {
+            if (end > start && data[end - 1] == '\r') {
+                end--;
+            }
+            if (end == start) {
+                return false;
+            }
+            result.rows++;
+            ROWS.increment();
+
+            int fields = 0;
+            int fieldStart = start;
+            for (int i = start; i <= end && fields < columnCount; i++) {
+                if (i == end || data[i] == ',') {
+                    fieldStarts[fields] = fieldStart;
+                    fieldEnds[fields] = i;
+                    trim(fields);
+                    fields++;
+                    fieldStart = i + 1;
+                }
+            }
+            if (fields < columnCount) {
+                return reject("expected " + columnCount + " columns");
+            }
+
+            long day;
+            long seconds;
+            if (hoursColumn >= 0) {
+                day = parseDate(fieldStarts[dateColumn], fieldEnds[dateColumn]);
+                if (day == INVALID) {
+                    return reject("invalid date, expected yyyy-mm-dd");
+                }
+                seconds = parseHours(fieldStarts[hoursColumn], fieldEnds[hoursColumn]);
+                if (seconds == INVALID || seconds > SECONDS_PER_DAY) {
+                    return reject("invalid hours, expected a number from 0 to 24");
+                }
+            } else {
+                long in = parseDateTime(fieldStarts[clockInColumn], fieldEnds[clockInColumn]);
+                long out = parseDateTime(fieldStarts[clockOutColumn], fieldEnds[clockOutColumn]);
+                if (in == INVALID || out == INVALID) {
+                    return reject("invalid clock time, expected yyyy-mm-ddTHH:MM[:SS]");
+                }
+                seconds = out - in;
+                if (seconds < 0 || seconds > SECONDS_PER_DAY) {
+                    return reject("clock out must be within 24 hours after clock in");
+                }
+                day = Math.floorDiv(in, SECONDS_PER_DAY);
+            }
+
+            long dayIndex = day - firstDay;
+            if (dayIndex < 0 || dayIndex >= dayCount) {
+                result.rowsOutsidePeriod++;
+                return false;
+            }
+            int idStart = fieldStarts[idColumn];
+            int idEnd = fieldEnds[idColumn];
+            if (idEnd == idStart) {
+                return reject("employee id is empty");
+            }
+
+            int index = batch.size++;
+            batch.employees[index] = ids.indexOf(data, idStart, idEnd);
+            batch.days[index] = (int) dayIndex;
+            batch.seconds[index] = (int) seconds;
+            return true;
+        }
+
+        /**
+         * Removes spaces and one pair of surrounding quotes from a field.
+         */
+        private void trim(int field) {
+            int start = fieldStarts[field];
+            int end = fieldEnds[field];
+            while (start < end && data[start] == ' ') {
+                start++;
+            }
+            while (end > start && data[end - 1] == ' ') {
+                end--;
+            }
+            if (end - start >= 2 && data[start] == '"' && data[end - 1] == '"') {
+                start++;
+                end--;
+            }
+            fieldStarts[field] = start;
+            fieldEnds[field] = end;
+        }
+
+        private boolean reject(String reason) {
+            result.errorCount++;
+            BAD_ROWS.increment();
+            if (result.errors.size() < MAX_ERRORS_KEPT) {
+                result.errors.add("Line " + line + ": " + reason);
+            }
+            return false;
+        }
+
+        /**
+         * Parses yyyy-mm-dd into an epoch day, or returns INVALID.
+         */
+        private long parseDate(int start, int end) {
+            if (end - start != 10 || data[start + 4] != '-' || data[start + 7] != '-') {
+                return INVALID;
+            }
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+                return INVALID;
+            }
+            return epochDay(year, month, day);
+        }
+
+        /**
+         * Parses yyyy-mm-ddTHH:MM[:SS] (or with a space for the T) into epoch seconds, or returns INVALID.
+         */
+        private long parseDateTime(int start, int end) {
+            int length = end - start;
+            if ((length != 16 && length != 19) || (data[start + 10] != 'T' && data[start + 10] != ' ')
+                    || data[start + 13] != ':' || (length == 19 && data[start + 16] != ':')) {
+                return INVALID;
+            }
+            long day = parseDate(start, start + 10);
+            int hour = digits(start + 11, 2);
+            int minute = digits(start + 14, 2);
+            int second = length == 19 ? digits(start + 17, 2) : 0;
+            if (day == INVALID || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+                return INVALID;
+            }
+            return day * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+        }
+
+        /**
+         * Parses a non-negative decimal number of hours into whole seconds, or
+         * returns INVALID.
+         */
+        private long parseHours(int start, int end) {
+            long micros = 0;
+            int decimals = -1;
+            if (start == end) {
+                return INVALID;
+            }
+            for (int i = start; i < end; i++) {
+                byte b = data[i];
+                if (b == '.' && decimals < 0) {
+                    decimals = 0;
+                } else if (b >= '0' && b <= '9') {
+                    // Digits past the sixth decimal are below a thousandth of a second
+                    if (decimals < 6) {
+                        if (micros >= 1_000_000_000L) {
+                            return INVALID;
+                        }
+                        micros = micros * 10 + (b - '0');
+                        if (decimals >= 0) {
+                            decimals++;
+                        }
+                    }
+                } else {
+                    return INVALID;
+                }
+            }
+            for (int i = Math.max(decimals, 0); i < 6; i++) {
+                micros *= 10;
+            }
+            return (micros * 3600 + 500_000) / 1_000_000;
+        }
+
+        /**
+         * Reads a fixed number of ASCII digits, or returns -1.
+         */
+        private int digits(int start, int count) {
+            int value = 0;
+            for (int i = start; i < start + count; i++) {
+                int digit = data[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    /**
+     * Same result as LocalDate.of(year, month, day).toEpochDay() for years 0 to 9999,
+     * without creating a LocalDate.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - 719_528;
+    }
+
+    /**
+     * Calculate stage: turns each employee's days into a payroll.
+     */
+    private final class Calculator implements Runnable {
+        private final BlockingQueue<EmployeeDays> totals = new ArrayBlockingQueue<>(TOTALS_QUEUE_SIZE);
+        private final IdTable ids;
+        private final Map<String, Employee> employees;
+        private final Consumer<Payroll> out;
+        private final Result result;
+        private final OvertimeRules rules = OvertimeRules.getInstance();
+        private final OvertimeRules.Hours hours = new OvertimeRules.Hours();
+        private volatile RuntimeException failure;
+
+        Calculator(IdTable ids, Map<String, Employee> employees, Consumer<Payroll> out, Result result) {
+            this.ids = ids;
+            this.employees = employees;
+            this.out = out;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            try {
+                EmployeeDays days;
+                // After a failure keep taking until the end marker so the aggregate stage never blocks
+                while ((days = totals.take()) != EmployeeDays.END) {
+                    if (failure == null) {
+                        try {
+                            calculate(ids.get(days.employee), days.seconds);
+                        } catch (RuntimeException e) {
+                            failure = e;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Stopped by the aggregate stage
+            }
+        }
+
+        private void calculate(String employeeId, long[] secondsPerDay) {
+            Employee employee = employees.get(employeeId);
+            if (employee == null) {
+                result.unknownEmployees.add(employeeId);
+                return;
+            }
+            if (employee.getEmploymentType() == Employee.EmploymentType.FULL_TIME
+                    || employee.getEmploymentType() == Employee.EmploymentType.CONTRACT) {
+                result.salariedSkipped++;
+                return;
+            }
+            rules.getPolicy(employee.getEmploymentType()).evaluate(secondsPerDay, hours);
+            result.regularHours += hours.getRegularHours();
+            result.overtimeHours += hours.getOvertimeHours();
+            result.doubleTimeHours += hours.getDoubleTimeHours();
+            result.payrolls++;
+            out.accept(PayrollCalculator.calculateHourlyPayroll(employee, hours.getRegularHours(),
+                    hours.getOvertimeHours(), hours.getDoubleTimeHours(), 0.0, payPeriodStart, payPeriodEnd));
+        }
+    }
+
+    /**
+     * Employee IDs by first appearance, looked up straight from the file's bytes.
+     * Written only by the parse stage; read by the others after the queue hand-off.
+     */
+    private static final class IdTable {
+        private final List<String> ids = new ArrayList<>();
+        private byte[] bytes = new byte[4096];
+        private int bytesUsed;
+        private int[] offsets = new int[256];
+        private int[] slots = filled(1024);
+
+        private static int[] filled(int size) {
+            int[] table = new int[size];
+            Arrays.fill(table, -1);
+            return table;
+        }
+
+        String get(int index) {
+            return ids.get(index);
+        }
+
+        int indexOf(byte[] data, int start, int end) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + data[i];
+            }
+            int mask = slots.length - 1;
+            for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+                int index = slots[slot];
+                if (index < 0) {
+                    return add(data, start, end, slot);
+                }
+                int from = offsets[index];
+                int length = offsets[index + 1] - from;
+                if (length == end - start && Arrays.equals(bytes, from, from + length, data, start, end)) {
+                    return index;
+                }
+            }
+        }
+
+        private int add(byte[] data, int start, int end, int slot) {
+            int index = ids.size();
+            ids.add(new String(data, start, end - start, StandardCharsets.UTF_8));
+            if (bytesUsed + (end - start) > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, bytesUsed + (end - start)));
+            }
+            System.arraycopy(data, start, bytes, bytesUsed, end - start);
+            bytesUsed += end - start;
+            if (index + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[index + 1] = bytesUsed;
+            slots[slot] = index;
+            if (ids.size() * 2 > slots.length) {
+                rehash();
+            }
+            return index;
+        }
+
+        private void rehash() {
+            int[] table = filled(slots.length * 2);
+            int mask = table.length - 1;
+            for (int index = 0; index < ids.size(); index++) {
+                int hash = 1;
+                for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+                    hash = 31 * hash + bytes[i];
+                }
+                int slot = mix(hash) & mask;
+                while (table[slot] >= 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = index;
+            }
+            slots = table;
+        }
+
+        private static int mix(int hash) {
+            hash *= 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Parsed rows: employee index, day of the period and worked seconds.
+     */
+    private static final class RowBatch {
+        static final RowBatch END = new RowBatch();
+
+        final int[] employees = new int[BATCH_ROWS];
+        final int[] days = new int[BATCH_ROWS];
+        final int[] seconds = new int[BATCH_ROWS];
+        int size;
+    }
+
+    /**
+     * Worked seconds on each day of the period for one employee.
+     */
+    private static final class EmployeeDays {
+        static final EmployeeDays END = new EmployeeDays(-1, null);
+
+        final int employee;
+        final long[] seconds;
+
+        EmployeeDays(int employee, long[] seconds) {
+            this.employee = employee;
+            this.seconds = seconds;
+        }
+    }
+
+    /**
+     * Outcome of one {@link #ingest} call.
+     */
+    public static class Result {
+        private long rows;
+        private long rowsOutsidePeriod;
+        private long errorCount;
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> unknownEmployees = Collections.synchronizedList(new ArrayList<>());
+        private int payrolls;
+        private int salariedSkipped;
+        private double regularHours;
+        private double overtimeHours;
+        private double doubleTimeHours;
+
+        /**
+         * Gets the number of data rows read (not counting blank lines).
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        public long getRowsOutsidePeriod() {
+            return rowsOutsidePeriod;
+        }
+
+        /**
+         * Gets the number of rows skipped because they could not be read.
+         */
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        /**
+         * Gets the first problems found, as "Line N: reason".
+         */
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Gets IDs in the file that matched no employee; their time was not paid.
+         */
+        public List<String> getUnknownEmployees() {
+            return unknownEmployees;
+        }
+
+        public int getPayrolls() {
+            return payrolls;
+        }
+
+        /**
+         * Gets the number of salaried employees whose timesheets were ignored.
+         */
+        public int getSalariedSkipped() {
+            return salariedSkipped;
+        }
+
+        public double getRegularHours() {
+            return regularHours;
+        }
+
+        public double getOvertimeHours() {
+            return overtimeHours;
+        }
+
+        public double getDoubleTimeHours() {
+            return doubleTimeHours;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ui;
+
+/**
+ * A screen that is constructed once and kept by the {@link ViewRegistry}.
+ * Instead of being rebuilt on every navigation, the view is told when it is
+ * about to be shown again so it can bring its data up to date.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public interface CachedView {
+
+    /**
+     * Called each time a previously built view is shown again.
+     * Implementations should only reload what changed since they were last shown.
+     */
+    void onShow();
+}
@@ -0,0 +1,366 @@
+package ui;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.*;
+import service.LatencyHistogram;
+import service.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diagnostics screen showing live performance data: data store sizes, heap usage,
+ * last load/save times, operation latency percentiles, FX thread stalls and report
+ * cache hit rates.
+ *
+ * <p>While the screen is displayed, the figures are collected once a second on a
+ * background thread and handed to the FX thread in one update, so refreshing the
+ * dashboard does not itself slow the UI down. Collection stops when the screen is
+ * replaced.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class DiagnosticsView extends BorderPane implements CachedView {
+
+    private static final long REFRESH_INTERVAL_MS = 1000;
+    private static final int SHOWN_STALL_LOCATIONS = 10;
+
+    private final Runnable onBackToMenu;
+    private final Metrics metrics = Metrics.getInstance();
+    private ScheduledExecutorService refresher;
+
+    private Label employeesLabel;
+    private Label departmentsLabel;
+    private Label payrollsLabel;
+    private Label heapUsedLabel;
+    private Label heapMaxLabel;
+    private Label lastLoadLabel;
+    private Label lastEmployeeSaveLabel;
+    private Label lastPayrollSaveLabel;
+    private Label stallCountLabel;
+    private Label heartbeatLabel;
+    private Label cacheHitRateLabel;
+    private Label cacheSizeLabel;
+    private final ObservableList<LatencyRow> latencyRows = FXCollections.observableArrayList();
+    private final ObservableList<String> stallLines = FXCollections.observableArrayList();
+
+    /**
+     * Constructs the Diagnostics View.
+     *
+     * @param onBackToMenu Callback to execute when back button is clicked
+     */
+    public DiagnosticsView(Runnable onBackToMenu) {
+        this.onBackToMenu = onBackToMenu;
+        initializeUI();
+
+        // Only refresh while the screen is part of the scene
+        parentProperty().addListener((obs, oldParent, newParent) -> {
+            if (newParent != null) {
+                startRefreshing();
+            } else {
+                stopRefreshing();
+            }
+        });
+    }
+
+    /**
+     * Refreshes the figures straight away when the screen is shown again.
+     */
+    @Override
+    public void onShow() {
+        applySample(collectSample());
+    }
+
+    private void initializeUI() {
+        setPadding(new Insets(20));
+        getStyleClass().add("view-root");
+
+        // Header with back button, title and reset
+        HBox headerBox = new HBox(15);
+        headerBox.setAlignment(Pos.CENTER_LEFT);
+        headerBox.setPadding(new Insets(0, 0, 20, 0));
+
+        Label titleLabel = new Label("Diagnostics");
+        titleLabel.getStyleClass().add("view-title");
+
+        Button resetBtn = Theme.retroButton("Reset Metrics", "navy", "accent-hover");
+        resetBtn.setOnAction(e -> {
+            metrics.reset();
+            FxStallWatchdog.getInstance().reset();
+            applySample(collectSample());
+        });
+
+        headerBox.getChildren().addAll(Theme.backButton(onBackToMenu), titleLabel, resetBtn);
+        setTop(headerBox);
+
+        // Summary cards
+        employeesLabel = valueLabel();
+        departmentsLabel = valueLabel();
+        payrollsLabel = valueLabel();
+        heapUsedLabel = valueLabel();
+        heapMaxLabel = valueLabel();
+        lastLoadLabel = valueLabel();
+        lastEmployeeSaveLabel = valueLabel();
+        lastPayrollSaveLabel = valueLabel();
+        stallCountLabel = valueLabel();
+        heartbeatLabel = valueLabel();
+        cacheHitRateLabel = valueLabel();
+        cacheSizeLabel = valueLabel();
+
+        HBox cards = new HBox(15,
+                createCard("Data Store", "Employees", employeesLabel, "Departments", departmentsLabel,
+                        "Payrolls", payrollsLabel),
+                createCard("Memory", "Heap used", heapUsedLabel, "Heap max", heapMaxLabel),
+                createCard("Persistence", "Last load", lastLoadLabel, "Employees save", lastEmployeeSaveLabel,
+                        "Payrolls save", lastPayrollSaveLabel),
+                createCard("UI Thread", "Stalls", stallCountLabel, "Heartbeat p99", heartbeatLabel),
+                createCard("Report Cache", "Hit rate", cacheHitRateLabel, "Size", cacheSizeLabel));
+
+        // Operation latency table
+        TableView<LatencyRow> latencyTable = new TableView<>(latencyRows);
+        latencyTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        latencyTable.getColumns().add(column("Operation", "name", 260));
+        latencyTable.getColumns().add(column("Count", "count", 70));
+        latencyTable.getColumns().add(column("Last (ms)", "last", 80));
+        latencyTable.getColumns().add(column("Mean (ms)", "mean", 80));
+        latencyTable.getColumns().add(column("p50 (ms)", "p50", 80));
+        latencyTable.getColumns().add(column("p90 (ms)", "p90", 80));
+        latencyTable.getColumns().add(column("p99 (ms)", "p99", 80));
+        latencyTable.getColumns().add(column("Max (ms)", "max", 80));
+        latencyTable.setPlaceholder(new Label("No operations recorded yet"));
+
+        // Worst FX thread stall locations
+        ListView<String> stallList = new ListView<>(stallLines);
+        stallList.setPrefHeight(160);
+        stallList.setPlaceholder(new Label("No UI stalls recorded"));
+
+        Label latencyTitle = new Label("Operation Latency");
+        latencyTitle.getStyleClass().add("section-title");
+        Label stallTitle = new Label("UI Stalls by Location (over "
+                + FxStallWatchdog.getInstance().getThresholdMillis() + " ms)");
+        stallTitle.getStyleClass().add("section-title");
+
+        VBox centerBox = new VBox(12, cards, latencyTitle, latencyTable, stallTitle, stallList);
+        VBox.setVgrow(latencyTable, Priority.ALWAYS);
+        setCenter(centerBox);
+    }
+
+    private static Label valueLabel() {
+        Label label = new Label("-");
+        label.getStyleClass().add("value-label");
+        return label;
+    }
+
+    /**
+     * Creates a summary card from alternating caption strings and value labels.
+     */
+    private static VBox createCard(String title, Object... captionsAndValues) {
+        Label titleLabel = new Label(title);
+        titleLabel.getStyleClass().add("card-title");
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(6);
+        for (int i = 0; i < captionsAndValues.length; i += 2) {
+            Label caption = new Label((String) captionsAndValues[i] + ":");
+            caption.getStyleClass().add("row-text");
+            grid.add(caption, 0, i / 2);
+            grid.add((Label) captionsAndValues[i + 1], 1, i / 2);
+        }
+
+        VBox card = new VBox(10, titleLabel, grid);
+        card.getStyleClass().add("card");
+        card.setMinWidth(180);
+        HBox.setHgrow(card, Priority.ALWAYS);
+        return card;
+    }
+
+    private static TableColumn<LatencyRow, String> column(String title, String property, double width) {
+        TableColumn<LatencyRow, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(new PropertyValueFactory<>(property));
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    private synchronized void startRefreshing() {
+        if (refresher != null) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "diagnostics-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                Sample sample = collectSample();
+                Platform.runLater(() -> applySample(sample));
+            } catch (RuntimeException e) {
+                System.err.println("Error collecting diagnostics: " + e.getMessage());
+            }
+        }, 0, REFRESH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void stopRefreshing() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    /**
+     * Reads all figures. Safe to call from any thread: everything comes from
+     * thread-safe metrics, gauges and the runtime.
+     */
+    private Sample collectSample() {
+        Sample sample = new Sample();
+        sample.employees = metrics.getGaugeValue("dataManager.employees");
+        sample.departments = metrics.getGaugeValue("dataManager.departments");
+        sample.payrolls = metrics.getGaugeValue("dataManager.payrolls");
+
+        Runtime runtime = Runtime.getRuntime();
+        sample.heapUsed = runtime.totalMemory() - runtime.freeMemory();
+        sample.heapMax = runtime.maxMemory();
+
+        sample.lastLoadNanos = lastNanos("dataManager.loadAllData");
+        sample.lastEmployeeSaveNanos = lastNanos("dataManager.saveEmployees");
+        sample.lastPayrollSaveNanos = lastNanos("dataManager.savePayrolls");
+
+        Metrics.Counter stalls = metrics.getCounters().get("fx.stalls");
+        sample.stalls = stalls != null ? stalls.get() : 0;
+        LatencyHistogram heartbeat = metrics.getHistograms().get("fx.heartbeatLatency");
+        sample.heartbeatP99Nanos = heartbeat != null ? heartbeat.snapshot().getValueAtPercentile(99) : 0;
+
+        sample.cacheHitRate = metrics.getGaugeValue("reportCache.hitRate");
+        sample.cacheBytes = metrics.getGaugeValue("reportCache.bytes");
+
+        for (LatencyHistogram histogram : metrics.getHistograms().values()) {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            if (s.getCount() > 0) {
+                sample.latencies.add(new LatencyRow(s, histogram.getLastNanos()));
+            }
+        }
+
+        List<FxStallWatchdog.StallSummary> summaries = FxStallWatchdog.getInstance().getStallSummaries();
+        for (int i = 0; i < Math.min(SHOWN_STALL_LOCATIONS, summaries.size()); i++) {
+            FxStallWatchdog.StallSummary summary = summaries.get(i);
+            sample.stallLines.add(String.format("%4d x  total %,d ms  max %,d ms  at %s",
+                    summary.getCount(), summary.getTotalMillis(), summary.getMaxMillis(), summary.getLocation()));
+        }
+        return sample;
+    }
+
+    private long lastNanos(String histogramName) {
+        LatencyHistogram histogram = metrics.getHistograms().get(histogramName);
+        return histogram != null ? histogram.getLastNanos() : 0;
+    }
+
+    /**
+     * Shows a sample on screen. Must run on the FX thread.
+     */
+    private void applySample(Sample sample) {
+        employeesLabel.setText(formatCount(sample.employees));
+        departmentsLabel.setText(formatCount(sample.departments));
+        payrollsLabel.setText(formatCount(sample.payrolls));
+        heapUsedLabel.setText(formatBytes(sample.heapUsed));
+        heapMaxLabel.setText(formatBytes(sample.heapMax));
+        lastLoadLabel.setText(formatMillis(sample.lastLoadNanos));
+        lastEmployeeSaveLabel.setText(formatMillis(sample.lastEmployeeSaveNanos));
+        lastPayrollSaveLabel.setText(formatMillis(sample.lastPayrollSaveNanos));
+        stallCountLabel.setText(String.valueOf(sample.stalls));
+        heartbeatLabel.setText(formatMillis(sample.heartbeatP99Nanos));
+        cacheHitRateLabel.setText(Double.isNaN(sample.cacheHitRate)
+                ? "-" : String.format("%.1f%%", sample.cacheHitRate * 100));
+        cacheSizeLabel.setText(Double.isNaN(sample.cacheBytes) ? "-" : formatBytes((long) sample.cacheBytes));
+        latencyRows.setAll(sample.latencies);
+        stallLines.setAll(sample.stallLines);
+    }
+
+    private static String formatCount(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%,d", (long) value);
+    }
+
+    private static String formatBytes(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static String formatMillis(long nanos) {
+        return nanos == 0 ? "-" : String.format("%.2f ms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Figures collected in one refresh.
+     */
+    private static class Sample {
+        private double employees;
+        private double departments;
+        private double payrolls;
+        private long heapUsed;
+        private long heapMax;
+        private long lastLoadNanos;
+        private long lastEmployeeSaveNanos;
+        private long lastPayrollSaveNanos;
+        private long stalls;
+        private long heartbeatP99Nanos;
+        private double cacheHitRate;
+        private double cacheBytes;
+        private final List<LatencyRow> latencies = new ArrayList<>();
+        private final List<String> stallLines = new ArrayList<>();
+    }
+
+    /**
+     * One row of the latency table, with times already formatted in milliseconds.
+     */
+    public static class LatencyRow {
+        private final String name;
+        private final String count;
+        private final String last;
+        private final String mean;
+        private final String p50;
+        private final String p90;
+        private final String p99;
+        private final String max;
+
+        LatencyRow(LatencyHistogram.Snapshot s, long lastNanos) {
+            name = s.getName();
+            count = String.format("%,d", s.getCount());
+            last = millis(lastNanos);
+            mean = millis((long) s.getMeanNanos());
+            p50 = millis(s.getValueAtPercentile(50));
+            p90 = millis(s.getValueAtPercentile(90));
+            p99 = millis(s.getValueAtPercentile(99));
+            max = millis(s.getMaxNanos());
+        }
+
+        private static String millis(long nanos) {
+            return String.format("%.3f", nanos / 1_000_000.0);
+        }
+
+        public String getName() { return name; }
+
+        public String getCount() { return count; }
+
+        public String getLast() { return last; }
+
+        public String getMean() { return mean; }
+
+        public String getP50() { return p50; }
+
+        public String getP90() { return p90; }
+
+        public String getP99() { return p99; }
+
+        public String getMax() { return max; }
+    }
+}
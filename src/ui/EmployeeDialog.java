@@ -467,7 +467,8 @@ public class EmployeeDialog extends Dialog<Employee> {
             Employee emp;
 
             if (isEditMode) {
-                emp = employee;
+                // Edit a copy so the stored record (and any undo snapshot) stays unchanged
+                emp = new Employee(employee);
             } else {
                 emp = new Employee(
                         employeeIdField.getText().trim(),
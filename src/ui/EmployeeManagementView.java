@@ -10,6 +10,7 @@ import javafx.scene.layout.*;
 import model.Department;
 import model.Employee;
 import service.DataManager;
+import service.EditHistory;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -22,13 +23,17 @@ import java.util.Optional;
  * @version 1.0
  * @since 2025-11-24
  */
-public class EmployeeManagementView extends BorderPane {
+public class EmployeeManagementView extends BorderPane implements CachedView {
 
     private DataManager dataManager;
+    private EditHistory editHistory;
     private TableView<Employee> employeeTable;
     private ObservableList<Employee> employeeList;
     private TextField searchField;
     private Runnable onBackToMenu;
+    private long loadedEmployeesVersion = -1;
+    private Button undoBtn;
+    private Button redoBtn;
 
     /**
      * Constructs the Employee Management View with all UI components.
@@ -37,18 +42,30 @@ public class EmployeeManagementView extends BorderPane {
      */
     public EmployeeManagementView(Runnable onBackToMenu) {
         this.dataManager = DataManager.getInstance();
+        this.editHistory = new EditHistory(dataManager);
         this.onBackToMenu = onBackToMenu;
         initializeUI();
         refreshEmployeeList();
     }
 
+    /**
+     * Reloads the table only if employees changed while the view was hidden,
+     * keeping the current search filter.
+     */
+    @Override
+    public void onShow() {
+        if (dataManager.getEmployeesVersion() != loadedEmployeesVersion) {
+            filterEmployees(searchField.getText());
+        }
+    }
+
     /**
      * Initializes all UI components and layouts.
      */
     private void initializeUI() {
         // Set padding and styling
         setPadding(new Insets(20));
-        setStyle("-fx-background-color: #f5f5f5;");
+        getStyleClass().add("view-root");
 
         // Create top section with title and search
         VBox topSection = createTopSection();
@@ -76,36 +93,11 @@ public class EmployeeManagementView extends BorderPane {
         HBox headerBox = new HBox(15);
         headerBox.setAlignment(Pos.CENTER_LEFT);
 
-        Button backButton = new Button("← Back to Main Menu");
-        backButton.setStyle("-fx-background-color: #060047; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 15; " +
-                "-fx-background-radius: 8; -fx-border-color: #B3005E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-cursor: hand;");
-        backButton.setOnMouseEntered(e -> backButton.setStyle(
-                "-fx-background-color: #B3005E; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 15; " +
-                "-fx-background-radius: 8; -fx-border-color: #FF5F9E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-cursor: hand; " +
-                "-fx-effect: dropshadow(gaussian, #FF5F9E, 10, 0.7, 0, 0);"));
-        backButton.setOnMouseExited(e -> backButton.setStyle(
-                "-fx-background-color: #060047; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 15; " +
-                "-fx-background-radius: 8; -fx-border-color: #B3005E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-cursor: hand;"));
-        backButton.setOnAction(e -> {
-            if (onBackToMenu != null) {
-                onBackToMenu.run();
-            }
-        });
+        Button backButton = Theme.backButton(onBackToMenu);
 
         // Title with neon glow
         Label titleLabel = new Label("Employee Management");
-        titleLabel.setStyle("-fx-font-family: 'Arial', 'Segoe UI', sans-serif; " +
-                "-fx-font-size: 26px; -fx-font-weight: bold; -fx-font-style: normal; " +
-                "-fx-text-fill: #E90064; -fx-effect: dropshadow(gaussian, #FF5F9E, 8, 0.6, 0, 0);");
+        titleLabel.getStyleClass().add("view-title");
 
         headerBox.getChildren().addAll(backButton, titleLabel);
 
@@ -114,36 +106,19 @@ public class EmployeeManagementView extends BorderPane {
         searchBox.setAlignment(Pos.CENTER_LEFT);
 
         Label searchLabel = new Label("Search:");
-        searchLabel.setStyle("-fx-font-family: 'Arial', 'Segoe UI', sans-serif; " +
-                "-fx-font-size: 14px; -fx-text-fill: #B3005E; -fx-font-weight: bold; " +
-                "-fx-font-style: normal;");
+        searchLabel.getStyleClass().add("field-caption");
 
         searchField = new TextField();
         searchField.setPromptText("Search by name, ID, or email...");
         searchField.setPrefWidth(300);
-        searchField.setStyle("-fx-background-radius: 8; -fx-padding: 8; " +
-                "-fx-border-color: #B3005E; -fx-border-width: 2; -fx-border-radius: 8;");
+        searchField.getStyleClass().add("retro-field");
 
         // Add real-time search functionality
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
             filterEmployees(newValue);
         });
 
-        Button clearSearchBtn = new Button("Clear");
-        clearSearchBtn.setStyle("-fx-background-color: #B3005E; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-background-radius: 8; -fx-padding: 8 15; -fx-font-weight: bold; " +
-                "-fx-border-color: #E90064; -fx-border-width: 2; -fx-border-radius: 8;");
-        clearSearchBtn.setOnMouseEntered(e -> clearSearchBtn.setStyle(
-                "-fx-background-color: #E90064; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-background-radius: 8; -fx-padding: 8 15; -fx-font-weight: bold; " +
-                "-fx-border-color: #FF5F9E; -fx-border-width: 2; -fx-border-radius: 8;"));
-        clearSearchBtn.setOnMouseExited(e -> clearSearchBtn.setStyle(
-                "-fx-background-color: #B3005E; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-background-radius: 8; -fx-padding: 8 15; -fx-font-weight: bold; " +
-                "-fx-border-color: #E90064; -fx-border-width: 2; -fx-border-radius: 8;"));
+        Button clearSearchBtn = Theme.retroButton("Clear", "magenta", "compact", "accent-hover");
         clearSearchBtn.setOnAction(e -> {
             searchField.clear();
             refreshEmployeeList();
@@ -166,7 +141,7 @@ public class EmployeeManagementView extends BorderPane {
 
         employeeList = FXCollections.observableArrayList();
         employeeTable = new TableView<>(employeeList);
-        employeeTable.setStyle("-fx-background-color: white; -fx-background-radius: 5;");
+        employeeTable.getStyleClass().add("employee-table");
 
         // Employee ID column
         TableColumn<Employee, String> idCol = new TableColumn<>("Employee ID");
@@ -227,26 +202,33 @@ public class EmployeeManagementView extends BorderPane {
         buttonBox.setPrefWidth(150);
 
         // Add Employee button - bright pink
-        Button addBtn = createStyledButton("Add Employee", "#E90064");
+        Button addBtn = createStyledButton("Add Employee", "pink");
         addBtn.setOnAction(e -> showAddEmployeeDialog());
 
         // Edit Employee button - deep magenta
-        Button editBtn = createStyledButton("Edit Employee", "#B3005E");
+        Button editBtn = createStyledButton("Edit Employee", "magenta");
         editBtn.setOnAction(e -> showEditEmployeeDialog());
 
         // Delete Employee button - red (keep for danger)
-        Button deleteBtn = createStyledButton("Delete Employee", "#e74c3c");
+        Button deleteBtn = createStyledButton("Delete Employee", "danger");
         deleteBtn.setOnAction(e -> deleteEmployee());
 
         // View Details button - lighter pink
-        Button viewBtn = createStyledButton("View Details", "#FF5F9E");
+        Button viewBtn = createStyledButton("View Details", "light-pink");
         viewBtn.setOnAction(e -> showEmployeeDetails());
 
         // Refresh button - dark purple
-        Button refreshBtn = createStyledButton("Refresh", "#060047");
+        Button refreshBtn = createStyledButton("Refresh", "navy");
         refreshBtn.setOnAction(e -> refreshEmployeeList());
 
-        buttonBox.getChildren().addAll(addBtn, editBtn, deleteBtn, viewBtn, refreshBtn);
+        // Undo/Redo buttons - enabled while there is a step to take
+        undoBtn = createStyledButton("Undo", "navy");
+        undoBtn.setOnAction(e -> undoLastChange());
+        redoBtn = createStyledButton("Redo", "navy");
+        redoBtn.setOnAction(e -> redoLastChange());
+        updateUndoButtons();
+
+        buttonBox.getChildren().addAll(addBtn, editBtn, deleteBtn, viewBtn, refreshBtn, undoBtn, redoBtn);
 
         return buttonBox;
     }
@@ -254,44 +236,13 @@ public class EmployeeManagementView extends BorderPane {
     /**
      * Creates a styled button with retro neon appearance.
      *
-     * @param text  The button text
-     * @param color The background color in hex format
+     * @param text    The button text
+     * @param variant The colour variant style class from the theme stylesheet
      * @return Styled Button
      */
-    private Button createStyledButton(String text, String color) {
-        Button button = new Button(text);
+    private Button createStyledButton(String text, String variant) {
+        Button button = Theme.retroButton(text, variant);
         button.setMaxWidth(Double.MAX_VALUE);
-
-        // Determine glow color based on button color
-        String glowColor = color.equals("#e74c3c") ? "#FF5F9E" : "#E90064";
-
-        button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 10 20; " +
-                "-fx-background-radius: 8; -fx-cursor: hand; " +
-                "-fx-border-color: %s; -fx-border-width: 2; -fx-border-radius: 8; " +
-                "-fx-effect: dropshadow(gaussian, %s, 6, 0.5, 0, 0);",
-                color, glowColor, glowColor));
-
-        // Hover effect with neon glow
-        button.setOnMouseEntered(e -> button.setStyle(String.format(
-                "-fx-background-color: derive(%s, 20%%); -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 10 20; " +
-                "-fx-background-radius: 8; -fx-cursor: hand; " +
-                "-fx-border-color: #FF5F9E; -fx-border-width: 2; -fx-border-radius: 8; " +
-                "-fx-effect: dropshadow(gaussian, #FF5F9E, 12, 0.8, 0, 0);", color)));
-
-        button.setOnMouseExited(e -> button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 10 20; " +
-                "-fx-background-radius: 8; -fx-cursor: hand; " +
-                "-fx-border-color: %s; -fx-border-width: 2; -fx-border-radius: 8; " +
-                "-fx-effect: dropshadow(gaussian, %s, 6, 0.5, 0, 0);",
-                color, glowColor, glowColor)));
-
         return button;
     }
 
@@ -300,8 +251,8 @@ public class EmployeeManagementView extends BorderPane {
      */
     private void refreshEmployeeList() {
         try {
-            employeeList.clear();
-            employeeList.addAll(dataManager.getAllEmployees());
+            loadedEmployeesVersion = dataManager.getEmployeesVersion();
+            employeeList.setAll(dataManager.getAllEmployees());
         } catch (Exception e) {
             showErrorDialog("Error Loading Employees",
                     "Failed to load employee data from database.",
@@ -321,6 +272,7 @@ public class EmployeeManagementView extends BorderPane {
         }
 
         try {
+            loadedEmployeesVersion = dataManager.getEmployeesVersion();
             String lowerQuery = query.toLowerCase();
             ObservableList<Employee> filtered = FXCollections.observableArrayList();
 
@@ -352,7 +304,14 @@ public class EmployeeManagementView extends BorderPane {
 
         result.ifPresent(employee -> {
             try {
+                Employee existing = dataManager.getEmployee(employee.getEmployeeId());
                 dataManager.addEmployee(employee);
+                if (existing == null) {
+                    editHistory.recordAdd(employee);
+                } else {
+                    editHistory.recordEdit(existing, employee);
+                }
+                updateUndoButtons();
                 refreshEmployeeList();
                 showSuccessDialog("Employee Added",
                         "Employee " + employee.getFullName() + " has been added successfully.");
@@ -381,7 +340,14 @@ public class EmployeeManagementView extends BorderPane {
 
         result.ifPresent(employee -> {
             try {
+                Employee before = dataManager.getEmployee(employee.getEmployeeId());
                 dataManager.updateEmployee(employee);
+                if (before == null) {
+                    editHistory.recordAdd(employee);
+                } else {
+                    editHistory.recordEdit(before, employee);
+                }
+                updateUndoButtons();
                 refreshEmployeeList();
                 showSuccessDialog("Employee Updated",
                         "Employee " + employee.getFullName() + " has been updated successfully.");
@@ -409,13 +375,18 @@ public class EmployeeManagementView extends BorderPane {
         Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmAlert.setTitle("Confirm Deletion");
         confirmAlert.setHeaderText("Delete Employee: " + selected.getFullName());
-        confirmAlert.setContentText("Are you sure you want to delete this employee? This action cannot be undone.");
+        confirmAlert.setContentText("Are you sure you want to delete this employee? You can restore them with Undo.");
 
         Optional<ButtonType> result = confirmAlert.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
+                Employee before = dataManager.getEmployee(selected.getEmployeeId());
                 dataManager.deleteEmployee(selected.getEmployeeId());
+                if (before != null) {
+                    editHistory.recordDelete(before);
+                }
+                updateUndoButtons();
                 refreshEmployeeList();
                 showSuccessDialog("Employee Deleted",
                         "Employee " + selected.getFullName() + " has been deleted successfully.");
@@ -427,6 +398,54 @@ public class EmployeeManagementView extends BorderPane {
         }
     }
 
+    /**
+     * Reverses the last add, edit or delete made in this view.
+     */
+    private void undoLastChange() {
+        try {
+            String description = editHistory.undo();
+            updateUndoButtons();
+            filterEmployees(searchField.getText());
+            showSuccessDialog("Undone", "Undid: " + description);
+        } catch (Exception e) {
+            // A step that no longer applies has been dropped
+            updateUndoButtons();
+            filterEmployees(searchField.getText());
+            showErrorDialog("Error Undoing Change",
+                    "Failed to restore the previous employee data.",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Repeats the last undone change.
+     */
+    private void redoLastChange() {
+        try {
+            String description = editHistory.redo();
+            updateUndoButtons();
+            filterEmployees(searchField.getText());
+            showSuccessDialog("Redone", "Redid: " + description);
+        } catch (Exception e) {
+            // A step that no longer applies has been dropped
+            updateUndoButtons();
+            filterEmployees(searchField.getText());
+            showErrorDialog("Error Redoing Change",
+                    "Failed to reapply the employee change.",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Enables the Undo/Redo buttons only when there is a step, and names it in the tooltip.
+     */
+    private void updateUndoButtons() {
+        undoBtn.setDisable(!editHistory.canUndo());
+        redoBtn.setDisable(!editHistory.canRedo());
+        undoBtn.setTooltip(editHistory.canUndo() ? new Tooltip("Undo: " + editHistory.getUndoDescription()) : null);
+        redoBtn.setTooltip(editHistory.canRedo() ? new Tooltip("Redo: " + editHistory.getRedoDescription()) : null);
+    }
+
     /**
      * Shows detailed information about the selected employee.
      */
@@ -0,0 +1,248 @@
+package ui;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import service.LatencyHistogram;
+import service.Metrics;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the JavaFX Application Thread for stalls.
+ *
+ * <p>A background thread keeps one heartbeat queued on the FX thread with
+ * {@code Platform.runLater} and measures how long it waits to run. If a heartbeat
+ * has waited longer than the stall threshold, the FX thread's stack is captured
+ * while it is still blocked, so it shows the code that is holding up the UI.
+ * When the heartbeat finally runs, the stall is logged and added to per-location
+ * totals. Layout/CSS pulse time is measured with scene pulse listeners.</p>
+ *
+ * <p>The threshold defaults to 200 ms and can be changed with the
+ * {@code fx.stallThresholdMs} system property.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class FxStallWatchdog {
+
+    private static final long CHECK_INTERVAL_MS = 50;
+    private static final int LOGGED_FRAMES = 15;
+
+    private static final LatencyHistogram HEARTBEAT_LATENCY = Metrics.getInstance().histogram("fx.heartbeatLatency");
+    private static final LatencyHistogram PULSE_TIME = Metrics.getInstance().histogram("fx.pulseLayoutTime");
+    private static final Metrics.Counter STALLS = Metrics.getInstance().counter("fx.stalls");
+
+    private static FxStallWatchdog instance;
+
+    private final long thresholdNanos;
+    private final Map<String, StallSummary> summaries = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+    private volatile Thread fxThread;
+    private volatile long heartbeatPostedAt;
+    private volatile StackTraceElement[] stallStack;
+    private long pulseStart;
+
+    private FxStallWatchdog(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    /**
+     * Get the shared watchdog
+     */
+    public static synchronized FxStallWatchdog getInstance() {
+        if (instance == null) {
+            instance = new FxStallWatchdog(Long.getLong("fx.stallThresholdMs", 200L));
+        }
+        return instance;
+    }
+
+    /**
+     * Starts watching. Must be called on the FX thread.
+     *
+     * @param scene Scene whose layout pulses are timed
+     */
+    public synchronized void start(Scene scene) {
+        if (scheduler != null) {
+            return;
+        }
+        fxThread = Thread.currentThread();
+        scene.addPreLayoutPulseListener(() -> pulseStart = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> PULSE_TIME.record(System.nanoTime() - pulseStart));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "fx-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::check, CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops watching.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    /**
+     * Runs on the watchdog thread: queues a heartbeat if none is waiting, or
+     * captures the FX thread's stack once the waiting heartbeat is overdue.
+     */
+    private void check() {
+        long now = System.nanoTime();
+        long postedAt = heartbeatPostedAt;
+        if (postedAt == 0) {
+            heartbeatPostedAt = now;
+            Platform.runLater(this::heartbeat);
+        } else if (now - postedAt >= thresholdNanos && stallStack == null && fxThread != null) {
+            stallStack = fxThread.getStackTrace();
+        }
+    }
+
+    /**
+     * Runs on the FX thread when the queued heartbeat gets its turn.
+     */
+    private void heartbeat() {
+        long latency = System.nanoTime() - heartbeatPostedAt;
+        HEARTBEAT_LATENCY.record(latency);
+        if (latency >= thresholdNanos) {
+            recordStall(TimeUnit.NANOSECONDS.toMillis(latency), stallStack);
+        }
+        stallStack = null;
+        heartbeatPostedAt = 0;
+    }
+
+    private void recordStall(long millis, StackTraceElement[] stack) {
+        STALLS.increment();
+        String location = findLocation(stack);
+        synchronized (summaries) {
+            summaries.computeIfAbsent(location, StallSummary::new).add(millis, stack);
+        }
+
+        StringBuilder message = new StringBuilder("FX thread stalled for ")
+                .append(millis).append(" ms at ").append(location);
+        if (stack != null) {
+            for (int i = 0; i < Math.min(LOGGED_FRAMES, stack.length); i++) {
+                message.append(System.lineSeparator()).append("\tat ").append(stack[i]);
+            }
+        }
+        System.err.println(message);
+    }
+
+    /**
+     * Finds the first application frame in a stack (skipping JDK and JavaFX frames).
+     */
+    private static String findLocation(StackTraceElement[] stack) {
+        if (stack == null || stack.length == 0) {
+            return "(stack not captured)";
+        }
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (!className.startsWith("java.") && !className.startsWith("javafx.")
+                    && !className.startsWith("com.sun.") && !className.startsWith("jdk.")
+                    && !className.startsWith("sun.") && !className.equals(FxStallWatchdog.class.getName())) {
+                return frame.toString();
+            }
+        }
+        return stack[0].toString();
+    }
+
+    /**
+     * Gets the stalls seen so far, grouped by location, worst total time first.
+     */
+    public List<StallSummary> getStallSummaries() {
+        List<StallSummary> copy = new ArrayList<>();
+        synchronized (summaries) {
+            for (StallSummary summary : summaries.values()) {
+                copy.add(summary.copy());
+            }
+        }
+        copy.sort(Comparator.comparingLong(StallSummary::getTotalMillis).reversed());
+        return copy;
+    }
+
+    /**
+     * Clears the stall totals.
+     */
+    public void reset() {
+        synchronized (summaries) {
+            summaries.clear();
+        }
+    }
+
+    /**
+     * Writes the stall totals, with the stack of the longest stall at each location.
+     */
+    public void dump(PrintWriter out) {
+        out.println("# FX thread stalls over " + getThresholdMillis() + " ms");
+        for (StallSummary summary : getStallSummaries()) {
+            out.printf("%n%s%n  count=%d total=%d ms max=%d ms%n", summary.getLocation(),
+                    summary.getCount(), summary.getTotalMillis(), summary.getMaxMillis());
+            StackTraceElement[] stack = summary.getWorstStack();
+            if (stack != null) {
+                for (StackTraceElement frame : stack) {
+                    out.println("    at " + frame);
+                }
+            }
+        }
+    }
+
+    /**
+     * Totals for stalls at one code location.
+     */
+    public static class StallSummary {
+        private final String location;
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+        private StackTraceElement[] worstStack;
+
+        StallSummary(String location) {
+            this.location = location;
+        }
+
+        void add(long millis, StackTraceElement[] stack) {
+            count++;
+            totalMillis += millis;
+            if (millis >= maxMillis) {
+                maxMillis = millis;
+                worstStack = stack;
+            }
+        }
+
+        StallSummary copy() {
+            StallSummary copy = new StallSummary(location);
+            copy.count = count;
+            copy.totalMillis = totalMillis;
+            copy.maxMillis = maxMillis;
+            copy.worstStack = worstStack;
+            return copy;
+        }
+
+        public String getLocation() { return location; }
+
+        public long getCount() { return count; }
+
+        public long getTotalMillis() { return totalMillis; }
+
+        public long getMaxMillis() { return maxMillis; }
+
+        public StackTraceElement[] getWorstStack() { return worstStack; }
+    }
+}
@@ -1,16 +1,24 @@
 package ui;
 
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
+import javafx.stage.FileChooser;
 import model.Employee;
 import model.Payroll;
 import service.DataManager;
+import service.PayCalendar;
 import service.PayrollCalculator;
+import service.TimesheetIngester;
 
+import java.io.File;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,10 +29,12 @@ import java.util.Optional;
  * @version 1.0
  * @since 2025-11-24
  */
-public class PayrollProcessingView extends BorderPane {
+public class PayrollProcessingView extends BorderPane implements CachedView {
 
     private DataManager dataManager;
     private Runnable onBackToMenu;
+    private long loadedEmployeesVersion = -1;
+    private Task<List<Payroll>> timesheetTask;
 
     // Form fields
     private ComboBox<Employee> employeeCombo;
@@ -42,6 +52,9 @@ public class PayrollProcessingView extends BorderPane {
     private Label totalDeductionsLabel;
     private Label netPayLabel;
 
+    // Reused for every preview calculation (remembers the last inputs)
+    private final PayrollCalculator.PayrollPreview preview = new PayrollCalculator.PayrollPreview();
+
     // Error labels
     private Label employeeError;
     private Label hoursError;
@@ -59,48 +72,41 @@ public class PayrollProcessingView extends BorderPane {
         initializeUI();
     }
 
+    /**
+     * Reloads the employee list only if employees changed while the view was hidden.
+     * The current selection is kept when that employee is still active.
+     */
+    @Override
+    public void onShow() {
+        if (dataManager.getEmployeesVersion() != loadedEmployeesVersion) {
+            Employee selected = employeeCombo.getValue();
+            loadEmployees();
+            if (selected != null && employeeCombo.getItems().contains(selected)) {
+                employeeCombo.setValue(selected);
+            } else {
+                employeeCombo.setValue(null);
+                resetPreview();
+            }
+        }
+    }
+
     /**
      * Initializes all UI components and layouts.
      */
     private void initializeUI() {
         setPadding(new Insets(20));
-        setStyle("-fx-background-color: #f5f5f5;");
+        getStyleClass().add("view-root");
 
         // Top section with back button and title
         HBox headerBox = new HBox(15);
         headerBox.setAlignment(Pos.CENTER_LEFT);
         headerBox.setPadding(new Insets(0, 0, 20, 0));
 
-        Button backButton = new Button("← Back to Main Menu");
-        backButton.setStyle("-fx-background-color: #060047; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 15; " +
-                "-fx-background-radius: 8; -fx-border-color: #B3005E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-cursor: hand;");
-        backButton.setOnMouseEntered(e -> backButton.setStyle(
-                "-fx-background-color: #B3005E; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 15; " +
-                "-fx-background-radius: 8; -fx-border-color: #FF5F9E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-cursor: hand; " +
-                "-fx-effect: dropshadow(gaussian, #FF5F9E, 10, 0.7, 0, 0);"));
-        backButton.setOnMouseExited(e -> backButton.setStyle(
-                "-fx-background-color: #060047; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 15; " +
-                "-fx-background-radius: 8; -fx-border-color: #B3005E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-cursor: hand;"));
-        backButton.setOnAction(e -> {
-            if (onBackToMenu != null) {
-                onBackToMenu.run();
-            }
-        });
+        Button backButton = Theme.backButton(onBackToMenu);
 
         // Title with neon glow
         Label titleLabel = new Label("Payroll Processing");
-        titleLabel.setStyle("-fx-font-family: 'Arial', 'Segoe UI', sans-serif; " +
-                "-fx-font-size: 26px; -fx-font-weight: bold; -fx-font-style: normal; " +
-                "-fx-text-fill: #E90064; -fx-effect: dropshadow(gaussian, #FF5F9E, 8, 0.6, 0, 0);");
+        titleLabel.getStyleClass().add("view-title");
 
         headerBox.getChildren().addAll(backButton, titleLabel);
         setTop(headerBox);
@@ -128,10 +134,10 @@ public class PayrollProcessingView extends BorderPane {
      */
     private VBox createInputForm() {
         VBox formBox = new VBox(15);
-        formBox.setStyle("-fx-background-color: white; -fx-background-radius: 10; -fx-padding: 25;");
+        formBox.getStyleClass().addAll("card", "roomy");
 
         Label formTitle = new Label("Payroll Information");
-        formTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
+        formTitle.getStyleClass().add("card-title");
 
         GridPane grid = new GridPane();
         grid.setHgap(15);
@@ -141,7 +147,7 @@ public class PayrollProcessingView extends BorderPane {
 
         // Employee selection
         Label employeeLabel = new Label("Select Employee:*");
-        employeeLabel.setStyle("-fx-font-weight: bold;");
+        employeeLabel.getStyleClass().add("bold-label");
         employeeCombo = new ComboBox<>();
         employeeCombo.setPromptText("Choose an employee...");
         employeeCombo.setMaxWidth(Double.MAX_VALUE);
@@ -157,9 +163,10 @@ public class PayrollProcessingView extends BorderPane {
 
         // Pay period start
         Label startLabel = new Label("Pay Period Start:*");
-        startLabel.setStyle("-fx-font-weight: bold;");
+        startLabel.getStyleClass().add("bold-label");
+        PayCalendar.Period currentPeriod = PayCalendar.getInstance().getSchedule(null).getPeriod(LocalDate.now());
         payPeriodStartPicker = new DatePicker();
-        payPeriodStartPicker.setValue(LocalDate.now().minusDays(14));
+        payPeriodStartPicker.setValue(currentPeriod.getStart());
         payPeriodStartPicker.setMaxWidth(Double.MAX_VALUE);
 
         grid.add(startLabel, 0, row);
@@ -168,9 +175,9 @@ public class PayrollProcessingView extends BorderPane {
 
         // Pay period end
         Label endLabel = new Label("Pay Period End:*");
-        endLabel.setStyle("-fx-font-weight: bold;");
+        endLabel.getStyleClass().add("bold-label");
         payPeriodEndPicker = new DatePicker();
-        payPeriodEndPicker.setValue(LocalDate.now());
+        payPeriodEndPicker.setValue(currentPeriod.getEnd());
         payPeriodEndPicker.setMaxWidth(Double.MAX_VALUE);
 
         dateError = createErrorLabel();
@@ -182,7 +189,7 @@ public class PayrollProcessingView extends BorderPane {
 
         // Regular hours
         Label regularHoursLabel = new Label("Regular Hours:*");
-        regularHoursLabel.setStyle("-fx-font-weight: bold;");
+        regularHoursLabel.getStyleClass().add("bold-label");
         regularHoursField = new TextField();
         regularHoursField.setPromptText("e.g., 80");
         regularHoursField.textProperty().addListener((obs, old, newVal) -> calculatePreview());
@@ -193,7 +200,7 @@ public class PayrollProcessingView extends BorderPane {
 
         // Overtime hours
         Label overtimeHoursLabel = new Label("Overtime Hours:");
-        overtimeHoursLabel.setStyle("-fx-font-weight: bold;");
+        overtimeHoursLabel.getStyleClass().add("bold-label");
         overtimeHoursField = new TextField();
         overtimeHoursField.setPromptText("e.g., 5");
         overtimeHoursField.setText("0");
@@ -208,7 +215,7 @@ public class PayrollProcessingView extends BorderPane {
 
         // Bonus
         Label bonusLabel = new Label("Bonus:");
-        bonusLabel.setStyle("-fx-font-weight: bold;");
+        bonusLabel.getStyleClass().add("bold-label");
         bonusField = new TextField();
         bonusField.setPromptText("e.g., 500.00");
         bonusField.setText("0");
@@ -226,20 +233,23 @@ public class PayrollProcessingView extends BorderPane {
         buttonBox.setAlignment(Pos.CENTER);
         buttonBox.setPadding(new Insets(20, 0, 0, 0));
 
-        Button calculateBtn = createRetroButton("Calculate", "#B3005E", "#E90064");
+        Button calculateBtn = createRetroButton("Calculate", "magenta");
         calculateBtn.setOnAction(e -> calculatePreview());
 
-        Button processBtn = createRetroButton("Process & Save Payroll", "#E90064", "#FF5F9E");
+        Button processBtn = createRetroButton("Process & Save Payroll", "pink");
         processBtn.setOnAction(e -> processPayroll());
 
-        Button clearBtn = createRetroButton("Clear", "#060047", "#B3005E");
+        Button clearBtn = createRetroButton("Clear", "navy");
         clearBtn.setOnAction(e -> clearForm());
 
-        buttonBox.getChildren().addAll(calculateBtn, processBtn, clearBtn);
+        Button timesheetsBtn = createRetroButton("Import Timesheets", "magenta");
+        timesheetsBtn.setOnAction(e -> importTimesheets());
+
+        buttonBox.getChildren().addAll(calculateBtn, processBtn, timesheetsBtn, clearBtn);
 
         // Required fields note
         Label requiredNote = new Label("* Required fields");
-        requiredNote.setStyle("-fx-font-size: 11px; -fx-text-fill: #e74c3c; -fx-font-weight: bold;");
+        requiredNote.getStyleClass().add("required-note");
 
         formBox.getChildren().addAll(formTitle, grid, buttonBox, requiredNote);
 
@@ -253,10 +263,10 @@ public class PayrollProcessingView extends BorderPane {
      */
     private VBox createPreviewPanel() {
         VBox previewBox = new VBox(15);
-        previewBox.setStyle("-fx-background-color: white; -fx-background-radius: 10; -fx-padding: 25;");
+        previewBox.getStyleClass().addAll("card", "roomy");
 
         Label previewTitle = new Label("Payroll Preview");
-        previewTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
+        previewTitle.getStyleClass().add("card-title");
 
         // Earnings section
         VBox earningsBox = createSection("Earnings");
@@ -282,17 +292,13 @@ public class PayrollProcessingView extends BorderPane {
 
         // Net pay section with retro glow
         VBox netPayBox = new VBox(10);
-        netPayBox.setStyle("-fx-background-color: linear-gradient(to bottom, #E90064, #B3005E); " +
-                "-fx-background-radius: 8; -fx-padding: 15; " +
-                "-fx-effect: dropshadow(gaussian, #FF5F9E, 12, 0.7, 0, 0); " +
-                "-fx-border-color: #FF5F9E; -fx-border-width: 2; -fx-border-radius: 8;");
+        netPayBox.getStyleClass().add("net-pay-box");
 
         Label netPayTitleLabel = new Label("NET PAY");
-        netPayTitleLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
+        netPayTitleLabel.getStyleClass().add("net-pay-title");
 
         netPayLabel = new Label("$0.00");
-        netPayLabel.setStyle("-fx-font-size: 28px; -fx-font-weight: bold; -fx-text-fill: white; " +
-                "-fx-effect: dropshadow(gaussian, #060047, 4, 0.8, 0, 0);");
+        netPayLabel.getStyleClass().add("net-pay-value");
 
         netPayBox.getChildren().addAll(netPayTitleLabel, netPayLabel);
         netPayBox.setAlignment(Pos.CENTER);
@@ -308,7 +314,7 @@ public class PayrollProcessingView extends BorderPane {
     private VBox createSection(String title) {
         VBox section = new VBox(10);
         Label sectionLabel = new Label(title);
-        sectionLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: #34495e;");
+        sectionLabel.getStyleClass().add("section-title");
         section.getChildren().add(sectionLabel);
         return section;
     }
@@ -321,13 +327,11 @@ public class PayrollProcessingView extends BorderPane {
         row.setAlignment(Pos.CENTER_LEFT);
 
         Label textLabel = new Label(label);
-        textLabel.setStyle("-fx-font-size: 13px;");
+        textLabel.getStyleClass().add("row-text");
 
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
-        valueLabel.setStyle("-fx-font-size: 13px; -fx-font-weight: bold;");
-
         row.getChildren().addAll(textLabel, spacer, valueLabel);
         return row;
     }
@@ -337,7 +341,7 @@ public class PayrollProcessingView extends BorderPane {
      */
     private Label createValueLabel(String initialValue) {
         Label label = new Label(initialValue);
-        label.setStyle("-fx-font-size: 13px; -fx-font-weight: bold;");
+        label.getStyleClass().add("value-label");
         return label;
     }
 
@@ -346,7 +350,7 @@ public class PayrollProcessingView extends BorderPane {
      */
     private Label createErrorLabel() {
         Label label = new Label();
-        label.setStyle("-fx-text-fill: #e74c3c; -fx-font-size: 11px;");
+        label.getStyleClass().add("error-label");
         label.setVisible(false);
         label.setWrapText(true);
         return label;
@@ -357,6 +361,7 @@ public class PayrollProcessingView extends BorderPane {
      */
     private void loadEmployees() {
         try {
+            loadedEmployeesVersion = dataManager.getEmployeesVersion();
             employeeCombo.getItems().clear();
             for (Employee emp : dataManager.getAllEmployees()) {
                 if (emp.getStatus() == Employee.EmployeeStatus.ACTIVE) {
@@ -376,6 +381,9 @@ public class PayrollProcessingView extends BorderPane {
     private void onEmployeeSelected() {
         Employee selected = employeeCombo.getValue();
         if (selected != null) {
+            // Show the current period of the employee's pay schedule
+            showPayPeriod(selected.getEmploymentType());
+
             // Pre-fill regular hours based on employment type
             if (selected.getEmploymentType() == Employee.EmploymentType.FULL_TIME) {
                 regularHoursField.setText("80"); // 2 weeks * 40 hours
@@ -386,6 +394,17 @@ public class PayrollProcessingView extends BorderPane {
         }
     }
 
+    /**
+     * Sets the pay period pickers to today's period in a pay schedule.
+     *
+     * @param type Employment type whose schedule to use; null for the default schedule
+     */
+    private void showPayPeriod(Employee.EmploymentType type) {
+        PayCalendar.Period period = PayCalendar.getInstance().getSchedule(type).getPeriod(LocalDate.now());
+        payPeriodStartPicker.setValue(period.getStart());
+        payPeriodEndPicker.setValue(period.getEnd());
+    }
+
     /**
      * Calculates and updates the payroll preview in real-time.
      */
@@ -404,26 +423,14 @@ public class PayrollProcessingView extends BorderPane {
             double overtimeHours = parseDouble(overtimeHoursField.getText(), 0);
             double bonus = parseDouble(bonusField.getText(), 0);
 
-            // Calculate payroll
-            Payroll payroll;
-            if (employee.getEmploymentType() == Employee.EmploymentType.FULL_TIME ||
-                employee.getEmploymentType() == Employee.EmploymentType.CONTRACT) {
-                payroll = PayrollCalculator.calculateSalariedPayroll(
-                        employee, bonus,
-                        payPeriodStartPicker.getValue(),
-                        payPeriodEndPicker.getValue()
-                );
-            } else {
-                payroll = PayrollCalculator.calculateHourlyPayroll(
-                        employee, regularHours, overtimeHours, bonus,
-                        payPeriodStartPicker.getValue(),
-                        payPeriodEndPicker.getValue()
-                );
+            // Calculate preview amounts (skipped when the inputs have not changed)
+            boolean salaried = employee.getEmploymentType() == Employee.EmploymentType.FULL_TIME ||
+                    employee.getEmploymentType() == Employee.EmploymentType.CONTRACT;
+            if (PayrollCalculator.calculatePreview(employee, salaried,
+                    regularHours, overtimeHours, bonus, preview)) {
+                updatePreview();
             }
 
-            // Update preview
-            updatePreview(payroll);
-
         } catch (NumberFormatException e) {
             // Invalid number format - reset preview
             resetPreview();
@@ -436,21 +443,40 @@ public class PayrollProcessingView extends BorderPane {
     }
 
     /**
-     * Updates the preview panel with calculated payroll values.
+     * Updates the preview panel with the calculated preview values.
+     */
+    private void updatePreview() {
+        grossPayLabel.setText(formatMoney(preview.getGrossPay()));
+        federalTaxLabel.setText(formatMoney(preview.getFederalTax()));
+        eiLabel.setText(formatMoney(preview.getEi()));
+        cppLabel.setText(formatMoney(preview.getCpp()));
+        totalDeductionsLabel.setText(formatMoney(preview.getTotalDeductions()));
+        netPayLabel.setText(formatMoney(preview.getNetPay()));
+    }
+
+    /**
+     * Formats an amount as $0.00 without going through String.format.
      */
-    private void updatePreview(Payroll payroll) {
-        grossPayLabel.setText(String.format("$%.2f", payroll.getGrossPay()));
-        federalTaxLabel.setText(String.format("$%.2f", payroll.getFederalTax()));
-        eiLabel.setText(String.format("$%.2f", payroll.getStateTax()));              // EI stored in stateTax field
-        cppLabel.setText(String.format("$%.2f", payroll.getSocialSecurity()));       // CPP stored in socialSecurity field
-        totalDeductionsLabel.setText(String.format("$%.2f", payroll.getTotalDeductions()));
-        netPayLabel.setText(String.format("$%.2f", payroll.getNetPay()));
+    private static String formatMoney(double amount) {
+        long cents = Math.round(amount * 100.0);
+        StringBuilder text = new StringBuilder(16);
+        if (cents < 0) {
+            text.append('-');
+            cents = -cents;
+        }
+        long remainder = cents % 100;
+        text.append('$').append(cents / 100).append('.');
+        if (remainder < 10) {
+            text.append('0');
+        }
+        return text.append(remainder).toString();
     }
 
     /**
      * Resets the preview to zero values.
      */
     private void resetPreview() {
+        preview.reset();
         grossPayLabel.setText("$0.00");
         federalTaxLabel.setText("$0.00");
         eiLabel.setText("$0.00");
@@ -508,6 +534,85 @@ public class PayrollProcessingView extends BorderPane {
         }
     }
 
+    /**
+     * Pays hourly employees for the pay period from a timesheet or punch-clock CSV file.
+     * The file is read on a background thread; the payrolls are saved when it finishes.
+     */
+    private void importTimesheets() {
+        if (timesheetTask != null && timesheetTask.isRunning()) {
+            showError("Import In Progress",
+                    "Timesheets are already being imported.",
+                    "Wait for the current import to finish.");
+            return;
+        }
+        clearErrorMessages();
+        LocalDate start = payPeriodStartPicker.getValue();
+        LocalDate end = payPeriodEndPicker.getValue();
+        if (start == null || end == null) {
+            showErrorLabel(dateError, "Both dates are required");
+            return;
+        } else if (end.isBefore(start)) {
+            showErrorLabel(dateError, "End date must be after start date");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Timesheets");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = fileChooser.showOpenDialog(this.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        // Look the employees up here on the FX thread; the import only reads the copies
+        Map<String, Employee> employees = TimesheetIngester.employeesById(dataManager.getAllEmployees());
+        TimesheetIngester ingester = new TimesheetIngester(start, end);
+        TimesheetIngester.Result[] result = new TimesheetIngester.Result[1];
+        Task<List<Payroll>> task = new Task<List<Payroll>>() {
+            @Override
+            protected List<Payroll> call() throws Exception {
+                List<Payroll> payrolls = new ArrayList<>();
+                result[0] = ingester.ingest(file.toPath(), employees, payrolls::add);
+                return payrolls;
+            }
+        };
+        task.setOnSucceeded(e -> {
+            List<Payroll> payrolls = task.getValue();
+            int alreadyPaid = ingester.removeAlreadyPaid(payrolls, dataManager);
+            if (!payrolls.isEmpty()) {
+                dataManager.addPayrolls(payrolls);
+            }
+            TimesheetIngester.Result summary = result[0];
+            StringBuilder details = new StringBuilder(String.format(
+                    "Rows read: %,d (%,d outside the pay period)%nPayrolls saved: %d%n"
+                            + "Regular hours: %.2f%nOvertime hours: %.2f%nDouble-time hours: %.2f",
+                    summary.getRows(), summary.getRowsOutsidePeriod(), payrolls.size(),
+                    summary.getRegularHours(), summary.getOvertimeHours(), summary.getDoubleTimeHours()));
+            if (alreadyPaid > 0) {
+                details.append(String.format("%n%nNot saved: %d employees already paid for this period",
+                        alreadyPaid));
+            }
+            if (summary.getErrorCount() > 0) {
+                details.append(String.format("%n%nSkipped %,d invalid rows, first: %s",
+                        summary.getErrorCount(), summary.getErrors().get(0)));
+            }
+            if (!summary.getUnknownEmployees().isEmpty()) {
+                details.append("\nUnknown employees (not paid): ")
+                        .append(String.join(", ", summary.getUnknownEmployees()));
+            }
+            showSuccess("Timesheets Imported", details.toString());
+        });
+        task.setOnFailed(e -> showError("Import Error",
+                "Failed to import timesheets.",
+                task.getException() != null ? task.getException().getMessage() : null));
+        timesheetTask = task;
+
+        Thread thread = new Thread(task, "timesheet-import");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     /**
      * Validates all form inputs.
      *
@@ -594,8 +699,7 @@ public class PayrollProcessingView extends BorderPane {
      */
     private void clearForm() {
         employeeCombo.setValue(null);
-        payPeriodStartPicker.setValue(LocalDate.now().minusDays(14));
-        payPeriodEndPicker.setValue(LocalDate.now());
+        showPayPeriod(null);
         regularHoursField.clear();
         overtimeHoursField.setText("0");
         bonusField.setText("0");
@@ -642,38 +746,13 @@ public class PayrollProcessingView extends BorderPane {
     /**
      * Creates a retro-styled button with neon colors.
      *
-     * @param text       The button text
-     * @param bgColor    The background color
-     * @param hoverColor The hover color
+     * @param text    The button text
+     * @param variant The colour variant style class from the theme stylesheet
      * @return Styled Button with retro neon appearance
      */
-    private Button createRetroButton(String text, String bgColor, String hoverColor) {
-        Button button = new Button(text);
+    private Button createRetroButton(String text, String variant) {
+        Button button = Theme.retroButton(text, variant, "accent-hover");
         button.setMinWidth(Button.USE_PREF_SIZE); // Allow button to grow to fit text
-        button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 10 20; " +
-                "-fx-background-radius: 8; -fx-border-color: %s; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-effect: dropshadow(gaussian, %s, 8, 0.6, 0, 0);",
-                bgColor, hoverColor, hoverColor));
-
-        button.setOnMouseEntered(e -> button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 10 20; " +
-                "-fx-background-radius: 8; -fx-border-color: #FF5F9E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-effect: dropshadow(gaussian, #FF5F9E, 15, 0.8, 0, 0);",
-                hoverColor)));
-
-        button.setOnMouseExited(e -> button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 10 20; " +
-                "-fx-background-radius: 8; -fx-border-color: %s; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-effect: dropshadow(gaussian, %s, 8, 0.6, 0, 0);",
-                bgColor, hoverColor, hoverColor)));
-
         return button;
     }
 }
@@ -1,23 +1,33 @@
 package ui;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 import javafx.stage.FileChooser;
-import model.Employee;
-import model.Payroll;
+import service.CsvExporter;
 import service.DataManager;
-import service.PayrollCalculator;
+import service.LatencyHistogram;
+import service.Metrics;
+import service.ReportCache;
+import service.ReportGenerationEvent;
+import service.ReportGenerator;
+import service.ReportType;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 /**
  * Report View for generating and displaying employee and payroll reports.
@@ -27,13 +37,31 @@ import java.util.List;
  * @version 1.0
  * @since 2025-11-24
  */
-public class ReportView extends BorderPane {
+public class ReportView extends BorderPane implements CachedView {
+
+    // Lines are pushed to the viewer in batches so the FX thread is not flooded
+    private static final int LINE_BATCH_SIZE = 2000;
+    private static final long FLUSH_INTERVAL_NANOS = 50_000_000L;
+
+    // Time from requesting a report until all of its lines are in the viewer
+    private static final LatencyHistogram REPORT_DISPLAY_TIME =
+            Metrics.getInstance().histogram("reportView.displayReport");
+    private static final LatencyHistogram CSV_EXPORT_TIME =
+            Metrics.getInstance().histogram("reportView.exportCsv");
+    private static final Metrics.Counter REPORT_CACHE_HITS = Metrics.getInstance().counter("reportView.cacheHits");
+    private static final Metrics.Counter REPORT_CACHE_MISSES = Metrics.getInstance().counter("reportView.cacheMisses");
 
     private DataManager dataManager;
-    private ComboBox<String> reportTypeCombo;
-    private TextArea reportTextArea;
+    private ComboBox<ReportType> reportTypeCombo;
+    private ListView<String> reportListView;
+    private ObservableList<String> reportLines;
+    private Task<Void> reportTask;
+    private Task<Void> exportTask;
+    private ProgressBar exportProgress;
+    private Button cancelExportBtn;
     private TableView<Object> reportTable;
     private Runnable onBackToMenu;
+    private long generatedDataVersion = -1;
 
     /**
      * Constructs the Report View.
@@ -46,12 +74,23 @@ public class ReportView extends BorderPane {
         initializeUI();
     }
 
+    /**
+     * Regenerates the displayed report if the data changed while the view was hidden.
+     */
+    @Override
+    public void onShow() {
+        if (!reportLines.isEmpty()
+                && dataManager.getDataVersion() != generatedDataVersion) {
+            generateReport();
+        }
+    }
+
     /**
      * Initializes all UI components.
      */
     private void initializeUI() {
         setPadding(new Insets(20));
-        setStyle("-fx-background-color: #f5f5f5;");
+        getStyleClass().add("view-root");
 
         // Top section with title and controls
         VBox topSection = createTopSection();
@@ -73,36 +112,11 @@ public class ReportView extends BorderPane {
         HBox headerBox = new HBox(15);
         headerBox.setAlignment(Pos.CENTER_LEFT);
 
-        Button backButton = new Button("← Back to Main Menu");
-        backButton.setStyle("-fx-background-color: #060047; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 15; " +
-                "-fx-background-radius: 8; -fx-border-color: #B3005E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-cursor: hand;");
-        backButton.setOnMouseEntered(e -> backButton.setStyle(
-                "-fx-background-color: #B3005E; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 15; " +
-                "-fx-background-radius: 8; -fx-border-color: #FF5F9E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-cursor: hand; " +
-                "-fx-effect: dropshadow(gaussian, #FF5F9E, 10, 0.7, 0, 0);"));
-        backButton.setOnMouseExited(e -> backButton.setStyle(
-                "-fx-background-color: #060047; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 15; " +
-                "-fx-background-radius: 8; -fx-border-color: #B3005E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-cursor: hand;"));
-        backButton.setOnAction(e -> {
-            if (onBackToMenu != null) {
-                onBackToMenu.run();
-            }
-        });
+        Button backButton = Theme.backButton(onBackToMenu);
 
         // Title with neon glow
         Label titleLabel = new Label("Reports");
-        titleLabel.setStyle("-fx-font-family: 'Arial', 'Segoe UI', sans-serif; " +
-                "-fx-font-size: 26px; -fx-font-weight: bold; -fx-font-style: normal; " +
-                "-fx-text-fill: #E90064; -fx-effect: dropshadow(gaussian, #FF5F9E, 8, 0.6, 0, 0);");
+        titleLabel.getStyleClass().add("view-title");
 
         headerBox.getChildren().addAll(backButton, titleLabel);
 
@@ -111,32 +125,36 @@ public class ReportView extends BorderPane {
         controlBox.setAlignment(Pos.CENTER_LEFT);
 
         Label selectLabel = new Label("Select Report:");
-        selectLabel.setStyle("-fx-font-family: 'Arial', 'Segoe UI', sans-serif; " +
-                "-fx-font-size: 14px; -fx-font-weight: bold; -fx-font-style: normal; " +
-                "-fx-text-fill: #B3005E;");
+        selectLabel.getStyleClass().add("field-caption");
 
         reportTypeCombo = new ComboBox<>();
-        reportTypeCombo.getItems().addAll(
-                "All Employees",
-                "Active Employees",
-                "All Payroll Records",
-                "Payroll Summary by Employee",
-                "Year-to-Date Summary"
-        );
-        reportTypeCombo.setValue("All Employees");
+        reportTypeCombo.getItems().addAll(ReportType.values());
+        reportTypeCombo.setValue(ReportType.ALL_EMPLOYEES);
         reportTypeCombo.setPrefWidth(250);
-        reportTypeCombo.setStyle("-fx-border-color: #B3005E; -fx-border-width: 2; -fx-border-radius: 8;");
+        reportTypeCombo.getStyleClass().add("retro-combo");
 
-        Button generateBtn = createStyledButton("Generate Report", "#B3005E");
+        Button generateBtn = createStyledButton("Generate Report", "magenta");
         generateBtn.setOnAction(e -> generateReport());
 
-        Button exportBtn = createStyledButton("Export to CSV", "#E90064");
+        Button exportBtn = createStyledButton("Export to CSV", "pink");
         exportBtn.setOnAction(e -> exportToCSV());
 
-        Button printBtn = createStyledButton("Print", "#FF5F9E");
+        Button printBtn = createStyledButton("Print", "light-pink");
         printBtn.setOnAction(e -> printReport());
 
-        controlBox.getChildren().addAll(selectLabel, reportTypeCombo, generateBtn, exportBtn, printBtn);
+        // Export progress, only shown while an export is running
+        exportProgress = new ProgressBar();
+        exportProgress.setPrefWidth(150);
+        cancelExportBtn = createStyledButton("Cancel Export", "navy");
+        cancelExportBtn.setOnAction(e -> {
+            if (exportTask != null) {
+                exportTask.cancel();
+            }
+        });
+        setExportControlsVisible(false);
+
+        controlBox.getChildren().addAll(selectLabel, reportTypeCombo, generateBtn, exportBtn, printBtn,
+                exportProgress, cancelExportBtn);
 
         topBox.getChildren().addAll(headerBox, controlBox);
         return topBox;
@@ -147,21 +165,21 @@ public class ReportView extends BorderPane {
      */
     private VBox createReportSection() {
         VBox reportBox = new VBox(10);
-        reportBox.setStyle("-fx-background-color: white; -fx-background-radius: 10; -fx-padding: 20;");
+        reportBox.getStyleClass().add("card");
 
         // Report header
         Label reportHeader = new Label("Report Output");
-        reportHeader.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        reportHeader.getStyleClass().add("report-header");
 
-        // Text area for text reports
-        reportTextArea = new TextArea();
-        reportTextArea.setEditable(false);
-        reportTextArea.setStyle("-fx-font-family: 'Courier New'; -fx-font-size: 12px;");
-        reportTextArea.setPrefHeight(500);
-        reportTextArea.setVisible(true);
+        // Virtualized list of report lines - only the visible rows are rendered
+        reportLines = FXCollections.observableArrayList();
+        reportListView = new ListView<>(reportLines);
+        reportListView.getStyleClass().add("report-output");
+        reportListView.setFixedCellSize(18);
+        reportListView.setPrefHeight(500);
 
-        reportBox.getChildren().addAll(reportHeader, reportTextArea);
-        VBox.setVgrow(reportTextArea, Priority.ALWAYS);
+        reportBox.getChildren().addAll(reportHeader, reportListView);
+        VBox.setVgrow(reportListView, Priority.ALWAYS);
 
         return reportBox;
     }
@@ -169,71 +187,59 @@ public class ReportView extends BorderPane {
     /**
      * Creates a retro-styled button with neon colors.
      */
-    private Button createStyledButton(String text, String color) {
-        Button button = new Button(text);
+    private Button createStyledButton(String text, String variant) {
+        Button button = Theme.retroButton(text, variant, "compact");
         button.setMinWidth(Button.USE_PREF_SIZE); // Allow button to grow to fit text
-
-        // Determine glow color
-        String glowColor = color.equals("#FF5F9E") ? "#E90064" : "#FF5F9E";
-
-        button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 20; " +
-                "-fx-background-radius: 8; -fx-border-color: %s; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-effect: dropshadow(gaussian, %s, 6, 0.5, 0, 0);",
-                color, glowColor, glowColor));
-
-        button.setOnMouseEntered(e -> button.setStyle(String.format(
-                "-fx-background-color: derive(%s, 20%%); -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 20; " +
-                "-fx-background-radius: 8; -fx-border-color: #FF5F9E; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-effect: dropshadow(gaussian, #FF5F9E, 12, 0.8, 0, 0);", color)));
-
-        button.setOnMouseExited(e -> button.setStyle(String.format(
-                "-fx-background-color: %s; -fx-text-fill: white; " +
-                "-fx-font-family: 'Arial', 'Segoe UI', sans-serif; -fx-font-style: normal; " +
-                "-fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 8 20; " +
-                "-fx-background-radius: 8; -fx-border-color: %s; -fx-border-width: 2; " +
-                "-fx-border-radius: 8; -fx-effect: dropshadow(gaussian, %s, 6, 0.5, 0, 0);",
-                color, glowColor, glowColor)));
-
         return button;
     }
 
     /**
-     * Generates the selected report.
+     * Generates the selected report on a background thread.
+     * Lines appear in the viewer as they are produced; starting a new report
+     * cancels one that is still running.
      */
     private void generateReport() {
+        if (reportTask != null) {
+            reportTask.cancel();
+        }
+
+        long start = Metrics.startTimer();
         try {
-            String reportType = reportTypeCombo.getValue();
-            StringBuilder report = new StringBuilder();
-
-            report.append("=".repeat(80)).append("\n");
-            report.append(reportType.toUpperCase()).append("\n");
-            report.append("Generated: ").append(LocalDate.now()).append("\n");
-            report.append("=".repeat(80)).append("\n\n");
-
-            switch (reportType) {
-                case "All Employees":
-                    generateAllEmployeesReport(report);
-                    break;
-                case "Active Employees":
-                    generateActiveEmployeesReport(report);
-                    break;
-                case "All Payroll Records":
-                    generateAllPayrollReport(report);
-                    break;
-                case "Payroll Summary by Employee":
-                    generatePayrollSummaryReport(report);
-                    break;
-                case "Year-to-Date Summary":
-                    generateYTDSummaryReport(report);
-                    break;
+            ReportType reportType = reportTypeCombo.getValue();
+            generatedDataVersion = dataManager.getDataVersion();
+            ReportGenerator generator = ReportGenerator.fromCurrentData();
+
+            // Same report over unchanged data: show the cached lines straight away
+            ReportCache.Key cacheKey = generator.linesCacheKey(reportType);
+            List<String> cachedLines = cacheKey != null ? ReportCache.getInstance().get(cacheKey) : null;
+            if (cachedLines != null) {
+                ReportGenerationEvent event = new ReportGenerationEvent();
+                event.begin();
+                reportLines.setAll(cachedLines);
+                commitReportEvent(event, reportType, cachedLines.size(), true, false);
+                REPORT_CACHE_HITS.increment();
+                REPORT_DISPLAY_TIME.recordSince(start);
+                return;
             }
+            REPORT_CACHE_MISSES.increment();
+            reportLines.clear();
+
+            ReportTask task = new ReportTask(generator, reportType);
+            task.setOnSucceeded(e -> {
+                if (cacheKey != null) {
+                    ReportCache.getInstance().put(cacheKey, task.allLines, task.estimatedBytes);
+                }
+                // Queued after the last batch of lines, so this runs once they are all shown
+                Platform.runLater(() -> REPORT_DISPLAY_TIME.recordSince(start));
+            });
+            task.setOnFailed(e -> showError("Report Generation Error",
+                    "Failed to generate report.",
+                    task.getException() != null ? task.getException().getMessage() : null));
+            reportTask = task;
 
-            reportTextArea.setText(report.toString());
+            Thread thread = new Thread(task, "report-generator");
+            thread.setDaemon(true);
+            thread.start();
 
         } catch (Exception e) {
             showError("Report Generation Error",
@@ -243,171 +249,95 @@ public class ReportView extends BorderPane {
     }
 
     /**
-     * Generates report of all employees.
+     * Records a report in Flight Recorder, if that event is enabled.
      */
-    private void generateAllEmployeesReport(StringBuilder report) {
-        List<Employee> employees = dataManager.getAllEmployees();
-
-        report.append("Total Employees: ").append(employees.size()).append("\n\n");
-        report.append(String.format("%-12s %-20s %-30s %-20s %-15s%n",
-                "ID", "Name", "Email", "Position", "Status"));
-        report.append("-".repeat(100)).append("\n");
-
-        for (Employee emp : employees) {
-            report.append(String.format("%-12s %-20s %-30s %-20s %-15s%n",
-                    emp.getEmployeeId(),
-                    emp.getFullName(),
-                    emp.getEmail() != null ? emp.getEmail() : "N/A",
-                    emp.getPosition() != null ? emp.getPosition() : "N/A",
-                    emp.getStatus() != null ? emp.getStatus().getDisplayName() : "N/A"
-            ));
+    private static void commitReportEvent(ReportGenerationEvent event, ReportType reportType,
+                                          int rows, boolean cached, boolean cancelled) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.reportType = reportType.name();
+            event.rows = rows;
+            event.cached = cached;
+            event.cancelled = cancelled;
+            event.commit();
         }
-
-        report.append("\n").append("=".repeat(80)).append("\n");
     }
 
     /**
-     * Generates report of active employees only.
+     * Background task that runs a report generator and feeds its lines to the viewer in batches.
      */
-    private void generateActiveEmployeesReport(StringBuilder report) {
-        List<Employee> employees = dataManager.getAllEmployees();
-        long activeCount = employees.stream()
-                .filter(e -> e.getStatus() == Employee.EmployeeStatus.ACTIVE)
-                .count();
-
-        report.append("Active Employees: ").append(activeCount).append("\n\n");
-        report.append(String.format("%-12s %-20s %-30s %-20s %-15s%n",
-                "ID", "Name", "Email", "Position", "Type"));
-        report.append("-".repeat(100)).append("\n");
-
-        for (Employee emp : employees) {
-            if (emp.getStatus() == Employee.EmployeeStatus.ACTIVE) {
-                report.append(String.format("%-12s %-20s %-30s %-20s %-15s%n",
-                        emp.getEmployeeId(),
-                        emp.getFullName(),
-                        emp.getEmail() != null ? emp.getEmail() : "N/A",
-                        emp.getPosition() != null ? emp.getPosition() : "N/A",
-                        emp.getEmploymentType() != null ? emp.getEmploymentType().getDisplayName() : "N/A"
-                ));
-            }
+    private class ReportTask extends Task<Void> implements Consumer<String> {
+        private final ReportGenerator generator;
+        private final ReportType reportType;
+        private List<String> pending = new ArrayList<>();
+        private long lastFlush;
+        private final List<String> allLines = new ArrayList<>();
+        private long estimatedBytes;
+
+        ReportTask(ReportGenerator generator, ReportType reportType) {
+            this.generator = generator;
+            this.reportType = reportType;
+            this.lastFlush = System.nanoTime() - FLUSH_INTERVAL_NANOS;
         }
 
-        report.append("\n").append("=".repeat(80)).append("\n");
-    }
-
-    /**
-     * Generates report of all payroll records.
-     */
-    private void generateAllPayrollReport(StringBuilder report) {
-        List<Payroll> payrolls = dataManager.getAllPayrolls();
-
-        report.append("Total Payroll Records: ").append(payrolls.size()).append("\n\n");
-        report.append(String.format("%-20s %-12s %-12s %-15s %-15s %-15s%n",
-                "Payroll ID", "Employee ID", "Pay Date", "Gross Pay", "Deductions", "Net Pay"));
-        report.append("-".repeat(100)).append("\n");
-
-        double totalGross = 0;
-        double totalDeductions = 0;
-        double totalNet = 0;
-
-        for (Payroll payroll : payrolls) {
-            report.append(String.format("%-20s %-12s %-12s $%-14.2f $%-14.2f $%-14.2f%n",
-                    payroll.getPayrollId(),
-                    payroll.getEmployeeId(),
-                    payroll.getPayDate(),
-                    payroll.getGrossPay(),
-                    payroll.getTotalDeductions(),
-                    payroll.getNetPay()
-            ));
-
-            totalGross += payroll.getGrossPay();
-            totalDeductions += payroll.getTotalDeductions();
-            totalNet += payroll.getNetPay();
+        @Override
+        protected Void call() {
+            ReportGenerationEvent event = new ReportGenerationEvent();
+            event.begin();
+            boolean cancelled = false;
+            try {
+                generator.generate(reportType, this);
+                flush();
+            } catch (CancellationException e) {
+                // A newer report replaced this one
+                cancelled = true;
+            }
+            commitReportEvent(event, reportType, allLines.size(), false, cancelled);
+            return null;
         }
 
-        report.append("-".repeat(100)).append("\n");
-        report.append(String.format("%-45s $%-14.2f $%-14.2f $%-14.2f%n",
-                "TOTALS:", totalGross, totalDeductions, totalNet));
-        report.append("\n").append("=".repeat(80)).append("\n");
-    }
-
-    /**
-     * Generates payroll summary by employee.
-     */
-    private void generatePayrollSummaryReport(StringBuilder report) {
-        List<Employee> employees = dataManager.getAllEmployees();
-
-        report.append("Payroll Summary by Employee\n\n");
-        report.append(String.format("%-12s %-20s %-15s %-15s %-15s%n",
-                "Employee ID", "Name", "Total Gross", "Total Deduct", "Total Net"));
-        report.append("-".repeat(80)).append("\n");
-
-        for (Employee emp : employees) {
-            List<Payroll> empPayrolls = dataManager.getPayrollsByEmployee(emp.getEmployeeId());
-
-            if (!empPayrolls.isEmpty()) {
-                double totalGross = empPayrolls.stream().mapToDouble(Payroll::getGrossPay).sum();
-                double totalDeduct = empPayrolls.stream().mapToDouble(Payroll::getTotalDeductions).sum();
-                double totalNet = empPayrolls.stream().mapToDouble(Payroll::getNetPay).sum();
-
-                report.append(String.format("%-12s %-20s $%-14.2f $%-14.2f $%-14.2f%n",
-                        emp.getEmployeeId(),
-                        emp.getFullName(),
-                        totalGross,
-                        totalDeduct,
-                        totalNet
-                ));
+        @Override
+        public void accept(String line) {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            pending.add(line);
+            allLines.add(line);
+            estimatedBytes += 48L + 2L * line.length();
+            // The first line is flushed straight away so the viewer shows output immediately
+            long now = System.nanoTime();
+            if (pending.size() >= LINE_BATCH_SIZE || now - lastFlush >= FLUSH_INTERVAL_NANOS) {
+                flush();
+                lastFlush = now;
             }
         }
 
-        report.append("\n").append("=".repeat(80)).append("\n");
-    }
-
-    /**
-     * Generates year-to-date summary report.
-     */
-    private void generateYTDSummaryReport(StringBuilder report) {
-        List<Employee> employees = dataManager.getAllEmployees();
-        int currentYear = LocalDate.now().getYear();
-
-        report.append("Year-to-Date Payroll Summary (").append(currentYear).append(")\n\n");
-        report.append(String.format("%-12s %-20s %-15s %-15s %-15s%n",
-                "Employee ID", "Name", "YTD Gross", "YTD Deduct", "YTD Net"));
-        report.append("-".repeat(80)).append("\n");
-
-        double grandTotalGross = 0;
-        double grandTotalDeduct = 0;
-        double grandTotalNet = 0;
-
-        for (Employee emp : employees) {
-            PayrollCalculator.PayrollSummary summary =
-                    PayrollCalculator.calculateYearToDateSummary(emp.getEmployeeId());
-
-            if (summary.getTotalGrossPay() > 0) {
-                report.append(String.format("%-12s %-20s $%-14.2f $%-14.2f $%-14.2f%n",
-                        emp.getEmployeeId(),
-                        emp.getFullName(),
-                        summary.getTotalGrossPay(),
-                        summary.getTotalDeductions(),
-                        summary.getTotalNetPay()
-                ));
-
-                grandTotalGross += summary.getTotalGrossPay();
-                grandTotalDeduct += summary.getTotalDeductions();
-                grandTotalNet += summary.getTotalNetPay();
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
             }
+            List<String> batch = pending;
+            pending = new ArrayList<>();
+            Platform.runLater(() -> {
+                if (!isCancelled()) {
+                    reportLines.addAll(batch);
+                }
+            });
         }
-
-        report.append("-".repeat(80)).append("\n");
-        report.append(String.format("%-32s $%-14.2f $%-14.2f $%-14.2f%n",
-                "GRAND TOTALS:", grandTotalGross, grandTotalDeduct, grandTotalNet));
-        report.append("\n").append("=".repeat(80)).append("\n");
     }
 
     /**
      * Exports the current report to CSV file.
+     * The export runs on a background thread and can be cancelled while it is in progress.
      */
     private void exportToCSV() {
+        if (exportTask != null && exportTask.isRunning()) {
+            showError("Export In Progress",
+                    "An export is already running.",
+                    "Wait for it to finish or cancel it first.");
+            return;
+        }
+
         try {
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Export Report to CSV");
@@ -418,28 +348,34 @@ public class ReportView extends BorderPane {
             File file = fileChooser.showSaveDialog(this.getScene().getWindow());
 
             if (file != null) {
-                String reportType = reportTypeCombo.getValue();
-                try (FileWriter writer = new FileWriter(file)) {
-                    switch (reportType) {
-                        case "All Employees":
-                        case "Active Employees":
-                            exportEmployeesCSV(writer, reportType.equals("Active Employees"));
-                            break;
-                        case "All Payroll Records":
-                            exportPayrollCSV(writer);
-                            break;
-                        case "Payroll Summary by Employee":
-                        case "Year-to-Date Summary":
-                            exportSummaryCSV(writer);
-                            break;
-                    }
-                }
-
-                showSuccess("Export Successful",
-                        "Report has been exported to:\n" + file.getAbsolutePath());
+                ReportType reportType = reportTypeCombo.getValue();
+                ReportGenerator snapshot = ReportGenerator.fromCurrentData();
+                long start = Metrics.startTimer();
+
+                Task<Void> task = new ExportTask(snapshot, reportType, file.toPath());
+                exportProgress.progressProperty().bind(task.progressProperty());
+                task.setOnSucceeded(e -> {
+                    CSV_EXPORT_TIME.recordSince(start);
+                    setExportControlsVisible(false);
+                    showSuccess("Export Successful",
+                            "Report has been exported to:\n" + file.getAbsolutePath());
+                });
+                task.setOnFailed(e -> {
+                    setExportControlsVisible(false);
+                    showError("Export Error",
+                            "Failed to export report to CSV.",
+                            task.getException() != null ? task.getException().getMessage() : null);
+                });
+                task.setOnCancelled(e -> setExportControlsVisible(false));
+                exportTask = task;
+                setExportControlsVisible(true);
+
+                Thread thread = new Thread(task, "csv-export");
+                thread.setDaemon(true);
+                thread.start();
             }
 
-        } catch (IOException e) {
+        } catch (Exception e) {
             showError("Export Error",
                     "Failed to export report to CSV.",
                     e.getMessage());
@@ -447,67 +383,77 @@ public class ReportView extends BorderPane {
     }
 
     /**
-     * Exports employee data to CSV.
+     * Shows or hides the export progress bar and cancel button.
      */
-    private void exportEmployeesCSV(FileWriter writer, boolean activeOnly) throws IOException {
-        writer.write("Employee ID,First Name,Last Name,Email,Phone,Position,Type,Status\n");
-
-        for (Employee emp : dataManager.getAllEmployees()) {
-            if (activeOnly && emp.getStatus() != Employee.EmployeeStatus.ACTIVE) {
-                continue;
-            }
-
-            writer.write(String.format("%s,%s,%s,%s,%s,%s,%s,%s\n",
-                    emp.getEmployeeId(),
-                    emp.getFirstName(),
-                    emp.getLastName(),
-                    emp.getEmail() != null ? emp.getEmail() : "",
-                    emp.getPhone() != null ? emp.getPhone() : "",
-                    emp.getPosition() != null ? emp.getPosition() : "",
-                    emp.getEmploymentType() != null ? emp.getEmploymentType().getDisplayName() : "",
-                    emp.getStatus() != null ? emp.getStatus().getDisplayName() : ""
-            ));
-        }
+    private void setExportControlsVisible(boolean visible) {
+        exportProgress.setVisible(visible);
+        exportProgress.setManaged(visible);
+        cancelExportBtn.setVisible(visible);
+        cancelExportBtn.setManaged(visible);
     }
 
     /**
-     * Exports payroll data to CSV.
+     * Background task that writes the selected report's rows to a CSV file.
+     * Cancelling stops the exporter at its next chunk; if the file was already
+     * complete it is deleted, so a cancelled export never leaves a file behind.
      */
-    private void exportPayrollCSV(FileWriter writer) throws IOException {
-        writer.write("Payroll ID,Employee ID,Pay Period Start,Pay Period End,Gross Pay,Total Deductions,Net Pay\n");
-
-        for (Payroll payroll : dataManager.getAllPayrolls()) {
-            writer.write(String.format("%s,%s,%s,%s,%.2f,%.2f,%.2f\n",
-                    payroll.getPayrollId(),
-                    payroll.getEmployeeId(),
-                    payroll.getPayPeriodStart(),
-                    payroll.getPayPeriodEnd(),
-                    payroll.getGrossPay(),
-                    payroll.getTotalDeductions(),
-                    payroll.getNetPay()
-            ));
+    private static class ExportTask extends Task<Void> {
+        private final ReportGenerator snapshot;
+        private final ReportType reportType;
+        private final Path file;
+        private volatile CsvExporter<?> exporter;
+        private boolean exportDone;
+
+        ExportTask(ReportGenerator snapshot, ReportType reportType, Path file) {
+            this.snapshot = snapshot;
+            this.reportType = reportType;
+            this.file = file;
         }
-    }
 
-    /**
-     * Exports summary data to CSV.
-     */
-    private void exportSummaryCSV(FileWriter writer) throws IOException {
-        writer.write("Employee ID,Employee Name,Total Gross Pay,Total Deductions,Total Net Pay\n");
-
-        for (Employee emp : dataManager.getAllEmployees()) {
-            PayrollCalculator.PayrollSummary summary =
-                    PayrollCalculator.calculateYearToDateSummary(emp.getEmployeeId());
-
-            if (summary.getTotalGrossPay() > 0) {
-                writer.write(String.format("%s,%s,%.2f,%.2f,%.2f\n",
-                        emp.getEmployeeId(),
-                        emp.getFullName(),
-                        summary.getTotalGrossPay(),
-                        summary.getTotalDeductions(),
-                        summary.getTotalNetPay()
-                ));
+        @Override
+        protected Void call() throws IOException {
+            CsvExporter.Job<?> job = snapshot.csvExport(reportType);
+            exporter = job.getExporter();
+            exporter.setParallel(true);
+            exporter.setProgressListener(this::updateProgress);
+            if (isCancelled()) {
+                return null;
+            }
+            try {
+                job.exportTo(file);
+            } catch (CancellationException e) {
+                // Partial file already removed by the exporter
+                return null;
+            }
+            synchronized (this) {
+                exportDone = true;
+                if (isCancelled()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                CsvExporter<?> running = exporter;
+                if (running != null) {
+                    running.cancel();
+                }
+                // Cancelled between the export finishing and the task completing
+                synchronized (this) {
+                    if (exportDone) {
+                        try {
+                            Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                            System.err.println("Error deleting cancelled export " + file + ": " + e.getMessage());
+                        }
+                    }
+                }
             }
+            return cancelled;
         }
     }
 
@@ -0,0 +1,66 @@
+package ui;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+
+/**
+ * Central access point for the shared application stylesheet.
+ * All screens style their controls with style classes defined in
+ * {@code theme.css}, so hover effects are driven by CSS pseudo-classes
+ * rather than by replacing inline styles from mouse event handlers.
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public final class Theme {
+
+    /** URL of the compiled stylesheet on the classpath */
+    public static final String STYLESHEET = Theme.class.getResource("theme.css").toExternalForm();
+
+    private Theme() {
+    }
+
+    /**
+     * Attaches the shared stylesheet to a scene (once).
+     *
+     * @param scene The scene to style
+     */
+    public static void apply(Scene scene) {
+        if (!scene.getStylesheets().contains(STYLESHEET)) {
+            scene.getStylesheets().add(STYLESHEET);
+        }
+    }
+
+    /**
+     * Creates a retro-styled button using the theme's style classes.
+     *
+     * @param text     The button text
+     * @param variant  Colour variant style class (e.g. "magenta", "pink", "navy")
+     * @param modifiers Additional style classes (e.g. "large", "compact", "accent-hover")
+     * @return Styled Button
+     */
+    public static Button retroButton(String text, String variant, String... modifiers) {
+        Button button = new Button(text);
+        button.getStyleClass().addAll("retro-button", variant);
+        button.getStyleClass().addAll(modifiers);
+        return button;
+    }
+
+    /**
+     * Creates the standard "Back to Main Menu" button.
+     *
+     * @param onBackToMenu Callback to execute when the button is clicked
+     * @return Styled back Button
+     */
+    public static Button backButton(Runnable onBackToMenu) {
+        Button backButton = new Button("← Back to Main Menu");
+        backButton.getStyleClass().add("back-button");
+        backButton.setOnAction(e -> {
+            if (onBackToMenu != null) {
+                onBackToMenu.run();
+            }
+        });
+        return backButton;
+    }
+}
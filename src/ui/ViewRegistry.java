@@ -0,0 +1,84 @@
+package ui;
+
+import javafx.application.Platform;
+import javafx.scene.Parent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps one instance of each application screen.
+ * Views are built lazily the first time they are requested (or ahead of time
+ * by {@link #prewarm(String...)}) and reused on later navigation, so switching
+ * screens does not rebuild the scene graph or reload all data.
+ *
+ * <p>All methods must be called on the JavaFX Application Thread.</p>
+ *
+ * @author [ADD YOUR NAMES HERE]
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class ViewRegistry {
+
+    private final Map<String, Supplier<? extends Parent>> factories = new HashMap<>();
+    private final Map<String, Parent> views = new HashMap<>();
+
+    /**
+     * Registers the factory used to build a view the first time it is needed.
+     *
+     * @param key     Unique name of the view
+     * @param factory Creates the view
+     */
+    public void register(String key, Supplier<? extends Parent> factory) {
+        factories.put(key, factory);
+    }
+
+    /**
+     * Returns the view for the given key, building it on first use.
+     * A view that was already built is refreshed through {@link CachedView#onShow()}.
+     *
+     * @param key Name of a registered view
+     * @return The cached view
+     */
+    public Parent get(String key) {
+        Parent view = views.get(key);
+        if (view == null) {
+            return build(key);
+        }
+        if (view instanceof CachedView) {
+            ((CachedView) view).onShow();
+        }
+        return view;
+    }
+
+    /**
+     * Builds the given views ahead of time. Each view is built in its own
+     * FX event after startup, so the UI stays responsive between them.
+     *
+     * @param keys Names of registered views that are likely to be opened next
+     */
+    public void prewarm(String... keys) {
+        for (String key : keys) {
+            Platform.runLater(() -> {
+                if (!views.containsKey(key)) {
+                    try {
+                        build(key);
+                    } catch (Exception e) {
+                        System.err.println("Error pre-loading view " + key + ": " + e.getMessage());
+                    }
+                }
+            });
+        }
+    }
+
+    private Parent build(String key) {
+        Supplier<? extends Parent> factory = factories.get(key);
+        if (factory == null) {
+            throw new IllegalArgumentException("No view registered for " + key);
+        }
+        Parent view = factory.get();
+        views.put(key, view);
+        return view;
+    }
+}